@@ -16,6 +16,9 @@
 
 package info.archinnov.achilles.configuration;
 
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_DEFERRED_UPDATES_ENABLE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_MAX_SIZE_IN_BYTES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_MAX_STATEMENTS;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_ENABLE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_VALIDATOR;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CLUSTER_NAME_PARAM;
@@ -30,28 +33,61 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.CONS
 import static info.archinnov.achilles.configuration.ConfigurationParameters.DEFAULT_LEVEL;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.DISABLE_JMX;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.DISABLE_METRICS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CACHE_ENTITIES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CACHE_MAX_SIZE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CACHE_MAX_WEIGHT_IN_BYTES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CACHE_OFF_HEAP_SIZE_IN_BYTES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CACHE_TTL_IN_SECONDS;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.EVENT_INTERCEPTORS_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.FORCE_TABLE_CREATION_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.INFLIGHT_FAIL_FAST;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.INFLIGHT_MAX_READS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.INFLIGHT_MAX_REQUESTS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.INFLIGHT_MAX_WRITES;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.KEYSPACE_NAME_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.LOAD_BALANCING_POLICY;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.NATIVE_SESSION_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.OBJECT_MAPPER_FACTORY_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.OBJECT_MAPPER_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.OPERATION_METRICS_ENABLE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PASSWORD;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_CACHE_SIZE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.READ_COALESCING_ENABLE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLICE_QUERY_CACHE_MAX_ROWS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.HOT_PARTITION_HALF_LIFE_IN_SECONDS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.HOT_PARTITION_TOP_K;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.HOT_PARTITION_WARNING_SHARE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_ENTITY_THRESHOLDS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_MAX_LOGS_PER_SECOND;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_TABLE_THRESHOLDS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_THRESHOLD_IN_MILLIS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.STAGE_TIMERS_SAMPLE_RATE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLICE_QUERY_CACHE_TTL_IN_SECONDS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ITERATOR_ADAPTIVE_FETCH_MAX_SIZE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ITERATOR_ADAPTIVE_FETCH_MIN_SIZE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ITERATOR_ADAPTIVE_FETCH_TARGET_BYTES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ITERATOR_MAPPING_EXECUTOR;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ITERATOR_PREFETCH_THRESHOLD;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.LAZY_LOADING_FETCH_ALL;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.RECONNECTION_POLICY;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.RETRY_POLICY;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.SSL_ENABLED;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.SSL_OPTIONS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.STATEMENTS_COALESCING_ENABLE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.USERNAME;
 import static javax.validation.Validation.buildDefaultValidatorFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import javax.validation.ValidationException;
 import org.apache.commons.lang.StringUtils;
 import org.codehaus.jackson.map.ObjectMapper;
@@ -79,6 +115,8 @@ public class ArgumentExtractor {
     private static final Logger log = LoggerFactory.getLogger(ArgumentExtractor.class);
 
     private static final int DEFAULT_CACHE_SIZE = 5000;
+    private static final int DEFAULT_ADAPTIVE_FETCH_MIN_SIZE = 10;
+    private static final int DEFAULT_ADAPTIVE_FETCH_MAX_SIZE = 5000;
 
     public List<String> initEntityPackages(TypedMap configurationMap) {
         log.trace("Extract entity packages from configuration map");
@@ -102,6 +140,37 @@ public class ArgumentExtractor {
         configContext.setDefaultWriteConsistencyLevel(initDefaultWriteConsistencyLevel(configurationMap));
         configContext.setBeanValidator(initValidator(configurationMap));
         configContext.setPreparedStatementLRUCacheSize(initPreparedStatementsCacheSize(configurationMap));
+        configContext.setStatementCoalescingEnabled(initStatementCoalescing(configurationMap));
+        configContext.setBatchMaxStatements(initBatchMaxStatements(configurationMap));
+        configContext.setBatchMaxSizeInBytes(initBatchMaxSizeInBytes(configurationMap));
+        configContext.setBatchDeferredUpdatesEnabled(initBatchDeferredUpdates(configurationMap));
+        configContext.setInFlightMaxRequests(initInFlightMaxRequests(configurationMap));
+        configContext.setInFlightMaxReads(initInFlightMaxReads(configurationMap));
+        configContext.setInFlightMaxWrites(initInFlightMaxWrites(configurationMap));
+        configContext.setInFlightFailFast(initInFlightFailFast(configurationMap));
+        configContext.setReadCoalescingEnabled(initReadCoalescing(configurationMap));
+        configContext.setEntityCacheMaxSize(initEntityCacheMaxSize(configurationMap));
+        configContext.setEntityCacheMaxWeightInBytes(initEntityCacheMaxWeightInBytes(configurationMap));
+        configContext.setEntityCacheOffHeapSizeInBytes(initEntityCacheOffHeapSizeInBytes(configurationMap));
+        configContext.setEntityCacheTtlInSeconds(initEntityCacheTtlInSeconds(configurationMap));
+        configContext.setCachedEntityClasses(initCachedEntityClasses(configurationMap));
+        configContext.setSliceQueryCacheMaxRows(initSliceQueryCacheMaxRows(configurationMap));
+        configContext.setSliceQueryCacheTtlInSeconds(initSliceQueryCacheTtlInSeconds(configurationMap));
+        configContext.setLazyLoadingFetchAll(initLazyLoadingFetchAll(configurationMap));
+        configContext.setIteratorPrefetchThreshold(initIteratorPrefetchThreshold(configurationMap));
+        configContext.setIteratorMappingExecutor(initIteratorMappingExecutor(configurationMap));
+        configContext.setIteratorAdaptiveFetchTargetBytes(initIteratorAdaptiveFetchTargetBytes(configurationMap));
+        configContext.setIteratorAdaptiveFetchMinSize(initIteratorAdaptiveFetchMinSize(configurationMap));
+        configContext.setIteratorAdaptiveFetchMaxSize(initIteratorAdaptiveFetchMaxSize(configurationMap));
+        configContext.setOperationMetricsEnabled(initOperationMetrics(configurationMap));
+        configContext.setStageTimersSampleRate(initStageTimersSampleRate(configurationMap));
+        configContext.setSlowStatementThresholdInMillis(initSlowStatementThresholdInMillis(configurationMap));
+        configContext.setSlowStatementTableThresholds(initSlowStatementTableThresholds(configurationMap));
+        configContext.setSlowStatementEntityThresholds(initSlowStatementEntityThresholds(configurationMap));
+        configContext.setSlowStatementMaxLogsPerSecond(initSlowStatementMaxLogsPerSecond(configurationMap));
+        configContext.setHotPartitionTopK(initHotPartitionTopK(configurationMap));
+        configContext.setHotPartitionHalfLifeInSeconds(initHotPartitionHalfLifeInSeconds(configurationMap));
+        configContext.setHotPartitionWarningShare(initHotPartitionWarningShare(configurationMap));
         return configContext;
     }
 
@@ -333,4 +402,132 @@ public class ArgumentExtractor {
     public Integer initPreparedStatementsCacheSize(TypedMap configMap) {
         return configMap.getTypedOr(PREPARED_STATEMENTS_CACHE_SIZE, DEFAULT_CACHE_SIZE);
     }
+
+    boolean initStatementCoalescing(TypedMap configMap) {
+        return configMap.getTypedOr(STATEMENTS_COALESCING_ENABLE, false);
+    }
+
+    int initBatchMaxStatements(TypedMap configMap) {
+        return configMap.getTypedOr(BATCH_MAX_STATEMENTS, 0);
+    }
+
+    int initBatchMaxSizeInBytes(TypedMap configMap) {
+        return configMap.getTypedOr(BATCH_MAX_SIZE_IN_BYTES, 0);
+    }
+
+    boolean initBatchDeferredUpdates(TypedMap configMap) {
+        return configMap.getTypedOr(BATCH_DEFERRED_UPDATES_ENABLE, false);
+    }
+
+    int initInFlightMaxRequests(TypedMap configMap) {
+        return configMap.getTypedOr(INFLIGHT_MAX_REQUESTS, 0);
+    }
+
+    int initInFlightMaxReads(TypedMap configMap) {
+        return configMap.getTypedOr(INFLIGHT_MAX_READS, 0);
+    }
+
+    int initInFlightMaxWrites(TypedMap configMap) {
+        return configMap.getTypedOr(INFLIGHT_MAX_WRITES, 0);
+    }
+
+    boolean initInFlightFailFast(TypedMap configMap) {
+        return configMap.getTypedOr(INFLIGHT_FAIL_FAST, false);
+    }
+
+    boolean initReadCoalescing(TypedMap configMap) {
+        return configMap.getTypedOr(READ_COALESCING_ENABLE, false);
+    }
+
+    int initEntityCacheMaxSize(TypedMap configMap) {
+        return configMap.getTypedOr(ENTITY_CACHE_MAX_SIZE, 0);
+    }
+
+    int initEntityCacheMaxWeightInBytes(TypedMap configMap) {
+        return configMap.getTypedOr(ENTITY_CACHE_MAX_WEIGHT_IN_BYTES, 0);
+    }
+
+    long initEntityCacheOffHeapSizeInBytes(TypedMap configMap) {
+        return configMap.<Number>getTypedOr(ENTITY_CACHE_OFF_HEAP_SIZE_IN_BYTES, 0L).longValue();
+    }
+
+    int initEntityCacheTtlInSeconds(TypedMap configMap) {
+        return configMap.getTypedOr(ENTITY_CACHE_TTL_IN_SECONDS, 0);
+    }
+
+    Set<Class<?>> initCachedEntityClasses(TypedMap configMap) {
+        Collection<Class<?>> entityClasses = configMap.getTypedOr(ENTITY_CACHE_ENTITIES,
+                                                                  Collections.<Class<?>>emptySet());
+        return new HashSet<>(entityClasses);
+    }
+
+    int initSliceQueryCacheMaxRows(TypedMap configMap) {
+        return configMap.getTypedOr(SLICE_QUERY_CACHE_MAX_ROWS, 0);
+    }
+
+    int initSliceQueryCacheTtlInSeconds(TypedMap configMap) {
+        return configMap.getTypedOr(SLICE_QUERY_CACHE_TTL_IN_SECONDS, 0);
+    }
+
+    boolean initLazyLoadingFetchAll(TypedMap configMap) {
+        return configMap.getTypedOr(LAZY_LOADING_FETCH_ALL, false);
+    }
+
+    int initIteratorPrefetchThreshold(TypedMap configMap) {
+        return configMap.getTypedOr(ITERATOR_PREFETCH_THRESHOLD, 0);
+    }
+
+    ExecutorService initIteratorMappingExecutor(TypedMap configMap) {
+        return configMap.getTyped(ITERATOR_MAPPING_EXECUTOR);
+    }
+
+    int initIteratorAdaptiveFetchTargetBytes(TypedMap configMap) {
+        return configMap.getTypedOr(ITERATOR_ADAPTIVE_FETCH_TARGET_BYTES, 0);
+    }
+
+    int initIteratorAdaptiveFetchMinSize(TypedMap configMap) {
+        return configMap.getTypedOr(ITERATOR_ADAPTIVE_FETCH_MIN_SIZE, DEFAULT_ADAPTIVE_FETCH_MIN_SIZE);
+    }
+
+    int initIteratorAdaptiveFetchMaxSize(TypedMap configMap) {
+        return configMap.getTypedOr(ITERATOR_ADAPTIVE_FETCH_MAX_SIZE, DEFAULT_ADAPTIVE_FETCH_MAX_SIZE);
+    }
+
+    boolean initOperationMetrics(TypedMap configMap) {
+        return configMap.getTypedOr(OPERATION_METRICS_ENABLE, false);
+    }
+
+    int initStageTimersSampleRate(TypedMap configMap) {
+        return configMap.getTypedOr(STAGE_TIMERS_SAMPLE_RATE, 0);
+    }
+
+    long initSlowStatementThresholdInMillis(TypedMap configMap) {
+        return configMap.<Number>getTypedOr(SLOW_STATEMENT_THRESHOLD_IN_MILLIS, 0L).longValue();
+    }
+
+    Map<String, Long> initSlowStatementTableThresholds(TypedMap configMap) {
+        return new HashMap<>(configMap.getTypedOr(SLOW_STATEMENT_TABLE_THRESHOLDS,
+                                                  Collections.<String, Long>emptyMap()));
+    }
+
+    Map<Class<?>, Long> initSlowStatementEntityThresholds(TypedMap configMap) {
+        return new HashMap<>(configMap.getTypedOr(SLOW_STATEMENT_ENTITY_THRESHOLDS,
+                                                  Collections.<Class<?>, Long>emptyMap()));
+    }
+
+    int initSlowStatementMaxLogsPerSecond(TypedMap configMap) {
+        return configMap.getTypedOr(SLOW_STATEMENT_MAX_LOGS_PER_SECOND, 10);
+    }
+
+    int initHotPartitionTopK(TypedMap configMap) {
+        return configMap.getTypedOr(HOT_PARTITION_TOP_K, 0);
+    }
+
+    int initHotPartitionHalfLifeInSeconds(TypedMap configMap) {
+        return configMap.getTypedOr(HOT_PARTITION_HALF_LIFE_IN_SECONDS, 60);
+    }
+
+    double initHotPartitionWarningShare(TypedMap configMap) {
+        return configMap.<Number>getTypedOr(HOT_PARTITION_WARNING_SHARE, 0).doubleValue();
+    }
 }
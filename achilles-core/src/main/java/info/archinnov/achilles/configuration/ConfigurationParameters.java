@@ -54,5 +54,47 @@ public interface ConfigurationParameters {
 
     String PREPARED_STATEMENTS_CACHE_SIZE = "achilles.prepared.statements.cache.size";
 
+    String STATEMENTS_COALESCING_ENABLE = "achilles.statements.coalescing.enable";
+
+    String BATCH_MAX_STATEMENTS = "achilles.batch.max.statements";
+    String BATCH_MAX_SIZE_IN_BYTES = "achilles.batch.max.size.bytes";
+    String BATCH_DEFERRED_UPDATES_ENABLE = "achilles.batch.deferred.updates.enable";
+
+    String INFLIGHT_MAX_REQUESTS = "achilles.inflight.max.requests";
+    String INFLIGHT_MAX_READS = "achilles.inflight.max.reads";
+    String INFLIGHT_MAX_WRITES = "achilles.inflight.max.writes";
+    String INFLIGHT_FAIL_FAST = "achilles.inflight.fail.fast";
+
+    String READ_COALESCING_ENABLE = "achilles.read.coalescing.enable";
+
+    String ENTITY_CACHE_MAX_SIZE = "achilles.entity.cache.max.size";
+    String ENTITY_CACHE_MAX_WEIGHT_IN_BYTES = "achilles.entity.cache.max.weight.bytes";
+    String ENTITY_CACHE_OFF_HEAP_SIZE_IN_BYTES = "achilles.entity.cache.off.heap.size.bytes";
+    String ENTITY_CACHE_TTL_IN_SECONDS = "achilles.entity.cache.ttl.seconds";
+    String ENTITY_CACHE_ENTITIES = "achilles.entity.cache.entities";
+
+    String SLICE_QUERY_CACHE_MAX_ROWS = "achilles.slice.query.cache.max.rows";
+    String SLICE_QUERY_CACHE_TTL_IN_SECONDS = "achilles.slice.query.cache.ttl.seconds";
+
+    String LAZY_LOADING_FETCH_ALL = "achilles.lazy.loading.fetch.all";
+
+    String ITERATOR_PREFETCH_THRESHOLD = "achilles.iterator.prefetch.threshold";
+    String ITERATOR_MAPPING_EXECUTOR = "achilles.iterator.mapping.executor";
+    String ITERATOR_ADAPTIVE_FETCH_TARGET_BYTES = "achilles.iterator.adaptive.fetch.target.bytes";
+    String ITERATOR_ADAPTIVE_FETCH_MIN_SIZE = "achilles.iterator.adaptive.fetch.min.size";
+    String ITERATOR_ADAPTIVE_FETCH_MAX_SIZE = "achilles.iterator.adaptive.fetch.max.size";
+
+    String OPERATION_METRICS_ENABLE = "achilles.operation.metrics.enable";
+    String STAGE_TIMERS_SAMPLE_RATE = "achilles.stage.timers.sample.rate";
+
+    String SLOW_STATEMENT_THRESHOLD_IN_MILLIS = "achilles.slow.statement.threshold.millis";
+    String SLOW_STATEMENT_TABLE_THRESHOLDS = "achilles.slow.statement.table.thresholds";
+    String SLOW_STATEMENT_ENTITY_THRESHOLDS = "achilles.slow.statement.entity.thresholds";
+    String SLOW_STATEMENT_MAX_LOGS_PER_SECOND = "achilles.slow.statement.max.logs.per.second";
+
+    String HOT_PARTITION_TOP_K = "achilles.hot.partition.top.k";
+    String HOT_PARTITION_HALF_LIFE_IN_SECONDS = "achilles.hot.partition.half.life.seconds";
+    String HOT_PARTITION_WARNING_SHARE = "achilles.hot.partition.warning.share";
+
 	ConsistencyLevel DEFAULT_LEVEL = ConsistencyLevel.ONE;
 }
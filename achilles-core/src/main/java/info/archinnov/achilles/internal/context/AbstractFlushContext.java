@@ -32,6 +32,9 @@ public abstract class AbstractFlushContext {
 
 	protected List<AbstractStatementWrapper> statementWrappers = new ArrayList<>();
 	protected List<AbstractStatementWrapper> counterStatementWrappers = new ArrayList<>();
+	protected List<List<Object>> entityCacheInvalidations = new ArrayList<>();
+
+	protected List<List<Object>> sliceCacheInvalidations = new ArrayList<>();
 
 	protected ConsistencyLevel consistencyLevel;
 
@@ -41,13 +44,42 @@ public abstract class AbstractFlushContext {
 	}
 
 	protected AbstractFlushContext(DaoContext daoContext, List<AbstractStatementWrapper> statementWrappers,
+			List<List<Object>> entityCacheInvalidations, List<List<Object>> sliceCacheInvalidations,
 			ConsistencyLevel consistencyLevel) {
 		this.statementWrappers = statementWrappers;
+		this.entityCacheInvalidations = entityCacheInvalidations;
+		this.sliceCacheInvalidations = sliceCacheInvalidations;
 		this.daoContext = daoContext;
 		this.consistencyLevel = consistencyLevel;
 	}
 
 	protected void executeBatch(BatchStatement.Type batchType, List<AbstractStatementWrapper> statementWrappers) {
+		try {
+			final StatementCoalescer coalescer = daoContext.getStatementCoalescer();
+			if (coalescer != null) {
+				statementWrappers = coalescer.coalesce(daoContext, statementWrappers);
+			}
+			final BatchSplitter splitter = daoContext.getBatchSplitter();
+			if (splitter != null && statementWrappers.size() > 1) {
+				for (List<AbstractStatementWrapper> batchWrappers : splitter.split(batchType, statementWrappers)) {
+					executeSingleBatch(batchType, batchWrappers);
+				}
+			} else {
+				executeSingleBatch(batchType, statementWrappers);
+			}
+		} finally {
+			if (!entityCacheInvalidations.isEmpty()) {
+				daoContext.invalidateCachedEntities(entityCacheInvalidations);
+				entityCacheInvalidations.clear();
+			}
+			if (!sliceCacheInvalidations.isEmpty()) {
+				daoContext.invalidateCachedSlices(sliceCacheInvalidations);
+				sliceCacheInvalidations.clear();
+			}
+		}
+	}
+
+	private void executeSingleBatch(BatchStatement.Type batchType, List<AbstractStatementWrapper> statementWrappers) {
 		if (statementWrappers.size() > 1) {
 			BatchStatement batch = new BatchStatement(batchType);
 			AbstractStatementWrapper.writeDMLStartBatch(batchType);
@@ -59,7 +91,7 @@ public abstract class AbstractFlushContext {
 			if (consistencyLevel != null) {
 				batch.setConsistencyLevel(getCQLLevel(consistencyLevel));
 			}
-			daoContext.executeBatch(batch);
+			daoContext.executeBatch(batch, statementWrappers);
 		} else if (statementWrappers.size() == 1) {
 			daoContext.execute(statementWrappers.get(0));
 		}
@@ -73,6 +105,14 @@ public abstract class AbstractFlushContext {
 		counterStatementWrappers.add(statementWrapper);
 	}
 
+	public void pushEntityCacheInvalidation(List<Object> entityKey) {
+		entityCacheInvalidations.add(entityKey);
+	}
+
+	public void pushSliceCacheInvalidation(List<Object> partitionKey) {
+		sliceCacheInvalidations.add(partitionKey);
+	}
+
 	public ResultSet executeImmediate(AbstractStatementWrapper statementWrapper) {
 		return daoContext.execute(statementWrapper);
 	}
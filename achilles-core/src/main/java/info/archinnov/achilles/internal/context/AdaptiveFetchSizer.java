@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+/**
+ * Choose the fetch size of the next page of an iterator so that each page weighs about a target number of bytes.
+ * <br/>
+ * The fetch size is the target divided by the average row size observed so far, bounded by a minimum and a maximum
+ * fetch size.
+ * <br/>
+ * The chosen fetch sizes and the time spent waiting for pages are exposed in the driver metrics registry when
+ * metrics are enabled
+ */
+public class AdaptiveFetchSizer {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveFetchSizer.class);
+
+    public static final String FETCH_SIZE_HISTOGRAM = "achilles-adaptive-fetch-size";
+    public static final String PAGE_WAIT_TIMER = "achilles-adaptive-fetch-page-wait";
+
+    private final int targetBytesPerPage;
+    private final int minFetchSize;
+    private final int maxFetchSize;
+
+    private final Histogram fetchSizes;
+    private final Timer pageWait;
+
+    /**
+     * @param targetBytesPerPage target size of a page in bytes
+     * @param minFetchSize       lower bound of the chosen fetch sizes
+     * @param maxFetchSize       upper bound of the chosen fetch sizes
+     * @param registry           metrics registry, may be null
+     */
+    public AdaptiveFetchSizer(int targetBytesPerPage, int minFetchSize, int maxFetchSize, MetricRegistry registry) {
+        this.targetBytesPerPage = targetBytesPerPage;
+        this.minFetchSize = Math.max(1, minFetchSize);
+        this.maxFetchSize = Math.max(this.minFetchSize, maxFetchSize);
+        if (registry != null) {
+            this.fetchSizes = registry.histogram(FETCH_SIZE_HISTOGRAM);
+            this.pageWait = registry.timer(PAGE_WAIT_TIMER);
+        } else {
+            this.fetchSizes = new Histogram(new ExponentiallyDecayingReservoir());
+            this.pageWait = new Timer();
+        }
+    }
+
+    public static boolean isEnabled(ConfigurationContext configContext) {
+        return configContext.getIteratorAdaptiveFetchTargetBytes() > 0;
+    }
+
+    public int nextFetchSize(double averageRowSizeInBytes) {
+        final long fetchSize = averageRowSizeInBytes > 0 ? Math.round(targetBytesPerPage / averageRowSizeInBytes)
+                : maxFetchSize;
+        final int bounded = (int) Math.min(maxFetchSize, Math.max(minFetchSize, fetchSize));
+        log.trace("Next fetch size {} for an average row size of {} bytes", bounded, averageRowSizeInBytes);
+        fetchSizes.update(bounded);
+        return bounded;
+    }
+
+    public void recordPageWait(long durationInNanos) {
+        pageWait.update(durationInNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public Histogram getFetchSizes() {
+        return fetchSizes;
+    }
+
+    public Timer getPageWait() {
+        return pageWait;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static com.datastax.driver.core.BatchStatement.Type.LOGGED;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.datastax.driver.core.BatchStatement;
+import info.archinnov.achilles.internal.statement.StatementSizeEstimator;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+
+/**
+ * Split pending statements into batches honoring the configured maximum statements count and estimated size.
+ * <ul>
+ * <li>LOGGED batches are split along partition boundaries (partition key of the entity which pushed the statement,
+ * else routing key) so that writes on a same partition stay atomic. A single partition exceeding the limits is split
+ * anyway, with a warning</li>
+ * <li>UNLOGGED and COUNTER batches are split freely, preserving statements order</li>
+ * </ul>
+ * The splitter is only installed when at least one limit is configured, so that batches are not size-estimated
+ * otherwise. The statements count and estimated size of every executed batch are then recorded in histograms,
+ * registered in the driver metrics registry when metrics are enabled
+ */
+public class BatchSplitter {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchSplitter.class);
+
+    public static final String BATCH_STATEMENTS_HISTOGRAM = "achilles-batch-statements";
+    public static final String BATCH_SIZE_IN_BYTES_HISTOGRAM = "achilles-batch-size-in-bytes";
+
+    private final int maxStatements;
+    private final long maxSizeInBytes;
+    private final Histogram batchStatements;
+    private final Histogram batchSizeInBytes;
+
+    private StatementSizeEstimator estimator = new StatementSizeEstimator();
+
+    public BatchSplitter(int maxStatements, long maxSizeInBytes, MetricRegistry registry) {
+        this.maxStatements = maxStatements;
+        this.maxSizeInBytes = maxSizeInBytes;
+        if (registry != null) {
+            this.batchStatements = registry.histogram(BATCH_STATEMENTS_HISTOGRAM);
+            this.batchSizeInBytes = registry.histogram(BATCH_SIZE_IN_BYTES_HISTOGRAM);
+        } else {
+            this.batchStatements = new Histogram(new ExponentiallyDecayingReservoir());
+            this.batchSizeInBytes = new Histogram(new ExponentiallyDecayingReservoir());
+        }
+    }
+
+    public static boolean isEnabled(ConfigurationContext configContext) {
+        return configContext.getBatchMaxStatements() > 0 || configContext.getBatchMaxSizeInBytes() > 0;
+    }
+
+    public List<List<AbstractStatementWrapper>> split(BatchStatement.Type batchType,
+            List<AbstractStatementWrapper> statementWrappers) {
+        final int size = statementWrappers.size();
+        final long[] sizes = new long[size];
+        long totalSize = 0;
+        for (int i = 0; i < size; i++) {
+            sizes[i] = estimator.estimate(statementWrappers.get(i));
+            totalSize += sizes[i];
+        }
+
+        if (!exceedLimits(size, totalSize)) {
+            record(size, totalSize);
+            return Arrays.asList(statementWrappers);
+        }
+
+        log.debug("Splitting {} batch of {} statements, estimated size {} bytes", batchType, size, totalSize);
+
+        final List<List<Integer>> groups = batchType == LOGGED ? groupByPartition(statementWrappers)
+                : groupByStatement(size);
+
+        final List<List<AbstractStatementWrapper>> batches = new ArrayList<>();
+        List<AbstractStatementWrapper> current = new ArrayList<>();
+        long currentSize = 0;
+        for (List<Integer> group : groups) {
+            long groupSize = 0;
+            for (Integer index : group) {
+                groupSize += sizes[index];
+            }
+
+            if (!exceedLimits(current.size() + group.size(), currentSize + groupSize)) {
+                currentSize += addAll(current, statementWrappers, group, groupSize);
+                continue;
+            }
+            if (!current.isEmpty()) {
+                flushTo(batches, current, currentSize);
+                current = new ArrayList<>();
+                currentSize = 0;
+            }
+            if (!exceedLimits(group.size(), groupSize)) {
+                currentSize += addAll(current, statementWrappers, group, groupSize);
+                continue;
+            }
+
+            if (batchType == LOGGED) {
+                log.warn("{} statements on the same partition exceed the batch limits and are split across " +
+                                 "several LOGGED batches, atomicity is lost for this partition", group.size());
+            }
+            for (Integer index : group) {
+                if (!current.isEmpty() && exceedLimits(current.size() + 1, currentSize + sizes[index])) {
+                    flushTo(batches, current, currentSize);
+                    current = new ArrayList<>();
+                    currentSize = 0;
+                }
+                current.add(statementWrappers.get(index));
+                currentSize += sizes[index];
+            }
+        }
+        if (!current.isEmpty()) {
+            flushTo(batches, current, currentSize);
+        }
+        return batches;
+    }
+
+    public Histogram getBatchStatements() {
+        return batchStatements;
+    }
+
+    public Histogram getBatchSizeInBytes() {
+        return batchSizeInBytes;
+    }
+
+    private boolean exceedLimits(int statementsCount, long sizeInBytes) {
+        return (maxStatements > 0 && statementsCount > maxStatements)
+                || (maxSizeInBytes > 0 && sizeInBytes > maxSizeInBytes);
+    }
+
+    private List<List<Integer>> groupByPartition(List<AbstractStatementWrapper> statementWrappers) {
+        final Map<Object, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < statementWrappers.size(); i++) {
+            final Object groupKey = partitionOf(statementWrappers.get(i), i);
+            List<Integer> group = groups.get(groupKey);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(groupKey, group);
+            }
+            group.add(i);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Partition written by the statement: the encoded partition key of the entity which pushed it, else the routing
+     * key of a bound statement. Other statements cannot be grouped and are keyed by their index
+     */
+    private Object partitionOf(AbstractStatementWrapper statementWrapper, int index) {
+        if (statementWrapper.getPartitionKey() != null) {
+            return statementWrapper.getPartitionKey();
+        }
+        final ByteBuffer routingKey = statementWrapper.getStatement().getRoutingKey();
+        return routingKey != null ? routingKey : index;
+    }
+
+    private List<List<Integer>> groupByStatement(int size) {
+        final List<List<Integer>> groups = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            groups.add(Arrays.asList(i));
+        }
+        return groups;
+    }
+
+    private long addAll(List<AbstractStatementWrapper> current, List<AbstractStatementWrapper> statementWrappers,
+            List<Integer> group, long groupSize) {
+        for (Integer index : group) {
+            current.add(statementWrappers.get(index));
+        }
+        return groupSize;
+    }
+
+    private void flushTo(List<List<AbstractStatementWrapper>> batches, List<AbstractStatementWrapper> current,
+            long currentSize) {
+        record(current.size(), currentSize);
+        batches.add(current);
+    }
+
+    private void record(int statementsCount, long sizeInBytes) {
+        batchStatements.update(statementsCount);
+        batchSizeInBytes.update(sizeInBytes);
+    }
+}
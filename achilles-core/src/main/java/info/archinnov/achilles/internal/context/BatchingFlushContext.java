@@ -38,8 +38,9 @@ public class BatchingFlushContext extends AbstractFlushContext {
 	}
 
 	private BatchingFlushContext(DaoContext daoContext, List<AbstractStatementWrapper> statementWrappers,
+			List<List<Object>> entityCacheInvalidations, List<List<Object>> sliceCacheInvalidations,
 			ConsistencyLevel consistencyLevel) {
-		super(daoContext, statementWrappers, consistencyLevel);
+		super(daoContext, statementWrappers, entityCacheInvalidations, sliceCacheInvalidations, consistencyLevel);
 	}
 
 	@Override
@@ -78,7 +79,8 @@ public class BatchingFlushContext extends AbstractFlushContext {
 
 	@Override
 	public BatchingFlushContext duplicate() {
-		return new BatchingFlushContext(daoContext, statementWrappers, consistencyLevel);
+		return new BatchingFlushContext(daoContext, statementWrappers, entityCacheInvalidations, sliceCacheInvalidations,
+				consistencyLevel);
 	}
 
     @Override
@@ -91,6 +93,7 @@ public class BatchingFlushContext extends AbstractFlushContext {
     }
 
     public BatchingFlushContext duplicateWithNoData(ConsistencyLevel defaultConsistencyLevel) {
-        return new BatchingFlushContext(daoContext, new ArrayList<AbstractStatementWrapper>(), defaultConsistencyLevel);
+        return new BatchingFlushContext(daoContext, new ArrayList<AbstractStatementWrapper>(),
+                new ArrayList<List<Object>>(), new ArrayList<List<Object>>(), defaultConsistencyLevel);
     }
 }
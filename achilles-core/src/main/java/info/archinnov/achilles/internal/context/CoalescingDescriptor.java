@@ -0,0 +1,259 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_TABLE;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import com.google.common.base.Objects;
+import com.google.common.base.Optional;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+
+/**
+ * Describes what a pending statement writes, so that the {@link StatementCoalescer} can merge or drop it
+ * before the flush.
+ */
+public class CoalescingDescriptor {
+
+    public static enum WriteType {
+        INSERT, UPDATE_FIELDS, COLLECTION_UPDATE, ROW_DELETE, COUNTER_INCREMENT, COUNTER_DELETE
+    }
+
+    private final WriteType writeType;
+    private final PersistenceContext context;
+    private final List<Object> rowKey;
+    private final List<Object> cellKey;
+    private final Optional<Long> timestamp;
+    private final Optional<Integer> ttl;
+
+    private Map<PropertyMeta, Object> encodedValues;
+
+    private EntityMeta meta;
+    private PropertyMeta counterMeta;
+    private boolean clusteredCounter;
+    private Long increment;
+
+    private CoalescingDescriptor(WriteType writeType, PersistenceContext context, List<Object> rowKey,
+            List<Object> cellKey, Optional<Long> timestamp, Optional<Integer> ttl) {
+        this.writeType = writeType;
+        this.context = context;
+        this.rowKey = rowKey;
+        this.cellKey = cellKey;
+        this.timestamp = timestamp;
+        this.ttl = ttl;
+    }
+
+    public static CoalescingDescriptor forInsert(PersistenceContext context) {
+        return new CoalescingDescriptor(WriteType.INSERT, context, entityRowKey(context), null,
+                                        context.getTimestamp(), context.getTtl());
+    }
+
+    public static CoalescingDescriptor forFieldsUpdate(PersistenceContext context, List<PropertyMeta> pms) {
+        CoalescingDescriptor descriptor = new CoalescingDescriptor(WriteType.UPDATE_FIELDS, context,
+                                                                   entityRowKey(context), null,
+                                                                   context.getTimestamp(), context.getTtl());
+        Object entity = context.getEntity();
+        descriptor.encodedValues = new LinkedHashMap<>();
+        for (PropertyMeta pm : pms) {
+            descriptor.encodedValues.put(pm, pm.getAndEncodeValueForCassandra(entity));
+        }
+        return descriptor;
+    }
+
+    public static CoalescingDescriptor forCollectionUpdate(PersistenceContext context) {
+        return new CoalescingDescriptor(WriteType.COLLECTION_UPDATE, context, entityRowKey(context), null,
+                                        context.getTimestamp(), context.getTtl());
+    }
+
+    /**
+     * The DELETE statement is prepared without any timestamp, whatever the options of the context
+     */
+    public static CoalescingDescriptor forRowDelete(PersistenceContext context, String tableName) {
+        List<Object> rowKey = Arrays.asList(tableName, encodePrimaryKey(context.getEntityMeta(),
+                                                                         context.getPrimaryKey()));
+        return new CoalescingDescriptor(WriteType.ROW_DELETE, context, rowKey, null, Optional.<Long>absent(),
+                                        Optional.<Integer>absent());
+    }
+
+    public static CoalescingDescriptor forSimpleCounterIncrement(PersistenceContext context, EntityMeta meta,
+            PropertyMeta counterMeta, Long increment) {
+        List<Object> rowKey = simpleCounterRowKey(context, meta);
+        CoalescingDescriptor descriptor = new CoalescingDescriptor(WriteType.COUNTER_INCREMENT, context, rowKey,
+                                                                   cellKey(rowKey, counterMeta),
+                                                                   Optional.<Long>absent(),
+                                                                   Optional.<Integer>absent());
+        descriptor.meta = meta;
+        descriptor.counterMeta = counterMeta;
+        descriptor.increment = increment;
+        return descriptor;
+    }
+
+    public static CoalescingDescriptor forSimpleCounterDelete(PersistenceContext context, EntityMeta meta,
+            PropertyMeta counterMeta) {
+        List<Object> rowKey = simpleCounterRowKey(context, meta);
+        return new CoalescingDescriptor(WriteType.COUNTER_DELETE, context, rowKey, cellKey(rowKey, counterMeta),
+                                        Optional.<Long>absent(), Optional.<Integer>absent());
+    }
+
+    public static CoalescingDescriptor forClusteredCounterIncrement(PersistenceContext context, EntityMeta meta,
+            PropertyMeta counterMeta, Long increment) {
+        List<Object> rowKey = Arrays.asList(meta.getTableName(), encodePrimaryKey(meta, context.getPrimaryKey()));
+        CoalescingDescriptor descriptor = new CoalescingDescriptor(WriteType.COUNTER_INCREMENT, context, rowKey,
+                                                                   cellKey(rowKey, counterMeta),
+                                                                   Optional.<Long>absent(),
+                                                                   Optional.<Integer>absent());
+        descriptor.meta = meta;
+        descriptor.counterMeta = counterMeta;
+        descriptor.clusteredCounter = true;
+        descriptor.increment = increment;
+        return descriptor;
+    }
+
+    public static CoalescingDescriptor forClusteredCounterDelete(PersistenceContext context, EntityMeta meta) {
+        List<Object> rowKey = Arrays.asList(meta.getTableName(), encodePrimaryKey(meta, context.getPrimaryKey()));
+        return new CoalescingDescriptor(WriteType.COUNTER_DELETE, context, rowKey, null, Optional.<Long>absent(),
+                                        Optional.<Integer>absent());
+    }
+
+    public boolean isDeletion() {
+        return writeType == WriteType.ROW_DELETE || writeType == WriteType.COUNTER_DELETE;
+    }
+
+    /**
+     * Two field updates can be merged only when they share the same TTL and both have an explicit timestamp (or
+     * none). The merged statement writes all its fields with the greatest timestamp: since any INSERT, collection
+     * update or DELETE of the row in between prevents the merge, each cell keeps its order relative to the other
+     * writes of the row
+     */
+    public boolean canMergeWith(CoalescingDescriptor later) {
+        if (writeType == WriteType.COUNTER_INCREMENT) {
+            return later.writeType == WriteType.COUNTER_INCREMENT && clusteredCounter == later.clusteredCounter;
+        }
+        return writeType == WriteType.UPDATE_FIELDS && later.writeType == WriteType.UPDATE_FIELDS
+                && ttl.equals(later.ttl) && timestamp.isPresent() == later.timestamp.isPresent();
+    }
+
+    public CoalescingDescriptor mergeWith(CoalescingDescriptor later) {
+        final Optional<Long> mergedTimestamp = timestamp.isPresent() && timestamp.get() > later.timestamp.get()
+                ? timestamp : later.timestamp;
+        CoalescingDescriptor merged = new CoalescingDescriptor(writeType, later.context, rowKey, cellKey,
+                                                               mergedTimestamp, later.ttl);
+        if (writeType == WriteType.COUNTER_INCREMENT) {
+            merged.meta = later.meta;
+            merged.counterMeta = later.counterMeta;
+            merged.clusteredCounter = later.clusteredCounter;
+            merged.increment = increment + later.increment;
+        } else {
+            merged.encodedValues = new LinkedHashMap<>(encodedValues);
+            merged.encodedValues.putAll(later.encodedValues);
+        }
+        return merged;
+    }
+
+    /**
+     * A write is shadowed by a later deletion of the same row (or cell) when the deletion timestamp is greater or
+     * equal. A deletion without explicit timestamp is stamped when the batch is flushed, thus after the writes of
+     * the batch, whether they share this timestamp or were stamped earlier in the batch session
+     */
+    public boolean shadows(CoalescingDescriptor write) {
+        if (cellKey != null && !cellKey.equals(write.cellKey)) {
+            return false;
+        }
+        if (!timestamp.isPresent()) {
+            return true;
+        }
+        return write.timestamp.isPresent() && write.timestamp.get() <= timestamp.get();
+    }
+
+    public boolean isNoOp() {
+        return writeType == WriteType.COUNTER_INCREMENT && increment == 0L;
+    }
+
+    public AbstractStatementWrapper rebuildStatement(DaoContext daoContext) {
+        AbstractStatementWrapper statementWrapper;
+        if (writeType == WriteType.COUNTER_INCREMENT) {
+            if (clusteredCounter) {
+                statementWrapper = daoContext.buildClusteredCounterIncrementStatement(context, meta, counterMeta,
+                                                                                      increment);
+            } else {
+                statementWrapper = daoContext.buildSimpleCounterIncrementStatement(context, meta, counterMeta,
+                                                                                   increment);
+            }
+        } else {
+            statementWrapper = daoContext.buildCoalescedUpdateStatement(context,
+                                                                        new ArrayList<>(encodedValues.keySet()),
+                                                                        new ArrayList<>(encodedValues.values()),
+                                                                        timestamp);
+        }
+        statementWrapper.setCoalescingDescriptor(this);
+        return statementWrapper;
+    }
+
+    public WriteType getWriteType() {
+        return writeType;
+    }
+
+    public List<Object> getRowKey() {
+        return rowKey;
+    }
+
+    public List<Object> getCellKey() {
+        return cellKey;
+    }
+
+    public Long getIncrement() {
+        return increment;
+    }
+
+    public Map<PropertyMeta, Object> getEncodedValues() {
+        return encodedValues;
+    }
+
+    private static List<Object> entityRowKey(PersistenceContext context) {
+        EntityMeta meta = context.getEntityMeta();
+        return Arrays.asList(meta.getTableName(), encodePrimaryKey(meta, context.getPrimaryKey()));
+    }
+
+    private static List<Object> simpleCounterRowKey(PersistenceContext context, EntityMeta meta) {
+        return Arrays.asList(CQL_COUNTER_TABLE, meta.getClassName(), encodePrimaryKey(meta, context.getPrimaryKey()));
+    }
+
+    private static List<Object> cellKey(List<Object> rowKey, PropertyMeta counterMeta) {
+        List<Object> cellKey = new ArrayList<>(rowKey);
+        cellKey.add(counterMeta.getPropertyName());
+        return cellKey;
+    }
+
+    private static Object encodePrimaryKey(EntityMeta meta, Object primaryKey) {
+        PropertyMeta idMeta = meta.getIdMeta();
+        if (idMeta.isEmbeddedId()) {
+            return idMeta.encodeToComponents(primaryKey);
+        } else {
+            return idMeta.encode(primaryKey);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(CoalescingDescriptor.class).add("writeType", writeType).add("rowKey", rowKey)
+                      .add("cellKey", cellKey).add("timestamp", timestamp).toString();
+    }
+}
@@ -15,6 +15,11 @@
  */
 package info.archinnov.achilles.internal.context;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import javax.validation.Validator;
 import info.archinnov.achilles.internal.interceptor.DefaultBeanValidationInterceptor;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
@@ -36,6 +41,68 @@ public class ConfigurationContext {
 
     private int preparedStatementLRUCacheSize = 5000;
 
+    private boolean statementCoalescingEnabled;
+
+    private int batchMaxStatements;
+
+    private int batchMaxSizeInBytes;
+
+    private boolean batchDeferredUpdatesEnabled;
+
+    private int inFlightMaxRequests;
+
+    private int inFlightMaxReads;
+
+    private int inFlightMaxWrites;
+
+    private boolean inFlightFailFast;
+
+    private boolean readCoalescingEnabled;
+
+    private int entityCacheMaxSize;
+
+    private int entityCacheMaxWeightInBytes;
+
+    private long entityCacheOffHeapSizeInBytes;
+
+    private int entityCacheTtlInSeconds;
+
+    private Set<Class<?>> cachedEntityClasses = new HashSet<>();
+
+    private int sliceQueryCacheMaxRows;
+
+    private int sliceQueryCacheTtlInSeconds;
+
+    private boolean lazyLoadingFetchAll;
+
+    private int iteratorPrefetchThreshold;
+
+    private ExecutorService iteratorMappingExecutor;
+
+    private int iteratorAdaptiveFetchTargetBytes;
+
+    private int iteratorAdaptiveFetchMinSize;
+
+    private int iteratorAdaptiveFetchMaxSize;
+
+    private boolean operationMetricsEnabled;
+
+    private int stageTimersSampleRate;
+
+    private long slowStatementThresholdInMillis;
+
+    private Map<String, Long> slowStatementTableThresholds = new HashMap<>();
+
+    private Map<Class<?>, Long> slowStatementEntityThresholds = new HashMap<>();
+
+    private int slowStatementMaxLogsPerSecond;
+
+    private int hotPartitionTopK;
+
+    private int hotPartitionHalfLifeInSeconds;
+
+    private double hotPartitionWarningShare;
+
     public boolean isForceColumnFamilyCreation() {
         return forceColumnFamilyCreation;
     }
@@ -84,6 +151,258 @@ public class ConfigurationContext {
         this.preparedStatementLRUCacheSize = preparedStatementLRUCacheSize;
     }
 
+    public boolean isStatementCoalescingEnabled() {
+        return statementCoalescingEnabled;
+    }
+
+    public void setStatementCoalescingEnabled(boolean statementCoalescingEnabled) {
+        this.statementCoalescingEnabled = statementCoalescingEnabled;
+    }
+
+    public int getBatchMaxStatements() {
+        return batchMaxStatements;
+    }
+
+    public void setBatchMaxStatements(int batchMaxStatements) {
+        this.batchMaxStatements = batchMaxStatements;
+    }
+
+    public int getBatchMaxSizeInBytes() {
+        return batchMaxSizeInBytes;
+    }
+
+    public void setBatchMaxSizeInBytes(int batchMaxSizeInBytes) {
+        this.batchMaxSizeInBytes = batchMaxSizeInBytes;
+    }
+
+    public boolean isBatchDeferredUpdatesEnabled() {
+        return batchDeferredUpdatesEnabled;
+    }
+
+    public void setBatchDeferredUpdatesEnabled(boolean batchDeferredUpdatesEnabled) {
+        this.batchDeferredUpdatesEnabled = batchDeferredUpdatesEnabled;
+    }
+
+    public int getInFlightMaxRequests() {
+        return inFlightMaxRequests;
+    }
+
+    public void setInFlightMaxRequests(int inFlightMaxRequests) {
+        this.inFlightMaxRequests = inFlightMaxRequests;
+    }
+
+    public int getInFlightMaxReads() {
+        return inFlightMaxReads;
+    }
+
+    public void setInFlightMaxReads(int inFlightMaxReads) {
+        this.inFlightMaxReads = inFlightMaxReads;
+    }
+
+    public int getInFlightMaxWrites() {
+        return inFlightMaxWrites;
+    }
+
+    public void setInFlightMaxWrites(int inFlightMaxWrites) {
+        this.inFlightMaxWrites = inFlightMaxWrites;
+    }
+
+    public boolean isInFlightFailFast() {
+        return inFlightFailFast;
+    }
+
+    public void setInFlightFailFast(boolean inFlightFailFast) {
+        this.inFlightFailFast = inFlightFailFast;
+    }
+
+    public boolean isReadCoalescingEnabled() {
+        return readCoalescingEnabled;
+    }
+
+    public void setReadCoalescingEnabled(boolean readCoalescingEnabled) {
+        this.readCoalescingEnabled = readCoalescingEnabled;
+    }
+
+    public int getEntityCacheMaxSize() {
+        return entityCacheMaxSize;
+    }
+
+    public void setEntityCacheMaxSize(int entityCacheMaxSize) {
+        this.entityCacheMaxSize = entityCacheMaxSize;
+    }
+
+    public int getEntityCacheMaxWeightInBytes() {
+        return entityCacheMaxWeightInBytes;
+    }
+
+    public void setEntityCacheMaxWeightInBytes(int entityCacheMaxWeightInBytes) {
+        this.entityCacheMaxWeightInBytes = entityCacheMaxWeightInBytes;
+    }
+
+    public long getEntityCacheOffHeapSizeInBytes() {
+        return entityCacheOffHeapSizeInBytes;
+    }
+
+    public void setEntityCacheOffHeapSizeInBytes(long entityCacheOffHeapSizeInBytes) {
+        this.entityCacheOffHeapSizeInBytes = entityCacheOffHeapSizeInBytes;
+    }
+
+    public int getEntityCacheTtlInSeconds() {
+        return entityCacheTtlInSeconds;
+    }
+
+    public void setEntityCacheTtlInSeconds(int entityCacheTtlInSeconds) {
+        this.entityCacheTtlInSeconds = entityCacheTtlInSeconds;
+    }
+
+    public Set<Class<?>> getCachedEntityClasses() {
+        return cachedEntityClasses;
+    }
+
+    public void setCachedEntityClasses(Set<Class<?>> cachedEntityClasses) {
+        this.cachedEntityClasses = cachedEntityClasses;
+    }
+
+    public boolean isEntityCacheEnabled() {
+        return entityCacheMaxSize > 0 || entityCacheMaxWeightInBytes > 0 || entityCacheOffHeapSizeInBytes > 0;
+    }
+
+    public int getSliceQueryCacheMaxRows() {
+        return sliceQueryCacheMaxRows;
+    }
+
+    public void setSliceQueryCacheMaxRows(int sliceQueryCacheMaxRows) {
+        this.sliceQueryCacheMaxRows = sliceQueryCacheMaxRows;
+    }
+
+    public int getSliceQueryCacheTtlInSeconds() {
+        return sliceQueryCacheTtlInSeconds;
+    }
+
+    public void setSliceQueryCacheTtlInSeconds(int sliceQueryCacheTtlInSeconds) {
+        this.sliceQueryCacheTtlInSeconds = sliceQueryCacheTtlInSeconds;
+    }
+
+    public boolean isLazyLoadingFetchAll() {
+        return lazyLoadingFetchAll;
+    }
+
+    public void setLazyLoadingFetchAll(boolean lazyLoadingFetchAll) {
+        this.lazyLoadingFetchAll = lazyLoadingFetchAll;
+    }
+
+    public int getIteratorPrefetchThreshold() {
+        return iteratorPrefetchThreshold;
+    }
+
+    public void setIteratorPrefetchThreshold(int iteratorPrefetchThreshold) {
+        this.iteratorPrefetchThreshold = iteratorPrefetchThreshold;
+    }
+
+    public ExecutorService getIteratorMappingExecutor() {
+        return iteratorMappingExecutor;
+    }
+
+    public void setIteratorMappingExecutor(ExecutorService iteratorMappingExecutor) {
+        this.iteratorMappingExecutor = iteratorMappingExecutor;
+    }
+
+    public int getIteratorAdaptiveFetchTargetBytes() {
+        return iteratorAdaptiveFetchTargetBytes;
+    }
+
+    public void setIteratorAdaptiveFetchTargetBytes(int iteratorAdaptiveFetchTargetBytes) {
+        this.iteratorAdaptiveFetchTargetBytes = iteratorAdaptiveFetchTargetBytes;
+    }
+
+    public int getIteratorAdaptiveFetchMinSize() {
+        return iteratorAdaptiveFetchMinSize;
+    }
+
+    public void setIteratorAdaptiveFetchMinSize(int iteratorAdaptiveFetchMinSize) {
+        this.iteratorAdaptiveFetchMinSize = iteratorAdaptiveFetchMinSize;
+    }
+
+    public int getIteratorAdaptiveFetchMaxSize() {
+        return iteratorAdaptiveFetchMaxSize;
+    }
+
+    public void setIteratorAdaptiveFetchMaxSize(int iteratorAdaptiveFetchMaxSize) {
+        this.iteratorAdaptiveFetchMaxSize = iteratorAdaptiveFetchMaxSize;
+    }
+
+    public boolean isOperationMetricsEnabled() {
+        return operationMetricsEnabled;
+    }
+
+    public void setOperationMetricsEnabled(boolean operationMetricsEnabled) {
+        this.operationMetricsEnabled = operationMetricsEnabled;
+    }
+
+    public int getStageTimersSampleRate() {
+        return stageTimersSampleRate;
+    }
+
+    public void setStageTimersSampleRate(int stageTimersSampleRate) {
+        this.stageTimersSampleRate = stageTimersSampleRate;
+    }
+
+    public long getSlowStatementThresholdInMillis() {
+        return slowStatementThresholdInMillis;
+    }
+
+    public void setSlowStatementThresholdInMillis(long slowStatementThresholdInMillis) {
+        this.slowStatementThresholdInMillis = slowStatementThresholdInMillis;
+    }
+
+    public Map<String, Long> getSlowStatementTableThresholds() {
+        return slowStatementTableThresholds;
+    }
+
+    public void setSlowStatementTableThresholds(Map<String, Long> slowStatementTableThresholds) {
+        this.slowStatementTableThresholds = slowStatementTableThresholds;
+    }
+
+    public Map<Class<?>, Long> getSlowStatementEntityThresholds() {
+        return slowStatementEntityThresholds;
+    }
+
+    public void setSlowStatementEntityThresholds(Map<Class<?>, Long> slowStatementEntityThresholds) {
+        this.slowStatementEntityThresholds = slowStatementEntityThresholds;
+    }
+
+    public int getSlowStatementMaxLogsPerSecond() {
+        return slowStatementMaxLogsPerSecond;
+    }
+
+    public void setSlowStatementMaxLogsPerSecond(int slowStatementMaxLogsPerSecond) {
+        this.slowStatementMaxLogsPerSecond = slowStatementMaxLogsPerSecond;
+    }
+
+    public int getHotPartitionTopK() {
+        return hotPartitionTopK;
+    }
+
+    public void setHotPartitionTopK(int hotPartitionTopK) {
+        this.hotPartitionTopK = hotPartitionTopK;
+    }
+
+    public int getHotPartitionHalfLifeInSeconds() {
+        return hotPartitionHalfLifeInSeconds;
+    }
+
+    public void setHotPartitionHalfLifeInSeconds(int hotPartitionHalfLifeInSeconds) {
+        this.hotPartitionHalfLifeInSeconds = hotPartitionHalfLifeInSeconds;
+    }
+
+    public double getHotPartitionWarningShare() {
+        return hotPartitionWarningShare;
+    }
+
+    public void setHotPartitionWarningShare(double hotPartitionWarningShare) {
+        this.hotPartitionWarningShare = hotPartitionWarningShare;
+    }
+
     public boolean isClassConstrained(Class<?> clazz) {
         if (beanValidator != null) {
             return beanValidator.getConstraintsForClass(clazz).isBeanConstrained();
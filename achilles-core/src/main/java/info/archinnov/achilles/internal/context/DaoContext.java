@@ -24,9 +24,15 @@ import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.SELEC
 import static info.archinnov.achilles.counter.AchillesCounter.ClusteredCounterStatement.DELETE_ALL;
 import static info.archinnov.achilles.counter.AchillesCounter.ClusteredCounterStatement.SELECT_ALL;
 import static info.archinnov.achilles.internal.consistency.ConsistencyConverter.getCQLLevel;
+import static info.archinnov.achilles.internal.context.OperationMetrics.Operation.BATCH;
+import static info.archinnov.achilles.internal.context.OperationMetrics.Operation.COUNTER;
+import static info.archinnov.achilles.internal.context.OperationMetrics.Operation.EXECUTE;
 import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType
         .REMOVE_FROM_LIST_AT_INDEX;
 import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.SET_TO_LIST_AT_INDEX;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import org.apache.commons.lang.ArrayUtils;
@@ -37,27 +43,34 @@ import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.querybuilder.Insert;
 import com.datastax.driver.core.querybuilder.Update;
 import com.google.common.base.Optional;
+import com.google.common.base.Supplier;
 import com.google.common.cache.Cache;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internal.consistency.ConsistencyOverrider;
+import info.archinnov.achilles.internal.context.OperationMetrics.Sample;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType;
 import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
 import info.archinnov.achilles.internal.statement.StatementGenerator;
 import info.archinnov.achilles.internal.statement.cache.CacheManager;
+import info.archinnov.achilles.internal.statement.cache.CacheType;
 import info.archinnov.achilles.internal.statement.cache.StatementCacheKey;
 import info.archinnov.achilles.internal.statement.prepared.PreparedStatementBinder;
 import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
 import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
 import info.archinnov.achilles.internal.statement.wrapper.RegularStatementWrapper;
 import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.StageBreakdown.Stage;
 import info.archinnov.achilles.type.Pair;
 
 public class DaoContext {
@@ -85,6 +98,28 @@ public class DaoContext {
 
     private ConsistencyOverrider overrider = new ConsistencyOverrider();
 
+    private StatementCoalescer statementCoalescer;
+
+    private BatchSplitter batchSplitter;
+
+    private InFlightRequestLimiter inFlightRequestLimiter;
+
+    private ReadCoalescer readCoalescer;
+
+    private EntityCache entityCache;
+
+    private SliceQueryCache sliceQueryCache;
+
+    private AdaptiveFetchSizer adaptiveFetchSizer;
+
+    private OperationMetrics operationMetrics;
+
+    private StageTimers stageTimers;
+
+    private SlowStatementLog slowStatementLog;
+
+    private HotPartitionTracker hotPartitionTracker;
+
     public void pushInsertStatement(PersistenceContext context) {
         log.debug("Push insert statement for PersistenceContext '{}'", context);
 
@@ -93,6 +128,7 @@ public class DaoContext {
         Optional<Integer> ttlO = context.getTtl();
         Optional<Long> timestampO = context.getTimestamp();
         ConsistencyLevel writeLevel = overrider.getWriteLevel(context, entityMeta);
+        AbstractStatementWrapper statementWrapper;
         if (timestampO.isPresent()) {
             final Pair<Insert, Object[]> pair = statementGenerator.generateInsert(context.getEntity(), entityMeta);
             Insert insert = pair.left;
@@ -104,13 +140,18 @@ public class DaoContext {
                 insertOptions = insertOptions.and(ttl(ttlO.get()));
                 boundValues = ArrayUtils.add(boundValues, ttlO.get());
             }
-            context.pushStatement(new RegularStatementWrapper(insertOptions, boundValues, getCQLLevel(writeLevel)));
+            statementWrapper = new RegularStatementWrapper(insertOptions, boundValues, getCQLLevel(writeLevel));
         } else {
             PreparedStatement ps = insertPSs.get(entityClass);
-            BoundStatementWrapper bsWrapper = binder.bindForInsert(ps, entityMeta, context.getEntity(), writeLevel,
-                                                                   ttlO);
-            context.pushStatement(bsWrapper);
+            statementWrapper = binder.bindForInsert(ps, entityMeta, context.getEntity(), writeLevel, ttlO);
         }
+        if (statementCoalescer != null) {
+            statementWrapper.setCoalescingDescriptor(CoalescingDescriptor.forInsert(context));
+        }
+        setPartitionKey(statementWrapper, context, context.getEntityMeta().getTableName());
+        invalidateCaches(context);
+        trackPartition(context, false);
+        context.pushStatement(statementWrapper);
     }
 
     public void pushUpdateStatement(PersistenceContext context, List<PropertyMeta> pms) {
@@ -119,26 +160,54 @@ public class DaoContext {
         Optional<Integer> ttlO = context.getTtl();
         Optional<Long> timestampO = context.getTimestamp();
         ConsistencyLevel writeLevel = overrider.getWriteLevel(context, entityMeta);
+        AbstractStatementWrapper statementWrapper;
         if (timestampO.isPresent()) {
             final Pair<Update.Where, Object[]> pair = statementGenerator.generateUpdateFields(context.getEntity(),
                                                                                               entityMeta, pms);
+            statementWrapper = buildUpdateWithOptions(pair, timestampO.get(), ttlO, writeLevel);
+        } else {
+            PreparedStatement ps = cacheManager.getCacheForFieldsUpdate(session, dynamicPSCache, context, pms);
+            statementWrapper = binder.bindForUpdate(ps, entityMeta, pms, context.getEntity(), writeLevel, ttlO);
+        }
+        if (statementCoalescer != null) {
+            statementWrapper.setCoalescingDescriptor(CoalescingDescriptor.forFieldsUpdate(context, pms));
+        }
+        setPartitionKey(statementWrapper, context, context.getEntityMeta().getTableName());
+        invalidateCaches(context);
+        trackPartition(context, false);
+        context.pushStatement(statementWrapper);
+    }
 
-            final Update.Where where = pair.left;
-            Object[] boundValues = pair.right;
-            Update.Options updateOptions = where.using(timestamp(timestampO.get()));
-            boundValues = ArrayUtils.add(boundValues, timestampO.get());
-
-            if (ttlO.isPresent()) {
-                updateOptions = updateOptions.and(ttl(ttlO.get()));
-                boundValues = ArrayUtils.add(boundValues, ttlO.get());
-            }
-            context.pushStatement(new RegularStatementWrapper(updateOptions, boundValues, getCQLLevel(writeLevel)));
+    AbstractStatementWrapper buildCoalescedUpdateStatement(PersistenceContext context, List<PropertyMeta> pms,
+            List<Object> encodedValues, Optional<Long> timestampO) {
+        log.trace("Build coalesced update statement for PersistenceContext '{}' and properties '{}'", context, pms);
+        EntityMeta entityMeta = context.getEntityMeta();
+        Optional<Integer> ttlO = context.getTtl();
+        ConsistencyLevel writeLevel = overrider.getWriteLevel(context, entityMeta);
+        if (timestampO.isPresent()) {
+            final Pair<Update.Where, Object[]> pair = statementGenerator.generateUpdateFields(context.getPrimaryKey(),
+                                                                                              entityMeta, pms,
+                                                                                              encodedValues);
+            return buildUpdateWithOptions(pair, timestampO.get(), ttlO, writeLevel);
         } else {
             PreparedStatement ps = cacheManager.getCacheForFieldsUpdate(session, dynamicPSCache, context, pms);
-            BoundStatementWrapper bsWrapper = binder.bindForUpdate(ps, entityMeta, pms, context.getEntity(),
-                                                                   writeLevel, ttlO);
-            context.pushStatement(bsWrapper);
+            return binder.bindForUpdate(ps, entityMeta, pms, encodedValues, context.getPrimaryKey(), writeLevel,
+                                        ttlO);
+        }
+    }
+
+    private RegularStatementWrapper buildUpdateWithOptions(Pair<Update.Where, Object[]> pair, Long timestampValue,
+            Optional<Integer> ttlO, ConsistencyLevel writeLevel) {
+        final Update.Where where = pair.left;
+        Object[] boundValues = pair.right;
+        Update.Options updateOptions = where.using(timestamp(timestampValue));
+        boundValues = ArrayUtils.add(boundValues, timestampValue);
+
+        if (ttlO.isPresent()) {
+            updateOptions = updateOptions.and(ttl(ttlO.get()));
+            boundValues = ArrayUtils.add(boundValues, ttlO.get());
         }
+        return new RegularStatementWrapper(updateOptions, boundValues, getCQLLevel(writeLevel));
     }
 
     public void pushCollectionAndMapUpdateStatement(PersistenceContext context, DirtyCheckChangeSet changeSet) {
@@ -149,33 +218,30 @@ public class DaoContext {
         Optional<Integer> ttlO = context.getTtl();
         Optional<Long> timestampO = context.getTimestamp();
         ConsistencyLevel writeLevel = overrider.getWriteLevel(context, entityMeta);
+        AbstractStatementWrapper statementWrapper;
         if (timestampO.isPresent()) {
             final Pair<Update.Where, Object[]> pair = statementGenerator
                     .generateCollectionAndMapUpdateOperation(changeSet, context.getEntity(),
                                                              entityMeta);
-
-            final Update.Where where = pair.left;
-            Object[] boundValues = pair.right;
-            Update.Options updateOptions = where.using(timestamp(timestampO.get()));
-            boundValues = ArrayUtils.add(boundValues, timestampO.get());
-
-            if (ttlO.isPresent()) {
-                updateOptions = updateOptions.and(ttl(ttlO.get()));
-                boundValues = ArrayUtils.add(boundValues, ttlO.get());
-            }
-            context.pushStatement(new RegularStatementWrapper(updateOptions, boundValues, getCQLLevel(writeLevel)));
+            statementWrapper = buildUpdateWithOptions(pair, timestampO.get(), ttlO, writeLevel);
         } else if (changeType == SET_TO_LIST_AT_INDEX || changeType == REMOVE_FROM_LIST_AT_INDEX) {
             final Pair<Update.Where, Object[]> pair = statementGenerator
                     .generateCollectionAndMapUpdateOperation(changeSet, context.getEntity(),
                                                              entityMeta);
-            context.pushStatement(new RegularStatementWrapper(pair.left, pair.right, getCQLLevel(writeLevel)));
+            statementWrapper = new RegularStatementWrapper(pair.left, pair.right, getCQLLevel(writeLevel));
         } else {
             PreparedStatement ps = cacheManager
                     .getCacheForCollectionAndMapOperation(session, dynamicPSCache, context, propertyMeta, changeSet);
-            BoundStatementWrapper bsWrapper = binder.bindForCollectionAndMapUpdate(ps, entityMeta, context.getEntity(),
-                                                                                   changeSet, writeLevel, ttlO);
-            context.pushStatement(bsWrapper);
+            statementWrapper = binder.bindForCollectionAndMapUpdate(ps, entityMeta, context.getEntity(), changeSet,
+                                                                    writeLevel, ttlO);
+        }
+        if (statementCoalescer != null) {
+            statementWrapper.setCoalescingDescriptor(CoalescingDescriptor.forCollectionUpdate(context));
         }
+        setPartitionKey(statementWrapper, context, context.getEntityMeta().getTableName());
+        invalidateCaches(context);
+        trackPartition(context, false);
+        context.pushStatement(statementWrapper);
     }
 
     public Row loadProperty(PersistenceContext context, PropertyMeta pm) {
@@ -186,6 +252,26 @@ public class DaoContext {
         return returnFirstRowOrNull(rows);
     }
 
+    public Row loadProperties(PersistenceContext context, List<PropertyMeta> pms) {
+        log.debug("Load properties '{}' for PersistenceContext '{}'", pms, context);
+        PreparedStatement ps = cacheManager.getCacheForFieldsSelect(session, dynamicPSCache, context, pms);
+        ConsistencyLevel readLevel = overrider.getReadLevel(context, context.getEntityMeta());
+        List<Row> rows = executeReadWithConsistency(context, ps, readLevel);
+        return returnFirstRowOrNull(rows);
+    }
+
+    public PreparedStatement prepareProjection(Class<?> entityClass, String queryString) {
+        log.debug("Prepare projection query '{}' for entity class '{}'", queryString, entityClass);
+        return cacheManager.getCacheForQueryString(session, dynamicPSCache, CacheType.SELECT_PROJECTION, entityClass,
+                                                   queryString);
+    }
+
+    public PreparedStatement prepareIndexedQuery(Class<?> entityClass, String queryString) {
+        log.debug("Prepare indexed query '{}' for entity class '{}'", queryString, entityClass);
+        return cacheManager.getCacheForQueryString(session, dynamicPSCache, CacheType.SELECT_INDEX, entityClass,
+                                                   queryString);
+    }
+
     public void bindForRemoval(PersistenceContext context, String tableName) {
         log.debug("Push delete statement for PersistenceContext '{}'", context);
         EntityMeta entityMeta = context.getEntityMeta();
@@ -197,6 +283,12 @@ public class DaoContext {
             BoundStatementWrapper bsWrapper = binder.bindStatementWithOnlyPKInWhereClause(psMap.get(tableName),
                                                                                           entityMeta, context
                     .getPrimaryKey(), writeLevel);
+            if (statementCoalescer != null) {
+                bsWrapper.setCoalescingDescriptor(CoalescingDescriptor.forRowDelete(context, tableName));
+            }
+            setPartitionKey(bsWrapper, context, tableName);
+            invalidateCaches(context);
+            trackPartition(context, false);
             context.pushStatement(bsWrapper);
         } else {
             throw new AchillesException("Cannot find prepared statement for deletion for table '" + tableName + "'");
@@ -208,12 +300,20 @@ public class DaoContext {
                                               Long increment) {
         log.debug("Push simple counter increment statement for PersistenceContext '{}' and value '{}'", context,
                   increment);
+        BoundStatementWrapper bsWrapper = buildSimpleCounterIncrementStatement(context, meta, counterMeta, increment);
+        if (statementCoalescer != null) {
+            bsWrapper.setCoalescingDescriptor(CoalescingDescriptor.forSimpleCounterIncrement(context, meta,
+                                                                                              counterMeta, increment));
+        }
+        context.pushCounterStatement(bsWrapper);
+    }
+
+    BoundStatementWrapper buildSimpleCounterIncrementStatement(PersistenceContext context, EntityMeta meta,
+            PropertyMeta counterMeta, Long increment) {
         PreparedStatement ps = counterQueryMap.get(INCR);
         ConsistencyLevel writeLevel = overrider.getWriteLevel(context, counterMeta);
-        BoundStatementWrapper bsWrapper = binder.bindForSimpleCounterIncrementDecrement(ps, meta, counterMeta,
-                                                                                        context.getPrimaryKey(),
-                                                                                        increment, writeLevel);
-        context.pushCounterStatement(bsWrapper);
+        return binder.bindForSimpleCounterIncrementDecrement(ps, meta, counterMeta, context.getPrimaryKey(),
+                                                             increment, writeLevel);
     }
 
     public void incrementSimpleCounter(PersistenceContext context, EntityMeta meta, PropertyMeta counterMeta,
@@ -224,7 +324,7 @@ public class DaoContext {
         BoundStatementWrapper bsWrapper = binder.bindForSimpleCounterIncrementDecrement(ps, meta, counterMeta,
                                                                                         context.getPrimaryKey(),
                                                                                         increment, consistencyLevel);
-        context.executeImmediate(bsWrapper);
+        executeCounterStatement(context, bsWrapper);
     }
 
     public void decrementSimpleCounter(PersistenceContext context, EntityMeta meta, PropertyMeta counterMeta,
@@ -235,7 +335,7 @@ public class DaoContext {
         BoundStatementWrapper bsWrapper = binder.bindForSimpleCounterIncrementDecrement(ps, meta, counterMeta,
                                                                                         context.getPrimaryKey(),
                                                                                         decrement, consistencyLevel);
-        context.executeImmediate(bsWrapper);
+        executeCounterStatement(context, bsWrapper);
     }
 
     public Row getSimpleCounter(PersistenceContext context, PropertyMeta counterMeta,
@@ -245,7 +345,7 @@ public class DaoContext {
         PreparedStatement ps = counterQueryMap.get(SELECT);
         BoundStatementWrapper bsWrapper = binder.bindForSimpleCounterSelect(ps, context.getEntityMeta(), counterMeta,
                                                                             context.getPrimaryKey(), consistencyLevel);
-        ResultSet resultSet = context.executeImmediate(bsWrapper);
+        ResultSet resultSet = executeCounterStatement(context, bsWrapper);
         return returnFirstRowOrNull(resultSet.all());
     }
 
@@ -257,6 +357,9 @@ public class DaoContext {
         ConsistencyLevel writeLevel = overrider.getWriteLevel(context, counterMeta);
         BoundStatementWrapper bsWrapper = binder.bindForSimpleCounterDelete(ps, meta, counterMeta, primaryKey,
                                                                             writeLevel);
+        if (statementCoalescer != null) {
+            bsWrapper.setCoalescingDescriptor(CoalescingDescriptor.forSimpleCounterDelete(context, meta, counterMeta));
+        }
         context.pushCounterStatement(bsWrapper);
     }
 
@@ -267,13 +370,34 @@ public class DaoContext {
                 "Push clustered counter increment statement for counterMeta '{}' and PersistenceContext '{}' and " +
                         "value '{}'",
                 counterMeta, context, increment);
+        BoundStatementWrapper bsWrapper = buildClusteredCounterIncrementStatement(context, meta, counterMeta,
+                                                                                  increment);
+        if (statementCoalescer != null) {
+            bsWrapper.setCoalescingDescriptor(CoalescingDescriptor.forClusteredCounterIncrement(context, meta,
+                                                                                                 counterMeta,
+                                                                                                 increment));
+        }
+        invalidateCaches(context);
+        trackPartition(context, false);
+        context.pushCounterStatement(bsWrapper);
+    }
+
+    private ResultSet executeCounterStatement(PersistenceContext context, BoundStatementWrapper bsWrapper) {
+        final Sample sample = OperationMetrics.start(operationMetrics, context.getEntityClass(), COUNTER);
+        try {
+            return sample.success(context.executeImmediate(bsWrapper));
+        } finally {
+            sample.stop();
+        }
+    }
+
+    BoundStatementWrapper buildClusteredCounterIncrementStatement(PersistenceContext context, EntityMeta meta,
+            PropertyMeta counterMeta, Long increment) {
         ConsistencyLevel writeLevel = overrider.getWriteLevel(context, counterMeta);
         PreparedStatement ps = clusteredCounterQueryMap.get(meta.getEntityClass()).get(INCR)
                                                        .get(counterMeta.getPropertyName());
-        BoundStatementWrapper bsWrapper = binder.bindForClusteredCounterIncrementDecrement(ps, meta,
-                                                                                           context.getPrimaryKey(),
-                                                                                           increment, writeLevel);
-        context.pushCounterStatement(bsWrapper);
+        return binder.bindForClusteredCounterIncrementDecrement(ps, meta, context.getPrimaryKey(), increment,
+                                                                writeLevel);
     }
 
     public Row getClusteredCounter(PersistenceContext context, ConsistencyLevel consistencyLevel) {
@@ -284,7 +408,8 @@ public class DaoContext {
                                                        .get(SELECT_ALL.name());
         BoundStatementWrapper bsWrapper = binder.bindForClusteredCounterSelect(ps, entityMeta, context.getPrimaryKey(),
                                                                                consistencyLevel);
-        ResultSet resultSet = context.executeImmediate(bsWrapper);
+        trackPartition(context, true);
+        ResultSet resultSet = executeCounterStatement(context, bsWrapper);
 
         return returnFirstRowOrNull(resultSet.all());
     }
@@ -299,7 +424,8 @@ public class DaoContext {
                                                        .get(counterColumnName);
         BoundStatementWrapper bsWrapper = binder.bindForClusteredCounterSelect(ps, entityMeta, context.getPrimaryKey(),
                                                                                consistencyLevel);
-        Row row = context.executeImmediate(bsWrapper).one();
+        trackPartition(context, true);
+        Row row = executeCounterStatement(context, bsWrapper).one();
         Long counterValue = null;
         if (row != null && !row.isNull(counterColumnName)) {
             counterValue = row.getLong(counterColumnName);
@@ -312,18 +438,145 @@ public class DaoContext {
         PreparedStatement ps = clusteredCounterQueryMap.get(meta.getEntityClass()).get(DELETE).get(DELETE_ALL.name());
         ConsistencyLevel writeLevel = overrider.getWriteLevel(context, meta);
         BoundStatementWrapper bsWrapper = binder.bindForClusteredCounterDelete(ps, meta, primaryKey, writeLevel);
+        if (statementCoalescer != null) {
+            bsWrapper.setCoalescingDescriptor(CoalescingDescriptor.forClusteredCounterDelete(context, meta));
+        }
+        invalidateCaches(context);
+        trackPartition(context, false);
         context.pushCounterStatement(bsWrapper);
     }
 
-    public Row loadEntity(PersistenceContext context) {
+    public Row loadEntity(final PersistenceContext context) {
         log.debug("Load entity for PersistenceContext '{}'", context);
         EntityMeta meta = context.getEntityMeta();
         Class<?> entityClass = context.getEntityClass();
-        PreparedStatement ps = selectPSs.get(entityClass);
+        final PreparedStatement ps = selectPSs.get(entityClass);
+
+        final ConsistencyLevel readLevel = overrider.getReadLevel(context, meta);
+
+        final boolean cacheable = isCacheableRead(context);
+        final List<Object> entityKey = cacheable || readCoalescer != null ? entityKey(context) : null;
+        long cacheGeneration = 0;
+        if (cacheable) {
+            final Row cachedRow = entityCache.get(entityKey);
+            if (cachedRow != null) {
+                log.trace("Entity cache hit for PersistenceContext '{}'", context);
+                return cachedRow;
+            }
+            cacheGeneration = entityCache.generation();
+        }
 
-        ConsistencyLevel readLevel = overrider.getReadLevel(context, meta);
-        List<Row> rows = executeReadWithConsistency(context, ps, readLevel);
-        return returnFirstRowOrNull(rows);
+        final Row row;
+        if (readCoalescer != null) {
+            List<Object> readKey = new ArrayList<>(entityKey);
+            readKey.add(readLevel);
+            row = readCoalescer.load(readKey, new Supplier<Row>() {
+                @Override
+                public Row get() {
+                    return returnFirstRowOrNull(executeReadWithConsistency(context, ps, readLevel));
+                }
+            });
+        } else {
+            List<Row> rows = executeReadWithConsistency(context, ps, readLevel);
+            row = returnFirstRowOrNull(rows);
+        }
+
+        if (cacheable && row != null) {
+            entityCache.put(entityKey, row, cacheGeneration);
+        }
+        return row;
+    }
+
+    /**
+     * Load the rows of several entities with one SELECT per entity, all executed concurrently.
+     * <br/>
+     * Rows are returned in the order of the given contexts, null for entities which do not exist
+     */
+    public List<Row> loadEntities(List<PersistenceContext> contexts) {
+        log.debug("Load {} entities concurrently", contexts.size());
+        final int count = contexts.size();
+        final List<Row> rows = new ArrayList<>(count);
+        final List<ResultSetFuture> futures = new ArrayList<>(count);
+        final long[] cacheGenerations = new long[count];
+        for (int i = 0; i < count; i++) {
+            final PersistenceContext context = contexts.get(i);
+            Row cachedRow = null;
+            if (isCacheableRead(context)) {
+                cachedRow = entityCache.get(entityKey(context));
+                cacheGenerations[i] = entityCache.generation();
+            }
+            rows.add(cachedRow);
+            if (cachedRow == null) {
+                final EntityMeta meta = context.getEntityMeta();
+                final PreparedStatement ps = selectPSs.get(context.getEntityClass());
+                final ConsistencyLevel readLevel = overrider.getReadLevel(context, meta);
+                trackPartition(context, true);
+                futures.add(executeAsync(binder.bindStatementWithOnlyPKInWhereClause(ps, meta,
+                                                                                     context.getPrimaryKey(),
+                                                                                     readLevel)));
+            } else {
+                log.trace("Entity cache hit for PersistenceContext '{}'", context);
+                futures.add(null);
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            final ResultSetFuture future = futures.get(i);
+            if (future != null) {
+                final Row row = getUninterruptibly(future).one();
+                rows.set(i, row);
+                final PersistenceContext context = contexts.get(i);
+                if (row != null && isCacheableRead(context)) {
+                    entityCache.put(entityKey(context), row, cacheGenerations[i]);
+                }
+            }
+        }
+        return rows;
+    }
+
+    public void invalidateCachedEntities(List<List<Object>> entityKeys) {
+        if (entityCache != null) {
+            entityCache.invalidateAll(entityKeys);
+        }
+    }
+
+    // an explicit consistency level asks for a fresh read
+    private boolean isCacheableRead(PersistenceContext context) {
+        return isEntityCacheable(context) && !context.getConsistencyLevel().isPresent();
+    }
+
+    private boolean isEntityCacheable(PersistenceContext context) {
+        return entityCache != null && entityCache.isCacheable(context.getEntityClass());
+    }
+
+    public void invalidateCachedSlices(List<List<Object>> partitionKeys) {
+        if (sliceQueryCache != null) {
+            sliceQueryCache.invalidatePartitions(partitionKeys);
+        }
+    }
+
+    private void invalidateCaches(PersistenceContext context) {
+        if (isEntityCacheable(context)) {
+            final List<Object> entityKey = entityKey(context);
+            entityCache.invalidate(entityKey);
+            // invalidate again once the statement is executed
+            context.pushEntityCacheInvalidation(entityKey);
+        }
+        if (sliceQueryCache != null && context.getIdMeta().isEmbeddedId()) {
+            final PropertyMeta idMeta = context.getIdMeta();
+            final List<Object> partitionKey = SliceQueryCache.partitionKey(context.getEntityClass(),
+                    idMeta.extractPartitionComponents(idMeta.encodeToComponents(context.getPrimaryKey())));
+            sliceQueryCache.invalidatePartition(partitionKey);
+            context.pushSliceCacheInvalidation(partitionKey);
+        }
+    }
+
+    private List<Object> entityKey(PersistenceContext context) {
+        final PropertyMeta idMeta = context.getEntityMeta().getIdMeta();
+        final Object primaryKey = context.getPrimaryKey();
+        final Object encodedPrimaryKey = idMeta.isEmbeddedId() ? idMeta.encodeToComponents(primaryKey) : idMeta
+                .encode(primaryKey);
+        return Arrays.<Object>asList(context.getEntityClass(), encodedPrimaryKey);
     }
 
     private List<Row> executeReadWithConsistency(PersistenceContext context, PreparedStatement ps,
@@ -332,9 +585,32 @@ public class DaoContext {
         BoundStatementWrapper bsWrapper = binder.bindStatementWithOnlyPKInWhereClause(ps, entityMeta,
                                                                                       context.getPrimaryKey(),
                                                                                       readLevel);
+        trackPartition(context, true);
         return context.executeImmediate(bsWrapper).all();
     }
 
+    private void trackPartition(PersistenceContext context, boolean read) {
+        if (hotPartitionTracker != null) {
+            hotPartitionTracker.track(context.getEntityMeta().getTableName(), encodedPartitionKey(context), read);
+        }
+    }
+
+    /**
+     * Tag the statement with its partition so that an oversized LOGGED batch is split along partition boundaries,
+     * whether the statement is bound or built with an explicit timestamp and thus has no routing key
+     */
+    private void setPartitionKey(AbstractStatementWrapper statementWrapper, PersistenceContext context,
+            String tableName) {
+        statementWrapper.setPartitionKey(Arrays.<Object>asList(tableName, encodedPartitionKey(context)));
+    }
+
+    private Object encodedPartitionKey(PersistenceContext context) {
+        final PropertyMeta idMeta = context.getIdMeta();
+        final Object primaryKey = context.getPrimaryKey();
+        return idMeta.isEmbeddedId() ? idMeta.extractPartitionComponents(idMeta.encodeToComponents(primaryKey))
+                : idMeta.encode(primaryKey);
+    }
+
     private Row returnFirstRowOrNull(List<Row> rows) {
         if (rows.isEmpty()) {
             return null;
@@ -344,7 +620,87 @@ public class DaoContext {
     }
 
     public ResultSet execute(AbstractStatementWrapper statementWrapper) {
-        return statementWrapper.execute(session);
+        final Sample sample = OperationMetrics.start(operationMetrics, null, EXECUTE);
+        final long start = StageTimers.start(Stage.EXECUTE);
+        try {
+            return sample.success(executeWithinLimits(statementWrapper));
+        } finally {
+            StageTimers.stop(Stage.EXECUTE, start);
+            sample.stop();
+        }
+    }
+
+    private ResultSet executeWithinLimits(AbstractStatementWrapper statementWrapper) {
+        if (inFlightRequestLimiter == null) {
+            return executeAndLogSlow(statementWrapper);
+        }
+        final boolean read = inFlightRequestLimiter.isRead(statementWrapper.getStatement());
+        inFlightRequestLimiter.acquire(read);
+        try {
+            return executeAndLogSlow(statementWrapper);
+        } finally {
+            inFlightRequestLimiter.release(read);
+        }
+    }
+
+    private ResultSet executeAndLogSlow(AbstractStatementWrapper statementWrapper) {
+        if (slowStatementLog == null) {
+            return statementWrapper.execute(session);
+        }
+        final long start = System.nanoTime();
+        ResultSet resultSet = null;
+        Throwable error = null;
+        try {
+            resultSet = statementWrapper.execute(session);
+            return resultSet;
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            slowStatementLog.record(statementWrapper, System.nanoTime() - start, resultSet, error);
+        }
+    }
+
+    /**
+     * Execute a statement without waiting for its result, see {@link #getUninterruptibly(ResultSetFuture)}. The
+     * EXECUTE metric, the slow statements log and the release of the in-flight request permit, if any, are handled
+     * as soon as the result is available
+     */
+    public ResultSetFuture executeAsync(AbstractStatementWrapper statementWrapper) {
+        statementWrapper.logDMLStatement("");
+        final Sample sample = OperationMetrics.start(operationMetrics, null, EXECUTE);
+        final boolean read = inFlightRequestLimiter != null
+                && inFlightRequestLimiter.isRead(statementWrapper.getStatement());
+        boolean acquired = false;
+        try {
+            if (inFlightRequestLimiter != null) {
+                inFlightRequestLimiter.acquire(read);
+                acquired = true;
+            }
+            final AsyncExecution execution = new AsyncExecution(statementWrapper, sample, acquired, read);
+            final ResultSetFuture future = session.executeAsync(statementWrapper.getStatement());
+            Futures.addCallback(future, execution);
+            return future;
+        } catch (RuntimeException e) {
+            if (acquired) {
+                inFlightRequestLimiter.release(read);
+            }
+            sample.stop();
+            throw e;
+        }
+    }
+
+    /**
+     * Wait for the result of {@link #executeAsync(AbstractStatementWrapper)}. The waiting time is the EXECUTE stage
+     * of the current request, since the stages are timed in the request thread
+     */
+    public ResultSet getUninterruptibly(ResultSetFuture future) {
+        final long start = StageTimers.start(Stage.EXECUTE);
+        try {
+            return future.getUninterruptibly();
+        } finally {
+            StageTimers.stop(Stage.EXECUTE, start);
+        }
     }
 
     public PreparedStatement prepare(RegularStatement statement) {
@@ -353,17 +709,108 @@ public class DaoContext {
 
     public ResultSet bindAndExecute(PreparedStatement ps, Object... params) {
         BoundStatement bs = ps.bind(params);
-        return new BoundStatementWrapper(bs, params, ps.getConsistencyLevel()).execute(session);
+        return execute(new BoundStatementWrapper(bs, params, ps.getConsistencyLevel()));
     }
 
     public void executeBatch(BatchStatement batch) {
-        session.execute(batch);
+        executeBatch(batch, Collections.<AbstractStatementWrapper>emptyList());
+    }
+
+    /**
+     * Execute a batch made of the given statements, which are only used to describe the batch in the slow
+     * statements log
+     */
+    public void executeBatch(BatchStatement batch, List<AbstractStatementWrapper> statementWrappers) {
+        final Sample sample = OperationMetrics.start(operationMetrics, null, BATCH);
+        final long start = StageTimers.start(Stage.EXECUTE);
+        try {
+            if (inFlightRequestLimiter == null) {
+                executeBatchAndLogSlow(batch, statementWrappers);
+            } else {
+                inFlightRequestLimiter.acquire(false);
+                try {
+                    executeBatchAndLogSlow(batch, statementWrappers);
+                } finally {
+                    inFlightRequestLimiter.release(false);
+                }
+            }
+            sample.success();
+        } finally {
+            StageTimers.stop(Stage.EXECUTE, start);
+            sample.stop();
+        }
+    }
+
+    private void executeBatchAndLogSlow(BatchStatement batch, List<AbstractStatementWrapper> statementWrappers) {
+        if (slowStatementLog == null) {
+            session.execute(batch);
+            return;
+        }
+        final long start = System.nanoTime();
+        ResultSet resultSet = null;
+        Throwable error = null;
+        try {
+            resultSet = session.execute(batch);
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            slowStatementLog.recordBatch(batch, statementWrappers, System.nanoTime() - start, resultSet, error);
+        }
     }
 
     public Session getSession() {
         return session;
     }
 
+    public StatementCoalescer getStatementCoalescer() {
+        return statementCoalescer;
+    }
+
+    public BatchSplitter getBatchSplitter() {
+        return batchSplitter;
+    }
+
+    public EntityCache getEntityCache() {
+        return entityCache;
+    }
+
+    public SliceQueryCache getSliceQueryCache() {
+        return sliceQueryCache;
+    }
+
+    public AdaptiveFetchSizer getAdaptiveFetchSizer() {
+        return adaptiveFetchSizer;
+    }
+
+    public OperationMetrics getOperationMetrics() {
+        return operationMetrics;
+    }
+
+    public StageTimers getStageTimers() {
+        return stageTimers;
+    }
+
+    public SlowStatementLog getSlowStatementLog() {
+        return slowStatementLog;
+    }
+
+    public HotPartitionTracker getHotPartitionTracker() {
+        return hotPartitionTracker;
+    }
+
+    /**
+     * Stop the JMX reporters of the metrics, so that their MBeans are unregistered
+     */
+    public void shutDown() {
+        if (operationMetrics != null) {
+            operationMetrics.stop();
+        }
+        if (hotPartitionTracker != null) {
+            hotPartitionTracker.stop();
+        }
+    }
+
     void setInsertPSs(Map<Class<?>, PreparedStatement> insertPSs) {
         this.insertPSs = insertPSs;
     }
@@ -396,4 +843,91 @@ public class DaoContext {
     void setCacheManager(CacheManager cacheManager) {
         this.cacheManager = cacheManager;
     }
+
+    void setStatementCoalescer(StatementCoalescer statementCoalescer) {
+        this.statementCoalescer = statementCoalescer;
+    }
+
+    void setBatchSplitter(BatchSplitter batchSplitter) {
+        this.batchSplitter = batchSplitter;
+    }
+
+    void setInFlightRequestLimiter(InFlightRequestLimiter inFlightRequestLimiter) {
+        this.inFlightRequestLimiter = inFlightRequestLimiter;
+    }
+
+    void setReadCoalescer(ReadCoalescer readCoalescer) {
+        this.readCoalescer = readCoalescer;
+    }
+
+    void setEntityCache(EntityCache entityCache) {
+        this.entityCache = entityCache;
+    }
+
+    void setSliceQueryCache(SliceQueryCache sliceQueryCache) {
+        this.sliceQueryCache = sliceQueryCache;
+    }
+
+    void setAdaptiveFetchSizer(AdaptiveFetchSizer adaptiveFetchSizer) {
+        this.adaptiveFetchSizer = adaptiveFetchSizer;
+    }
+
+    void setOperationMetrics(OperationMetrics operationMetrics) {
+        this.operationMetrics = operationMetrics;
+    }
+
+    void setStageTimers(StageTimers stageTimers) {
+        this.stageTimers = stageTimers;
+    }
+
+    void setSlowStatementLog(SlowStatementLog slowStatementLog) {
+        this.slowStatementLog = slowStatementLog;
+    }
+
+    void setHotPartitionTracker(HotPartitionTracker hotPartitionTracker) {
+        this.hotPartitionTracker = hotPartitionTracker;
+    }
+
+    /**
+     * Completion of an asynchronous execution, in the thread which completes the future
+     */
+    private class AsyncExecution implements FutureCallback<ResultSet> {
+        private final AbstractStatementWrapper statementWrapper;
+        private final Sample sample;
+        private final boolean acquired;
+        private final boolean read;
+        private final long start = System.nanoTime();
+
+        private AsyncExecution(AbstractStatementWrapper statementWrapper, Sample sample, boolean acquired,
+                boolean read) {
+            this.statementWrapper = statementWrapper;
+            this.sample = sample;
+            this.acquired = acquired;
+            this.read = read;
+        }
+
+        @Override
+        public void onSuccess(ResultSet resultSet) {
+            sample.success();
+            complete(resultSet, null);
+        }
+
+        @Override
+        public void onFailure(Throwable error) {
+            complete(null, error);
+        }
+
+        private void complete(ResultSet resultSet, Throwable error) {
+            try {
+                if (slowStatementLog != null) {
+                    slowStatementLog.record(statementWrapper, System.nanoTime() - start, resultSet, error);
+                }
+            } finally {
+                sample.stop();
+                if (acquired) {
+                    inFlightRequestLimiter.release(read);
+                }
+            }
+        }
+    }
 }
@@ -21,14 +21,20 @@ import static com.google.common.collect.Maps.transformValues;
 import static info.archinnov.achilles.internal.metadata.holder.EntityMeta.CLUSTERED_COUNTER_FILTER;
 import static info.archinnov.achilles.internal.metadata.holder.EntityMeta.EXCLUDE_CLUSTERED_COUNTER_FILTER;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.codahale.metrics.MetricRegistry;
+import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Session;
 import com.google.common.base.Function;
 import com.google.common.cache.Cache;
 import com.google.common.collect.ImmutableMap;
+import info.archinnov.achilles.annotations.Cacheable;
 import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.parsing.context.ParsingResult;
@@ -81,10 +87,99 @@ public class DaoContextFactory {
         daoContext.setClusteredCounterQueryMap(clusteredCounterQueriesMap);
         daoContext.setSession(session);
         daoContext.setCacheManager(new CacheManager(configContext.getPreparedStatementLRUCacheSize()));
+        if (configContext.isStatementCoalescingEnabled()) {
+            daoContext.setStatementCoalescer(new StatementCoalescer(getMetricRegistry(session)));
+        }
+        if (BatchSplitter.isEnabled(configContext)) {
+            daoContext.setBatchSplitter(new BatchSplitter(configContext.getBatchMaxStatements(),
+                                                          configContext.getBatchMaxSizeInBytes(),
+                                                          getMetricRegistry(session)));
+        }
+        if (InFlightRequestLimiter.isEnabled(configContext)) {
+            daoContext.setInFlightRequestLimiter(new InFlightRequestLimiter(configContext.getInFlightMaxRequests(),
+                                                                            configContext.getInFlightMaxReads(),
+                                                                            configContext.getInFlightMaxWrites(),
+                                                                            configContext.isInFlightFailFast(),
+                                                                            getMetricRegistry(session)));
+        }
+        if (configContext.isReadCoalescingEnabled()) {
+            daoContext.setReadCoalescer(new ReadCoalescer(getMetricRegistry(session)));
+        }
+        if (configContext.isEntityCacheEnabled()) {
+            daoContext.setEntityCache(new EntityCache(configContext.getEntityCacheMaxSize(),
+                                                      configContext.getEntityCacheMaxWeightInBytes(),
+                                                      configContext.getEntityCacheOffHeapSizeInBytes(),
+                                                      configContext.getEntityCacheTtlInSeconds(),
+                                                      getCachedEntityClasses(metaMap, configContext),
+                                                      getMetricRegistry(session)));
+        }
+        if (configContext.getSliceQueryCacheMaxRows() > 0) {
+            daoContext.setSliceQueryCache(new SliceQueryCache(configContext.getSliceQueryCacheMaxRows(),
+                                                              configContext.getSliceQueryCacheTtlInSeconds(),
+                                                              getMetricRegistry(session)));
+        }
+        if (AdaptiveFetchSizer.isEnabled(configContext)) {
+            daoContext.setAdaptiveFetchSizer(new AdaptiveFetchSizer(configContext.getIteratorAdaptiveFetchTargetBytes(),
+                                                                    configContext.getIteratorAdaptiveFetchMinSize(),
+                                                                    configContext.getIteratorAdaptiveFetchMaxSize(),
+                                                                    getMetricRegistry(session)));
+        }
+        if (OperationMetrics.isEnabled(configContext)) {
+            daoContext.setOperationMetrics(new OperationMetrics());
+        }
+        if (StageTimers.isEnabled(configContext)) {
+            daoContext.setStageTimers(new StageTimers(configContext.getStageTimersSampleRate()));
+        }
+        if (SlowStatementLog.isEnabled(configContext)) {
+            daoContext.setSlowStatementLog(new SlowStatementLog(configContext.getSlowStatementThresholdInMillis(),
+                                                                getSlowStatementTableThresholds(metaMap,
+                                                                                                configContext),
+                                                                configContext.getSlowStatementMaxLogsPerSecond()));
+        }
+        if (HotPartitionTracker.isEnabled(configContext)) {
+            daoContext.setHotPartitionTracker(new HotPartitionTracker(configContext.getHotPartitionTopK(),
+                                                                      configContext.getHotPartitionHalfLifeInSeconds(),
+                                                                      configContext.getHotPartitionWarningShare()));
+        }
 
         return daoContext;
     }
 
+    Set<Class<?>> getCachedEntityClasses(Map<Class<?>, EntityMeta> metaMap, ConfigurationContext configContext) {
+        Set<Class<?>> cachedEntityClasses = new HashSet<>();
+        for (Entry<Class<?>, EntityMeta> entry : metaMap.entrySet()) {
+            final Class<?> entityClass = entry.getKey();
+            if (entry.getValue().isClusteredCounter()) {
+                continue;
+            }
+            if (entityClass.isAnnotationPresent(Cacheable.class)
+                    || configContext.getCachedEntityClasses().contains(entityClass)) {
+                cachedEntityClasses.add(entityClass);
+            }
+        }
+        return cachedEntityClasses;
+    }
+
+    Map<String, Long> getSlowStatementTableThresholds(Map<Class<?>, EntityMeta> metaMap,
+            ConfigurationContext configContext) {
+        Map<String, Long> tableThresholds = new HashMap<>(configContext.getSlowStatementTableThresholds());
+        for (Entry<Class<?>, Long> entry : configContext.getSlowStatementEntityThresholds().entrySet()) {
+            final EntityMeta meta = metaMap.get(entry.getKey());
+            if (meta != null) {
+                tableThresholds.put(meta.getTableName(), entry.getValue());
+            }
+        }
+        return tableThresholds;
+    }
+
+    MetricRegistry getMetricRegistry(Session session) {
+        final Cluster cluster = session.getCluster();
+        if (cluster != null && cluster.getMetrics() != null) {
+            return cluster.getMetrics().getRegistry();
+        }
+        return null;
+    }
+
     Function<EntityMeta, PreparedStatement> getInsertPSTransformer(final Session session) {
         return new Function<EntityMeta, PreparedStatement>() {
             @Override
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.datastax.driver.core.Row;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Second-level cache of entity rows, keyed by entity class and encoded primary key.
+ * <br/>
+ * Only the raw row is kept so that every hit is mapped to a new entity instance and proxified again. Rows are
+ * stored either on the Java heap or, to cache more entities without growing GC pauses, off-heap. Entries are
+ * invalidated whenever an INSERT, UPDATE or DELETE is issued for the same entity.
+ * <br/>
+ * Hits, misses and evictions are exposed in the driver metrics registry when metrics are enabled
+ */
+public class EntityCache {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityCache.class);
+
+    public static final String HITS_GAUGE = "achilles-entity-cache-hits";
+    public static final String MISSES_GAUGE = "achilles-entity-cache-misses";
+    public static final String EVICTIONS_GAUGE = "achilles-entity-cache-evictions";
+    public static final String SIZE_GAUGE = "achilles-entity-cache-size";
+
+    private final RowStore store;
+    private final Set<Class<?>> cachedEntityClasses;
+    private final AtomicLong invalidations = new AtomicLong(0);
+
+    /**
+     * @param maxSize             maximum number of entries, used when no maximum weight is defined
+     * @param maxWeightInBytes    maximum total size of cached rows, 0 to bound by entries count
+     * @param offHeapSizeInBytes  memory cap of the off-heap storage, 0 to keep rows on the Java heap
+     * @param ttlInSeconds        time to live of an entry after its loading, 0 for no expiration
+     * @param cachedEntityClasses entity classes eligible to the cache
+     * @param registry            metrics registry, may be null
+     */
+    public EntityCache(int maxSize, int maxWeightInBytes, long offHeapSizeInBytes, int ttlInSeconds,
+            Set<Class<?>> cachedEntityClasses, MetricRegistry registry) {
+        if (offHeapSizeInBytes > 0) {
+            this.store = new OffHeapRowStore(offHeapSizeInBytes, ttlInSeconds);
+        } else {
+            this.store = new HeapRowStore(maxSize, maxWeightInBytes, ttlInSeconds);
+        }
+        this.cachedEntityClasses = cachedEntityClasses;
+
+        log.info("Entity cache enabled for entities {}", cachedEntityClasses);
+
+        if (registry != null) {
+            registerGauge(registry, HITS_GAUGE, new Gauge<Long>() {
+                @Override
+                public Long getValue() {
+                    return store.stats().hitCount();
+                }
+            });
+            registerGauge(registry, MISSES_GAUGE, new Gauge<Long>() {
+                @Override
+                public Long getValue() {
+                    return store.stats().missCount();
+                }
+            });
+            registerGauge(registry, EVICTIONS_GAUGE, new Gauge<Long>() {
+                @Override
+                public Long getValue() {
+                    return store.stats().evictionCount();
+                }
+            });
+            registerGauge(registry, SIZE_GAUGE, new Gauge<Long>() {
+                @Override
+                public Long getValue() {
+                    return store.size();
+                }
+            });
+        }
+    }
+
+    public boolean isCacheable(Class<?> entityClass) {
+        return cachedEntityClasses.contains(entityClass);
+    }
+
+    public Row get(List<Object> entityKey) {
+        return store.get(entityKey);
+    }
+
+    /**
+     * Current invalidation generation, to be read before loading a row from Cassandra
+     */
+    public long generation() {
+        return invalidations.get();
+    }
+
+    /**
+     * Cache a row loaded from Cassandra, unless an invalidation occurred since the given generation. In this case,
+     * the row may be older than the write which triggered the invalidation
+     */
+    public void put(List<Object> entityKey, Row row, long generation) {
+        if (invalidations.get() == generation) {
+            store.put(entityKey, row);
+            if (invalidations.get() != generation) {
+                store.invalidate(entityKey);
+            }
+        }
+    }
+
+    public void invalidate(List<Object> entityKey) {
+        log.trace("Invalidate cached entity {}", entityKey);
+        invalidations.incrementAndGet();
+        store.invalidate(entityKey);
+    }
+
+    public void invalidateAll(Iterable<List<Object>> entityKeys) {
+        invalidations.incrementAndGet();
+        store.invalidateAll(entityKeys);
+    }
+
+    /**
+     * Invalidate all the cached entities of a partition, for deletions which are not done by primary key
+     */
+    public void invalidatePartition(Class<?> entityClass, List<Object> partitionComponents) {
+        log.trace("Invalidate cached entities of class {} in partition {}", entityClass, partitionComponents);
+        invalidations.incrementAndGet();
+        store.invalidatePartition(entityClass, partitionComponents);
+    }
+
+    public CacheStats stats() {
+        return store.stats();
+    }
+
+    private void registerGauge(MetricRegistry registry, String name, Gauge<Long> gauge) {
+        registry.remove(name);
+        registry.register(name, gauge);
+    }
+}
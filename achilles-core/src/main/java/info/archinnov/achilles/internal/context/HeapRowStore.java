@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import com.datastax.driver.core.Row;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
+
+/**
+ * Entity cache storage on the Java heap, bounded either by entries count or by the total size of the rows
+ */
+class HeapRowStore implements RowStore {
+
+    private final Cache<List<Object>, Row> cache;
+
+    HeapRowStore(int maxSize, int maxWeightInBytes, int ttlInSeconds) {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().recordStats();
+        if (ttlInSeconds > 0) {
+            builder.expireAfterWrite(ttlInSeconds, TimeUnit.SECONDS);
+        }
+        if (maxWeightInBytes > 0) {
+            this.cache = builder.maximumWeight(maxWeightInBytes).weigher(new RowWeigher()).build();
+        } else {
+            this.cache = builder.maximumSize(maxSize).build();
+        }
+    }
+
+    @Override
+    public Row get(List<Object> entityKey) {
+        return cache.getIfPresent(entityKey);
+    }
+
+    @Override
+    public void put(List<Object> entityKey, Row row) {
+        cache.put(entityKey, row);
+    }
+
+    @Override
+    public void invalidate(List<Object> entityKey) {
+        cache.invalidate(entityKey);
+    }
+
+    @Override
+    public void invalidateAll(Iterable<List<Object>> entityKeys) {
+        cache.invalidateAll(entityKeys);
+    }
+
+    @Override
+    public void invalidatePartition(Class<?> entityClass, List<Object> partitionComponents) {
+        final int partitionSize = partitionComponents.size();
+        for (List<Object> entityKey : cache.asMap().keySet()) {
+            if (entityKey.get(0) == entityClass && entityKey.get(1) instanceof List) {
+                final List<?> components = (List<?>) entityKey.get(1);
+                if (components.size() >= partitionSize
+                        && components.subList(0, partitionSize).equals(partitionComponents)) {
+                    cache.invalidate(entityKey);
+                }
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        return cache.size();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static class RowWeigher implements Weigher<List<Object>, Row> {
+        @Override
+        public int weigh(List<Object> entityKey, Row row) {
+            int weight = 1;
+            for (int i = 0; i < row.getColumnDefinitions().size(); i++) {
+                final ByteBuffer bytes = row.getBytesUnsafe(i);
+                if (bytes != null) {
+                    weight += bytes.remaining();
+                }
+            }
+            return weight;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import info.archinnov.achilles.internal.context.HotPartitionTracker.HotPartition;
+
+/**
+ * Streaming estimation of the hottest partitions of a table, for either reads or writes.
+ * <br/>
+ * Partition keys are counted in a count-min sketch, whose estimates feed a space-saving top-K kept in a min-heap:
+ * when the top entries are full, a partition whose estimate exceeds the root of the heap replaces it. Counts decay
+ * exponentially with the given half-life, using forward decay: each hit weighs 2^(age of the sketch / half-life) and
+ * all counts are scaled down from time to time, so that no periodic decay of the whole sketch is needed.
+ * <br/>
+ * The sketch is split in {@value #STRIPES} stripes selected by the hash of the partition key, each with its own
+ * counters, top entries and lock, so that concurrent hits on different partitions seldom contend. The total traffic
+ * of the table is summed over the stripes without locking, which is precise enough for a share
+ */
+class HotPartitionSketch {
+
+    static final int DEPTH = 4;
+    static final int STRIPES = 8;
+    static final int WIDTH = 256;
+
+    private static final double RESCALE_EXPONENT = 20;
+
+    private static final Comparator<TopEntry> BY_COUNT = new Comparator<TopEntry>() {
+        @Override
+        public int compare(TopEntry entry1, TopEntry entry2) {
+            return Double.compare(entry1.count, entry2.count);
+        }
+    };
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final double halfLifeNanos;
+
+    /**
+     * @param capacity      number of partitions kept in the top entries of each stripe
+     * @param halfLifeNanos time after which a hit weighs half its initial weight
+     * @param now           current time, in nanoseconds
+     */
+    HotPartitionSketch(int capacity, long halfLifeNanos, long now) {
+        this.halfLifeNanos = halfLifeNanos;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(capacity, now);
+        }
+    }
+
+    /**
+     * Count a hit on the partition
+     *
+     * @return estimated share of the partition in the decayed traffic of the table, from 0 to 1
+     */
+    double add(Object partitionKey, long now) {
+        final int hash = partitionKey.hashCode();
+        final double hits = stripeOf(hash).add(partitionKey, hash, now);
+        return Math.min(1, hits / getTotal(now));
+    }
+
+    /**
+     * Decayed number of hits of the table, in hits at the given time
+     */
+    double getTotal(long now) {
+        double total = 0;
+        for (Stripe stripe : stripes) {
+            total += stripe.total / stripe.currentWeight(now);
+        }
+        return total;
+    }
+
+    /**
+     * Whether a warning should be raised for the partition, at most once per interval for a partition kept in the
+     * top entries
+     */
+    boolean shouldWarn(Object partitionKey, long now, long intervalNanos) {
+        return stripeOf(partitionKey.hashCode()).shouldWarn(partitionKey, now, intervalNanos);
+    }
+
+    List<HotPartition> top(int count, long now) {
+        final List<HotPartition> hotPartitions = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            stripe.collect(hotPartitions, now);
+        }
+        Collections.sort(hotPartitions, new Comparator<HotPartition>() {
+            @Override
+            public int compare(HotPartition partition1, HotPartition partition2) {
+                return Double.compare(partition2.getHits(), partition1.getHits());
+            }
+        });
+        final double total = getTotal(now);
+        final List<HotPartition> top = new ArrayList<>(Math.min(count, hotPartitions.size()));
+        for (HotPartition partition : hotPartitions.subList(0, Math.min(count, hotPartitions.size()))) {
+            top.add(new HotPartition(partition.getPartitionKey(), partition.getHits(),
+                                     Math.min(1, partition.getHits() / total)));
+        }
+        return top;
+    }
+
+    static int indexOf(int hash, int row) {
+        return mix(hash, row) & (WIDTH - 1);
+    }
+
+    private Stripe stripeOf(int hash) {
+        return stripes[mix(hash, DEPTH) & (STRIPES - 1)];
+    }
+
+    private static int mix(int hash, int seed) {
+        // murmur3 finalizer, seeded
+        int h = hash ^ (seed * 0x9E3779B9);
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private class Stripe {
+        private final double[][] counts = new double[DEPTH][WIDTH];
+        private final Map<Object, TopEntry> topEntries = new HashMap<>();
+        private final TopEntry[] heap;
+
+        private volatile long landmark;
+        private volatile double total;
+
+        private Stripe(int capacity, long now) {
+            this.heap = new TopEntry[capacity];
+            this.landmark = now;
+        }
+
+        /**
+         * @return estimated decayed hits of the partition, in hits at the given time
+         */
+        private synchronized double add(Object partitionKey, int hash, long now) {
+            final double weight = weightAt(now);
+            total += weight;
+
+            double estimate = Double.MAX_VALUE;
+            for (int row = 0; row < DEPTH; row++) {
+                final int index = indexOf(hash, row);
+                counts[row][index] += weight;
+                estimate = Math.min(estimate, counts[row][index]);
+            }
+
+            final TopEntry entry = topEntries.get(partitionKey);
+            if (entry != null) {
+                entry.count = estimate;
+                siftDown(entry.position);
+            } else if (topEntries.size() < heap.length) {
+                final TopEntry added = new TopEntry(partitionKey, estimate);
+                topEntries.put(partitionKey, added);
+                added.position = topEntries.size() - 1;
+                heap[added.position] = added;
+                siftUp(added.position);
+            } else if (heap.length > 0 && estimate > heap[0].count) {
+                topEntries.remove(heap[0].partitionKey);
+                final TopEntry added = new TopEntry(partitionKey, estimate);
+                topEntries.put(partitionKey, added);
+                heap[0] = added;
+                siftDown(0);
+            }
+            return estimate / weight;
+        }
+
+        private synchronized boolean shouldWarn(Object partitionKey, long now, long intervalNanos) {
+            final TopEntry entry = topEntries.get(partitionKey);
+            if (entry == null || (entry.warned && now - entry.lastWarning < intervalNanos)) {
+                return false;
+            }
+            entry.warned = true;
+            entry.lastWarning = now;
+            return true;
+        }
+
+        private synchronized void collect(List<HotPartition> hotPartitions, long now) {
+            final double weight = currentWeight(now);
+            for (TopEntry entry : topEntries.values()) {
+                hotPartitions.add(new HotPartition(entry.partitionKey, entry.count / weight, 0));
+            }
+        }
+
+        private double weightAt(long now) {
+            final double exponent = (now - landmark) / halfLifeNanos;
+            if (exponent > RESCALE_EXPONENT) {
+                rescale(Math.pow(2, -exponent));
+                landmark = now;
+                return 1;
+            }
+            return Math.pow(2, exponent);
+        }
+
+        private double currentWeight(long now) {
+            return Math.pow(2, (now - landmark) / halfLifeNanos);
+        }
+
+        private void rescale(double factor) {
+            for (double[] row : counts) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] *= factor;
+                }
+            }
+            // scaling every count by the same factor keeps the heap ordered
+            for (TopEntry entry : topEntries.values()) {
+                entry.count *= factor;
+            }
+            total *= factor;
+        }
+
+        private void siftUp(int position) {
+            final TopEntry entry = heap[position];
+            while (position > 0) {
+                final int parent = (position - 1) >>> 1;
+                if (BY_COUNT.compare(entry, heap[parent]) >= 0) {
+                    break;
+                }
+                place(heap[parent], position);
+                position = parent;
+            }
+            place(entry, position);
+        }
+
+        private void siftDown(int position) {
+            final TopEntry entry = heap[position];
+            final int size = topEntries.size();
+            while (true) {
+                int child = 2 * position + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && BY_COUNT.compare(heap[child + 1], heap[child]) < 0) {
+                    child++;
+                }
+                if (BY_COUNT.compare(entry, heap[child]) <= 0) {
+                    break;
+                }
+                place(heap[child], position);
+                position = child;
+            }
+            place(entry, position);
+        }
+
+        private void place(TopEntry entry, int position) {
+            heap[position] = entry;
+            entry.position = position;
+        }
+    }
+
+    private static class TopEntry {
+        private final Object partitionKey;
+        private double count;
+        private int position;
+        private boolean warned;
+        private long lastWarning;
+
+        private TopEntry(Object partitionKey, double count) {
+            this.partitionKey = partitionKey;
+            this.count = count;
+        }
+    }
+}
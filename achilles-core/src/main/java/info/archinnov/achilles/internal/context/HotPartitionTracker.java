@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.JmxReporter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Functions;
+import com.google.common.base.Ticker;
+import com.google.common.collect.Lists;
+
+/**
+ * Detect hot partitions from the partition keys of the statements issued by Achilles.
+ * <br/>
+ * Each table has a {@link HotPartitionSketch} for reads and another one for writes, fed with the encoded partition
+ * key of every entity read or written and of every slice query. The top-K hottest partitions of each are published
+ * as a JMX gauge named <em>{@value #METRIC_PREFIX}.&lt;table&gt;.reads</em> or <em>.writes</em> in the
+ * {@value OperationMetrics#JMX_DOMAIN} domain. A warning is logged, at most once per half-life, when a partition
+ * exceeds the configured share of the decayed traffic of its table
+ */
+public class HotPartitionTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(HotPartitionTracker.class);
+
+    public static final String METRIC_PREFIX = "achilles.hot.partitions";
+    public static final String READS = "reads";
+    public static final String WRITES = "writes";
+
+    static final int MIN_HITS_FOR_WARNING = 100;
+
+    private final ConcurrentMap<String, HotPartitionSketch> sketches = new ConcurrentHashMap<>();
+    private final MetricRegistry registry = new MetricRegistry();
+    private final JmxReporter jmxReporter;
+    private final int topK;
+    private final long halfLifeNanos;
+    private final double warningShare;
+    private final Ticker ticker;
+
+    /**
+     * @param topK              number of hottest partitions published per table, for reads and writes
+     * @param halfLifeInSeconds time after which a hit counts for half
+     * @param warningShare      share of the traffic of a table, from 0 to 1, above which a partition is reported as
+     *                          hot in the logs. 0 disables the warnings
+     */
+    public HotPartitionTracker(int topK, int halfLifeInSeconds, double warningShare) {
+        this(topK, halfLifeInSeconds, warningShare, Ticker.systemTicker());
+    }
+
+    HotPartitionTracker(int topK, int halfLifeInSeconds, double warningShare, Ticker ticker) {
+        this.topK = topK;
+        this.halfLifeNanos = TimeUnit.SECONDS.toNanos(halfLifeInSeconds);
+        this.warningShare = warningShare;
+        this.ticker = ticker;
+        jmxReporter = JmxReporter.forRegistry(registry).inDomain(OperationMetrics.JMX_DOMAIN).build();
+        jmxReporter.start();
+        log.info("Top {} hot partitions per table published as JMX MBeans in the domain '{}'", topK,
+                 OperationMetrics.JMX_DOMAIN);
+    }
+
+    public static boolean isEnabled(ConfigurationContext configContext) {
+        return configContext.getHotPartitionTopK() > 0;
+    }
+
+    /**
+     * Count a read or a write on a partition
+     *
+     * @param partitionKey encoded partition key, the list of partition components for compound keys
+     */
+    public void track(String tableName, Object partitionKey, boolean read) {
+        final long now = ticker.read();
+        final HotPartitionSketch sketch = sketchFor(tableName, read);
+        final double share = sketch.add(partitionKey, now);
+        if (warningShare > 0 && share >= warningShare && sketch.getTotal(now) >= MIN_HITS_FOR_WARNING
+                && sketch.shouldWarn(partitionKey, now, halfLifeNanos)) {
+            log.warn("Hot partition {} in table '{}', it receives {}% of the {}", partitionKey, tableName,
+                     Math.round(share * 1000) / 10.0, read ? READS : WRITES);
+        }
+    }
+
+    /**
+     * @return the hottest partitions of the table, the hottest first
+     */
+    public List<HotPartition> getTopPartitions(String tableName, boolean read) {
+        final HotPartitionSketch sketch = sketches.get(sketchName(tableName, read));
+        if (sketch == null) {
+            return Collections.emptyList();
+        }
+        return sketch.top(topK, ticker.read());
+    }
+
+    public MetricRegistry getRegistry() {
+        return registry;
+    }
+
+    public void stop() {
+        jmxReporter.stop();
+    }
+
+    private HotPartitionSketch sketchFor(final String tableName, final boolean read) {
+        final String name = sketchName(tableName, read);
+        HotPartitionSketch sketch = sketches.get(name);
+        if (sketch == null) {
+            final HotPartitionSketch created = new HotPartitionSketch(topK * 4, halfLifeNanos, ticker.read());
+            sketch = sketches.putIfAbsent(name, created);
+            if (sketch == null) {
+                registry.register(name, new Gauge<List<String>>() {
+                    @Override
+                    public List<String> getValue() {
+                        return Lists.newArrayList(Lists.transform(getTopPartitions(tableName, read),
+                                                  Functions.toStringFunction()));
+                    }
+                });
+                sketch = created;
+            }
+        }
+        return sketch;
+    }
+
+    private String sketchName(String tableName, boolean read) {
+        return MetricRegistry.name(METRIC_PREFIX, tableName, read ? READS : WRITES);
+    }
+
+    /**
+     * Estimated traffic of a partition, with exponentially decayed counts
+     */
+    public static class HotPartition {
+        private final Object partitionKey;
+        private final double hits;
+        private final double share;
+
+        HotPartition(Object partitionKey, double hits, double share) {
+            this.partitionKey = partitionKey;
+            this.hits = hits;
+            this.share = share;
+        }
+
+        public Object getPartitionKey() {
+            return partitionKey;
+        }
+
+        /**
+         * Decayed number of hits, overestimated by the count-min sketch
+         */
+        public double getHits() {
+            return hits;
+        }
+
+        /**
+         * Share of the decayed traffic of the table, from 0 to 1
+         */
+        public double getShare() {
+            return share;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %.0f hits, %.1f%%", partitionKey, hits, share * 100);
+        }
+    }
+}
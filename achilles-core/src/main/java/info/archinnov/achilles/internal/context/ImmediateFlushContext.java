@@ -34,8 +34,9 @@ public class ImmediateFlushContext extends AbstractFlushContext {
 	}
 
 	private ImmediateFlushContext(DaoContext daoContext, List<AbstractStatementWrapper> statementWrappers,
+			List<List<Object>> entityCacheInvalidations, List<List<Object>> sliceCacheInvalidations,
 			ConsistencyLevel consistencyLevel) {
-		super(daoContext, statementWrappers, consistencyLevel);
+		super(daoContext, statementWrappers, entityCacheInvalidations, sliceCacheInvalidations, consistencyLevel);
 	}
 
 	@Override
@@ -65,7 +66,8 @@ public class ImmediateFlushContext extends AbstractFlushContext {
 	@Override
 	public ImmediateFlushContext duplicate() {
 		log.trace("Duplicate immediate flushing context");
-		return new ImmediateFlushContext(daoContext, statementWrappers, consistencyLevel);
+		return new ImmediateFlushContext(daoContext, statementWrappers, entityCacheInvalidations, sliceCacheInvalidations,
+				consistencyLevel);
 	}
 
     @Override
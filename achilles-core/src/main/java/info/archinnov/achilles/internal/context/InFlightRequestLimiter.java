@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.querybuilder.Select;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.exception.AchillesRequestRejectedException;
+
+/**
+ * Cap the number of requests in flight to the cluster for a PersistenceManagerFactory.
+ * <br/>
+ * Reads and writes either share the same permits pool or have their own budget. When no permit is available,
+ * the caller is blocked until one is released or, in fail-fast mode, an {@link AchillesRequestRejectedException}
+ * is raised.
+ * <br/>
+ * The time spent waiting for a permit, the rejected requests count and the in-flight reads/writes are exposed in
+ * the driver metrics registry when metrics are enabled
+ */
+public class InFlightRequestLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(InFlightRequestLimiter.class);
+
+    public static final String WAIT_TIMER = "achilles-inflight-wait";
+    public static final String REJECTED_COUNTER = "achilles-inflight-rejected";
+    public static final String IN_FLIGHT_READS_GAUGE = "achilles-inflight-reads";
+    public static final String IN_FLIGHT_WRITES_GAUGE = "achilles-inflight-writes";
+
+    private final Semaphore readPermits;
+    private final Semaphore writePermits;
+    private final boolean failFast;
+
+    private final AtomicInteger inFlightReads = new AtomicInteger(0);
+    private final AtomicInteger inFlightWrites = new AtomicInteger(0);
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    /**
+     * @param maxRequests permits shared by reads and writes, used when no separate budget is defined
+     * @param maxReads    permits for reads only, 0 for no limit
+     * @param maxWrites   permits for writes only, 0 for no limit
+     * @param failFast    whether to reject requests instead of waiting for a permit
+     * @param registry    metrics registry, may be null
+     */
+    public InFlightRequestLimiter(int maxRequests, int maxReads, int maxWrites, boolean failFast,
+            MetricRegistry registry) {
+        if (maxReads > 0 || maxWrites > 0) {
+            this.readPermits = maxReads > 0 ? new Semaphore(maxReads, true) : null;
+            this.writePermits = maxWrites > 0 ? new Semaphore(maxWrites, true) : null;
+        } else {
+            this.readPermits = new Semaphore(maxRequests, true);
+            this.writePermits = readPermits;
+        }
+        this.failFast = failFast;
+
+        if (registry != null) {
+            this.waitTimer = registry.timer(WAIT_TIMER);
+            this.rejected = registry.counter(REJECTED_COUNTER);
+            registerGauge(registry, IN_FLIGHT_READS_GAUGE, inFlightReads);
+            registerGauge(registry, IN_FLIGHT_WRITES_GAUGE, inFlightWrites);
+        } else {
+            this.waitTimer = new Timer();
+            this.rejected = new Counter();
+        }
+    }
+
+    public static boolean isEnabled(ConfigurationContext configContext) {
+        return configContext.getInFlightMaxRequests() > 0 || configContext.getInFlightMaxReads() > 0
+                || configContext.getInFlightMaxWrites() > 0;
+    }
+
+    public void acquire(boolean read) {
+        final Semaphore permits = read ? readPermits : writePermits;
+        if (permits != null) {
+            if (failFast) {
+                if (!permits.tryAcquire()) {
+                    rejected.inc();
+                    throw new AchillesRequestRejectedException(String.format(
+                            "Cannot execute %s request, the maximum number of in-flight requests is reached",
+                            read ? "read" : "write"));
+                }
+            } else if (!permits.tryAcquire()) {
+                log.trace("Waiting for an in-flight {} permit", read ? "read" : "write");
+                final long start = System.nanoTime();
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new AchillesException("Interrupted while waiting for an in-flight request permit", e);
+                } finally {
+                    waitTimer.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+        (read ? inFlightReads : inFlightWrites).incrementAndGet();
+    }
+
+    public void release(boolean read) {
+        (read ? inFlightReads : inFlightWrites).decrementAndGet();
+        final Semaphore permits = read ? readPermits : writePermits;
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    public boolean isRead(Statement statement) {
+        if (statement instanceof Select) {
+            return true;
+        } else if (statement instanceof BoundStatement) {
+            return isSelect(((BoundStatement) statement).preparedStatement().getQueryString());
+        } else if (statement instanceof RegularStatement) {
+            return isSelect(((RegularStatement) statement).getQueryString());
+        }
+        return false;
+    }
+
+    public int getInFlightReads() {
+        return inFlightReads.get();
+    }
+
+    public int getInFlightWrites() {
+        return inFlightWrites.get();
+    }
+
+    public Timer getWaitTimer() {
+        return waitTimer;
+    }
+
+    public Counter getRejected() {
+        return rejected;
+    }
+
+    private boolean isSelect(String queryString) {
+        return queryString.trim().regionMatches(true, 0, "SELECT", 0, 6);
+    }
+
+    private void registerGauge(MetricRegistry registry, String name, final AtomicInteger value) {
+        registry.remove(name);
+        registry.register(name, new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                return value.get();
+            }
+        });
+    }
+}
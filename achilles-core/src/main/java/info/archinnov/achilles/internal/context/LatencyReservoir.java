@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import com.google.common.base.Ticker;
+
+/**
+ * Lock-free latency reservoir in the fashion of HdrHistogram.
+ * <br/>
+ * Values are counted in log-linear buckets: each power of two is divided in {@value #SUB_BUCKETS} linear buckets so
+ * that the recorded value is known within about 3%. Recording a value is a single atomic increment, whatever the
+ * number of values already recorded.
+ * <br/>
+ * As with the interval recorder of HdrHistogram, counts are kept per interval of {@value #DEFAULT_INTERVAL_SECONDS}
+ * seconds: recording switches to fresh buckets at the end of each interval and a snapshot covers the current and the
+ * previous intervals only, so that percentiles reflect the recent latencies instead of the whole uptime.
+ * <br/>
+ * A snapshot is built from the bucket midpoints; above
+ * {@value #MAX_SNAPSHOT_VALUES} recorded values, bucket counts are scaled down proportionally, non-empty buckets
+ * being always represented so that tail latencies are kept
+ */
+public class LatencyReservoir implements Reservoir {
+
+    static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int MAX_SNAPSHOT_VALUES = 4096;
+    static final int DEFAULT_INTERVAL_SECONDS = 60;
+
+    private static final int BUCKETS_COUNT = SUB_BUCKETS * (64 - SUB_BUCKET_BITS);
+
+    private final AtomicReference<Interval> current;
+    private volatile Interval previous;
+    private final long intervalNanos;
+    private final Ticker ticker;
+
+    public LatencyReservoir() {
+        this(TimeUnit.SECONDS.toNanos(DEFAULT_INTERVAL_SECONDS), Ticker.systemTicker());
+    }
+
+    LatencyReservoir(long intervalNanos, Ticker ticker) {
+        this.intervalNanos = intervalNanos;
+        this.ticker = ticker;
+        final long now = ticker.read();
+        this.current = new AtomicReference<>(new Interval(now));
+        this.previous = new Interval(now - intervalNanos);
+    }
+
+    @Override
+    public int size() {
+        final AtomicLongArray currentCounts = currentInterval().counts;
+        final AtomicLongArray previousCounts = previous.counts;
+        long total = 0;
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            total += currentCounts.get(i) + previousCounts.get(i);
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void update(long value) {
+        currentInterval().counts.incrementAndGet(indexOf(Math.max(0, value)));
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        final AtomicLongArray currentCounts = currentInterval().counts;
+        final AtomicLongArray previousCounts = previous.counts;
+        final long[] bucketCounts = new long[BUCKETS_COUNT];
+        long total = 0;
+        int nonEmptyBuckets = 0;
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            bucketCounts[i] = currentCounts.get(i) + previousCounts.get(i);
+            total += bucketCounts[i];
+            if (bucketCounts[i] > 0) {
+                nonEmptyBuckets++;
+            }
+        }
+
+        final double scale = total > MAX_SNAPSHOT_VALUES ? (double) MAX_SNAPSHOT_VALUES / total : 1.0;
+        final long[] values = new long[(int) Math.min(total, MAX_SNAPSHOT_VALUES + nonEmptyBuckets)];
+        int position = 0;
+        for (int i = 0; i < BUCKETS_COUNT && position < values.length; i++) {
+            if (bucketCounts[i] > 0) {
+                final long copies = Math.max(1, Math.round(bucketCounts[i] * scale));
+                final long value = valueOf(i);
+                for (long j = 0; j < copies && position < values.length; j++) {
+                    values[position++] = value;
+                }
+            }
+        }
+        return new Snapshot(position == values.length ? values : Arrays.copyOf(values, position));
+    }
+
+    /**
+     * Interval being recorded, switching to a new one when the current interval is over. The ended interval becomes
+     * the previous one, unless it ended more than an interval ago, in which case it is dropped
+     */
+    private Interval currentInterval() {
+        final long now = ticker.read();
+        Interval interval = current.get();
+        while (now - interval.start >= intervalNanos) {
+            final Interval next = new Interval(now);
+            if (current.compareAndSet(interval, next)) {
+                previous = now - interval.start < 2 * intervalNanos ? interval : new Interval(now - intervalNanos);
+                return next;
+            }
+            interval = current.get();
+        }
+        return interval;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        final int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    static long valueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        final long subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket) << shift) + ((1L << shift) >>> 1);
+    }
+
+    private static class Interval {
+        private final long start;
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS_COUNT);
+
+        private Interval(long start) {
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,729 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ColumnDefinitions.Definition;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+import com.google.common.cache.CacheStats;
+import info.archinnov.achilles.exception.AchillesException;
+
+/**
+ * Entity cache storage outside of the Java heap.
+ * <br/>
+ * Each row is encoded with the Cassandra serialized form of its columns into a chunk of a direct ByteBuffer slab.
+ * Slabs are allocated lazily, up to the memory cap, and assigned to chunk size classes as in a slab allocator. Once
+ * no slab is left, a size class evicts its own chunks with the CLOCK algorithm, or takes a slab over from the size
+ * class holding the most when it has none.
+ * <br/>
+ * Keys are located through an open-addressing index made of primitive arrays, so the garbage collector only sees a
+ * few large objects whatever the number of cached entities. The store is split into independently locked segments
+ */
+class OffHeapRowStore implements RowStore {
+
+    static final int MIN_CHUNK_SIZE = 64;
+    static final int MAX_SLAB_SIZE = 1024 * 1024;
+    private static final int MIN_SLABS_PER_SEGMENT = 8;
+    private static final int MAX_SEGMENTS = 16;
+
+    // chunk layout: hash, flags, size class, column definitions id, key length, value length, expiration, key, value
+    private static final int HASH_OFFSET = 0;
+    private static final int FLAGS_OFFSET = 4;
+    private static final int SIZE_CLASS_OFFSET = 5;
+    private static final int DEFINITIONS_OFFSET = 6;
+    private static final int KEY_LENGTH_OFFSET = 8;
+    private static final int VALUE_LENGTH_OFFSET = 12;
+    private static final int EXPIRATION_OFFSET = 16;
+    private static final int HEADER_SIZE = 24;
+
+    // encoded entity key layout: components count, class id, list marker, embedded id components count, components
+    private static final int ID_COMPONENTS_COUNT_POSITION = 10;
+
+    private static final byte LIVE = 1;
+    private static final byte REFERENCED = 2;
+
+    private static final byte CLASS_COMPONENT = 0;
+    private static final byte LIST_COMPONENT = 1;
+    private static final byte VALUE_COMPONENT = 2;
+
+    private static final long EMPTY_SLOT = 0;
+    private static final long DELETED_SLOT = -1;
+
+    private final Segment[] segments;
+    private final int slabSize;
+    private final long ttlInMillis;
+    private final Method rowFactory;
+
+    private final Map<Class<?>, Integer> classIds = new HashMap<>();
+    private final ConcurrentMap<String, Short> definitionsIds = new ConcurrentHashMap<>();
+    // append-only, copied on registration so that rows are decoded without locking
+    private volatile ColumnDefinitions[] definitions = new ColumnDefinitions[0];
+
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+    private final AtomicLong evictions = new AtomicLong(0);
+
+    /**
+     * @param capacityInBytes total size of the slabs, allocated on demand
+     * @param ttlInSeconds    time to live of an entry after its storage, 0 for no expiration
+     */
+    OffHeapRowStore(long capacityInBytes, int ttlInSeconds) {
+        final int segmentsCount = Integer.highestOneBit((int) Math.max(1,
+                Math.min(MAX_SEGMENTS, capacityInBytes / MAX_SLAB_SIZE)));
+        this.slabSize = Integer.highestOneBit((int) Math.max(MIN_CHUNK_SIZE,
+                Math.min(MAX_SLAB_SIZE, capacityInBytes / segmentsCount / MIN_SLABS_PER_SEGMENT)));
+        final int slabsPerSegment = (int) Math.max(1, capacityInBytes / segmentsCount / slabSize);
+        this.segments = new Segment[segmentsCount];
+        for (int i = 0; i < segmentsCount; i++) {
+            segments[i] = new Segment(slabsPerSegment);
+        }
+        this.ttlInMillis = TimeUnit.SECONDS.toMillis(ttlInSeconds);
+        this.rowFactory = rowFactory();
+    }
+
+    @Override
+    public Row get(List<Object> entityKey) {
+        final byte[] key = encodeKey(entityKey, false);
+        if (key != null) {
+            final int hash = hash(key);
+            final Entry entry = segmentFor(hash).get(hash, key);
+            if (entry != null) {
+                hits.incrementAndGet();
+                return toRow(entry);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    @Override
+    public void put(List<Object> entityKey, Row row) {
+        final byte[] key = encodeKey(entityKey, true);
+        final short definitionsId = definitionsId(row.getColumnDefinitions());
+        if (key != null && definitionsId >= 0) {
+            final int hash = hash(key);
+            segmentFor(hash).put(hash, key, definitionsId, encodeValue(row));
+        }
+    }
+
+    @Override
+    public void invalidate(List<Object> entityKey) {
+        final byte[] key = encodeKey(entityKey, false);
+        if (key != null) {
+            final int hash = hash(key);
+            segmentFor(hash).invalidate(hash, key);
+        }
+    }
+
+    @Override
+    public void invalidateAll(Iterable<List<Object>> entityKeys) {
+        for (List<Object> entityKey : entityKeys) {
+            invalidate(entityKey);
+        }
+    }
+
+    @Override
+    public void invalidatePartition(Class<?> entityClass, List<Object> partitionComponents) {
+        final byte[] partitionKey = encodeKey(Arrays.<Object> asList(entityClass, partitionComponents), false);
+        if (partitionKey != null) {
+            for (Segment segment : segments) {
+                segment.invalidatePartition(partitionKey);
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    @Override
+    public CacheStats stats() {
+        return new CacheStats(hits.get(), misses.get(), 0, 0, 0, evictions.get());
+    }
+
+    long allocatedBytes() {
+        long allocated = 0;
+        for (Segment segment : segments) {
+            allocated += segment.allocatedBytes();
+        }
+        return allocated;
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[(hash >>> 16) & (segments.length - 1)];
+    }
+
+    private int hash(byte[] key) {
+        final int h = Arrays.hashCode(key) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private byte[] encodeKey(List<Object> entityKey, boolean register) {
+        try {
+            final List<ByteBuffer> values = new ArrayList<>();
+            final ByteBuffer buffer = ByteBuffer.allocate(encodedSize(entityKey, values));
+            return writeComponents(buffer, entityKey, values.iterator(), register) ? buffer.array() : null;
+        } catch (IllegalArgumentException e) {
+            // primary key component without Cassandra codec, not cacheable
+            return null;
+        }
+    }
+
+    /**
+     * Value components are serialized once, in encoding order, into the given list
+     */
+    private int encodedSize(List<?> components, List<ByteBuffer> values) {
+        int size = 4;
+        for (Object component : components) {
+            if (component instanceof Class) {
+                size += 5;
+            } else if (component instanceof List) {
+                size += 1 + encodedSize((List<?>) component, values);
+            } else {
+                final ByteBuffer bytes = serialize(component);
+                values.add(bytes);
+                size += 5 + bytes.remaining();
+            }
+        }
+        return size;
+    }
+
+    private boolean writeComponents(ByteBuffer buffer, List<?> components, Iterator<ByteBuffer> values,
+            boolean register) {
+        buffer.putInt(components.size());
+        for (Object component : components) {
+            if (component instanceof Class) {
+                final Integer classId = classId((Class<?>) component, register);
+                if (classId == null) {
+                    return false;
+                }
+                buffer.put(CLASS_COMPONENT).putInt(classId);
+            } else if (component instanceof List) {
+                buffer.put(LIST_COMPONENT);
+                if (!writeComponents(buffer, (List<?>) component, values, register)) {
+                    return false;
+                }
+            } else {
+                final ByteBuffer bytes = values.next();
+                buffer.put(VALUE_COMPONENT).putInt(bytes.remaining()).put(bytes);
+            }
+        }
+        return true;
+    }
+
+    private ByteBuffer serialize(Object component) {
+        return component == null ? ByteBuffer.allocate(0) : DataType.serializeValue(component).duplicate();
+    }
+
+    private synchronized Integer classId(Class<?> entityClass, boolean register) {
+        Integer classId = classIds.get(entityClass);
+        if (classId == null && register) {
+            classId = classIds.size();
+            classIds.put(entityClass, classId);
+        }
+        return classId;
+    }
+
+    private short definitionsId(ColumnDefinitions columnDefinitions) {
+        final StringBuilder signature = new StringBuilder();
+        for (Definition definition : columnDefinitions) {
+            signature.append(definition.getKeyspace()).append('.').append(definition.getTable()).append('.')
+                     .append(definition.getName()).append(':').append(definition.getType()).append(',');
+        }
+        final Short definitionsId = definitionsIds.get(signature.toString());
+        return definitionsId != null ? definitionsId : registerDefinitions(signature.toString(), columnDefinitions);
+    }
+
+    private synchronized short registerDefinitions(String signature, ColumnDefinitions columnDefinitions) {
+        Short definitionsId = definitionsIds.get(signature);
+        if (definitionsId == null) {
+            if (definitions.length == Short.MAX_VALUE) {
+                return -1;
+            }
+            definitionsId = (short) definitions.length;
+            final ColumnDefinitions[] registered = Arrays.copyOf(definitions, definitions.length + 1);
+            registered[definitionsId] = columnDefinitions;
+            definitions = registered;
+            definitionsIds.put(signature, definitionsId);
+        }
+        return definitionsId;
+    }
+
+    private ColumnDefinitions definitions(short definitionsId) {
+        return definitions[definitionsId];
+    }
+
+    private byte[] encodeValue(Row row) {
+        final int columnsCount = row.getColumnDefinitions().size();
+        final ByteBuffer[] columns = new ByteBuffer[columnsCount];
+        int size = 0;
+        for (int i = 0; i < columnsCount; i++) {
+            final ByteBuffer bytes = row.getBytesUnsafe(i);
+            columns[i] = bytes == null ? null : bytes.duplicate();
+            size += 4 + (bytes == null ? 0 : bytes.remaining());
+        }
+        final ByteBuffer value = ByteBuffer.allocate(size);
+        for (ByteBuffer column : columns) {
+            if (column == null) {
+                value.putInt(-1);
+            } else {
+                value.putInt(column.remaining()).put(column);
+            }
+        }
+        return value.array();
+    }
+
+    private Row toRow(Entry entry) {
+        final ByteBuffer value = ByteBuffer.wrap(entry.value);
+        final List<ByteBuffer> columns = new ArrayList<>();
+        while (value.hasRemaining()) {
+            final int length = value.getInt();
+            if (length < 0) {
+                columns.add(null);
+            } else {
+                final ByteBuffer column = value.slice();
+                column.limit(length);
+                columns.add(column);
+                value.position(value.position() + length);
+            }
+        }
+        try {
+            return (Row) rowFactory.invoke(null, definitions(entry.definitionsId), columns);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new AchillesException("Cannot rebuild cached row", e);
+        }
+    }
+
+    private Method rowFactory() {
+        try {
+            final Method method = Row.class.getDeclaredMethod("fromData", ColumnDefinitions.class, List.class);
+            method.setAccessible(true);
+            return method;
+        } catch (NoSuchMethodException e) {
+            throw new AchillesException("The off-heap entity cache is not supported by this version of the Java driver",
+                                        e);
+        }
+    }
+
+    private static class Entry {
+        private final short definitionsId;
+        private final byte[] value;
+
+        private Entry(short definitionsId, byte[] value) {
+            this.definitionsId = definitionsId;
+            this.value = value;
+        }
+    }
+
+    private static class SizeClass {
+        private final int chunkSize;
+        private long[] chunks = new long[16];
+        private int chunksCount;
+        private int slabsCount;
+        private long[] freeChunks = new long[16];
+        private int freeChunksCount;
+        private int clockHand;
+
+        private SizeClass(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        private void addFreeChunk(long address) {
+            if (freeChunksCount == freeChunks.length) {
+                freeChunks = Arrays.copyOf(freeChunks, freeChunks.length * 2);
+            }
+            freeChunks[freeChunksCount++] = address;
+        }
+
+        private void addChunk(long address) {
+            if (chunksCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            }
+            chunks[chunksCount++] = address;
+            addFreeChunk(address);
+        }
+
+        private void releaseSlab(int slabIndex, int slabSize) {
+            chunksCount = retainOutsideOfSlab(chunks, chunksCount, slabIndex, slabSize);
+            freeChunksCount = retainOutsideOfSlab(freeChunks, freeChunksCount, slabIndex, slabSize);
+            clockHand = chunksCount == 0 ? 0 : clockHand % chunksCount;
+            slabsCount--;
+        }
+
+        private static int retainOutsideOfSlab(long[] addresses, int count, int slabIndex, int slabSize) {
+            int retained = 0;
+            for (int i = 0; i < count; i++) {
+                if (addresses[i] / slabSize != slabIndex) {
+                    addresses[retained++] = addresses[i];
+                }
+            }
+            return retained;
+        }
+    }
+
+    private class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ByteBuffer[] slabs;
+        private int allocatedSlabs;
+        private final SizeClass[] sizeClasses;
+
+        // index slots hold the chunk address + 1, EMPTY_SLOT or DELETED_SLOT
+        private long[] indexAddresses = new long[64];
+        private int[] indexHashes = new int[64];
+        private int entriesCount;
+        private int usedSlots;
+
+        private Segment(int slabsCount) {
+            this.slabs = new ByteBuffer[slabsCount];
+            final List<SizeClass> classes = new ArrayList<>();
+            for (int chunkSize = MIN_CHUNK_SIZE; chunkSize <= slabSize; chunkSize <<= 1) {
+                classes.add(new SizeClass(chunkSize));
+            }
+            this.sizeClasses = classes.toArray(new SizeClass[classes.size()]);
+        }
+
+        private Entry get(int hash, byte[] key) {
+            lock.lock();
+            try {
+                final int slot = find(hash, key);
+                if (slot < 0) {
+                    return null;
+                }
+                final long address = indexAddresses[slot] - 1;
+                final ByteBuffer slab = slab(address);
+                final int offset = offset(address);
+                if (ttlInMillis > 0 && slab.getLong(offset + EXPIRATION_OFFSET) < System.currentTimeMillis()) {
+                    remove(slot, address);
+                    return null;
+                }
+                slab.put(offset + FLAGS_OFFSET, (byte) (LIVE | REFERENCED));
+                final byte[] value = new byte[slab.getInt(offset + VALUE_LENGTH_OFFSET)];
+                read(slab, offset + HEADER_SIZE + key.length, value);
+                return new Entry(slab.getShort(offset + DEFINITIONS_OFFSET), value);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(int hash, byte[] key, short definitionsId, byte[] value) {
+            final int size = HEADER_SIZE + key.length + value.length;
+            if (size > slabSize) {
+                return;
+            }
+            lock.lock();
+            try {
+                final int sizeClass = sizeClassFor(size);
+                final long address = allocate(sizeClasses[sizeClass]);
+                // looked up after the allocation, which may have evicted the previous row of the key
+                final int existing = find(hash, key);
+                if (existing >= 0) {
+                    remove(existing, indexAddresses[existing] - 1);
+                }
+                if (address < 0) {
+                    return;
+                }
+                final ByteBuffer slab = slab(address);
+                final int offset = offset(address);
+                slab.putInt(offset + HASH_OFFSET, hash);
+                slab.put(offset + FLAGS_OFFSET, LIVE);
+                slab.put(offset + SIZE_CLASS_OFFSET, (byte) sizeClass);
+                slab.putShort(offset + DEFINITIONS_OFFSET, definitionsId);
+                slab.putInt(offset + KEY_LENGTH_OFFSET, key.length);
+                slab.putInt(offset + VALUE_LENGTH_OFFSET, value.length);
+                slab.putLong(offset + EXPIRATION_OFFSET, ttlInMillis > 0 ? System.currentTimeMillis() + ttlInMillis
+                        : Long.MAX_VALUE);
+                write(slab, offset + HEADER_SIZE, key);
+                write(slab, offset + HEADER_SIZE + key.length, value);
+                insert(hash, address);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void invalidate(int hash, byte[] key) {
+            lock.lock();
+            try {
+                final int slot = find(hash, key);
+                if (slot >= 0) {
+                    remove(slot, indexAddresses[slot] - 1);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void invalidatePartition(byte[] partitionKey) {
+            lock.lock();
+            try {
+                for (int slot = 0; slot < indexAddresses.length; slot++) {
+                    final long stored = indexAddresses[slot];
+                    if (stored != EMPTY_SLOT && stored != DELETED_SLOT && keyInPartition(stored - 1, partitionKey)) {
+                        remove(slot, stored - 1);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long size() {
+            lock.lock();
+            try {
+                return entriesCount;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long allocatedBytes() {
+            lock.lock();
+            try {
+                return (long) allocatedSlabs * slabSize;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int sizeClassFor(int size) {
+            int sizeClass = 0;
+            for (int chunkSize = MIN_CHUNK_SIZE; chunkSize < size; chunkSize <<= 1) {
+                sizeClass++;
+            }
+            return sizeClass;
+        }
+
+        private long allocate(SizeClass sizeClass) {
+            if (sizeClass.freeChunksCount == 0) {
+                if (allocatedSlabs < slabs.length) {
+                    final int slabIndex = allocatedSlabs++;
+                    slabs[slabIndex] = ByteBuffer.allocateDirect(slabSize);
+                    assign(slabIndex, sizeClass);
+                } else if (sizeClass.chunksCount == 0) {
+                    reassignSlab(sizeClass);
+                }
+            }
+            if (sizeClass.freeChunksCount > 0) {
+                return sizeClass.freeChunks[--sizeClass.freeChunksCount];
+            }
+            return evict(sizeClass);
+        }
+
+        private void assign(int slabIndex, SizeClass sizeClass) {
+            final ByteBuffer slab = slabs[slabIndex];
+            for (int offset = slabSize - sizeClass.chunkSize; offset >= 0; offset -= sizeClass.chunkSize) {
+                // a reassigned slab still holds the bytes of its previous chunks
+                slab.put(offset + FLAGS_OFFSET, (byte) 0);
+                sizeClass.addChunk((long) slabIndex * slabSize + offset);
+            }
+            sizeClass.slabsCount++;
+        }
+
+        /**
+         * Once every slab is assigned, a size class without any chunk takes over the slab under the CLOCK hand of the
+         * class holding the most slabs, evicting all of its rows. Otherwise rows of that size could never be stored
+         */
+        private void reassignSlab(SizeClass sizeClass) {
+            SizeClass victim = sizeClasses[0];
+            for (SizeClass candidate : sizeClasses) {
+                if (candidate.slabsCount > victim.slabsCount) {
+                    victim = candidate;
+                }
+            }
+            if (victim.slabsCount == 0) {
+                return;
+            }
+            final int slabIndex = (int) (victim.chunks[victim.clockHand] / slabSize);
+            final ByteBuffer slab = slabs[slabIndex];
+            for (int offset = 0; offset < slabSize; offset += victim.chunkSize) {
+                if ((slab.get(offset + FLAGS_OFFSET) & LIVE) != 0) {
+                    unindex(slab.getInt(offset + HASH_OFFSET), (long) slabIndex * slabSize + offset);
+                    slab.put(offset + FLAGS_OFFSET, (byte) 0);
+                    evictions.incrementAndGet();
+                }
+            }
+            victim.releaseSlab(slabIndex, slabSize);
+            assign(slabIndex, sizeClass);
+        }
+
+        /**
+         * CLOCK eviction, a chunk read since the last pass of the hand gets a second chance
+         */
+        private long evict(SizeClass sizeClass) {
+            if (sizeClass.chunksCount == 0) {
+                return -1;
+            }
+            while (true) {
+                final long address = sizeClass.chunks[sizeClass.clockHand];
+                sizeClass.clockHand = (sizeClass.clockHand + 1) % sizeClass.chunksCount;
+                final ByteBuffer slab = slab(address);
+                final int offset = offset(address);
+                final byte flags = slab.get(offset + FLAGS_OFFSET);
+                if ((flags & REFERENCED) != 0) {
+                    slab.put(offset + FLAGS_OFFSET, LIVE);
+                } else {
+                    unindex(slab.getInt(offset + HASH_OFFSET), address);
+                    slab.put(offset + FLAGS_OFFSET, (byte) 0);
+                    evictions.incrementAndGet();
+                    return address;
+                }
+            }
+        }
+
+        private void remove(int slot, long address) {
+            indexAddresses[slot] = DELETED_SLOT;
+            entriesCount--;
+            final ByteBuffer slab = slab(address);
+            final int offset = offset(address);
+            slab.put(offset + FLAGS_OFFSET, (byte) 0);
+            sizeClasses[slab.get(offset + SIZE_CLASS_OFFSET)].addFreeChunk(address);
+        }
+
+        private int find(int hash, byte[] key) {
+            final int mask = indexAddresses.length - 1;
+            int slot = hash & mask;
+            while (indexAddresses[slot] != EMPTY_SLOT) {
+                final long stored = indexAddresses[slot];
+                if (stored != DELETED_SLOT && indexHashes[slot] == hash && keyEquals(stored - 1, key)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void unindex(int hash, long address) {
+            final int mask = indexAddresses.length - 1;
+            int slot = hash & mask;
+            while (indexAddresses[slot] != address + 1) {
+                slot = (slot + 1) & mask;
+            }
+            indexAddresses[slot] = DELETED_SLOT;
+            entriesCount--;
+        }
+
+        private void insert(int hash, long address) {
+            if ((usedSlots + 1) * 4 > indexAddresses.length * 3) {
+                rehash();
+            }
+            final int mask = indexAddresses.length - 1;
+            int slot = hash & mask;
+            while (indexAddresses[slot] != EMPTY_SLOT && indexAddresses[slot] != DELETED_SLOT) {
+                slot = (slot + 1) & mask;
+            }
+            if (indexAddresses[slot] == EMPTY_SLOT) {
+                usedSlots++;
+            }
+            indexAddresses[slot] = address + 1;
+            indexHashes[slot] = hash;
+            entriesCount++;
+        }
+
+        private void rehash() {
+            final long[] oldAddresses = indexAddresses;
+            final int[] oldHashes = indexHashes;
+            final int capacity = entriesCount * 4 >= oldAddresses.length ? oldAddresses.length * 2
+                    : oldAddresses.length;
+            indexAddresses = new long[capacity];
+            indexHashes = new int[capacity];
+            usedSlots = 0;
+            final int mask = capacity - 1;
+            for (int i = 0; i < oldAddresses.length; i++) {
+                if (oldAddresses[i] != EMPTY_SLOT && oldAddresses[i] != DELETED_SLOT) {
+                    int slot = oldHashes[i] & mask;
+                    while (indexAddresses[slot] != EMPTY_SLOT) {
+                        slot = (slot + 1) & mask;
+                    }
+                    indexAddresses[slot] = oldAddresses[i];
+                    indexHashes[slot] = oldHashes[i];
+                    usedSlots++;
+                }
+            }
+        }
+
+        private boolean keyEquals(long address, byte[] key) {
+            final ByteBuffer slab = slab(address);
+            final int offset = offset(address);
+            if (slab.getInt(offset + KEY_LENGTH_OFFSET) != key.length) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (slab.get(offset + HEADER_SIZE + i) != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * The partition key is encoded as an entity key whose embedded id only has the partition components, so
+         * the stored key must start with the same bytes, except for the embedded id components count
+         */
+        private boolean keyInPartition(long address, byte[] partitionKey) {
+            final ByteBuffer slab = slab(address);
+            final int offset = offset(address);
+            if (slab.getInt(offset + KEY_LENGTH_OFFSET) < partitionKey.length) {
+                return false;
+            }
+            for (int i = 0; i < partitionKey.length; i++) {
+                final boolean countByte = i >= ID_COMPONENTS_COUNT_POSITION && i < ID_COMPONENTS_COUNT_POSITION + 4;
+                if (!countByte && slab.get(offset + HEADER_SIZE + i) != partitionKey[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private ByteBuffer slab(long address) {
+            return slabs[(int) (address / slabSize)];
+        }
+
+        private int offset(long address) {
+            return (int) (address % slabSize);
+        }
+
+        private void read(ByteBuffer slab, int offset, byte[] target) {
+            final ByteBuffer source = slab.duplicate();
+            source.position(offset);
+            source.get(target);
+        }
+
+        private void write(ByteBuffer slab, int offset, byte[] source) {
+            final ByteBuffer target = slab.duplicate();
+            target.position(offset);
+            target.put(source);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.JmxReporter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+/**
+ * Latency, throughput and errors of Achilles operations, per entity class and operation.
+ * <br/>
+ * Each (entity class, operation) pair has a timer named <em>&lt;entity class&gt;.&lt;operation&gt;</em>, backed by a
+ * lock-free {@link LatencyReservoir}, which gives the latency histogram and the throughput, and an
+ * <em>&lt;entity class&gt;.&lt;operation&gt;.errors</em> counter. Operations without entity class, native queries as
+ * well as every executed statement and batch, are named <em>achilles.&lt;operation&gt;</em>.
+ * <br/>
+ * Metrics are held in a dedicated registry, published as JMX MBeans in the {@value #JMX_DOMAIN} domain
+ */
+public class OperationMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(OperationMetrics.class);
+
+    public static final String JMX_DOMAIN = "info.archinnov.achilles";
+    public static final String UNTYPED_PREFIX = "achilles";
+    public static final String ERRORS_SUFFIX = "errors";
+
+    private static final Sample NO_SAMPLE = new Sample(null, null);
+
+    public static enum Operation {
+        PERSIST, FIND, UPDATE, REMOVE, SLICE, TYPED, NATIVE, COUNTER, EXECUTE, BATCH;
+
+        private final String metricName = name().toLowerCase();
+    }
+
+    private final MetricRegistry registry = new MetricRegistry();
+    private final Map<Operation, ConcurrentMap<Class<?>, OperationStats>> stats = new EnumMap<>(Operation.class);
+    private final JmxReporter jmxReporter;
+
+    public OperationMetrics() {
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new ConcurrentHashMap<Class<?>, OperationStats>());
+        }
+        jmxReporter = JmxReporter.forRegistry(registry).inDomain(JMX_DOMAIN)
+                .convertDurationsTo(TimeUnit.MICROSECONDS).build();
+        jmxReporter.start();
+        log.info("Operation metrics published as JMX MBeans in the domain '{}'", JMX_DOMAIN);
+    }
+
+    public static boolean isEnabled(ConfigurationContext configContext) {
+        return configContext.isOperationMetricsEnabled();
+    }
+
+    /**
+     * Start timing an operation. When metrics are disabled, the returned sample does nothing
+     *
+     * @param metrics     operation metrics, null when disabled
+     * @param entityClass entity class targeted by the operation, null for native queries, statements and batches
+     */
+    public static Sample start(OperationMetrics metrics, Class<?> entityClass, Operation operation) {
+        if (metrics == null) {
+            return NO_SAMPLE;
+        }
+        return new Sample(metrics.statsFor(entityClass, operation), null);
+    }
+
+    /**
+     * Start timing an operation which is also a request for the stage timers. The request stages are timed when it
+     * is sampled, until {@link Sample#stop()}
+     *
+     * @param metrics     operation metrics, null when disabled
+     * @param stageTimers stage timers, null when disabled
+     * @param entityClass entity class targeted by the operation
+     */
+    public static Sample start(OperationMetrics metrics, StageTimers stageTimers, Class<?> entityClass,
+            Operation operation) {
+        final boolean staged = stageTimers != null && stageTimers.begin(entityClass);
+        if (metrics == null && !staged) {
+            return NO_SAMPLE;
+        }
+        return new Sample(metrics == null ? null : metrics.statsFor(entityClass, operation), staged ? stageTimers
+                : null);
+    }
+
+    public Timer getLatency(Class<?> entityClass, Operation operation) {
+        return statsFor(entityClass, operation).latency;
+    }
+
+    public Counter getErrors(Class<?> entityClass, Operation operation) {
+        return statsFor(entityClass, operation).errors;
+    }
+
+    public MetricRegistry getRegistry() {
+        return registry;
+    }
+
+    public void stop() {
+        jmxReporter.stop();
+    }
+
+    private OperationStats statsFor(Class<?> entityClass, Operation operation) {
+        final Class<?> key = entityClass == null ? Void.class : entityClass;
+        final ConcurrentMap<Class<?>, OperationStats> operationStats = stats.get(operation);
+        OperationStats entityStats = operationStats.get(key);
+        if (entityStats == null) {
+            final OperationStats created = new OperationStats();
+            entityStats = operationStats.putIfAbsent(key, created);
+            if (entityStats == null) {
+                final String name = entityClass == null ? MetricRegistry.name(UNTYPED_PREFIX, operation.metricName)
+                        : MetricRegistry.name(entityClass, operation.metricName);
+                registry.register(name, created.latency);
+                registry.register(MetricRegistry.name(name, ERRORS_SUFFIX), created.errors);
+                entityStats = created;
+            }
+        }
+        return entityStats;
+    }
+
+    private static class OperationStats {
+        private final Timer latency = new Timer(new LatencyReservoir());
+        private final Counter errors = new Counter();
+    }
+
+    /**
+     * Timing of a single operation. {@link #stop()} must be called once the operation is over, the operation
+     * being counted as an error unless {@link #success()} was called before
+     */
+    public static class Sample {
+
+        private final OperationStats stats;
+        private final StageTimers stageTimers;
+        private final long start;
+        private boolean succeeded;
+
+        private Sample(OperationStats stats, StageTimers stageTimers) {
+            this.stats = stats;
+            this.stageTimers = stageTimers;
+            this.start = stats == null ? 0L : System.nanoTime();
+        }
+
+        public void success() {
+            if (stats != null) {
+                succeeded = true;
+            }
+        }
+
+        public <V> V success(V result) {
+            success();
+            return result;
+        }
+
+        public void stop() {
+            if (stats != null) {
+                stats.latency.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                if (!succeeded) {
+                    stats.errors.inc();
+                }
+            }
+            if (stageTimers != null) {
+                stageTimers.end();
+            }
+        }
+    }
+}
@@ -130,6 +130,10 @@ public class PersistenceContext {
 		return daoContext.loadProperty(this, pm);
 	}
 
+	public Row loadProperties(List<PropertyMeta> pms) {
+		return daoContext.loadProperties(this, pms);
+	}
+
 	public void pushInsertStatement() {
 		daoContext.pushInsertStatement(this);
 	}
@@ -205,6 +209,14 @@ public class PersistenceContext {
 		flushContext.pushCounterStatement(statementWrapper);
 	}
 
+	public void pushEntityCacheInvalidation(List<Object> entityKey) {
+		flushContext.pushEntityCacheInvalidation(entityKey);
+	}
+
+	public void pushSliceCacheInvalidation(List<Object> partitionKey) {
+		flushContext.pushSliceCacheInvalidation(partitionKey);
+	}
+
 	public ResultSet executeImmediate(AbstractStatementWrapper bsWrapper) {
 		return flushContext.executeImmediate(bsWrapper);
 	}
@@ -241,6 +253,16 @@ public class PersistenceContext {
 		return proxifiedEntity;
 	}
 
+	public <T> T find(Class<T> entityClass, List<PropertyMeta> fetchProperties) {
+		T rawEntity = loader.load(this, entityClass, fetchProperties);
+		T proxifiedEntity = null;
+		if (rawEntity != null) {
+			flushContext.triggerInterceptor(entityMeta, rawEntity, POST_LOAD);
+			proxifiedEntity = proxifier.buildProxy(rawEntity, this, getGetters(fetchProperties));
+		}
+		return proxifiedEntity;
+	}
+
 	public <T> T getProxy(Class<T> entityClass) {
 		T entity = loader.createEmptyEntity(this, entityClass);
 		return proxifier.buildProxyWithNoFieldLoaded(entity, this);
@@ -338,6 +360,10 @@ public class PersistenceContext {
 		return configContext;
 	}
 
+	public boolean isLazyLoadingFetchAll() {
+		return configContext.isLazyLoadingFetchAll();
+	}
+
 	public void setEntityMeta(EntityMeta entityMeta) {
 		this.entityMeta = entityMeta;
 	}
@@ -362,6 +388,10 @@ public class PersistenceContext {
 		return new HashSet<>(from(entityMeta.getAllMetasExceptCounters()).transform(metaToGetter).toList());
 	}
 
+	public Set<Method> getGetters(List<PropertyMeta> pms) {
+		return new HashSet<>(from(pms).transform(metaToGetter).toList());
+	}
+
 	public List<PropertyMeta> getAllCountersMeta() {
 		return entityMeta.getAllCounterMetas();
 	}
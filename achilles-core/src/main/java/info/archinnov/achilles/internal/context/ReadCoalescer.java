@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
+import com.datastax.driver.core.Row;
+import com.google.common.base.Supplier;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Share a single in-flight query between concurrent identical reads.
+ * <br/>
+ * The first caller for a given key executes the query, concurrent callers with the same key wait for its result
+ * instead of issuing their own query. The returned row is shared, each caller builds its own entity from it.
+ * <br/>
+ * The executed and shared reads counts as well as the share ratio are exposed in the driver metrics registry when
+ * metrics are enabled
+ */
+public class ReadCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadCoalescer.class);
+
+    public static final String EXECUTED_READS_COUNTER = "achilles-read-coalescing-executed";
+    public static final String SHARED_READS_COUNTER = "achilles-read-coalescing-shared";
+    public static final String SHARE_RATIO_GAUGE = "achilles-read-coalescing-share-ratio";
+
+    private final ConcurrentMap<List<Object>, SettableFuture<Row>> inFlightReads = new ConcurrentHashMap<>();
+
+    private final Counter executedReads;
+    private final Counter sharedReads;
+    private final RatioGauge shareRatio;
+
+    public ReadCoalescer(MetricRegistry registry) {
+        if (registry != null) {
+            this.executedReads = registry.counter(EXECUTED_READS_COUNTER);
+            this.sharedReads = registry.counter(SHARED_READS_COUNTER);
+        } else {
+            this.executedReads = new Counter();
+            this.sharedReads = new Counter();
+        }
+        this.shareRatio = new RatioGauge() {
+            @Override
+            protected Ratio getRatio() {
+                final long shared = sharedReads.getCount();
+                return Ratio.of(shared, shared + executedReads.getCount());
+            }
+        };
+        if (registry != null) {
+            registry.remove(SHARE_RATIO_GAUGE);
+            registry.register(SHARE_RATIO_GAUGE, shareRatio);
+        }
+    }
+
+    public Row load(List<Object> readKey, Supplier<Row> loader) {
+        final SettableFuture<Row> future = SettableFuture.create();
+        final SettableFuture<Row> inFlight = inFlightReads.putIfAbsent(readKey, future);
+        if (inFlight != null) {
+            log.trace("Sharing in-flight read for key {}", readKey);
+            sharedReads.inc();
+            try {
+                return Uninterruptibles.getUninterruptibly(inFlight);
+            } catch (ExecutionException e) {
+                throw Throwables.propagate(e.getCause());
+            }
+        }
+
+        executedReads.inc();
+        try {
+            final Row row = loader.get();
+            future.set(row);
+            return row;
+        } catch (RuntimeException | Error e) {
+            future.setException(e);
+            throw e;
+        } finally {
+            inFlightReads.remove(readKey, future);
+        }
+    }
+
+    public long getExecutedReadsCount() {
+        return executedReads.getCount();
+    }
+
+    public long getSharedReadsCount() {
+        return sharedReads.getCount();
+    }
+
+    public double getShareRatio() {
+        return shareRatio.getValue();
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import java.util.List;
+import com.datastax.driver.core.Row;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Storage of the entity cache rows
+ */
+interface RowStore {
+
+    Row get(List<Object> entityKey);
+
+    void put(List<Object> entityKey, Row row);
+
+    void invalidate(List<Object> entityKey);
+
+    void invalidateAll(Iterable<List<Object>> entityKeys);
+
+    /**
+     * Invalidate the entities of the given class whose embedded id starts with the encoded partition components
+     */
+    void invalidatePartition(Class<?> entityClass, List<Object> partitionComponents);
+
+    long size();
+
+    CacheStats stats();
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.datastax.driver.core.Row;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+
+/**
+ * Cache of slice query results, keyed by partition and query shape, bounded by the total number of cached rows.
+ * <br/>
+ * Each partition is mapped to a version slot. Any write touching the partition bumps the slot version and the
+ * results loaded with a previous version are discarded on the next read. Partitions sharing a slot only cause extra
+ * cache misses.
+ * <br/>
+ * Hits, misses, evictions and size are exposed in the driver metrics registry when metrics are enabled
+ */
+public class SliceQueryCache {
+
+    public static final String HITS_COUNTER = "achilles-slice-cache-hits";
+    public static final String MISSES_COUNTER = "achilles-slice-cache-misses";
+    public static final String EVICTIONS_GAUGE = "achilles-slice-cache-evictions";
+    public static final String SIZE_GAUGE = "achilles-slice-cache-size";
+
+    private static final int VERSION_SLOTS = 1 << 14;
+
+    private final Cache<List<Object>, CachedSlice> cache;
+    private final AtomicLongArray partitionVersions = new AtomicLongArray(VERSION_SLOTS);
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * @param maxRows      maximum total number of cached rows
+     * @param ttlInSeconds time to live of a slice after its loading, 0 for no expiration
+     * @param registry     metrics registry, may be null
+     */
+    public SliceQueryCache(int maxRows, int ttlInSeconds, MetricRegistry registry) {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().recordStats();
+        if (ttlInSeconds > 0) {
+            builder.expireAfterWrite(ttlInSeconds, TimeUnit.SECONDS);
+        }
+        this.cache = builder.maximumWeight(maxRows).weigher(new RowCountWeigher()).build();
+
+        if (registry != null) {
+            this.hits = registry.counter(HITS_COUNTER);
+            this.misses = registry.counter(MISSES_COUNTER);
+            registerGauge(registry, EVICTIONS_GAUGE, new Gauge<Long>() {
+                @Override
+                public Long getValue() {
+                    return cache.stats().evictionCount();
+                }
+            });
+            registerGauge(registry, SIZE_GAUGE, new Gauge<Long>() {
+                @Override
+                public Long getValue() {
+                    return cache.size();
+                }
+            });
+        } else {
+            this.hits = new Counter();
+            this.misses = new Counter();
+        }
+    }
+
+    public static List<Object> partitionKey(Class<?> entityClass, List<Object> encodedPartitionComponents) {
+        return Arrays.<Object>asList(entityClass, encodedPartitionComponents);
+    }
+
+    public List<Row> get(List<Object> partitionKey, List<Object> queryKey) {
+        final CachedSlice slice = cache.getIfPresent(queryKey);
+        if (slice != null) {
+            if (slice.version == version(partitionKey)) {
+                hits.inc();
+                return slice.rows;
+            }
+            cache.invalidate(queryKey);
+        }
+        misses.inc();
+        return null;
+    }
+
+    /**
+     * Current version of the partition, to be read before executing the slice query
+     */
+    public long version(List<Object> partitionKey) {
+        return partitionVersions.get(slot(partitionKey));
+    }
+
+    public void put(List<Object> queryKey, List<Row> rows, long version) {
+        cache.put(queryKey, new CachedSlice(version, rows));
+    }
+
+    public void invalidatePartition(List<Object> partitionKey) {
+        partitionVersions.incrementAndGet(slot(partitionKey));
+    }
+
+    public void invalidatePartitions(Iterable<List<Object>> partitionKeys) {
+        for (List<Object> partitionKey : partitionKeys) {
+            invalidatePartition(partitionKey);
+        }
+    }
+
+    public long getHitsCount() {
+        return hits.getCount();
+    }
+
+    public long getMissesCount() {
+        return misses.getCount();
+    }
+
+    public long getEvictionsCount() {
+        return cache.stats().evictionCount();
+    }
+
+    private int slot(List<Object> partitionKey) {
+        final int h = partitionKey.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (VERSION_SLOTS - 1);
+    }
+
+    private void registerGauge(MetricRegistry registry, String name, Gauge<Long> gauge) {
+        registry.remove(name);
+        registry.register(name, gauge);
+    }
+
+    private static class CachedSlice {
+        private final long version;
+        private final List<Row> rows;
+
+        private CachedSlice(long version, List<Row> rows) {
+            this.version = version;
+            this.rows = rows;
+        }
+    }
+
+    private static class RowCountWeigher implements Weigher<List<Object>, CachedSlice> {
+        @Override
+        public int weigh(List<Object> queryKey, CachedSlice slice) {
+            return slice.rows.size() + 1;
+        }
+    }
+}
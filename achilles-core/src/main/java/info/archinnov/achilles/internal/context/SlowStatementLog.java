@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Statement;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+
+/**
+ * Log the statements whose execution exceeds a latency threshold, as one-line JSON entries on the
+ * <strong>ACHILLES_SLOW_STATEMENT</strong> logger.
+ * <br/>
+ * The threshold is defined globally and can be overridden per table. Each entry holds the query string, a
+ * truncated summary of the bound values, the consistency level, the batch size and the coordinator host. The
+ * number of entries per second is capped, the entries dropped in between are counted in the next logged entry
+ */
+public class SlowStatementLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowStatementLog.class);
+
+    public static final String ACHILLES_SLOW_STATEMENT = "ACHILLES_SLOW_STATEMENT";
+    private static final Logger slowStatementLogger = LoggerFactory.getLogger(ACHILLES_SLOW_STATEMENT);
+
+    static final int MAX_QUERY_LENGTH = 1000;
+    static final int MAX_VALUES = 10;
+    static final int MAX_VALUE_LENGTH = 50;
+
+    private static final Pattern TABLE_PATTERN = Pattern.compile(
+            "\\b(?:FROM|INTO|UPDATE)\\s+(?:\"?\\w+\"?\\.)?\"?(\\w+)\"?", Pattern.CASE_INSENSITIVE);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final long thresholdNanos;
+    private final Map<String, Long> tableThresholdsNanos = new HashMap<>();
+    private final long minThresholdNanos;
+    private final int maxEntriesPerSecond;
+
+    private final AtomicLong currentSecond = new AtomicLong(0);
+    private final AtomicInteger entriesInCurrentSecond = new AtomicInteger(0);
+    private final AtomicLong suppressedSinceLastEntry = new AtomicLong(0);
+    private final AtomicLong loggedEntries = new AtomicLong(0);
+    private final AtomicLong suppressedEntries = new AtomicLong(0);
+
+    /**
+     * @param thresholdInMillis       latency threshold of all tables, 0 to log only the tables with a threshold
+     * @param tableThresholdsInMillis latency thresholds overriding the global one, keyed by table name
+     * @param maxEntriesPerSecond     maximum number of entries logged per second, 0 for no limit
+     */
+    public SlowStatementLog(long thresholdInMillis, Map<String, Long> tableThresholdsInMillis,
+            int maxEntriesPerSecond) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdInMillis);
+        long minThreshold = thresholdNanos > 0 ? thresholdNanos : Long.MAX_VALUE;
+        for (Entry<String, Long> entry : tableThresholdsInMillis.entrySet()) {
+            final long tableThreshold = TimeUnit.MILLISECONDS.toNanos(entry.getValue());
+            tableThresholdsNanos.put(entry.getKey().toLowerCase(), tableThreshold);
+            if (tableThreshold > 0) {
+                minThreshold = Math.min(minThreshold, tableThreshold);
+            }
+        }
+        this.minThresholdNanos = minThreshold;
+        this.maxEntriesPerSecond = maxEntriesPerSecond;
+
+        log.info("Slow statements log enabled with threshold {} ms and table thresholds {}", thresholdInMillis,
+                 tableThresholdsInMillis);
+    }
+
+    public static boolean isEnabled(ConfigurationContext configContext) {
+        return configContext.getSlowStatementThresholdInMillis() > 0
+                || !configContext.getSlowStatementTableThresholds().isEmpty()
+                || !configContext.getSlowStatementEntityThresholds().isEmpty();
+    }
+
+    /**
+     * Log the statement if its latency exceeds the threshold of its table. Statements faster than the smallest
+     * threshold are discarded before their query string is even read
+     */
+    public void record(AbstractStatementWrapper statementWrapper, long elapsedNanos, ResultSet resultSet,
+            Throwable error) {
+        if (!mayBeSlow(elapsedNanos)) {
+            return;
+        }
+        final Statement statement = statementWrapper.getStatement();
+        final String queryString = getQueryString(statement);
+        final String table = extractTable(queryString);
+        final long threshold = getThresholdNanos(table);
+        if (threshold > 0 && elapsedNanos >= threshold && tryAcquire()) {
+            final Map<String, Object> entry = newEntry(elapsedNanos, threshold);
+            entry.put("table", table);
+            entry.put("query", truncate(queryString, MAX_QUERY_LENGTH));
+            entry.put("values", summarizeValues(statementWrapper.getValues()));
+            entry.put("batchSize", 1);
+            write(entry, statement, resultSet, error);
+        }
+    }
+
+    public void recordBatch(BatchStatement batch, List<AbstractStatementWrapper> statementWrappers,
+            long elapsedNanos, ResultSet resultSet, Throwable error) {
+        if (!mayBeSlow(elapsedNanos)) {
+            return;
+        }
+        final Set<String> tables = new LinkedHashSet<>();
+        final Set<String> queries = new LinkedHashSet<>();
+        long threshold = 0;
+        for (AbstractStatementWrapper statementWrapper : statementWrappers) {
+            final String queryString = getQueryString(statementWrapper.getStatement());
+            final String table = extractTable(queryString);
+            final long tableThreshold = getThresholdNanos(table);
+            if (tableThreshold > 0 && (threshold == 0 || tableThreshold < threshold)) {
+                threshold = tableThreshold;
+            }
+            tables.add(table);
+            if (queries.size() < MAX_VALUES) {
+                queries.add(truncate(queryString, MAX_QUERY_LENGTH));
+            }
+        }
+        if (threshold > 0 && elapsedNanos >= threshold && tryAcquire()) {
+            final Map<String, Object> entry = newEntry(elapsedNanos, threshold);
+            entry.put("tables", tables);
+            entry.put("queries", queries);
+            entry.put("batchSize", statementWrappers.size());
+            write(entry, batch, resultSet, error);
+        }
+    }
+
+    public long getLoggedEntries() {
+        return loggedEntries.get();
+    }
+
+    public long getSuppressedEntries() {
+        return suppressedEntries.get();
+    }
+
+    boolean mayBeSlow(long elapsedNanos) {
+        return elapsedNanos >= minThresholdNanos && slowStatementLogger.isInfoEnabled();
+    }
+
+    long getThresholdNanos(String table) {
+        final Long tableThreshold = table != null ? tableThresholdsNanos.get(table.toLowerCase()) : null;
+        return tableThreshold != null ? tableThreshold : thresholdNanos;
+    }
+
+    String extractTable(String queryString) {
+        if (queryString != null) {
+            final Matcher matcher = TABLE_PATTERN.matcher(queryString);
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        }
+        return null;
+    }
+
+    List<String> summarizeValues(Object[] values) {
+        final List<String> summaries = new ArrayList<>();
+        for (int i = 0; i < values.length && i < MAX_VALUES; i++) {
+            final Object value = values[i];
+            if (value instanceof ByteBuffer) {
+                summaries.add("<" + ((ByteBuffer) value).remaining() + " bytes>");
+            } else {
+                summaries.add(truncate(String.valueOf(value), MAX_VALUE_LENGTH));
+            }
+        }
+        if (values.length > MAX_VALUES) {
+            summaries.add("... " + (values.length - MAX_VALUES) + " more");
+        }
+        return summaries;
+    }
+
+    boolean tryAcquire() {
+        if (maxEntriesPerSecond > 0) {
+            final long second = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+            final long previousSecond = currentSecond.get();
+            if (second != previousSecond && currentSecond.compareAndSet(previousSecond, second)) {
+                entriesInCurrentSecond.set(0);
+            }
+            if (entriesInCurrentSecond.incrementAndGet() > maxEntriesPerSecond) {
+                suppressedSinceLastEntry.incrementAndGet();
+                suppressedEntries.incrementAndGet();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Map<String, Object> newEntry(long elapsedNanos, long thresholdNanos) {
+        final Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("latencyMillis", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        entry.put("thresholdMillis", TimeUnit.NANOSECONDS.toMillis(thresholdNanos));
+        return entry;
+    }
+
+    private void write(Map<String, Object> entry, Statement statement, ResultSet resultSet, Throwable error) {
+        entry.put("consistencyLevel", statement.getConsistencyLevel() != null ? statement.getConsistencyLevel()
+                .name() : "DEFAULT");
+        entry.put("coordinator", getCoordinator(resultSet));
+        if (error != null) {
+            entry.put("error", error.getClass().getName() + ": " + error.getMessage());
+        }
+        final long suppressed = suppressedSinceLastEntry.getAndSet(0);
+        if (suppressed > 0) {
+            entry.put("suppressed", suppressed);
+        }
+        try {
+            slowStatementLogger.info(mapper.writeValueAsString(entry));
+            loggedEntries.incrementAndGet();
+        } catch (IOException e) {
+            log.warn("Cannot serialize slow statement entry {}", entry, e);
+        }
+    }
+
+    private String getCoordinator(ResultSet resultSet) {
+        if (resultSet != null) {
+            final ExecutionInfo executionInfo = resultSet.getExecutionInfo();
+            if (executionInfo != null && executionInfo.getQueriedHost() != null) {
+                return executionInfo.getQueriedHost().getAddress().getHostAddress();
+            }
+        }
+        return null;
+    }
+
+    private String getQueryString(Statement statement) {
+        if (statement instanceof BoundStatement) {
+            return ((BoundStatement) statement).preparedStatement().getQueryString();
+        } else if (statement instanceof RegularStatement) {
+            return ((RegularStatement) statement).getQueryString();
+        }
+        return String.valueOf(statement);
+    }
+
+    private String truncate(String value, int maxLength) {
+        return value.length() > maxLength ? value.substring(0, maxLength) + "..." : value;
+    }
+}
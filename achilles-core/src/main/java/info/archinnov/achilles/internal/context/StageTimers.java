@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import info.archinnov.achilles.type.StageBreakdown;
+import info.archinnov.achilles.type.StageBreakdown.Stage;
+
+/**
+ * Time the stages of a sample of the requests on entities: binding, execution, decoding, proxy creation and
+ * interceptors.
+ * <br/>
+ * One request out of <em>sampleRate</em> is sampled. The sampled request is bound to the current thread between
+ * {@link #begin(Class)} and {@link #end()}, the components of the request path time their stage with the static
+ * {@link #start(Stage)} and {@link #stop(Stage, long)} methods, which do nothing for requests not sampled. These
+ * static methods only look the sampled request up when a sampled request is in progress in any thread, so that
+ * other requests, or factories without stage timers, do not pay for a thread-local lookup. A stage nested in the
+ * same stage, for example a decoding calling another decoding method, is only timed once.
+ * <br/>
+ * Stage times are aggregated per entity class, see {@link #snapshot(Class)}
+ */
+public class StageTimers {
+
+    private static final ThreadLocal<SampledRequest> CURRENT_REQUEST = new ThreadLocal<>();
+    private static final int STAGES_COUNT = Stage.values().length;
+
+    private static final AtomicInteger SAMPLED_REQUESTS_IN_PROGRESS = new AtomicInteger(0);
+
+    private final int sampleRate;
+    private final AtomicLong requestsCount = new AtomicLong(0);
+    private final ConcurrentMap<Class<?>, StageAccumulator> accumulators = new ConcurrentHashMap<>();
+
+    /**
+     * @param sampleRate time one request out of sampleRate, 1 to time all requests
+     */
+    public StageTimers(int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    public static boolean isEnabled(ConfigurationContext configContext) {
+        return configContext.getStageTimersSampleRate() > 0;
+    }
+
+    /**
+     * Start a request on the entity class in the current thread
+     *
+     * @return whether the request is sampled, in which case {@link #end()} must be called once it is over
+     */
+    public boolean begin(Class<?> entityClass) {
+        if (CURRENT_REQUEST.get() != null || requestsCount.getAndIncrement() % sampleRate != 0) {
+            return false;
+        }
+        CURRENT_REQUEST.set(new SampledRequest(entityClass));
+        SAMPLED_REQUESTS_IN_PROGRESS.incrementAndGet();
+        return true;
+    }
+
+    public void end() {
+        final SampledRequest request = CURRENT_REQUEST.get();
+        CURRENT_REQUEST.remove();
+        if (request != null) {
+            SAMPLED_REQUESTS_IN_PROGRESS.decrementAndGet();
+            accumulatorFor(request.entityClass).add(request, System.nanoTime() - request.start);
+        }
+    }
+
+    /**
+     * @return start time of the stage, 0 if the current request is not sampled or the stage is already timed
+     */
+    public static long start(Stage stage) {
+        if (SAMPLED_REQUESTS_IN_PROGRESS.get() == 0) {
+            return 0L;
+        }
+        final SampledRequest request = CURRENT_REQUEST.get();
+        if (request == null || !request.enter(stage)) {
+            return 0L;
+        }
+        return System.nanoTime();
+    }
+
+    public static void stop(Stage stage, long start) {
+        if (start != 0L) {
+            final SampledRequest request = CURRENT_REQUEST.get();
+            if (request != null) {
+                request.exit(stage, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Stop timing a stage and return its result
+     */
+    public static <V> V stop(Stage stage, long start, V result) {
+        stop(stage, start);
+        return result;
+    }
+
+    static int sampledRequestsInProgress() {
+        return SAMPLED_REQUESTS_IN_PROGRESS.get();
+    }
+
+    public StageBreakdown snapshot(Class<?> entityClass) {
+        final StageAccumulator accumulator = accumulators.get(entityClass);
+        if (accumulator == null) {
+            return new StageBreakdown(entityClass, 0, 0, new long[STAGES_COUNT], new long[STAGES_COUNT]);
+        }
+        return accumulator.snapshot(entityClass);
+    }
+
+    public Map<Class<?>, StageBreakdown> snapshot() {
+        final Map<Class<?>, StageBreakdown> breakdowns = new HashMap<>();
+        for (Entry<Class<?>, StageAccumulator> entry : accumulators.entrySet()) {
+            breakdowns.put(entry.getKey(), entry.getValue().snapshot(entry.getKey()));
+        }
+        return breakdowns;
+    }
+
+    public void reset() {
+        accumulators.clear();
+    }
+
+    private StageAccumulator accumulatorFor(Class<?> entityClass) {
+        StageAccumulator accumulator = accumulators.get(entityClass);
+        if (accumulator == null) {
+            final StageAccumulator created = new StageAccumulator();
+            accumulator = accumulators.putIfAbsent(entityClass, created);
+            if (accumulator == null) {
+                accumulator = created;
+            }
+        }
+        return accumulator;
+    }
+
+    private static class SampledRequest {
+        private final Class<?> entityClass;
+        private final long start = System.nanoTime();
+        private final long[] stageNanos = new long[STAGES_COUNT];
+        private final long[] stageCounts = new long[STAGES_COUNT];
+        private int activeStages;
+
+        private SampledRequest(Class<?> entityClass) {
+            this.entityClass = entityClass;
+        }
+
+        private boolean enter(Stage stage) {
+            final int mask = 1 << stage.ordinal();
+            if ((activeStages & mask) != 0) {
+                return false;
+            }
+            activeStages |= mask;
+            return true;
+        }
+
+        private void exit(Stage stage, long nanos) {
+            activeStages &= ~(1 << stage.ordinal());
+            stageNanos[stage.ordinal()] += nanos;
+            stageCounts[stage.ordinal()]++;
+        }
+    }
+
+    private static class StageAccumulator {
+        private final AtomicLong requests = new AtomicLong(0);
+        private final AtomicLong requestsNanos = new AtomicLong(0);
+        private final AtomicLongArray stageNanos = new AtomicLongArray(STAGES_COUNT);
+        private final AtomicLongArray stageCounts = new AtomicLongArray(STAGES_COUNT);
+
+        private void add(SampledRequest request, long requestNanos) {
+            for (int i = 0; i < STAGES_COUNT; i++) {
+                if (request.stageCounts[i] > 0) {
+                    stageNanos.addAndGet(i, request.stageNanos[i]);
+                    stageCounts.addAndGet(i, request.stageCounts[i]);
+                }
+            }
+            requestsNanos.addAndGet(requestNanos);
+            requests.incrementAndGet();
+        }
+
+        private StageBreakdown snapshot(Class<?> entityClass) {
+            final long[] nanos = new long[STAGES_COUNT];
+            final long[] counts = new long[STAGES_COUNT];
+            for (int i = 0; i < STAGES_COUNT; i++) {
+                nanos[i] = stageNanos.get(i);
+                counts[i] = stageCounts.get(i);
+            }
+            return new StageBreakdown(entityClass, requests.get(), requestsNanos.get(), nanos, counts);
+        }
+    }
+}
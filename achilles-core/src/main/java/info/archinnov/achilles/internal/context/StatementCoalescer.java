@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+
+/**
+ * Merge pending statements of a flush context before they are sent to Cassandra:
+ * <ul>
+ * <li>successive UPDATEs of simple fields on the same row are collapsed into one UPDATE with the latest values</li>
+ * <li>counter increments on the same cell are summed</li>
+ * <li>writes shadowed by a later DELETE of the same row (or counter cell) are dropped</li>
+ * </ul>
+ * An INSERT or a collection/map update on a row stops the merging of field updates on this row so that the
+ * relative ordering of timestamps is preserved. Statements without coalescing descriptor are left untouched.
+ * <br/>
+ * The count of eliminated statements is exposed in the driver metrics registry when metrics are enabled
+ */
+public class StatementCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementCoalescer.class);
+
+    public static final String ELIMINATED_STATEMENTS_COUNTER = "achilles-coalescing-eliminated-statements";
+
+    private final Counter eliminatedStatements;
+
+    public StatementCoalescer(MetricRegistry registry) {
+        if (registry != null) {
+            this.eliminatedStatements = registry.counter(ELIMINATED_STATEMENTS_COUNTER);
+        } else {
+            this.eliminatedStatements = new Counter();
+        }
+    }
+
+    public List<AbstractStatementWrapper> coalesce(DaoContext daoContext,
+            List<AbstractStatementWrapper> statementWrappers) {
+        final int size = statementWrappers.size();
+        if (size < 2) {
+            return statementWrappers;
+        }
+
+        AbstractStatementWrapper[] wrappers = statementWrappers.toArray(new AbstractStatementWrapper[size]);
+        CoalescingDescriptor[] descriptors = new CoalescingDescriptor[size];
+        boolean[] toBeRebuilt = new boolean[size];
+
+        Map<List<Object>, Integer> pendingMerges = new HashMap<>();
+        Map<List<Object>, List<Integer>> writesByRow = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            final CoalescingDescriptor descriptor = wrappers[i].getCoalescingDescriptor();
+            if (descriptor == null) {
+                continue;
+            }
+            descriptors[i] = descriptor;
+            final List<Object> rowKey = descriptor.getRowKey();
+
+            switch (descriptor.getWriteType()) {
+                case UPDATE_FIELDS:
+                case COUNTER_INCREMENT:
+                    final List<Object> mergeKey = descriptor.getCellKey() != null ? descriptor.getCellKey() : rowKey;
+                    final Integer previous = pendingMerges.get(mergeKey);
+                    if (previous != null && wrappers[previous] != null
+                            && descriptors[previous].canMergeWith(descriptor)) {
+                        descriptors[i] = descriptors[previous].mergeWith(descriptor);
+                        toBeRebuilt[i] = true;
+                        wrappers[previous] = null;
+                        descriptors[previous] = null;
+                    }
+                    pendingMerges.put(mergeKey, i);
+                    registerWrite(writesByRow, rowKey, i);
+                    break;
+                case INSERT:
+                case COLLECTION_UPDATE:
+                    pendingMerges.remove(rowKey);
+                    registerWrite(writesByRow, rowKey, i);
+                    break;
+                case ROW_DELETE:
+                case COUNTER_DELETE:
+                    final List<Integer> previousWrites = writesByRow.get(rowKey);
+                    if (previousWrites != null) {
+                        final List<Integer> remainingWrites = new ArrayList<>();
+                        for (Integer index : previousWrites) {
+                            if (wrappers[index] != null && descriptor.shadows(descriptors[index])) {
+                                wrappers[index] = null;
+                                descriptors[index] = null;
+                            } else if (wrappers[index] != null) {
+                                remainingWrites.add(index);
+                            }
+                        }
+                        writesByRow.put(rowKey, remainingWrites);
+                        // no merge across a deletion
+                        pendingMerges.values().removeAll(previousWrites);
+                    }
+                    break;
+            }
+        }
+
+        List<AbstractStatementWrapper> coalesced = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (wrappers[i] == null) {
+                continue;
+            }
+            if (toBeRebuilt[i]) {
+                if (descriptors[i].isNoOp()) {
+                    continue;
+                }
+                final AbstractStatementWrapper rebuilt = descriptors[i].rebuildStatement(daoContext);
+                rebuilt.setPartitionKey(wrappers[i].getPartitionKey());
+                coalesced.add(rebuilt);
+            } else {
+                coalesced.add(wrappers[i]);
+            }
+        }
+
+        final int eliminated = size - coalesced.size();
+        if (eliminated > 0) {
+            eliminatedStatements.inc(eliminated);
+            log.debug("Coalesced {} pending statements into {}, {} statement(s) eliminated", size,
+                      coalesced.size(), eliminated);
+        }
+        return coalesced;
+    }
+
+    public long getEliminatedStatementsCount() {
+        return eliminatedStatements.getCount();
+    }
+
+    private void registerWrite(Map<List<Object>, List<Integer>> writesByRow, List<Object> rowKey, int index) {
+        List<Integer> writes = writesByRow.get(rowKey);
+        if (writes == null) {
+            writes = new ArrayList<>();
+            writesByRow.put(rowKey, writes);
+        }
+        writes.add(index);
+    }
+}
@@ -19,13 +19,16 @@ import static com.google.common.collect.FluentIterable.from;
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.counterType;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.interceptor.Interceptor;
+import info.archinnov.achilles.internal.context.StageTimers;
 import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
 import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Pair;
+import info.archinnov.achilles.type.StageBreakdown.Stage;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -68,6 +71,7 @@ public class EntityMeta {
 	private List<PropertyMeta> allMetasExceptId;
 	private boolean clusteredCounter = false;
 	private List<Interceptor<?>> interceptors = new ArrayList<>();
+	private Map<String, List<PropertyMeta>> fetchGroups = Collections.emptyMap();
 
 	public Object getPrimaryKey(Object entity) {
 		return idMeta.getPrimaryKey(entity);
@@ -83,13 +87,18 @@ public class EntityMeta {
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public void intercept(Object entity, Event event) {
-		List<Interceptor<?>> interceptors = getInterceptorsForEvent(event);
-		if (interceptors.size() > 0) {
-			for (Interceptor interceptor : interceptors) {
-				interceptor.onEvent(entity);
+		final long stageStart = StageTimers.start(Stage.INTERCEPT);
+		try {
+			List<Interceptor<?>> interceptors = getInterceptorsForEvent(event);
+			if (interceptors.size() > 0) {
+				for (Interceptor interceptor : interceptors) {
+					interceptor.onEvent(entity);
+				}
+				Validator.validateNotNull(getPrimaryKey(entity),
+						"The primary key should not be null after intercepting the event '%s'", event);
 			}
-			Validator.validateNotNull(getPrimaryKey(entity),
-					"The primary key should not be null after intercepting the event '%s'", event);
+		} finally {
+			StageTimers.stop(Stage.INTERCEPT, stageStart);
 		}
 	}
 
@@ -270,6 +279,40 @@ public class EntityMeta {
 		}
 	}
 
+	public Map<String, List<PropertyMeta>> getFetchGroups() {
+		return fetchGroups;
+	}
+
+	public void setFetchGroups(Map<String, List<PropertyMeta>> fetchGroups) {
+		this.fetchGroups = fetchGroups;
+	}
+
+	/**
+	 * Properties of a fetch group declared with @FetchGroup
+	 */
+	public List<PropertyMeta> getFetchGroup(String fetchGroup) {
+		Validator.validateTrue(fetchGroups.containsKey(fetchGroup),
+				"The fetch group '%s' is not declared for entity '%s'", fetchGroup, className);
+		return fetchGroups.get(fetchGroup);
+	}
+
+	/**
+	 * Properties of an ad-hoc fetch group, given by their names
+	 */
+	public List<PropertyMeta> getFetchProperties(String... propertyNames) {
+		List<PropertyMeta> fetchProperties = new ArrayList<>();
+		for (String propertyName : propertyNames) {
+			PropertyMeta propertyMeta = propertyMetas.get(propertyName);
+			Validator.validateNotNull(propertyMeta, "The property '%s' does not exist for entity '%s'", propertyName,
+					className);
+			Validator.validateTrue(allMetasExceptIdAndCounters.contains(propertyMeta),
+					"The primary key or counter property '%s' of entity '%s' cannot be part of a fetch group",
+					propertyName, className);
+			fetchProperties.add(propertyMeta);
+		}
+		return fetchProperties;
+	}
+
 	@Override
 	public String toString() {
 
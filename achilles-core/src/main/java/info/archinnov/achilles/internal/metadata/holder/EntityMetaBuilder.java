@@ -95,9 +95,23 @@ public class EntityMetaBuilder {
 			}
 		}
 		meta.setClusteredCounter(clusteredCounter);
+		meta.setFetchGroups(Collections.unmodifiableMap(extractFetchGroups(propertyMetas)));
 		return meta;
 	}
 
+	private Map<String, List<PropertyMeta>> extractFetchGroups(Map<String, PropertyMeta> propertyMetas) {
+		Map<String, List<PropertyMeta>> fetchGroups = new HashMap<>();
+		for (PropertyMeta propertyMeta : propertyMetas.values()) {
+			for (String fetchGroup : propertyMeta.getFetchGroups()) {
+				if (!fetchGroups.containsKey(fetchGroup)) {
+					fetchGroups.put(fetchGroup, new ArrayList<PropertyMeta>());
+				}
+				fetchGroups.get(fetchGroup).add(propertyMeta);
+			}
+		}
+		return fetchGroups;
+	}
+
 	private Map<Method, PropertyMeta> extractGetterMetas(Map<String, PropertyMeta> propertyMetas) {
 		Map<Method, PropertyMeta> getterMetas = new HashMap<>();
 		for (PropertyMeta propertyMeta : propertyMetas.values()) {
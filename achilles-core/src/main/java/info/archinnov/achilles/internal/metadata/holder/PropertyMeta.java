@@ -26,6 +26,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -65,6 +66,7 @@ public class PropertyMeta {
 	private CounterProperties counterProperties;
 	private EmbeddedIdProperties embeddedIdProperties;
 	private IndexProperties indexProperties;
+	private Set<String> fetchGroups = Collections.emptySet();
 	private Pair<ConsistencyLevel, ConsistencyLevel> consistencyLevels;
 	private boolean timeUUID = false;
 	private DataTranscoder transcoder;
@@ -273,6 +275,10 @@ public class PropertyMeta {
 		return components == null ? null : transcoder.decodeFromComponents(this, components);
 	}
 
+	public Object decodeComponent(int index, Object component) {
+		return component == null ? null : transcoder.decodeComponent(this, index, component);
+	}
+
 	public Object getAndEncodeValueForCassandra(Object entity) {
 		Object value = getValueFromField(entity);
 		Object encoded = null;
@@ -496,6 +502,14 @@ public class PropertyMeta {
 		this.indexProperties = indexProperties;
 	}
 
+	public Set<String> getFetchGroups() {
+		return fetchGroups;
+	}
+
+	public void setFetchGroups(Set<String> fetchGroups) {
+		this.fetchGroups = fetchGroups;
+	}
+
 	public DataTranscoder getTranscoder() {
 		return transcoder;
 	}
@@ -20,6 +20,7 @@ import static info.archinnov.achilles.internal.metadata.holder.PropertyType.*;
 import info.archinnov.achilles.annotations.Column;
 import info.archinnov.achilles.annotations.Consistency;
 import info.archinnov.achilles.annotations.EmbeddedId;
+import info.archinnov.achilles.annotations.FetchGroup;
 import info.archinnov.achilles.annotations.Id;
 import info.archinnov.achilles.annotations.Index;
 import info.archinnov.achilles.annotations.TimeUUID;
@@ -45,6 +46,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.InetAddress;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -144,6 +146,17 @@ public class PropertyParser {
 		return indexName;
 	}
 
+	public static Set<String> getFetchGroups(Field field) {
+		log.debug("Check @FetchGroup annotation on field {} of class {}", field.getName(), field
+				.getDeclaringClass().getCanonicalName());
+		Set<String> fetchGroups = new HashSet<>();
+		FetchGroup fetchGroup = field.getAnnotation(FetchGroup.class);
+		if (fetchGroup != null) {
+			fetchGroups.addAll(Arrays.asList(fetchGroup.value()));
+		}
+		return fetchGroups;
+	}
+
 	public boolean hasConsistencyAnnotation(Field field) {
 		log.debug("Check @Consistency annotation on field {} of class {}", field.getName(), field.getDeclaringClass()
 				.getCanonicalName());
@@ -235,6 +248,15 @@ public class PropertyParser {
 				propertyMeta.setIndexProperties(new IndexProperties(indexName));
 			}
 		}
+
+		Set<String> fetchGroups = getFetchGroups(field);
+		if (!fetchGroups.isEmpty()) {
+			Validator.validateBeanMappingFalse(context.isPrimaryKey() || context.isEmbeddedId()
+					|| propertyMeta.isCounter(), "Primary key and counter property '%s' of entity '%s' cannot "
+					+ "belong to a fetch group", context.getCurrentPropertyName(), context.getCurrentEntityClass()
+					.getCanonicalName());
+			propertyMeta.setFetchGroups(fetchGroups);
+		}
 		context.getPropertyMetas().put(context.getCurrentPropertyName(), propertyMeta);
 		return propertyMeta;
 	}
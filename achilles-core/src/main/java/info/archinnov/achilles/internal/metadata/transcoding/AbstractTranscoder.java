@@ -117,6 +117,11 @@ public abstract class AbstractTranscoder implements DataTranscoder {
 				+ pm.type().name() + "'");
 	}
 
+	@Override
+	public Object decodeComponent(PropertyMeta pm, int index, Object component) {
+		throw new AchillesException("Transcoder cannot decode component value '" + component + "'");
+	}
+
 	Object encodeInternal(Class<?> sourceType, Object entityValue) {
 		log.trace("Encode {} to CQL type {}", entityValue, sourceType);
 		if (byte.class.isAssignableFrom(sourceType) || Byte.class.isAssignableFrom(sourceType)) {
@@ -84,6 +84,12 @@ public class CompoundTranscoder extends AbstractTranscoder {
 		return compoundKey;
 	}
 
+	@Override
+	public Object decodeComponent(PropertyMeta idMeta, int index, Object component) {
+		log.trace("Decode CQL component {} at index {}", component, index);
+		return super.decodeInternal(idMeta.getComponentClasses().get(index), component);
+	}
+
 	private Object injectValues(PropertyMeta pm, List<?> components, List<Field> componentFields) {
         log.trace("Instantiate primary compound key from CQL components {}",components);
 		Object compoundKey = pm.instantiate();
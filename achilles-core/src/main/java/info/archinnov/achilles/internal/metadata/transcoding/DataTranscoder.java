@@ -53,5 +53,7 @@ public interface DataTranscoder {
 
 	public Object decodeFromComponents(PropertyMeta pm, List<?> components);
 
+	public Object decodeComponent(PropertyMeta pm, int index, Object component);
+
 	public <T> T forceDecodeFromJSON(String cassandraValue, Class<T> targetType);
 }
@@ -16,15 +16,25 @@
 package info.archinnov.achilles.internal.persistence.operations;
 
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.datastax.driver.core.Row;
+
+import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.proxy.EntityInterceptor;
 
 public class EntityInitializer {
 	private static final Logger log = LoggerFactory.getLogger(EntityInitializer.class);
 
+	private EntityProxifier proxifier = new EntityProxifier();
+
 	public <T> void initializeEntity(T entity, EntityMeta entityMeta) {
 
 		log.debug("Initializing lazy fields for entity {} of class {}", entity, entityMeta.getClassName());
@@ -33,4 +43,40 @@ public class EntityInitializer {
 				propertyMeta.invokeGetter(entity);
 		}
 	}
+
+	/**
+	 * Initialize the lazy fields of several proxies. The unloaded properties of all proxies are fetched with a single
+	 * SELECT of the whole row per entity, executed concurrently, instead of one SELECT per property
+	 */
+	public <T> void initializeEntities(List<T> proxies, List<PersistenceContext> contexts, DaoContext daoContext) {
+
+		log.debug("Initializing lazy fields for {} entities", proxies.size());
+
+		List<PersistenceContext> contextsToLoad = new ArrayList<>();
+		List<EntityInterceptor<T>> interceptorsToLoad = new ArrayList<>();
+		List<List<PropertyMeta>> propertiesToLoad = new ArrayList<>();
+		for (int i = 0; i < proxies.size(); i++) {
+			PersistenceContext context = contexts.get(i);
+			if (!context.isClusteredCounter()) {
+				EntityInterceptor<T> interceptor = proxifier.getInterceptor(proxies.get(i));
+				List<PropertyMeta> unloaded = interceptor.getUnloadedProperties();
+				if (!unloaded.isEmpty()) {
+					contextsToLoad.add(context);
+					interceptorsToLoad.add(interceptor);
+					propertiesToLoad.add(unloaded);
+				}
+			}
+		}
+
+		if (!contextsToLoad.isEmpty()) {
+			List<Row> rows = daoContext.loadEntities(contextsToLoad);
+			for (int i = 0; i < rows.size(); i++) {
+				interceptorsToLoad.get(i).loadProperties(rows.get(i), propertiesToLoad.get(i));
+			}
+		}
+
+		for (int i = 0; i < proxies.size(); i++) {
+			initializeEntity(proxies.get(i), contexts.get(i).getEntityMeta());
+		}
+	}
 }
@@ -15,6 +15,7 @@
  */
 package info.archinnov.achilles.internal.persistence.operations;
 
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.Row;
@@ -56,6 +57,27 @@ public class EntityLoader {
 		return entity;
 	}
 
+    public <T> T load(PersistenceContext context, Class<T> entityClass, List<PropertyMeta> fetchProperties) {
+        log.debug("Loading properties {} of entity class {} using PersistenceContext {}", fetchProperties,
+                  entityClass, context);
+        EntityMeta entityMeta = context.getEntityMeta();
+        Object primaryKey = context.getPrimaryKey();
+
+        Validator.validateNotNull(entityClass, "Entity class should not be null");
+        Validator.validateNotNull(primaryKey, "Entity '%s' key should not be null", entityClass.getCanonicalName());
+        Validator
+                .validateNotNull(entityMeta, "Entity meta for '%s' should not be null", entityClass.getCanonicalName());
+
+        T entity = null;
+        Row row = context.loadProperties(fetchProperties);
+        if (row != null) {
+            entity = entityMeta.instanciate();
+            mapper.setPropertyToEntity(row, entityMeta.getIdMeta(), entity);
+            setPropertiesToObject(row, entity, fetchProperties);
+        }
+        return entity;
+    }
+
     public <T> T createEmptyEntity(PersistenceContext context, Class<T> entityClass) {
         log.debug("Loading entity of class {} using PersistenceContext {}", entityClass, context);
         EntityMeta entityMeta = context.getEntityMeta();
@@ -83,4 +105,11 @@ public class EntityLoader {
         }
 
     }
+
+    public void setPropertiesToObject(Row row, Object realObject, List<PropertyMeta> pms) {
+        log.trace("Set properties {} from fetched row into object {}", pms, realObject);
+        for (PropertyMeta pm : pms) {
+            mapper.setPropertyToEntity(row, pm, realObject);
+        }
+    }
 }
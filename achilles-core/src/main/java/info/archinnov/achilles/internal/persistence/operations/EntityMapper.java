@@ -15,10 +15,12 @@
  */
 package info.archinnov.achilles.internal.persistence.operations;
 
+import info.archinnov.achilles.internal.context.StageTimers;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.reflection.RowMethodInvoker;
 import info.archinnov.achilles.type.Counter;
+import info.archinnov.achilles.type.StageBreakdown.Stage;
 
 import java.util.Map;
 
@@ -35,56 +37,76 @@ public class EntityMapper  {
     private RowMethodInvoker cqlRowInvoker = new RowMethodInvoker();
 
 	public void setNonCounterPropertiesToEntity(Row row, EntityMeta entityMeta, Object entity) {
-        log.debug("Set non-counter properties to entity class {} from fetched CQL row", entityMeta.getClassName());
-		for (PropertyMeta pm : entityMeta.getAllMetasExceptCounters()) {
-			setPropertyToEntity(row, pm, entity);
+		final long stageStart = StageTimers.start(Stage.DECODE);
+		try {
+			log.debug("Set non-counter properties to entity class {} from fetched CQL row", entityMeta.getClassName());
+			for (PropertyMeta pm : entityMeta.getAllMetasExceptCounters()) {
+				setPropertyToEntity(row, pm, entity);
+			}
+		} finally {
+			StageTimers.stop(Stage.DECODE, stageStart);
 		}
 	}
 
 	public void setPropertyToEntity(Row row, PropertyMeta pm, Object entity) {
-        log.debug("Set property {} value from fetched CQL row", pm.getPropertyName());
-		if (row != null) {
-			if (pm.isEmbeddedId()) {
-				Object compoundKey = cqlRowInvoker.extractCompoundPrimaryKeyFromRow(row, pm, true);
-				pm.setValueToField(entity, compoundKey);
-			} else {
-				String propertyName = pm.getPropertyName();
-				if (!row.isNull(propertyName)) {
-					Object value = cqlRowInvoker.invokeOnRowForFields(row, pm);
-					pm.setValueToField(entity, value);
+		final long stageStart = StageTimers.start(Stage.DECODE);
+		try {
+			log.debug("Set property {} value from fetched CQL row", pm.getPropertyName());
+			if (row != null) {
+				if (pm.isEmbeddedId()) {
+					Object compoundKey = cqlRowInvoker.extractCompoundPrimaryKeyFromRow(row, pm, true);
+					pm.setValueToField(entity, compoundKey);
+				} else {
+					String propertyName = pm.getPropertyName();
+					if (!row.isNull(propertyName)) {
+						Object value = cqlRowInvoker.invokeOnRowForFields(row, pm);
+						pm.setValueToField(entity, value);
+					}
 				}
 			}
+		} finally {
+			StageTimers.stop(Stage.DECODE, stageStart);
 		}
 	}
 
 	public <T> T mapRowToEntityWithPrimaryKey(EntityMeta meta, Row row,
                                               Map<String, PropertyMeta> propertiesMap, boolean isEntityManaged) {
-        log.debug("Map CQL row to entity of class {}", meta.getClassName());
-        T entity = null;
-		ColumnDefinitions columnDefinitions = row.getColumnDefinitions();
-		if (columnDefinitions != null) {
-			entity = meta.instanciate();
-			for (Definition column : columnDefinitions) {
-				String columnName = column.getName();
-				PropertyMeta pm = propertiesMap.get(columnName);
-				if (pm != null) {
-					Object value = cqlRowInvoker.invokeOnRowForFields(row, pm);
-					pm.setValueToField(entity, value);
+		final long stageStart = StageTimers.start(Stage.DECODE);
+		try {
+			log.debug("Map CQL row to entity of class {}", meta.getClassName());
+			T entity = null;
+			ColumnDefinitions columnDefinitions = row.getColumnDefinitions();
+			if (columnDefinitions != null) {
+				entity = meta.instanciate();
+				for (Definition column : columnDefinitions) {
+					String columnName = column.getName();
+					PropertyMeta pm = propertiesMap.get(columnName);
+					if (pm != null) {
+						Object value = cqlRowInvoker.invokeOnRowForFields(row, pm);
+						pm.setValueToField(entity, value);
+					}
+				}
+				PropertyMeta idMeta = meta.getIdMeta();
+				if (idMeta.isEmbeddedId()) {
+					Object compoundKey = cqlRowInvoker.extractCompoundPrimaryKeyFromRow(row, idMeta, isEntityManaged);
+					idMeta.setValueToField(entity, compoundKey);
 				}
 			}
-			PropertyMeta idMeta = meta.getIdMeta();
-			if (idMeta.isEmbeddedId()) {
-				Object compoundKey = cqlRowInvoker.extractCompoundPrimaryKeyFromRow(row, idMeta, isEntityManaged);
-				idMeta.setValueToField(entity, compoundKey);
-			}
+			return entity;
+		} finally {
+			StageTimers.stop(Stage.DECODE, stageStart);
 		}
-		return entity;
 	}
 
     public void setValuesToClusteredCounterEntity(Row row, EntityMeta entityMeta, Object clusteredEntity) {
-        log.debug("Set values to clustered counter entity class {} from fetched CQL row", entityMeta.getClassName());
-        for(PropertyMeta pm:entityMeta.getAllCounterMetas()) {
-            setCounterToEntity(pm,clusteredEntity,row);
+        final long stageStart = StageTimers.start(Stage.DECODE);
+        try {
+            log.debug("Set values to clustered counter entity class {} from fetched CQL row", entityMeta.getClassName());
+            for(PropertyMeta pm:entityMeta.getAllCounterMetas()) {
+                setCounterToEntity(pm,clusteredEntity,row);
+            }
+        } finally {
+            StageTimers.stop(Stage.DECODE, stageStart);
         }
     }
 
@@ -95,9 +117,14 @@ public class EntityMapper  {
     }
 
     public void setCounterToEntity(PropertyMeta counterMeta, Object entity, Row row) {
-        log.debug("Set counter value to property {} of entity class {} from CQL row", counterMeta.getPropertyName(),counterMeta.getEntityClassName());
-        Long counterValue = cqlRowInvoker.invokeOnRowForType(row, Long.class, counterMeta.getPropertyName());
-        setCounterToEntity(counterMeta,entity,counterValue);
+        final long stageStart = StageTimers.start(Stage.DECODE);
+        try {
+            log.debug("Set counter value to property {} of entity class {} from CQL row", counterMeta.getPropertyName(),counterMeta.getEntityClassName());
+            Long counterValue = cqlRowInvoker.invokeOnRowForType(row, Long.class, counterMeta.getPropertyName());
+            setCounterToEntity(counterMeta,entity,counterValue);
+        } finally {
+            StageTimers.stop(Stage.DECODE, stageStart);
+        }
     }
 
 
@@ -16,11 +16,13 @@
 package info.archinnov.achilles.internal.persistence.operations;
 
 import info.archinnov.achilles.internal.context.PersistenceContext;
+import info.archinnov.achilles.internal.context.StageTimers;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.EntityInterceptor;
 import info.archinnov.achilles.internal.proxy.EntityInterceptorBuilder;
 import info.archinnov.achilles.internal.reflection.ObjectInstantiator;
+import info.archinnov.achilles.type.StageBreakdown.Stage;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
@@ -67,33 +69,37 @@ public class EntityProxifier {
 	}
 
 	public <T> T buildProxy(T entity, PersistenceContext context, Set<Method> alreadyLoaded) {
+		final long stageStart = StageTimers.start(Stage.PROXY);
+		try {
+			if (entity == null) {
+				return null;
+			}
 
-		if (entity == null) {
-			return null;
-		}
+			log.debug("Build Cglib proxy for entity {} ", entity);
 
-		log.debug("Build Cglib proxy for entity {} ", entity);
+			Enhancer enhancer = new Enhancer();
+			enhancer.setSuperclass(entity.getClass());
+			enhancer.setInterfaces(new Class[] { Serializable.class });
+			enhancer.setClassLoader(this.getClass().getClassLoader());
+			enhancer.setUseCache(true);
+			enhancer.setCallbackTypes(new Class[] { MethodInterceptor.class });
+			enhancer.setUseFactory(true);
+			final Class<?> proxyClass = enhancer.createClass();
 
-		Enhancer enhancer = new Enhancer();
-		enhancer.setSuperclass(entity.getClass());
-		enhancer.setInterfaces(new Class[] { Serializable.class });
-		enhancer.setClassLoader(this.getClass().getClassLoader());
-		enhancer.setUseCache(true);
-		enhancer.setCallbackTypes(new Class[] { MethodInterceptor.class });
-		enhancer.setUseFactory(true);
-		final Class<?> proxyClass = enhancer.createClass();
+			@SuppressWarnings("unchecked")
+			T instance = (T) instantiator.instantiate(proxyClass);
 
-		@SuppressWarnings("unchecked")
-		T instance = (T) instantiator.instantiate(proxyClass);
+			EntityMeta meta = context.getEntityMeta();
+			for (PropertyMeta pm : meta.getAllMetas()) {
+				Object value = pm.getValueFromField(entity);
+				pm.setValueToField(instance, value);
+			}
 
-		EntityMeta meta = context.getEntityMeta();
-		for (PropertyMeta pm : meta.getAllMetas()) {
-			Object value = pm.getValueFromField(entity);
-			pm.setValueToField(instance, value);
+			((Factory) instance).setCallbacks(new Callback[] { buildInterceptor(context, entity, alreadyLoaded) });
+			return instance;
+		} finally {
+			StageTimers.stop(Stage.PROXY, stageStart);
 		}
-
-		((Factory) instance).setCallbacks(new Callback[] { buildInterceptor(context, entity, alreadyLoaded) });
-		return instance;
 	}
 
 	@SuppressWarnings("unchecked")
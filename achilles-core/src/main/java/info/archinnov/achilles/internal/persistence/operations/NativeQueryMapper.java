@@ -16,6 +16,8 @@
 package info.archinnov.achilles.internal.persistence.operations;
 
 import info.archinnov.achilles.internal.reflection.RowMethodInvoker;
+import info.archinnov.achilles.type.ColumnVector;
+import info.archinnov.achilles.type.ColumnarResult;
 import info.archinnov.achilles.type.TypedMap;
 
 import java.util.ArrayList;
@@ -29,6 +31,7 @@ import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.ColumnDefinitions;
 import com.datastax.driver.core.ColumnDefinitions.Definition;
 import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 
 public class NativeQueryMapper {
@@ -48,19 +51,84 @@ public class NativeQueryMapper {
 		return result;
 	}
 
+	/**
+	 * Map all the rows of the result set column by column, numeric and boolean values being kept unboxed
+	 */
+	public ColumnarResult mapColumns(ResultSet resultSet) {
+		log.trace("Map CQL rows to column vectors");
+		ColumnDefinitions columnDefinitions = resultSet.getColumnDefinitions();
+		int initialCapacity = resultSet.getAvailableWithoutFetching();
+		List<Definition> definitions = new ArrayList<>();
+		List<ColumnVector> columns = new ArrayList<>();
+		if (columnDefinitions != null) {
+			for (Definition column : columnDefinitions) {
+				definitions.add(column);
+				columns.add(new ColumnVector(column.getName(), column.getType(), initialCapacity));
+			}
+		}
+
+		int rowCount = 0;
+		for (Row row : resultSet) {
+			for (int i = 0; i < columns.size(); i++) {
+				mapColumnValue(row, i, definitions.get(i), columns.get(i));
+			}
+			rowCount++;
+		}
+		for (ColumnVector column : columns) {
+			column.trim();
+		}
+		return new ColumnarResult(columns, rowCount);
+	}
+
+	private void mapColumnValue(Row row, int index, Definition column, ColumnVector vector) {
+		if (row.isNull(index)) {
+			vector.addNull();
+			return;
+		}
+		switch (column.getType().getName()) {
+		case INT:
+			vector.addInt(row.getInt(index));
+			break;
+		case BIGINT:
+		case COUNTER:
+			vector.addLong(row.getLong(index));
+			break;
+		case DOUBLE:
+			vector.addDouble(row.getDouble(index));
+			break;
+		case BOOLEAN:
+			vector.addBoolean(row.getBool(index));
+			break;
+		default:
+			vector.addObject(readValue(row, column));
+		}
+	}
+
 	private void mapRow(List<TypedMap> result, Row row) {
+		TypedMap line = mapRow(row);
+		if (line != null) {
+			result.add(line);
+		}
+	}
+
+	public TypedMap mapRow(Row row) {
 		log.trace("Map CQL row to a map of <ColumnName,Value>");
+		TypedMap line = null;
 		ColumnDefinitions columnDefinitions = row.getColumnDefinitions();
 		if (columnDefinitions != null) {
-			TypedMap line = new TypedMap();
+			line = new TypedMap();
 			for (Definition column : columnDefinitions) {
 				mapColumn(row, line, column);
 			}
-			result.add(line);
 		}
+		return line;
 	}
 
 	private void mapColumn(Row row, Map<String, Object> line, Definition column) {
+		line.put(column.getName(), readValue(row, column));
+	}
+
+	private Object readValue(Row row, Definition column) {
 		if (log.isTraceEnabled()) {
 			log.trace("Extract data from CQL column [keyspace:{},table:{},column:{}]", column.getKeyspace(),
 					column.getTable(), column.getName());
@@ -82,7 +150,6 @@ public class NativeQueryMapper {
 		} else {
 			value = cqlRowInvoker.invokeOnRowForType(row, javaClass, name);
 		}
-
-		line.put(name, value);
+		return value;
 	}
 }
@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
+import info.archinnov.achilles.internal.reflection.RowMethodInvoker;
+import info.archinnov.achilles.internal.validation.Validator;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.Row;
+import com.google.common.primitives.Primitives;
+
+/**
+ * Map the columns of a projection query, in their selection order, to tuples or DTOs.
+ * <br/>
+ * Values are decoded with the transcoders of the entity property metas but no entity, proxy nor persistence
+ * context is created
+ */
+public class ProjectionMapper {
+
+	private static final Logger log = LoggerFactory.getLogger(ProjectionMapper.class);
+
+	private RowMethodInvoker cqlRowInvoker = new RowMethodInvoker();
+	private ReflectionInvoker invoker = new ReflectionInvoker();
+
+	public List<ProjectedColumn> resolveColumns(EntityMeta meta, String... properties) {
+		log.trace("Resolve projected columns {} for entity class {}", properties, meta.getClassName());
+		Validator.validateTrue(properties != null && properties.length > 0,
+				"At least one property should be provided for projection on entity class '%s'", meta.getClassName());
+		PropertyMeta idMeta = meta.getIdMeta();
+		List<ProjectedColumn> columns = new ArrayList<>();
+		for (String property : properties) {
+			Validator.validateNotBlank(property, "The projected properties for entity class '%s' should not be blank",
+					meta.getClassName());
+			columns.add(resolveColumn(meta, idMeta, property.trim().toLowerCase()));
+		}
+		return columns;
+	}
+
+	public Object[] mapRowToTuple(Row row, List<ProjectedColumn> columns) {
+		Object[] values = new Object[columns.size()];
+		for (int i = 0; i < values.length; i++) {
+			ProjectedColumn column = columns.get(i);
+			if (column.componentIndex >= 0) {
+				values[i] = cqlRowInvoker.invokeOnRowForComponent(row, column.meta, column.componentIndex);
+			} else {
+				values[i] = cqlRowInvoker.invokeOnRowForFields(row, column.meta);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Find a constructor of the DTO class whose parameters match, in order, the projected columns
+	 * 
+	 * @return matching constructor or null
+	 */
+	@SuppressWarnings("unchecked")
+	public <D> Constructor<D> findConstructor(Class<D> dtoClass, List<ProjectedColumn> columns) {
+		for (Constructor<?> constructor : dtoClass.getDeclaredConstructors()) {
+			Class<?>[] parameterTypes = constructor.getParameterTypes();
+			if (parameterTypes.length == columns.size() && isAssignable(parameterTypes, columns)) {
+				constructor.setAccessible(true);
+				return (Constructor<D>) constructor;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Find the fields of the DTO class named after the projected columns
+	 */
+	public List<Field> findFields(Class<?> dtoClass, List<ProjectedColumn> columns) {
+		List<Field> fields = new ArrayList<>();
+		for (ProjectedColumn column : columns) {
+			Field field = findField(dtoClass, column.name);
+			Validator.validateNotNull(field,
+					"Cannot find a constructor matching the projected columns nor a field '%s' in class '%s'",
+					column.name, dtoClass.getCanonicalName());
+			field.setAccessible(true);
+			fields.add(field);
+		}
+		return fields;
+	}
+
+	/**
+	 * Find the default constructor of the DTO class, used along with {@link #findFields(Class, List)}
+	 */
+	public <D> Constructor<D> findDefaultConstructor(Class<D> dtoClass) {
+		try {
+			Constructor<D> constructor = dtoClass.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			return constructor;
+		} catch (NoSuchMethodException e) {
+			throw new AchillesException("Cannot find a constructor matching the projected columns nor a default "
+					+ "constructor in class '" + dtoClass.getCanonicalName() + "'", e);
+		}
+	}
+
+	public <D> D mapRowToDto(Row row, List<ProjectedColumn> columns, Constructor<D> constructor) {
+		Object[] values = mapRowToTuple(row, columns);
+		try {
+			return constructor.newInstance(values);
+		} catch (Exception e) {
+			throw new AchillesException("Cannot instantiate class '"
+					+ constructor.getDeclaringClass().getCanonicalName() + "' from projected columns " + columns, e);
+		}
+	}
+
+	public <D> D mapRowToDto(Row row, List<ProjectedColumn> columns, Constructor<D> defaultConstructor,
+			List<Field> fields) {
+		Object[] values = mapRowToTuple(row, columns);
+		D dto;
+		try {
+			dto = defaultConstructor.newInstance();
+		} catch (Exception e) {
+			throw new AchillesException("Cannot instantiate class '"
+					+ defaultConstructor.getDeclaringClass().getCanonicalName() + "' with its default constructor", e);
+		}
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != null) {
+				invoker.setValueToField(dto, fields.get(i), values[i]);
+			}
+		}
+		return dto;
+	}
+
+	private ProjectedColumn resolveColumn(EntityMeta meta, PropertyMeta idMeta, String name) {
+		if (idMeta.isEmbeddedId()) {
+			int index = idMeta.getCQLComponentNames().indexOf(name);
+			if (index >= 0) {
+				return new ProjectedColumn(name, idMeta, index, idMeta.getComponentClasses().get(index));
+			}
+		}
+		for (PropertyMeta pm : meta.getPropertyMetas().values()) {
+			if (pm.getPropertyName().toLowerCase().equals(name)) {
+				Validator.validateFalse(pm.isCounter(),
+						"Cannot project counter property '%s' of entity class '%s'", name, meta.getClassName());
+				Validator.validateFalse(pm.isEmbeddedId(),
+						"Cannot project embedded id '%s' of entity class '%s', please project its components instead",
+						name, meta.getClassName());
+				return new ProjectedColumn(name, pm, -1, valueType(pm));
+			}
+		}
+		throw new AchillesException("Cannot find property '" + name + "' for projection on entity class '"
+				+ meta.getClassName() + "'");
+	}
+
+	private Class<?> valueType(PropertyMeta pm) {
+		switch (pm.type()) {
+		case LIST:
+			return List.class;
+		case SET:
+			return Set.class;
+		case MAP:
+			return Map.class;
+		default:
+			return pm.getValueClass();
+		}
+	}
+
+	private boolean isAssignable(Class<?>[] parameterTypes, List<ProjectedColumn> columns) {
+		for (int i = 0; i < parameterTypes.length; i++) {
+			Class<?> valueType = Primitives.wrap(columns.get(i).valueType);
+			if (!Primitives.wrap(parameterTypes[i]).isAssignableFrom(valueType)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private Field findField(Class<?> type, String name) {
+		for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+			for (Field field : current.getDeclaredFields()) {
+				if (field.getName().toLowerCase().equals(name)) {
+					return field;
+				}
+			}
+		}
+		return null;
+	}
+
+	public static class ProjectedColumn {
+		private final String name;
+		private final PropertyMeta meta;
+		private final int componentIndex;
+		private final Class<?> valueType;
+
+		ProjectedColumn(String name, PropertyMeta meta, int componentIndex, Class<?> valueType) {
+			this.name = name;
+			this.meta = meta;
+			this.componentIndex = componentIndex;
+			this.valueType = valueType;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public Class<?> getValueType() {
+			return valueType;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+}
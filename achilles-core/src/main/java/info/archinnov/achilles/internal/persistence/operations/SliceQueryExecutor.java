@@ -15,27 +15,52 @@
  */
 package info.archinnov.achilles.internal.persistence.operations;
 
+import static info.archinnov.achilles.internal.consistency.ConsistencyConverter.getCQLLevel;
+import static info.archinnov.achilles.internal.context.OperationMetrics.Operation.FIND;
+import static info.archinnov.achilles.internal.context.OperationMetrics.Operation.SLICE;
 import info.archinnov.achilles.interceptor.Event;
+import info.archinnov.achilles.internal.context.AdaptiveFetchSizer;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.context.EntityCache;
+import info.archinnov.achilles.internal.context.HotPartitionTracker;
+import info.archinnov.achilles.internal.context.OperationMetrics;
+import info.archinnov.achilles.internal.context.OperationMetrics.Sample;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
+import info.archinnov.achilles.internal.context.SliceQueryCache;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.statement.StatementGenerator;
 import info.archinnov.achilles.internal.statement.wrapper.RegularStatementWrapper;
+import info.archinnov.achilles.iterator.AdaptiveFetchRowIterator;
+import info.archinnov.achilles.iterator.MergedSliceQueryIterator;
+import info.archinnov.achilles.iterator.PrefetchingRowIterator;
 import info.archinnov.achilles.iterator.SliceQueryIterator;
 import info.archinnov.achilles.query.slice.CQLSliceQuery;
+import info.archinnov.achilles.query.slice.ClusteringComparator;
 import info.archinnov.achilles.query.slice.SliceQuery;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
 import com.google.common.base.Function;
 import com.google.common.collect.Lists;
 
@@ -43,18 +68,33 @@ public class SliceQueryExecutor {
 
 	private static final Logger log = LoggerFactory.getLogger(SliceQueryExecutor.class);
 
+	/**
+	 * Above this limit, rows are counted client-side page by page since Cassandra does not page COUNT(*) queries
+	 */
+	public static final int SERVER_SIDE_COUNT_LIMIT = 10000;
+
+	/**
+	 * Maximum number of values in the IN clause of a SELECT loading entities by embedded id, larger lists are split
+	 * to spare the coordinator
+	 */
+	public static final int MAX_IN_CLAUSE_SIZE = 100;
+
 	private StatementGenerator generator = new StatementGenerator();
 	private EntityMapper mapper = new EntityMapper();
 	private EntityProxifier proxifier = new EntityProxifier();
 	private PersistenceContextFactory contextFactory;
 	private DaoContext daoContext;
 	private ConsistencyLevel defaultReadLevel;
+	private int prefetchThreshold;
+	private ExecutorService mappingExecutor;
 
 	public SliceQueryExecutor(PersistenceContextFactory contextFactory, ConfigurationContext configContext,
 			DaoContext daoContext) {
 		this.contextFactory = contextFactory;
 		this.daoContext = daoContext;
 		this.defaultReadLevel = configContext.getDefaultReadConsistencyLevel();
+		this.prefetchThreshold = configContext.getIteratorPrefetchThreshold();
+		this.mappingExecutor = configContext.getIteratorMappingExecutor();
 	}
 
 	public <T> List<T> get(SliceQuery<T> sliceQuery) {
@@ -64,18 +104,30 @@ public class SliceQueryExecutor {
 		List<T> clusteredEntities = new ArrayList<>();
 
 		CQLSliceQuery<T> cqlSliceQuery = new CQLSliceQuery<>(sliceQuery, defaultReadLevel);
-		RegularStatementWrapper statementWrapper = generator.generateSelectSliceQuery(cqlSliceQuery,
-				cqlSliceQuery.getLimit(), cqlSliceQuery.getBatchSize());
-		List<Row> rows = daoContext.execute(statementWrapper).all();
+		final Sample sample = startSample(sliceQuery);
+		final List<Row> rows;
+		try {
+			rows = sample.success(loadRows(sliceQuery, cqlSliceQuery));
+		} finally {
+			sample.stop();
+		}
+		final List<PropertyMeta> fetchProperties = sliceQuery.getFetchProperties();
 
 		for (Row row : rows) {
 			T clusteredEntity = meta.instanciate();
-			mapper.setNonCounterPropertiesToEntity(row, meta, clusteredEntity);
+			if (fetchProperties != null) {
+				mapper.setPropertyToEntity(row, meta.getIdMeta(), clusteredEntity);
+				for (PropertyMeta pm : fetchProperties) {
+					mapper.setPropertyToEntity(row, pm, clusteredEntity);
+				}
+			} else {
+				mapper.setNonCounterPropertiesToEntity(row, meta, clusteredEntity);
+			}
 			meta.intercept(clusteredEntity, Event.POST_LOAD);
 			clusteredEntities.add(clusteredEntity);
 		}
 
-		return Lists.transform(clusteredEntities, this.<T> getProxyTransformer());
+		return Lists.transform(clusteredEntities, this.<T> getProxyTransformer(fetchProperties));
 	}
 
 	public <T> Iterator<T> iterator(SliceQuery<T> sliceQuery) {
@@ -83,9 +135,209 @@ public class SliceQueryExecutor {
 		CQLSliceQuery<T> cqlSliceQuery = new CQLSliceQuery<>(sliceQuery, defaultReadLevel);
 		RegularStatementWrapper statementWrapper = generator.generateSelectSliceQuery(cqlSliceQuery,
 				cqlSliceQuery.getLimit(), cqlSliceQuery.getBatchSize());
-		Iterator<Row> iterator = daoContext.execute(statementWrapper).iterator();
+		final Sample sample = startSample(sliceQuery);
+		trackPartition(sliceQuery, true);
+		final ResultSet resultSet;
+		try {
+			resultSet = sample.success(daoContext.execute(statementWrapper));
+		} finally {
+			sample.stop();
+		}
 		PersistenceContext context = buildContextForQuery(sliceQuery);
-		return new SliceQueryIterator<>(cqlSliceQuery, context, iterator);
+		return buildIterator(cqlSliceQuery, context, resultSet, statementWrapper.getStatement());
+	}
+
+	/**
+	 * Execute the slice queries of several partitions concurrently and merge their entities in clustering order
+	 * 
+	 * @param sliceQueries
+	 *            one slice query per partition, sharing the same clustering bounds, ordering and limit
+	 * @param globalLimit
+	 *            maximum number of merged entities, 0 for no limit
+	 */
+	public <T> Iterator<T> mergedIterator(List<SliceQuery<T>> sliceQueries, int globalLimit) {
+		log.debug("Get merged iterator for slice queries on {} partitions", sliceQueries.size());
+		final List<CQLSliceQuery<T>> cqlSliceQueries = new ArrayList<>(sliceQueries.size());
+		final List<ResultSetFuture> futures = new ArrayList<>(sliceQueries.size());
+		final List<Statement> statements = new ArrayList<>(sliceQueries.size());
+		for (SliceQuery<T> sliceQuery : sliceQueries) {
+			CQLSliceQuery<T> cqlSliceQuery = new CQLSliceQuery<>(sliceQuery, defaultReadLevel);
+			RegularStatementWrapper statementWrapper = generator.generateSelectSliceQuery(cqlSliceQuery,
+					cqlSliceQuery.getLimit(), cqlSliceQuery.getBatchSize());
+			cqlSliceQueries.add(cqlSliceQuery);
+			statements.add(statementWrapper.getStatement());
+			trackPartition(sliceQuery, true);
+			futures.add(daoContext.executeAsync(statementWrapper));
+		}
+
+		final List<ResultSet> resultSets = new ArrayList<>(sliceQueries.size());
+		final Sample sample = startSample(sliceQueries.get(0));
+		try {
+			for (ResultSetFuture future : futures) {
+				resultSets.add(daoContext.getUninterruptibly(future));
+			}
+			sample.success();
+		} finally {
+			sample.stop();
+		}
+
+		final List<Iterator<T>> partitionIterators = new ArrayList<>(sliceQueries.size());
+		for (int i = 0; i < sliceQueries.size(); i++) {
+			PersistenceContext context = buildContextForQuery(sliceQueries.get(i));
+			partitionIterators.add(buildIterator(cqlSliceQueries.get(i), context, resultSets.get(i),
+					statements.get(i)));
+		}
+
+		final CQLSliceQuery<T> cqlSliceQuery = cqlSliceQueries.get(0);
+		return new MergedSliceQueryIterator<>(partitionIterators, this.<T> getClusteringsExtractor(cqlSliceQuery
+				.getMeta()), new ClusteringComparator(cqlSliceQuery), globalLimit);
+	}
+
+	public <T> List<T> get(List<SliceQuery<T>> sliceQueries, int globalLimit) {
+		return Lists.newArrayList(mergedIterator(sliceQueries, globalLimit));
+	}
+
+	/**
+	 * Load entities by their embedded id. Ids are grouped by partition and leading clustering components, each group
+	 * is loaded with SELECTs having an IN clause on the last component, of at most {@link #MAX_IN_CLAUSE_SIZE} values,
+	 * and all SELECTs are executed concurrently. Entities in the entity cache are not queried, loaded ones are cached
+	 * unless a consistency level is given
+	 * 
+	 * @return found entities keyed by embedded id, in the iteration order of the given ids. Missing entities are not
+	 *         in the map
+	 */
+	public <T, K> Map<K, T> get(EntityMeta meta, Collection<K> embeddedIds, ConsistencyLevel readLevel) {
+		log.debug("Get {} entities of class {} by embedded id", embeddedIds.size(), meta.getClassName());
+		final Class<?> entityClass = meta.getEntityClass();
+		final PropertyMeta idMeta = meta.getIdMeta();
+		final com.datastax.driver.core.ConsistencyLevel cqlLevel = getCQLLevel(readLevel == null ? defaultReadLevel
+				: readLevel);
+		final EntityCache entityCache = daoContext.getEntityCache();
+		// an explicit consistency level asks for a fresh read
+		final boolean cacheable = entityCache != null && readLevel == null && entityCache.isCacheable(entityClass);
+		final long cacheGeneration = cacheable ? entityCache.generation() : 0;
+
+		final Map<K, List<Object>> componentsById = new LinkedHashMap<>();
+		final Map<List<Object>, Row> cachedRows = new HashMap<>();
+		final Map<List<Object>, List<Object>> lastComponentsByPrefix = new LinkedHashMap<>();
+		final Set<List<Object>> partitions = new LinkedHashSet<>();
+		for (K embeddedId : embeddedIds) {
+			if (componentsById.containsKey(embeddedId)) {
+				continue;
+			}
+			final List<Object> components = idMeta.encodeToComponents(embeddedId);
+			componentsById.put(embeddedId, components);
+			if (cacheable) {
+				final Row cachedRow = entityCache.get(entityKey(entityClass, components));
+				if (cachedRow != null) {
+					log.trace("Entity cache hit for embedded id {}", components);
+					cachedRows.put(components, cachedRow);
+					continue;
+				}
+			}
+			final List<Object> prefix = components.subList(0, components.size() - 1);
+			List<Object> lastComponents = lastComponentsByPrefix.get(prefix);
+			if (lastComponents == null) {
+				lastComponents = new ArrayList<>();
+				lastComponentsByPrefix.put(prefix, lastComponents);
+			}
+			lastComponents.add(components.get(components.size() - 1));
+			partitions.add(idMeta.extractPartitionComponents(components));
+		}
+
+		final Map<List<Object>, T> entitiesByComponents = new HashMap<>();
+		for (Map.Entry<List<Object>, Row> entry : cachedRows.entrySet()) {
+			entitiesByComponents.put(entry.getKey(), this.<T> mapEntity(meta, entry.getValue()));
+		}
+
+		final Sample sample = OperationMetrics.start(daoContext.getOperationMetrics(), entityClass, FIND);
+		try {
+			final List<ResultSetFuture> futures = new ArrayList<>();
+			for (Map.Entry<List<Object>, List<Object>> entry : lastComponentsByPrefix.entrySet()) {
+				final List<Object> lastComponents = entry.getValue();
+				for (int from = 0; from < lastComponents.size(); from += MAX_IN_CLAUSE_SIZE) {
+					final List<Object> chunk = lastComponents.subList(from,
+							Math.min(from + MAX_IN_CLAUSE_SIZE, lastComponents.size()));
+					RegularStatementWrapper statementWrapper = generator.generateSelectEntitiesByLastComponentIn(meta,
+							entry.getKey(), chunk, cqlLevel);
+					futures.add(daoContext.executeAsync(statementWrapper));
+				}
+			}
+			for (List<Object> partitionComponents : partitions) {
+				trackPartition(meta, partitionComponents, true);
+			}
+
+			for (ResultSetFuture future : futures) {
+				for (Row row : daoContext.getUninterruptibly(future)) {
+					final T clusteredEntity = mapEntity(meta, row);
+					final List<Object> components = idMeta.encodeToComponents(meta.getPrimaryKey(clusteredEntity));
+					entitiesByComponents.put(components, clusteredEntity);
+					if (cacheable) {
+						entityCache.put(entityKey(entityClass, components), row, cacheGeneration);
+					}
+				}
+			}
+			sample.success();
+		} finally {
+			sample.stop();
+		}
+
+		final Function<T, T> proxyTransformer = getProxyTransformer(null);
+		final Map<K, T> entities = new LinkedHashMap<>();
+		for (Map.Entry<K, List<Object>> entry : componentsById.entrySet()) {
+			final T clusteredEntity = entitiesByComponents.get(entry.getValue());
+			if (clusteredEntity != null) {
+				entities.put(entry.getKey(), proxyTransformer.apply(clusteredEntity));
+			}
+		}
+		return entities;
+	}
+
+	private <T> T mapEntity(EntityMeta meta, Row row) {
+		T clusteredEntity = meta.instanciate();
+		mapper.setNonCounterPropertiesToEntity(row, meta, clusteredEntity);
+		meta.intercept(clusteredEntity, Event.POST_LOAD);
+		return clusteredEntity;
+	}
+
+	private List<Object> entityKey(Class<?> entityClass, List<Object> components) {
+		return Arrays.<Object> asList(entityClass, components);
+	}
+
+	/**
+	 * Count the rows matching the slice query, up to its limit if it has been set, without mapping any entity
+	 * <br/>
+	 * A limit up to {@link #SERVER_SIDE_COUNT_LIMIT} is counted server-side with a SELECT COUNT(*). Greater limits,
+	 * or no limit, are counted client-side, fetching the first primary key component of each row by pages of the
+	 * slice batch size
+	 */
+	public <T> long count(SliceQuery<T> sliceQuery) {
+		log.debug("Count slice query");
+		CQLSliceQuery<T> cqlSliceQuery = new CQLSliceQuery<>(sliceQuery, defaultReadLevel);
+		final int limit = sliceQuery.isLimitSet() ? sliceQuery.getLimit() : Integer.MAX_VALUE;
+		final Sample sample = startSample(sliceQuery);
+		trackPartition(sliceQuery, true);
+		try {
+			return sample.success(count(cqlSliceQuery, limit));
+		} finally {
+			sample.stop();
+		}
+	}
+
+	private <T> long count(CQLSliceQuery<T> cqlSliceQuery, int limit) {
+		if (limit <= SERVER_SIDE_COUNT_LIMIT) {
+			final Row row = daoContext.execute(generator.generateCountSliceQuery(cqlSliceQuery, limit)).one();
+			return row != null ? row.getLong(0) : 0L;
+		}
+
+		log.trace("Count slice query client-side with limit {}", limit);
+		RegularStatementWrapper statementWrapper = generator.generateSelectSliceKeysQuery(cqlSliceQuery, limit,
+				cqlSliceQuery.getBatchSize());
+		long count = 0;
+		for (Iterator<Row> rows = daoContext.execute(statementWrapper).iterator(); rows.hasNext(); rows.next()) {
+			count++;
+		}
+		return count;
 	}
 
 	public <T> void remove(SliceQuery<T> sliceQuery) {
@@ -93,7 +345,84 @@ public class SliceQueryExecutor {
 		CQLSliceQuery<T> cqlSliceQuery = new CQLSliceQuery<>(sliceQuery, defaultReadLevel);
 		cqlSliceQuery.validateSliceQueryForRemove();
 		final RegularStatementWrapper statementWrapper = generator.generateRemoveSliceQuery(cqlSliceQuery);
-		daoContext.execute(statementWrapper);
+		final Sample sample = startSample(sliceQuery);
+		trackPartition(sliceQuery, false);
+		try {
+			invalidateCachedPartition(sliceQuery);
+			try {
+				daoContext.execute(statementWrapper);
+			} finally {
+				invalidateCachedPartition(sliceQuery);
+			}
+			sample.success();
+		} finally {
+			sample.stop();
+		}
+	}
+
+	private void invalidateCachedPartition(SliceQuery<?> sliceQuery) {
+		final SliceQueryCache sliceQueryCache = daoContext.getSliceQueryCache();
+		if (sliceQueryCache != null) {
+			sliceQueryCache.invalidatePartition(partitionKey(sliceQuery));
+		}
+		final EntityCache entityCache = daoContext.getEntityCache();
+		if (entityCache != null && entityCache.isCacheable(sliceQuery.getEntityClass())) {
+			entityCache.invalidatePartition(sliceQuery.getEntityClass(),
+					sliceQuery.getIdMeta().extractPartitionComponents(sliceQuery.getClusteringsFrom()));
+		}
+	}
+
+	private Sample startSample(SliceQuery<?> sliceQuery) {
+		return OperationMetrics.start(daoContext.getOperationMetrics(), sliceQuery.getEntityClass(), SLICE);
+	}
+
+	private <T> List<Row> loadRows(SliceQuery<T> sliceQuery, CQLSliceQuery<T> cqlSliceQuery) {
+		final SliceQueryCache sliceQueryCache = daoContext.getSliceQueryCache();
+		// an explicit consistency level asks for a fresh read
+		final boolean cacheable = sliceQueryCache != null && sliceQuery.getConsistencyLevel() == null;
+		List<Object> partitionKey = null;
+		List<Object> queryKey = null;
+		long version = 0;
+		if (cacheable) {
+			partitionKey = partitionKey(sliceQuery);
+			queryKey = Arrays.<Object> asList(partitionKey, cqlSliceQuery.getFixedComponents(),
+					cqlSliceQuery.getLastStartComponent(), cqlSliceQuery.getLastEndComponent(),
+					cqlSliceQuery.getBounding(), cqlSliceQuery.getOrdering(), cqlSliceQuery.getLimit(),
+					sliceQuery.getFetchProperties());
+			final List<Row> cachedRows = sliceQueryCache.get(partitionKey, queryKey);
+			if (cachedRows != null) {
+				log.trace("Slice query cache hit for {}", queryKey);
+				return cachedRows;
+			}
+			version = sliceQueryCache.version(partitionKey);
+		}
+
+		RegularStatementWrapper statementWrapper = generator.generateSelectSliceQuery(cqlSliceQuery,
+				cqlSliceQuery.getLimit(), cqlSliceQuery.getBatchSize());
+		trackPartition(sliceQuery, true);
+		List<Row> rows = daoContext.execute(statementWrapper).all();
+
+		if (cacheable) {
+			sliceQueryCache.put(queryKey, rows, version);
+		}
+		return rows;
+	}
+
+	private void trackPartition(SliceQuery<?> sliceQuery, boolean read) {
+		trackPartition(sliceQuery.getMeta(),
+				sliceQuery.getIdMeta().extractPartitionComponents(sliceQuery.getClusteringsFrom()), read);
+	}
+
+	private void trackPartition(EntityMeta meta, List<Object> partitionComponents, boolean read) {
+		final HotPartitionTracker hotPartitionTracker = daoContext.getHotPartitionTracker();
+		if (hotPartitionTracker != null) {
+			hotPartitionTracker.track(meta.getTableName(), partitionComponents, read);
+		}
+	}
+
+	private List<Object> partitionKey(SliceQuery<?> sliceQuery) {
+		return SliceQueryCache.partitionKey(sliceQuery.getEntityClass(),
+				sliceQuery.getIdMeta().extractPartitionComponents(sliceQuery.getClusteringsFrom()));
 	}
 
 	protected <T> PersistenceContext buildContextForQuery(SliceQuery<T> sliceQuery) {
@@ -104,11 +433,39 @@ public class SliceQueryExecutor {
 				cl);
 	}
 
-	private <T> Function<T, T> getProxyTransformer() {
+	private <T> SliceQueryIterator<T> buildIterator(CQLSliceQuery<T> cqlSliceQuery, PersistenceContext context,
+			ResultSet resultSet, Statement statement) {
+		Iterator<Row> iterator = prefetchThreshold > 0 ? new PrefetchingRowIterator(resultSet, prefetchThreshold)
+				: resultSet.iterator();
+		final AdaptiveFetchSizer adaptiveFetchSizer = daoContext.getAdaptiveFetchSizer();
+		if (adaptiveFetchSizer != null) {
+			iterator = new AdaptiveFetchRowIterator(iterator, resultSet, statement, adaptiveFetchSizer);
+		}
+		if (mappingExecutor != null) {
+			return new SliceQueryIterator<>(cqlSliceQuery, context, iterator, resultSet, mappingExecutor);
+		}
+		return new SliceQueryIterator<>(cqlSliceQuery, context, iterator);
+	}
+
+	private <T> Function<T, List<Object>> getClusteringsExtractor(final EntityMeta meta) {
+		final PropertyMeta idMeta = meta.getIdMeta();
+		return new Function<T, List<Object>>() {
+			@Override
+			public List<Object> apply(T clusteredEntity) {
+				Object embeddedId = meta.getPrimaryKey(proxifier.getRealObject(clusteredEntity));
+				return idMeta.extractClusteringComponents(idMeta.encodeToComponents(embeddedId));
+			}
+		};
+	}
+
+	private <T> Function<T, T> getProxyTransformer(final List<PropertyMeta> fetchProperties) {
 		return new Function<T, T>() {
 			@Override
 			public T apply(T clusteredEntity) {
 				PersistenceContext context = contextFactory.newContext(clusteredEntity);
+				if (fetchProperties != null) {
+					return proxifier.buildProxy(clusteredEntity, context, context.getGetters(fetchProperties));
+				}
 				return proxifier.buildProxyWithAllFieldsLoadedExceptCounters(clusteredEntity, context);
 			}
 		};
@@ -29,6 +29,7 @@ import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
 import info.archinnov.achilles.type.Counter;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -39,6 +40,8 @@ import net.sf.cglib.proxy.MethodProxy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.datastax.driver.core.Row;
+
 public class EntityInterceptor<T> implements MethodInterceptor, ProxySerializable {
 
 	private static final transient Logger log = LoggerFactory.getLogger(EntityInterceptor.class);
@@ -92,6 +95,9 @@ public class EntityInterceptor<T> implements MethodInterceptor, ProxySerializabl
 			log.trace("Loading property {}", propertyMeta.getPropertyName());
 			if (context.isClusteredCounter()) {
 				counterLoader.loadClusteredCounterColumn(context, target, propertyMeta);
+			} else if (context.isLazyLoadingFetchAll() && !propertyMeta.type().isCounter()) {
+				log.trace("Loading all unloaded properties along with property {}", propertyMeta.getPropertyName());
+				loadProperties(context.loadEntity(), getUnloadedProperties());
 			} else {
 				loader.loadPropertyIntoObject(context, target, propertyMeta);
 			}
@@ -195,6 +201,29 @@ public class EntityInterceptor<T> implements MethodInterceptor, ProxySerializabl
 		propertyMeta.setValueToField(target, value);
 	}
 
+	/**
+	 * Non-counter properties which have been neither loaded nor set yet
+	 */
+	public List<PropertyMeta> getUnloadedProperties() {
+		List<PropertyMeta> unloaded = new ArrayList<>();
+		for (PropertyMeta pm : context.getEntityMeta().getAllMetasExceptIdAndCounters()) {
+			if (!alreadyLoaded.contains(pm.getGetter()) && !dirtyMap.containsKey(pm.getSetter())) {
+				unloaded.add(pm);
+			}
+		}
+		return unloaded;
+	}
+
+	/**
+	 * Set the given properties from a fetched row into the target and flag them as loaded
+	 */
+	public void loadProperties(Row row, List<PropertyMeta> pms) {
+		loader.setPropertiesToObject(row, target, pms);
+		for (PropertyMeta pm : pms) {
+			alreadyLoaded.add(pm.getGetter());
+		}
+	}
+
 	@Override
 	public Object writeReplace() {
 		return this.target;
@@ -17,8 +17,10 @@ package info.archinnov.achilles.internal.reflection;
 
 import static info.archinnov.achilles.internal.cql.TypeMapper.*;
 import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.context.StageTimers;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.validation.Validator;
+import info.archinnov.achilles.type.StageBreakdown.Stage;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -36,61 +38,91 @@ public class RowMethodInvoker {
 	private static final Logger log = LoggerFactory.getLogger(RowMethodInvoker.class);
 
 	public Object invokeOnRowForFields(Row row, PropertyMeta pm) {
-		String propertyName = pm.getPropertyName().toLowerCase();
-		Object value = null;
-		if (row != null && !row.isNull(propertyName)) {
-			switch (pm.type()) {
-			case LIST:
-				value = invokeOnRowForList(row, pm, propertyName, pm.getValueClass());
-				break;
-			case SET:
-				value = invokeOnRowForSet(row, pm, propertyName, pm.getValueClass());
-				break;
-			case MAP:
-				Class<?> keyClass = pm.getKeyClass();
-				Class<?> valueClass = pm.getValueClass();
-				value = invokeOnRowForMap(row, pm, propertyName, keyClass, valueClass);
-				break;
-			case ID:
-			case SIMPLE:
-				value = invokeOnRowForProperty(row, pm, propertyName, pm.getValueClass());
-				break;
-			default:
-				break;
+		final long stageStart = StageTimers.start(Stage.DECODE);
+		try {
+			String propertyName = pm.getPropertyName().toLowerCase();
+			Object value = null;
+			if (row != null && !row.isNull(propertyName)) {
+				switch (pm.type()) {
+				case LIST:
+					value = invokeOnRowForList(row, pm, propertyName, pm.getValueClass());
+					break;
+				case SET:
+					value = invokeOnRowForSet(row, pm, propertyName, pm.getValueClass());
+					break;
+				case MAP:
+					Class<?> keyClass = pm.getKeyClass();
+					Class<?> valueClass = pm.getValueClass();
+					value = invokeOnRowForMap(row, pm, propertyName, keyClass, valueClass);
+					break;
+				case ID:
+				case SIMPLE:
+					value = invokeOnRowForProperty(row, pm, propertyName, pm.getValueClass());
+					break;
+				default:
+					break;
+				}
 			}
+			return value;
+		} finally {
+			StageTimers.stop(Stage.DECODE, stageStart);
 		}
-		return value;
 	}
 
 	public Object extractCompoundPrimaryKeyFromRow(Row row, PropertyMeta pm, boolean isManagedEntity) {
-		log.trace("Extract compound primary key {} from CQL row for entity class {}", pm.getPropertyName(),
-				pm.getEntityClassName());
-		List<String> componentNames = pm.getCQLComponentNames();
-		List<Class<?>> componentClasses = pm.getComponentClasses();
-		List<Object> rawValues = new ArrayList<Object>(Collections.nCopies(componentNames.size(), null));
-
+		final long stageStart = StageTimers.start(Stage.DECODE);
 		try {
-			for (Definition column : row.getColumnDefinitions()) {
-				String columnName = column.getName();
-				int index = componentNames.indexOf(columnName);
-				Object rawValue;
-				if (index >= 0) {
-					Class<?> componentClass = componentClasses.get(index);
-					rawValue = getRowMethod(componentClass).invoke(row, columnName);
-					rawValues.set(index, rawValue);
+			log.trace("Extract compound primary key {} from CQL row for entity class {}", pm.getPropertyName(),
+					pm.getEntityClassName());
+			List<String> componentNames = pm.getCQLComponentNames();
+			List<Class<?>> componentClasses = pm.getComponentClasses();
+			List<Object> rawValues = new ArrayList<Object>(Collections.nCopies(componentNames.size(), null));
+
+			try {
+				for (Definition column : row.getColumnDefinitions()) {
+					String columnName = column.getName();
+					int index = componentNames.indexOf(columnName);
+					Object rawValue;
+					if (index >= 0) {
+						Class<?> componentClass = componentClasses.get(index);
+						rawValue = getRowMethod(componentClass).invoke(row, columnName);
+						rawValues.set(index, rawValue);
+					}
 				}
-			}
-			if (isManagedEntity) {
-				for (int i = 0; i < componentNames.size(); i++) {
-					Validator.validateNotNull(rawValues.get(i),
-							"Error, the component '%s' from @EmbeddedId class '%s' cannot be found in Cassandra",
-							componentNames.get(i), pm.getValueClass());
+				if (isManagedEntity) {
+					for (int i = 0; i < componentNames.size(); i++) {
+						Validator.validateNotNull(rawValues.get(i),
+								"Error, the component '%s' from @EmbeddedId class '%s' cannot be found in Cassandra",
+								componentNames.get(i), pm.getValueClass());
+					}
 				}
+				return pm.decodeFromComponents(rawValues);
+			} catch (Exception e) {
+				throw new AchillesException("Cannot retrieve compound primary key for entity class '"
+						+ pm.getEntityClassName() + "' from CQL Row", e);
 			}
-			return pm.decodeFromComponents(rawValues);
-		} catch (Exception e) {
-			throw new AchillesException("Cannot retrieve compound primary key for entity class '"
-					+ pm.getEntityClassName() + "' from CQL Row", e);
+		} finally {
+			StageTimers.stop(Stage.DECODE, stageStart);
+		}
+	}
+
+	public Object invokeOnRowForComponent(Row row, PropertyMeta idMeta, int index) {
+		final long stageStart = StageTimers.start(Stage.DECODE);
+		try {
+			String componentName = idMeta.getCQLComponentNames().get(index);
+			log.trace("Extract component {} from CQL row for entity class {}", componentName, idMeta.getEntityClassName());
+			if (row == null || row.isNull(componentName)) {
+				return null;
+			}
+			try {
+				Object rawValue = getRowMethod(idMeta.getComponentClasses().get(index)).invoke(row, componentName);
+				return idMeta.decodeComponent(index, rawValue);
+			} catch (Exception e) {
+				throw new AchillesException("Cannot retrieve component '" + componentName + "' for entity class '"
+						+ idMeta.getEntityClassName() + "' from CQL Row", e);
+			}
+		} finally {
+			StageTimers.stop(Stage.DECODE, stageStart);
 		}
 	}
 
@@ -142,12 +174,17 @@ public class RowMethodInvoker {
 
 	@SuppressWarnings("unchecked")
 	public <T> T invokeOnRowForType(Row row, Class<T> type, String name) {
-		log.trace("Extract property {} of type {} from CQL row ", name, type);
+		final long stageStart = StageTimers.start(Stage.DECODE);
 		try {
-			return (T) getRowMethod(type).invoke(row, name);
-		} catch (Exception e) {
-			throw new AchillesException("Cannot retrieve column '" + name + "' of type '" + type.getCanonicalName()
-					+ "' from CQL Row", e);
+			log.trace("Extract property {} of type {} from CQL row ", name, type);
+			try {
+				return (T) getRowMethod(type).invoke(row, name);
+			} catch (Exception e) {
+				throw new AchillesException("Cannot retrieve column '" + name + "' of type '" + type.getCanonicalName()
+						+ "' from CQL Row", e);
+			}
+		} finally {
+			StageTimers.stop(Stage.DECODE, stageStart);
 		}
 	}
 }
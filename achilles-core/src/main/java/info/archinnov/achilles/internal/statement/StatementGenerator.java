@@ -52,7 +52,12 @@ public class StatementGenerator {
 		log.trace("Generate SELECT statement for slice query");
 		EntityMeta meta = sliceQuery.getMeta();
 
-		Select select = generateSelectEntityInternal(meta);
+		Select select;
+		if (sliceQuery.hasFetchProperties()) {
+			select = generateSelectPropertiesInternal(meta, sliceQuery.getFetchProperties());
+		} else {
+			select = generateSelectEntityInternal(meta);
+		}
 		select = select.limit(limit);
 		if (sliceQuery.getCQLOrdering() != null) {
 			select.orderBy(sliceQuery.getCQLOrdering());
@@ -61,6 +66,25 @@ public class StatementGenerator {
 		return sliceQueryGenerator.generateWhereClauseForSelectSliceQuery(sliceQuery, select);
 	}
 
+	public RegularStatementWrapper generateCountSliceQuery(CQLSliceQuery<?> sliceQuery, int limit) {
+
+		log.trace("Generate SELECT COUNT statement for slice query");
+		EntityMeta meta = sliceQuery.getMeta();
+
+		Select select = select().countAll().from(meta.getTableName()).limit(limit);
+		return sliceQueryGenerator.generateWhereClauseForSelectSliceQuery(sliceQuery, select);
+	}
+
+	public RegularStatementWrapper generateSelectSliceKeysQuery(CQLSliceQuery<?> sliceQuery, int limit, int batchSize) {
+
+		log.trace("Generate SELECT statement on first primary key component for slice query");
+		EntityMeta meta = sliceQuery.getMeta();
+
+		Select select = select().column(sliceQuery.getComponentNames().get(0)).from(meta.getTableName()).limit(limit);
+		select.setFetchSize(batchSize);
+		return sliceQueryGenerator.generateWhereClauseForSelectSliceQuery(sliceQuery, select);
+	}
+
 	public RegularStatementWrapper generateRemoveSliceQuery(CQLSliceQuery<?> sliceQuery) {
 
 		log.trace("Generate DELETE statement for slice query");
@@ -76,6 +100,25 @@ public class StatementGenerator {
 		return select;
 	}
 
+	/**
+	 * SELECT of clustered entities sharing the same partition and leading clustering components, with an IN clause
+	 * on the last clustering component
+	 */
+	public RegularStatementWrapper generateSelectEntitiesByLastComponentIn(EntityMeta entityMeta,
+			List<Object> fixedComponents, List<Object> lastComponents,
+			com.datastax.driver.core.ConsistencyLevel consistencyLevel) {
+		log.trace("Generate SELECT statement for entity class {} with IN clause on last clustering component",
+				entityMeta.getClassName());
+		final List<String> componentNames = entityMeta.getIdMeta().getComponentNames();
+		final Select.Where where = generateSelectEntityInternal(entityMeta).where();
+		for (int i = 0; i < fixedComponents.size(); i++) {
+			where.and(eq(componentNames.get(i), fixedComponents.get(i)));
+		}
+		where.and(in(componentNames.get(fixedComponents.size()), lastComponents.toArray()));
+		final Object[] boundValues = ArrayUtils.addAll(fixedComponents.toArray(), lastComponents.toArray());
+		return new RegularStatementWrapper(where, boundValues, consistencyLevel);
+	}
+
 	protected Select generateSelectEntityInternal(EntityMeta entityMeta) {
 
 		log.trace("Generate SELECT statement for entity class {}", entityMeta.getClassName());
@@ -92,6 +135,20 @@ public class StatementGenerator {
 		return select.from(entityMeta.getTableName());
 	}
 
+	protected Select generateSelectPropertiesInternal(EntityMeta entityMeta, List<PropertyMeta> pms) {
+
+		log.trace("Generate SELECT statement for properties {} of entity class {}", pms, entityMeta.getClassName());
+
+		Selection select = select();
+
+		generateSelectForPrimaryKey(entityMeta.getIdMeta(), select);
+
+		for (PropertyMeta pm : pms) {
+			select.column(pm.getPropertyName());
+		}
+		return select.from(entityMeta.getTableName());
+	}
+
 	public Pair<Insert, Object[]> generateInsert(Object entity, EntityMeta entityMeta) {
 		PropertyMeta idMeta = entityMeta.getIdMeta();
 		Insert insert = insertInto(entityMeta.getTableName());
@@ -134,6 +191,28 @@ public class StatementGenerator {
 		return Pair.create(pair.left, boundValues);
 	}
 
+	public Pair<Update.Where, Object[]> generateUpdateFields(Object primaryKey, EntityMeta entityMeta,
+			List<PropertyMeta> pms, List<Object> encodedValues) {
+		log.trace("Generate UPDATE statement for entity class {} and properties {} with already encoded values",
+				entityMeta.getClassName(), pms);
+		Update update = update(entityMeta.getTableName());
+
+		Assignments assignments = null;
+		for (int i = 0; i < pms.size(); i++) {
+			Object value = encodedValues.get(i);
+			if (i == 0) {
+				assignments = update.with(set(pms.get(i).getPropertyName(), value));
+			} else {
+				assignments.and(set(pms.get(i).getPropertyName(), value));
+			}
+		}
+		final Pair<Update.Where, Object[]> pair = generateWhereClauseForPrimaryKey(primaryKey, entityMeta.getIdMeta(),
+				assignments);
+
+		final Object[] boundValues = ArrayUtils.addAll(encodedValues.toArray(), pair.right);
+		return Pair.create(pair.left, boundValues);
+	}
+
     public Pair<Update.Where,Object[]> generateCollectionAndMapUpdateOperation(DirtyCheckChangeSet changeSet, Object entity,EntityMeta meta) {
 
         final Assignments with = update(meta.getTableName()).with();
@@ -189,9 +268,14 @@ public class StatementGenerator {
 
 	private Pair<Update.Where, Object[]> generateWhereClauseForUpdate(Object entity, PropertyMeta idMeta,
 			Assignments update) {
+		Object primaryKey = idMeta.getPrimaryKey(entity);
+		return generateWhereClauseForPrimaryKey(primaryKey, idMeta, update);
+	}
+
+	private Pair<Update.Where, Object[]> generateWhereClauseForPrimaryKey(Object primaryKey, PropertyMeta idMeta,
+			Assignments update) {
 		Update.Where where = null;
 		Object[] boundValues;
-		Object primaryKey = idMeta.getPrimaryKey(entity);
 		if (idMeta.isEmbeddedId()) {
 			List<String> componentNames = idMeta.getComponentNames();
 			List<Object> encodedComponents = idMeta.encodeToComponents(primaryKey);
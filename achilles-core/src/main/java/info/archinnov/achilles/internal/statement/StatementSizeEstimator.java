@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.statement;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.Statement;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+
+/**
+ * Estimate the serialized size of a statement inside a batch, as defined by the native protocol: kind of
+ * statement, query string or prepared statement id, then each bound value prefixed by its length.
+ * <br/>
+ * The estimation is computed from the bound values kept by the statement wrapper and is not meant to be exact
+ */
+public class StatementSizeEstimator {
+
+    private static final int STATEMENT_HEADER_SIZE = 1 + 2;
+    private static final int PREPARED_ID_SIZE = 2 + 16;
+    private static final int LONG_STRING_HEADER_SIZE = 4;
+    private static final int VALUE_HEADER_SIZE = 4;
+    private static final int COLLECTION_HEADER_SIZE = 2;
+    private static final int ELEMENT_HEADER_SIZE = 2;
+
+    public long estimate(AbstractStatementWrapper statementWrapper) {
+        long size = STATEMENT_HEADER_SIZE;
+        final Statement statement = statementWrapper.getStatement();
+        if (statement instanceof BoundStatement) {
+            size += PREPARED_ID_SIZE;
+        } else if (statement instanceof RegularStatement) {
+            size += LONG_STRING_HEADER_SIZE + utf8Length(((RegularStatement) statement).getQueryString());
+        }
+        for (Object value : statementWrapper.getValues()) {
+            size += VALUE_HEADER_SIZE + sizeOf(value);
+        }
+        return size;
+    }
+
+    long sizeOf(Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof ByteBuffer) {
+            return ((ByteBuffer) value).remaining();
+        } else if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        } else if (value instanceof String) {
+            return utf8Length((String) value);
+        } else if (value instanceof Long || value instanceof Double || value instanceof Date) {
+            return 8;
+        } else if (value instanceof Integer || value instanceof Float) {
+            return 4;
+        } else if (value instanceof Boolean) {
+            return 1;
+        } else if (value instanceof UUID) {
+            return 16;
+        } else if (value instanceof BigInteger) {
+            return ((BigInteger) value).bitLength() / 8 + 1;
+        } else if (value instanceof BigDecimal) {
+            return 4 + ((BigDecimal) value).unscaledValue().bitLength() / 8 + 1;
+        } else if (value instanceof InetAddress) {
+            return ((InetAddress) value).getAddress().length;
+        } else if (value instanceof Collection) {
+            long size = COLLECTION_HEADER_SIZE;
+            for (Object element : (Collection<?>) value) {
+                size += ELEMENT_HEADER_SIZE + sizeOf(element);
+            }
+            return size;
+        } else if (value instanceof Map) {
+            long size = COLLECTION_HEADER_SIZE;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += ELEMENT_HEADER_SIZE + sizeOf(entry.getKey()) + ELEMENT_HEADER_SIZE + sizeOf(entry.getValue());
+            }
+            return size;
+        } else if (value instanceof Enum) {
+            return ((Enum<?>) value).name().length();
+        } else {
+            return utf8Length(value.toString());
+        }
+    }
+
+    private long utf8Length(String string) {
+        long length = 0;
+        for (int i = 0; i < string.length(); i++) {
+            final char c = string.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -73,6 +73,26 @@ public class CacheManager {
         return ps;
     }
 
+    public PreparedStatement getCacheForFieldsSelect(Session session,
+                                                     Cache<StatementCacheKey, PreparedStatement> dynamicPSCache,
+                                                     PersistenceContext context,
+                                                     List<PropertyMeta> pms) {
+
+        log.trace("Get cache for SELECT properties {} from entity class {}", pms, context.getEntityClass());
+
+        Class<?> entityClass = context.getEntityClass();
+        EntityMeta entityMeta = context.getEntityMeta();
+        Set<String> fields = new HashSet<>(Collections2.transform(pms, propertyExtractor));
+        StatementCacheKey cacheKey = new StatementCacheKey(CacheType.SELECT_FIELDS, fields, entityClass);
+        PreparedStatement ps = dynamicPSCache.getIfPresent(cacheKey);
+        if (ps == null) {
+            ps = generator.prepareSelectFieldsPS(session, entityMeta, pms);
+            dynamicPSCache.put(cacheKey, ps);
+            displayCacheStatistics(dynamicPSCache);
+        }
+        return ps;
+    }
+
     public PreparedStatement getCacheForFieldsUpdate(Session session,
                                                      Cache<StatementCacheKey, PreparedStatement> dynamicPSCache,
                                                      PersistenceContext context,
@@ -116,6 +136,22 @@ public class CacheManager {
         return ps;
     }
 
+    public PreparedStatement getCacheForQueryString(Session session,
+                                                    Cache<StatementCacheKey, PreparedStatement> dynamicPSCache,
+                                                    CacheType cacheType, Class<?> entityClass, String queryString) {
+
+        log.trace("Get cache for {} query {} on entity class {}", cacheType.name(), queryString, entityClass);
+
+        StatementCacheKey cacheKey = new StatementCacheKey(cacheType, Sets.newHashSet(queryString), entityClass);
+        PreparedStatement ps = dynamicPSCache.getIfPresent(cacheKey);
+        if (ps == null) {
+            ps = session.prepare(queryString);
+            dynamicPSCache.put(cacheKey, ps);
+            displayCacheStatistics(dynamicPSCache);
+        }
+        return ps;
+    }
+
     private Set<String> extractClusteredFieldsIfNecessary(PropertyMeta pm) {
         if (pm.isEmbeddedId()) {
             return new HashSet<>(pm.getComponentNames());
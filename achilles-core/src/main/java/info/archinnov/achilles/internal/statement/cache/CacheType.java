@@ -29,5 +29,5 @@ public enum CacheType {
     REMOVE_FROM_LIST_AT_INDEX,
     ADD_TO_MAP,
     REMOVE_FROM_MAP,
-    SELECT_FIELD, UPDATE_FIELDS;
+    SELECT_FIELD, SELECT_FIELDS, UPDATE_FIELDS, SELECT_PROJECTION, SELECT_INDEX;
     }
@@ -16,12 +16,14 @@
 package info.archinnov.achilles.internal.statement.prepared;
 
 import static info.archinnov.achilles.internal.consistency.ConsistencyConverter.getCQLLevel;
+import info.archinnov.achilles.internal.context.StageTimers;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType;
 import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
 import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
 import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.StageBreakdown.Stage;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -40,164 +42,233 @@ public class PreparedStatementBinder {
 
 	public BoundStatementWrapper bindForInsert(PreparedStatement ps, EntityMeta entityMeta, Object entity,
 			ConsistencyLevel consistencyLevel, Optional<Integer> ttlO) {
-		log.trace("Bind prepared statement {} for insert of entity {}", ps.getQueryString(), entity);
-		List<Object> values = new ArrayList<>();
-		Object primaryKey = entityMeta.getPrimaryKey(entity);
-		values.addAll(bindPrimaryKey(primaryKey, entityMeta.getIdMeta()));
-
-		List<PropertyMeta> fieldMetas = new ArrayList<>(entityMeta.getColumnsMetaToInsert());
-
-		for (PropertyMeta pm : fieldMetas) {
-			Object value = pm.getAndEncodeValueForCassandra(entity);
-			values.add(value);
+		final long stageStart = StageTimers.start(Stage.BIND);
+		try {
+			log.trace("Bind prepared statement {} for insert of entity {}", ps.getQueryString(), entity);
+			List<Object> values = new ArrayList<>();
+			Object primaryKey = entityMeta.getPrimaryKey(entity);
+			values.addAll(bindPrimaryKey(primaryKey, entityMeta.getIdMeta()));
+
+			List<PropertyMeta> fieldMetas = new ArrayList<>(entityMeta.getColumnsMetaToInsert());
+
+			for (PropertyMeta pm : fieldMetas) {
+				Object value = pm.getAndEncodeValueForCassandra(entity);
+				values.add(value);
+			}
+
+			// TTL or default value 0
+			values.add(ttlO.or(0));
+			BoundStatement bs = ps.bind(values.toArray());
+			return new BoundStatementWrapper(bs, values.toArray(), getCQLLevel(consistencyLevel));
+		} finally {
+			StageTimers.stop(Stage.BIND, stageStart);
 		}
-
-		// TTL or default value 0
-		values.add(ttlO.or(0));
-		BoundStatement bs = ps.bind(values.toArray());
-		return new BoundStatementWrapper(bs, values.toArray(), getCQLLevel(consistencyLevel));
 	}
 
 	public BoundStatementWrapper bindForUpdate(PreparedStatement ps, EntityMeta entityMeta, List<PropertyMeta> pms,
 			Object entity, ConsistencyLevel consistencyLevel, Optional<Integer> ttlO) {
-		log.trace("Bind prepared statement {} for properties {} update of entity {}", ps.getQueryString(), pms, entity);
-		List<Object> values = new ArrayList<>();
-		// TTL or default value 0
-		values.add(ttlO.or(0));
-		for (PropertyMeta pm : pms) {
-			Object value = pm.getAndEncodeValueForCassandra(entity);
-			values.add(value);
+		final long stageStart = StageTimers.start(Stage.BIND);
+		try {
+			log.trace("Bind prepared statement {} for properties {} update of entity {}", ps.getQueryString(), pms, entity);
+			List<Object> values = new ArrayList<>();
+			// TTL or default value 0
+			values.add(ttlO.or(0));
+			for (PropertyMeta pm : pms) {
+				Object value = pm.getAndEncodeValueForCassandra(entity);
+				values.add(value);
+			}
+			Object primaryKey = entityMeta.getPrimaryKey(entity);
+			values.addAll(bindPrimaryKey(primaryKey, entityMeta.getIdMeta()));
+			BoundStatement bs = ps.bind(values.toArray());
+
+			return new BoundStatementWrapper(bs, values.toArray(), getCQLLevel(consistencyLevel));
+		} finally {
+			StageTimers.stop(Stage.BIND, stageStart);
 		}
-		Object primaryKey = entityMeta.getPrimaryKey(entity);
-		values.addAll(bindPrimaryKey(primaryKey, entityMeta.getIdMeta()));
-		BoundStatement bs = ps.bind(values.toArray());
+	}
 
-		return new BoundStatementWrapper(bs, values.toArray(), getCQLLevel(consistencyLevel));
+	public BoundStatementWrapper bindForUpdate(PreparedStatement ps, EntityMeta entityMeta, List<PropertyMeta> pms,
+			List<Object> encodedValues, Object primaryKey, ConsistencyLevel consistencyLevel, Optional<Integer> ttlO) {
+		final long stageStart = StageTimers.start(Stage.BIND);
+		try {
+			log.trace("Bind prepared statement {} for properties {} update with already encoded values {}",
+					ps.getQueryString(), pms, encodedValues);
+			List<Object> values = new ArrayList<>();
+			// TTL or default value 0
+			values.add(ttlO.or(0));
+			values.addAll(encodedValues);
+			values.addAll(bindPrimaryKey(primaryKey, entityMeta.getIdMeta()));
+			BoundStatement bs = ps.bind(values.toArray());
+
+			return new BoundStatementWrapper(bs, values.toArray(), getCQLLevel(consistencyLevel));
+		} finally {
+			StageTimers.stop(Stage.BIND, stageStart);
+		}
 	}
 
     public BoundStatementWrapper bindForCollectionAndMapUpdate(PreparedStatement ps, EntityMeta entityMeta, Object entity,
             DirtyCheckChangeSet changeSet,
             ConsistencyLevel consistencyLevel, Optional<Integer> ttlO) {
-        log.trace("Bind prepared statement {} for collection/map update of entity {}", ps.getQueryString(), entity);
-        List<Object> values = new ArrayList<>();
-        final CollectionAndMapChangeType changeType = changeSet.getChangeType();
-        // TTL or default value 0
-        values.add(ttlO.or(0));
-        switch (changeType) {
-            case ASSIGN_VALUE_TO_LIST:
-                values.add(changeSet.getEncodedListChanges());
-                break;
-            case ASSIGN_VALUE_TO_SET:
-                values.add(changeSet.getEncodedSetChanges());
-                break;
-            case ASSIGN_VALUE_TO_MAP:
-                values.add(changeSet.getEncodedMapChanges());
-                break;
-            case REMOVE_COLLECTION_OR_MAP:
-                values.add(null);
-                break;
-            case ADD_TO_SET:
-            case REMOVE_FROM_SET:
-                values.add(changeSet.getEncodedSetChanges());
-                break;
-            case APPEND_TO_LIST:
-            case PREPEND_TO_LIST:
-            case REMOVE_FROM_LIST:
-                values.add(changeSet.getEncodedListChanges());
-                break;
-            case SET_TO_LIST_AT_INDEX:
-                throw new IllegalStateException("Cannot bind statement to set element at index for list");
-            case REMOVE_FROM_LIST_AT_INDEX:
-                throw new IllegalStateException("Cannot bind statement to remove element at index for list");
-            case ADD_TO_MAP:
-                values.add(changeSet.getEncodedMapChanges());
-                break;
-            case REMOVE_FROM_MAP:
-                values.add(changeSet.getEncodedMapChanges().keySet().iterator().next());
-                values.add(null);
-                break;
+        final long stageStart = StageTimers.start(Stage.BIND);
+        try {
+            log.trace("Bind prepared statement {} for collection/map update of entity {}", ps.getQueryString(), entity);
+            List<Object> values = new ArrayList<>();
+            final CollectionAndMapChangeType changeType = changeSet.getChangeType();
+            // TTL or default value 0
+            values.add(ttlO.or(0));
+            switch (changeType) {
+                case ASSIGN_VALUE_TO_LIST:
+                    values.add(changeSet.getEncodedListChanges());
+                    break;
+                case ASSIGN_VALUE_TO_SET:
+                    values.add(changeSet.getEncodedSetChanges());
+                    break;
+                case ASSIGN_VALUE_TO_MAP:
+                    values.add(changeSet.getEncodedMapChanges());
+                    break;
+                case REMOVE_COLLECTION_OR_MAP:
+                    values.add(null);
+                    break;
+                case ADD_TO_SET:
+                case REMOVE_FROM_SET:
+                    values.add(changeSet.getEncodedSetChanges());
+                    break;
+                case APPEND_TO_LIST:
+                case PREPEND_TO_LIST:
+                case REMOVE_FROM_LIST:
+                    values.add(changeSet.getEncodedListChanges());
+                    break;
+                case SET_TO_LIST_AT_INDEX:
+                    throw new IllegalStateException("Cannot bind statement to set element at index for list");
+                case REMOVE_FROM_LIST_AT_INDEX:
+                    throw new IllegalStateException("Cannot bind statement to remove element at index for list");
+                case ADD_TO_MAP:
+                    values.add(changeSet.getEncodedMapChanges());
+                    break;
+                case REMOVE_FROM_MAP:
+                    values.add(changeSet.getEncodedMapChanges().keySet().iterator().next());
+                    values.add(null);
+                    break;
+            }
+
+            Object primaryKey = entityMeta.getPrimaryKey(entity);
+            values.addAll(bindPrimaryKey(primaryKey, entityMeta.getIdMeta()));
+            BoundStatement bs = ps.bind(values.toArray());
+
+            return new BoundStatementWrapper(bs, values.toArray(), getCQLLevel(consistencyLevel));
+        } finally {
+            StageTimers.stop(Stage.BIND, stageStart);
         }
-
-        Object primaryKey = entityMeta.getPrimaryKey(entity);
-        values.addAll(bindPrimaryKey(primaryKey, entityMeta.getIdMeta()));
-        BoundStatement bs = ps.bind(values.toArray());
-
-        return new BoundStatementWrapper(bs, values.toArray(), getCQLLevel(consistencyLevel));
     }
 
 
 	public BoundStatementWrapper bindStatementWithOnlyPKInWhereClause(PreparedStatement ps, EntityMeta entityMeta,
 			Object primaryKey, ConsistencyLevel consistencyLevel) {
-		log.trace("Bind prepared statement {} with primary key {}", ps.getQueryString(), primaryKey);
-		PropertyMeta idMeta = entityMeta.getIdMeta();
-		List<Object> values = bindPrimaryKey(primaryKey, idMeta);
-
-		BoundStatement bs = ps.bind(values.toArray());
-		return new BoundStatementWrapper(bs, values.toArray(), getCQLLevel(consistencyLevel));
+		final long stageStart = StageTimers.start(Stage.BIND);
+		try {
+			log.trace("Bind prepared statement {} with primary key {}", ps.getQueryString(), primaryKey);
+			PropertyMeta idMeta = entityMeta.getIdMeta();
+			List<Object> values = bindPrimaryKey(primaryKey, idMeta);
+
+			BoundStatement bs = ps.bind(values.toArray());
+			return new BoundStatementWrapper(bs, values.toArray(), getCQLLevel(consistencyLevel));
+		} finally {
+			StageTimers.stop(Stage.BIND, stageStart);
+		}
 	}
 
 	public BoundStatementWrapper bindForSimpleCounterIncrementDecrement(PreparedStatement ps, EntityMeta entityMeta,
 			PropertyMeta pm, Object primaryKey, Long increment, ConsistencyLevel consistencyLevel) {
-		log.trace("Bind prepared statement {} for simple counter increment of {} using primary key {} and value {}",
-				ps.getQueryString(), pm, primaryKey, increment);
-		Object[] boundValues = ArrayUtils.add(extractValuesForSimpleCounterBinding(entityMeta, pm, primaryKey), 0,
-				increment);
-
-		BoundStatement bs = ps.bind(boundValues);
-		return new BoundStatementWrapper(bs, boundValues, getCQLLevel(consistencyLevel));
+		final long stageStart = StageTimers.start(Stage.BIND);
+		try {
+			log.trace("Bind prepared statement {} for simple counter increment of {} using primary key {} and value {}",
+					ps.getQueryString(), pm, primaryKey, increment);
+			Object[] boundValues = ArrayUtils.add(extractValuesForSimpleCounterBinding(entityMeta, pm, primaryKey), 0,
+					increment);
+
+			BoundStatement bs = ps.bind(boundValues);
+			return new BoundStatementWrapper(bs, boundValues, getCQLLevel(consistencyLevel));
+		} finally {
+			StageTimers.stop(Stage.BIND, stageStart);
+		}
 	}
 
 	public BoundStatementWrapper bindForSimpleCounterSelect(PreparedStatement ps, EntityMeta entityMeta,
 			PropertyMeta pm, Object primaryKey, ConsistencyLevel consistencyLevel) {
-		log.trace("Bind prepared statement {} for simple counter read of {} using primary key {}", ps.getQueryString(),
-				pm, primaryKey);
-		Object[] boundValues = extractValuesForSimpleCounterBinding(entityMeta, pm, primaryKey);
-		BoundStatement bs = ps.bind(boundValues);
-		return new BoundStatementWrapper(bs, boundValues, getCQLLevel(consistencyLevel));
+		final long stageStart = StageTimers.start(Stage.BIND);
+		try {
+			log.trace("Bind prepared statement {} for simple counter read of {} using primary key {}", ps.getQueryString(),
+					pm, primaryKey);
+			Object[] boundValues = extractValuesForSimpleCounterBinding(entityMeta, pm, primaryKey);
+			BoundStatement bs = ps.bind(boundValues);
+			return new BoundStatementWrapper(bs, boundValues, getCQLLevel(consistencyLevel));
+		} finally {
+			StageTimers.stop(Stage.BIND, stageStart);
+		}
 	}
 
 	public BoundStatementWrapper bindForSimpleCounterDelete(PreparedStatement ps, EntityMeta entityMeta,
 			PropertyMeta pm, Object primaryKey, ConsistencyLevel consistencyLevel) {
-		log.trace("Bind prepared statement {} for simple counter delete for {} using primary key {}",
-				ps.getQueryString(), pm, primaryKey);
-		Object[] boundValues = extractValuesForSimpleCounterBinding(entityMeta, pm, primaryKey);
-		BoundStatement bs = ps.bind(boundValues);
-		return new BoundStatementWrapper(bs, boundValues, getCQLLevel(consistencyLevel));
+		final long stageStart = StageTimers.start(Stage.BIND);
+		try {
+			log.trace("Bind prepared statement {} for simple counter delete for {} using primary key {}",
+					ps.getQueryString(), pm, primaryKey);
+			Object[] boundValues = extractValuesForSimpleCounterBinding(entityMeta, pm, primaryKey);
+			BoundStatement bs = ps.bind(boundValues);
+			return new BoundStatementWrapper(bs, boundValues, getCQLLevel(consistencyLevel));
+		} finally {
+			StageTimers.stop(Stage.BIND, stageStart);
+		}
 	}
 
 	public BoundStatementWrapper bindForClusteredCounterIncrementDecrement(PreparedStatement ps, EntityMeta entityMeta,
 			Object primaryKey, Long increment, ConsistencyLevel consistencyLevel) {
-		log.trace(
-				"Bind prepared statement {} for clustered counter increment/decrement for {} using primary key {} and value {}",
-				ps.getQueryString(), entityMeta, primaryKey, increment);
+		final long stageStart = StageTimers.start(Stage.BIND);
+		try {
+			log.trace(
+					"Bind prepared statement {} for clustered counter increment/decrement for {} using primary key {} and value {}",
+					ps.getQueryString(), entityMeta, primaryKey, increment);
 
-		List<Object> primaryKeys = bindPrimaryKey(primaryKey, entityMeta.getIdMeta());
-		Object[] keys = ArrayUtils.add(primaryKeys.toArray(new Object[primaryKeys.size()]), 0, increment);
+			List<Object> primaryKeys = bindPrimaryKey(primaryKey, entityMeta.getIdMeta());
+			Object[] keys = ArrayUtils.add(primaryKeys.toArray(new Object[primaryKeys.size()]), 0, increment);
 
-		BoundStatement bs = ps.bind(keys);
+			BoundStatement bs = ps.bind(keys);
 
-		return new BoundStatementWrapper(bs, keys, getCQLLevel(consistencyLevel));
+			return new BoundStatementWrapper(bs, keys, getCQLLevel(consistencyLevel));
+		} finally {
+			StageTimers.stop(Stage.BIND, stageStart);
+		}
 	}
 
 	public BoundStatementWrapper bindForClusteredCounterSelect(PreparedStatement ps, EntityMeta entityMeta,
 			Object primaryKey, ConsistencyLevel consistencyLevel) {
-		log.trace("Bind prepared statement {} for clustered counter read for {} using primary key {}",
-				ps.getQueryString(), entityMeta, primaryKey);
-		List<Object> primaryKeys = bindPrimaryKey(primaryKey, entityMeta.getIdMeta());
-		Object[] boundValues = primaryKeys.toArray(new Object[primaryKeys.size()]);
-
-		BoundStatement bs = ps.bind(boundValues);
-		return new BoundStatementWrapper(bs, boundValues, getCQLLevel(consistencyLevel));
+		final long stageStart = StageTimers.start(Stage.BIND);
+		try {
+			log.trace("Bind prepared statement {} for clustered counter read for {} using primary key {}",
+					ps.getQueryString(), entityMeta, primaryKey);
+			List<Object> primaryKeys = bindPrimaryKey(primaryKey, entityMeta.getIdMeta());
+			Object[] boundValues = primaryKeys.toArray(new Object[primaryKeys.size()]);
+
+			BoundStatement bs = ps.bind(boundValues);
+			return new BoundStatementWrapper(bs, boundValues, getCQLLevel(consistencyLevel));
+		} finally {
+			StageTimers.stop(Stage.BIND, stageStart);
+		}
 	}
 
 	public BoundStatementWrapper bindForClusteredCounterDelete(PreparedStatement ps, EntityMeta entityMeta,
 			Object primaryKey, ConsistencyLevel consistencyLevel) {
-		log.trace("Bind prepared statement {} for simple counter delete for {} using primary key {}",
-				ps.getQueryString(), entityMeta, primaryKey);
-		List<Object> primaryKeys = bindPrimaryKey(primaryKey, entityMeta.getIdMeta());
-		Object[] boundValues = primaryKeys.toArray(new Object[primaryKeys.size()]);
-		BoundStatement bs = ps.bind(boundValues);
-		return new BoundStatementWrapper(bs, boundValues, getCQLLevel(consistencyLevel));
+		final long stageStart = StageTimers.start(Stage.BIND);
+		try {
+			log.trace("Bind prepared statement {} for simple counter delete for {} using primary key {}",
+					ps.getQueryString(), entityMeta, primaryKey);
+			List<Object> primaryKeys = bindPrimaryKey(primaryKey, entityMeta.getIdMeta());
+			Object[] boundValues = primaryKeys.toArray(new Object[primaryKeys.size()]);
+			BoundStatement bs = ps.bind(boundValues);
+			return new BoundStatementWrapper(bs, boundValues, getCQLLevel(consistencyLevel));
+		} finally {
+			StageTimers.stop(Stage.BIND, stageStart);
+		}
 	}
 
 	private List<Object> bindPrimaryKey(Object primaryKey, PropertyMeta idMeta) {
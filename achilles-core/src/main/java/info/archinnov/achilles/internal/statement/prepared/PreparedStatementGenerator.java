@@ -78,6 +78,20 @@ public class PreparedStatementGenerator {
 		}
 	}
 
+	public PreparedStatement prepareSelectFieldsPS(Session session, EntityMeta entityMeta, List<PropertyMeta> pms) {
+		log.trace("Generate prepared statement for SELECT properties {}", pms);
+
+		PropertyMeta idMeta = entityMeta.getIdMeta();
+
+		Selection select = prepareSelectField(idMeta, select());
+		for (PropertyMeta pm : pms) {
+			select = prepareSelectField(pm, select);
+		}
+		Select from = select.from(entityMeta.getTableName());
+		RegularStatement statement = prepareWhereClauseForSelect(idMeta, from);
+		return session.prepare(statement.getQueryString());
+	}
+
 	public PreparedStatement prepareUpdateFields(Session session, EntityMeta entityMeta, List<PropertyMeta> pms) {
 
 		log.trace("Generate prepared statement for UPDATE properties {}", pms);
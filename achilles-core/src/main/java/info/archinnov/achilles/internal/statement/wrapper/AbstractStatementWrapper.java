@@ -17,6 +17,7 @@
 package info.archinnov.achilles.internal.statement.wrapper;
 
 import com.datastax.driver.core.BatchStatement;
+import info.archinnov.achilles.internal.context.CoalescingDescriptor;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
 import java.util.Arrays;
@@ -37,6 +38,10 @@ public abstract class AbstractStatementWrapper {
 
 	protected Object[] values = new Object[] {};
 
+	protected CoalescingDescriptor coalescingDescriptor;
+
+	protected Object partitionKey;
+
 	protected AbstractStatementWrapper(Object[] values) {
 		if (ArrayUtils.isNotEmpty(values))
 			this.values = values;
@@ -46,6 +51,25 @@ public abstract class AbstractStatementWrapper {
 		return values;
 	}
 
+	public CoalescingDescriptor getCoalescingDescriptor() {
+		return coalescingDescriptor;
+	}
+
+	public void setCoalescingDescriptor(CoalescingDescriptor coalescingDescriptor) {
+		this.coalescingDescriptor = coalescingDescriptor;
+	}
+
+	/**
+	 * @return table and encoded partition key written by the statement, null when it was not pushed for an entity
+	 */
+	public Object getPartitionKey() {
+		return partitionKey;
+	}
+
+	public void setPartitionKey(Object partitionKey) {
+		this.partitionKey = partitionKey;
+	}
+
 	public abstract ResultSet execute(Session session);
 
 	public abstract Statement getStatement();
@@ -24,17 +24,32 @@ public class SimpleStatementWrapper extends AbstractStatementWrapper {
 
 	private SimpleStatement simpleStatement;
 
+	private int fetchSize;
+
 	public SimpleStatementWrapper(String query, Object[] values) {
 		super(values);
-		this.simpleStatement = new SimpleStatement(query);
+		this.simpleStatement = values != null && values.length > 0 ? new SimpleStatement(query, values)
+				: new SimpleStatement(query);
 	}
 
 	@Override
 	public ResultSet execute(Session session) {
 		logDMLStatement("");
+		if (fetchSize > 0) {
+			// the result set keeps this statement to fetch the next pages with its current fetch size
+			simpleStatement.setFetchSize(fetchSize);
+			return session.execute(simpleStatement);
+		}
 		return session.execute(simpleStatement.getQueryString(), values);
 	}
 
+	/**
+	 * Number of rows fetched per page when iterating over the results, 0 for the driver default
+	 */
+	public void setFetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+	}
+
 	@Override
 	public SimpleStatement getStatement() {
 		return simpleStatement;
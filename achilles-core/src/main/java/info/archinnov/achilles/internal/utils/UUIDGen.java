@@ -27,6 +27,7 @@ import java.util.HashSet;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 /**
@@ -41,7 +42,9 @@ public class UUIDGen
     // placement of this singleton is important.  It needs to be instantiated *AFTER* the other statics.
     private static final UUIDGen instance = new UUIDGen();
 
-    private long lastNanos;
+    private final AtomicLong lastNanos = new AtomicLong();
+
+    private final AtomicLong lastMicros = new AtomicLong();
 
     private UUIDGen()
     {
@@ -56,7 +59,25 @@ public class UUIDGen
      */
     public static UUID getTimeUUID()
     {
-        return new UUID(instance.createTimeSafe(), clockSeqAndNode);
+        return new UUID(createTime(instance.reserveNanos(1)), clockSeqAndNode);
+    }
+
+    /**
+     * Creates a block of type 1 UUIDs, reserved at once. The UUIDs are distinct and ordered by time.
+     *
+     * @param count number of UUIDs to create
+     * @return UUID instances
+     */
+    public static UUID[] getTimeUUIDs(int count)
+    {
+        final UUID[] uuids = new UUID[count];
+        if (count > 0)
+        {
+            final long firstNanos = instance.reserveNanos(count);
+            for (int i = 0; i < count; i++)
+                uuids[i] = new UUID(createTime(firstNanos + i), clockSeqAndNode);
+        }
+        return uuids;
     }
 
 
@@ -71,9 +92,27 @@ public class UUIDGen
         return (timestamp / 10) + START_EPOCH * 1000 + remainder;
     }
 
+    /**
+     * @return microseconds since Unix epoch, strictly greater than any value previously returned
+     */
     public static long increasingMicroTimestamp() {
-        final UUID timeUUID = getTimeUUID();
-        return microsTimestamp(timeUUID);
+        return instance.reserveMicros(1);
+    }
+
+    /**
+     * Reserve a block of strictly increasing timestamps at once.
+     *
+     * @param count number of timestamps to reserve
+     * @return microseconds since Unix epoch, in increasing order
+     */
+    public static long[] increasingMicroTimestamps(int count) {
+        final long[] timestamps = new long[count];
+        if (count > 0) {
+            final long firstMicros = instance.reserveMicros(count);
+            for (int i = 0; i < count; i++)
+                timestamps[i] = firstMicros + i;
+        }
+        return timestamps;
     }
 
 
@@ -88,17 +127,28 @@ public class UUIDGen
         return lsb;
     }
 
-    // needs to return two different values for the same when.
-    // we can generate at most 10k UUIDs per ms.
-    private synchronized long createTimeSafe()
+    // needs to return different values for the same when.
+    // beyond 10k UUIDs per ms, the generated times run ahead of the clock until it catches up.
+    private long reserveNanos(int count)
+    {
+        return reserve(lastNanos, (System.currentTimeMillis() - START_EPOCH) * 10000, count);
+    }
+
+    private long reserveMicros(int count)
     {
-        long nanosSince = (System.currentTimeMillis() - START_EPOCH) * 10000;
-        if (nanosSince > lastNanos)
-            lastNanos = nanosSince;
-        else
-            nanosSince = ++lastNanos;
+        return reserve(lastMicros, System.currentTimeMillis() * 1000, count);
+    }
 
-        return createTime(nanosSince);
+    // lock-free: returns the first value of a block of count values, all greater than the previously reserved ones
+    private static long reserve(AtomicLong last, long now, int count)
+    {
+        while (true)
+        {
+            final long previous = last.get();
+            final long first = now > previous ? now : previous + 1;
+            if (last.compareAndSet(previous, first + count - 1))
+                return first;
+        }
     }
 
 
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.iterator;
+
+import static com.datastax.driver.core.QueryOptions.DEFAULT_FETCH_SIZE;
+import info.archinnov.achilles.internal.context.AdaptiveFetchSizer;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+
+/**
+ * Iterate over the rows of a ResultSet while measuring their size, and adjust the fetch size of the statement before
+ * the next page is requested so that pages weigh about the target size of the {@link AdaptiveFetchSizer}.
+ * <br/>
+ * A page ends when as many rows as its fetch size have been read, or when no row is left without fetching. Rows are
+ * counted because, with prefetching, the next page is usually appended before the current one is drained.
+ * <br/>
+ * The driver reads the fetch size of the original statement each time it requests a page, so the new size applies
+ * to the next fetch. With prefetching, the next page is already requested when the current one ends and the new size
+ * applies to the page after it. Average row size is smoothed across pages
+ */
+public class AdaptiveFetchRowIterator implements Iterator<Row> {
+
+	private static final Logger log = LoggerFactory.getLogger(AdaptiveFetchRowIterator.class);
+
+	private final Iterator<Row> iterator;
+	private final ResultSet resultSet;
+	private final Statement statement;
+	private final AdaptiveFetchSizer sizer;
+
+	private int pageFetchSize;
+	private long pageBytes;
+	private int pageRows;
+	private double averageRowSize;
+
+	public AdaptiveFetchRowIterator(Iterator<Row> iterator, ResultSet resultSet, Statement statement,
+			AdaptiveFetchSizer sizer) {
+		this.iterator = iterator;
+		this.resultSet = resultSet;
+		this.statement = statement;
+		this.sizer = sizer;
+		this.pageFetchSize = statement.getFetchSize() > 0 ? statement.getFetchSize() : DEFAULT_FETCH_SIZE;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (resultSet.getAvailableWithoutFetching() == 0 && !resultSet.isFullyFetched()) {
+			final long start = System.nanoTime();
+			final boolean hasNext = iterator.hasNext();
+			sizer.recordPageWait(System.nanoTime() - start);
+			return hasNext;
+		}
+		return iterator.hasNext();
+	}
+
+	@Override
+	public Row next() {
+		final Row row = iterator.next();
+		pageBytes += sizeOf(row);
+		pageRows++;
+		if (!resultSet.isFullyFetched()
+				&& (pageRows >= pageFetchSize || resultSet.getAvailableWithoutFetching() == 0)) {
+			adjustFetchSize();
+		}
+		return row;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("Cannot remove row with iterator");
+	}
+
+	private void adjustFetchSize() {
+		final double pageAverage = (double) pageBytes / pageRows;
+		averageRowSize = averageRowSize == 0 ? pageAverage : (averageRowSize + pageAverage) / 2;
+		final int fetchSize = sizer.nextFetchSize(averageRowSize);
+		log.trace("Set fetch size to {} after a page of {} rows weighing {} bytes", fetchSize, pageRows, pageBytes);
+		statement.setFetchSize(fetchSize);
+		pageFetchSize = fetchSize;
+		pageBytes = 0;
+		pageRows = 0;
+	}
+
+	private long sizeOf(Row row) {
+		long size = 0;
+		final int columns = row.getColumnDefinitions().size();
+		for (int i = 0; i < columns; i++) {
+			final ByteBuffer bytes = row.getBytesUnsafe(i);
+			if (bytes != null) {
+				size += bytes.remaining();
+			}
+		}
+		return size;
+	}
+}
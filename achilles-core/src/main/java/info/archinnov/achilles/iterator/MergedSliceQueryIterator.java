@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.iterator;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Function;
+
+/**
+ * K-way merge of the entities of several partitions, each partition iterator being already sorted by clustering
+ * components.
+ * <br/>
+ * The current head of every partition is kept in a heap ordered by its clustering components. A partition iterator is
+ * only advanced when its head is returned, so no more page is fetched from a partition once the global limit is
+ * reached
+ */
+public class MergedSliceQueryIterator<T> implements Iterator<T> {
+
+	private static final Logger log = LoggerFactory.getLogger(MergedSliceQueryIterator.class);
+
+	private final PriorityQueue<PartitionHead<T>> heads;
+	private final Function<T, List<Object>> clusteringsExtractor;
+	private int remaining;
+
+	/**
+	 * @param partitionIterators   one iterator per partition, sorted by clustering components
+	 * @param clusteringsExtractor extract the encoded clustering components of an entity
+	 * @param comparator           ordering of the clustering components
+	 * @param limit                maximum number of merged entities, 0 for no limit
+	 */
+	public MergedSliceQueryIterator(List<? extends Iterator<T>> partitionIterators,
+			Function<T, List<Object>> clusteringsExtractor, final Comparator<List<Object>> comparator, int limit) {
+		this.clusteringsExtractor = clusteringsExtractor;
+		this.remaining = limit > 0 ? limit : Integer.MAX_VALUE;
+		this.heads = new PriorityQueue<>(Math.max(1, partitionIterators.size()), new Comparator<PartitionHead<T>>() {
+			@Override
+			public int compare(PartitionHead<T> head1, PartitionHead<T> head2) {
+				final int comparison = comparator.compare(head1.clusterings, head2.clusterings);
+				// keep entities with same clusterings in partitions order
+				return comparison != 0 ? comparison : Integer.compare(head1.partitionIndex, head2.partitionIndex);
+			}
+		});
+		for (int i = 0; i < partitionIterators.size(); i++) {
+			pushNextHead(partitionIterators.get(i), i);
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		final boolean hasNext = remaining > 0 && !heads.isEmpty();
+		log.trace("Does merged iterator has more element ? {}", hasNext);
+		return hasNext;
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		final PartitionHead<T> head = heads.poll();
+		remaining--;
+		if (remaining > 0) {
+			pushNextHead(head.iterator, head.partitionIndex);
+		}
+		return head.entity;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("Cannot remove clustered entity with iterator");
+	}
+
+	private void pushNextHead(Iterator<T> iterator, int partitionIndex) {
+		if (iterator.hasNext()) {
+			final T entity = iterator.next();
+			heads.add(new PartitionHead<>(iterator, partitionIndex, entity, clusteringsExtractor.apply(entity)));
+		}
+	}
+
+	private static class PartitionHead<T> {
+		private final Iterator<T> iterator;
+		private final int partitionIndex;
+		private final T entity;
+		private final List<Object> clusterings;
+
+		private PartitionHead(Iterator<T> iterator, int partitionIndex, T entity, List<Object> clusterings) {
+			this.iterator = iterator;
+			this.partitionIndex = partitionIndex;
+			this.entity = entity;
+			this.clusterings = clusterings;
+		}
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.iterator;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+/**
+ * Iterate over the rows of a ResultSet, requesting the next page asynchronously as soon as the rows left in the
+ * current page drop to the prefetch threshold. The network round trip then overlaps with the consumption of the
+ * remaining rows instead of blocking once the page is exhausted
+ */
+public class PrefetchingRowIterator implements Iterator<Row> {
+
+	private static final Logger log = LoggerFactory.getLogger(PrefetchingRowIterator.class);
+
+	private final ResultSet resultSet;
+	private final int prefetchThreshold;
+
+	public PrefetchingRowIterator(ResultSet resultSet, int prefetchThreshold) {
+		this.resultSet = resultSet;
+		this.prefetchThreshold = prefetchThreshold;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return !resultSet.isExhausted();
+	}
+
+	@Override
+	public Row next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		if (!resultSet.isFullyFetched() && resultSet.getAvailableWithoutFetching() <= prefetchThreshold) {
+			log.trace("Prefetch next page, {} rows left in current page", resultSet.getAvailableWithoutFetching());
+			// no-op when the next page is already being fetched
+			resultSet.fetchMoreResults();
+		}
+		return resultSet.one();
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("Cannot remove row with iterator");
+	}
+}
@@ -18,24 +18,48 @@ package info.archinnov.achilles.iterator;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.persistence.operations.EntityMapper;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
 import info.archinnov.achilles.query.slice.CQLSliceQuery;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 public class SliceQueryIterator<T> implements Iterator<T> {
 
 	private static final Logger log = LoggerFactory.getLogger(SliceQueryIterator.class);
 
+	private static final int MAPPING_CHUNK_SIZE = 32;
+
 	private PersistenceContext context;
 	private Iterator<Row> iterator;
 	private EntityMeta meta;
+	private List<PropertyMeta> fetchProperties;
+
+	private ResultSet resultSet;
+	private ExecutorService mappingExecutor;
+	private int mappingWindow;
+	private int chunkSize;
+	private Deque<Future<List<T>>> pendingChunks;
+	private int pendingRows;
+	private Iterator<T> mappedEntities = Collections.emptyIterator();
 
 	private EntityMapper mapper = new EntityMapper();
 	private EntityProxifier proxifier = new EntityProxifier();
@@ -44,11 +68,28 @@ public class SliceQueryIterator<T> implements Iterator<T> {
 		this.context = context;
 		this.iterator = iterator;
 		this.meta = sliceQuery.getMeta();
+		this.fetchProperties = sliceQuery.hasFetchProperties() ? sliceQuery.getFetchProperties() : null;
+	}
+
+	/**
+	 * Map the rows to entities with the given executor, by chunks of rows and up to one batch ahead of the
+	 * consumption. Rows are still read from the underlying iterator by the consuming thread, which only reads ahead
+	 * the rows available without fetching so that it never waits for a page while mapped entities are pending
+	 */
+	public SliceQueryIterator(CQLSliceQuery<T> sliceQuery, PersistenceContext context, Iterator<Row> iterator,
+			ResultSet resultSet, ExecutorService mappingExecutor) {
+		this(sliceQuery, context, iterator);
+		this.resultSet = resultSet;
+		this.mappingExecutor = mappingExecutor;
+		this.mappingWindow = Math.max(sliceQuery.getBatchSize(), 1);
+		this.chunkSize = Math.min(MAPPING_CHUNK_SIZE, mappingWindow);
+		this.pendingChunks = new ArrayDeque<>();
 	}
 
 	@Override
 	public boolean hasNext() {
-		final boolean hasNext = iterator.hasNext();
+		final boolean hasNext = mappedEntities.hasNext() || (pendingChunks != null && !pendingChunks.isEmpty())
+				|| iterator.hasNext();
 		log.trace("Does iterator has more element ? {}", hasNext);
 		return hasNext;
 	}
@@ -56,13 +97,79 @@ public class SliceQueryIterator<T> implements Iterator<T> {
 	@Override
 	public T next() {
 		log.trace("Fetch iterator next element");
+		if (mappingExecutor != null) {
+			return nextMappedAsync();
+		}
+		return map(iterator.next());
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("Cannot remove clustered entity with iterator");
+	}
+
+	private T nextMappedAsync() {
+		if (!mappedEntities.hasNext()) {
+			if (pendingChunks.isEmpty()) {
+				// nothing mapped ahead, wait for the next row
+				final List<Row> rows = new ArrayList<>(chunkSize);
+				rows.add(iterator.next());
+				submitMapping(rows);
+			}
+			final Future<List<T>> nextChunk = pendingChunks.poll();
+			readAhead();
+			final List<T> entities;
+			try {
+				entities = Uninterruptibles.getUninterruptibly(nextChunk);
+			} catch (ExecutionException e) {
+				throw Throwables.propagate(e.getCause());
+			}
+			pendingRows -= entities.size();
+			mappedEntities = entities.iterator();
+		} else {
+			readAhead();
+		}
+		return mappedEntities.next();
+	}
+
+	private void readAhead() {
+		while (pendingRows < mappingWindow && resultSet.getAvailableWithoutFetching() > 0) {
+			submitMapping(new ArrayList<Row>(chunkSize));
+		}
+	}
+
+	/**
+	 * Complete the chunk with the rows available without fetching, then submit its mapping
+	 */
+	private void submitMapping(final List<Row> rows) {
+		while (rows.size() < chunkSize && resultSet.getAvailableWithoutFetching() > 0) {
+			rows.add(iterator.next());
+		}
+		pendingRows += rows.size();
+		pendingChunks.add(mappingExecutor.submit(new Callable<List<T>>() {
+			@Override
+			public List<T> call() throws Exception {
+				final List<T> entities = new ArrayList<>(rows.size());
+				for (Row row : rows) {
+					entities.add(map(row));
+				}
+				return entities;
+			}
+		}));
+	}
+
+	private T map(Row row) {
 		T clusteredEntity = null;
-		Row row = iterator.next();
 		if (row != null) {
 			clusteredEntity = meta.instanciate();
 			if (context.isClusteredCounter()) {
 				mapper.setValuesToClusteredCounterEntity(row, meta, clusteredEntity);
 				mapper.setPropertyToEntity(row, meta.getIdMeta(), clusteredEntity);
+			} else if (fetchProperties != null) {
+				mapper.setPropertyToEntity(row, meta.getIdMeta(), clusteredEntity);
+				for (PropertyMeta pm : fetchProperties) {
+					mapper.setPropertyToEntity(row, pm, clusteredEntity);
+				}
 			} else {
 				mapper.setNonCounterPropertiesToEntity(row, meta, clusteredEntity);
 			}
@@ -72,13 +179,11 @@ public class SliceQueryIterator<T> implements Iterator<T> {
 		return clusteredEntity;
 	}
 
-	@Override
-	public void remove() {
-		throw new UnsupportedOperationException("Cannot remove clustered entity with iterator");
-	}
-
 	private T proxify(T clusteredEntity) {
 		PersistenceContext duplicate = context.duplicate(clusteredEntity);
+		if (fetchProperties != null) {
+			return proxifier.buildProxy(clusteredEntity, duplicate, duplicate.getGetters(fetchProperties));
+		}
 		return proxifier.buildProxyWithAllFieldsLoadedExceptCounters(clusteredEntity, duplicate);
 	}
 
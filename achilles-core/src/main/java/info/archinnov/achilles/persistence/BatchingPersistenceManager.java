@@ -21,12 +21,21 @@ import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Options;
+import info.archinnov.achilles.type.OptionsBuilder;
 import info.archinnov.achilles.internal.utils.UUIDGen;
+import info.archinnov.achilles.internal.validation.Validator;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
@@ -38,20 +47,35 @@ public class BatchingPersistenceManager extends PersistenceManager {
 
 	protected BatchingFlushContext flushContext;
 	private ConsistencyLevel defaultConsistencyLevel;
+	private boolean deferredUpdatesEnabled;
+
+	// first-level identity map of the batch session, managed entities by entity class and primary key
+	private final Map<List<Object>, Object> managedEntities = new HashMap<>();
+
+	// updates of managed entities, flushed once at the end of the batch session when deferred updates are enabled
+	private final Map<List<Object>, Object> pendingUpdates = new LinkedHashMap<>();
 
     BatchingPersistenceManager(Map<Class<?>, EntityMeta> entityMetaMap, PersistenceContextFactory contextFactory,
 			DaoContext daoContext, ConfigurationContext configContext) {
 		super(entityMetaMap, contextFactory, daoContext, configContext);
 		defaultConsistencyLevel = configContext.getDefaultWriteConsistencyLevel();
+		deferredUpdatesEnabled = configContext.isBatchDeferredUpdatesEnabled();
 		this.flushContext = new BatchingFlushContext(daoContext, defaultConsistencyLevel);
 	}
 
 	/**
 	 * Start a batch session.
+	 * 
+	 * Within the session, entities are tracked by entity class and primary key: repeated <em>find()</em> or
+	 * <em>getProxy()</em> return the same managed instance without hitting Cassandra again.
+	 * 
+	 * When deferred updates are enabled, updates of a managed instance are collapsed into a single set of
+	 * statements at <em>endBatch()</em>. The dirty fields are then read at <em>endBatch()</em>, so setters called
+	 * after <em>update()</em> are written too
 	 */
 	public void startBatch() {
 		log.debug("Starting batch mode");
-		flushContext = flushContext.duplicateWithNoData(defaultConsistencyLevel);
+		resetBatch(defaultConsistencyLevel);
 	}
 
 	/**
@@ -59,7 +83,7 @@ public class BatchingPersistenceManager extends PersistenceManager {
 	 */
 	public void startBatch(ConsistencyLevel consistencyLevel) {
 		log.debug("Starting batch mode with consistency level {}", consistencyLevel.name());
-        flushContext = flushContext.duplicateWithNoData(consistencyLevel);
+        resetBatch(consistencyLevel);
 	}
 
 	/**
@@ -71,9 +95,10 @@ public class BatchingPersistenceManager extends PersistenceManager {
 	public void endBatch() {
 		log.debug("Ending batch mode");
 		try {
+			flushPendingUpdates();
 			flushContext.endBatch();
 		} finally {
-			flushContext = flushContext.duplicateWithNoData(defaultConsistencyLevel);
+			resetBatch(defaultConsistencyLevel);
 		}
 	}
 
@@ -82,61 +107,146 @@ public class BatchingPersistenceManager extends PersistenceManager {
 	 */
 	public void cleanBatch() {
 		log.debug("Cleaning all pending statements");
-        flushContext = flushContext.duplicateWithNoData(defaultConsistencyLevel);
+        resetBatch(defaultConsistencyLevel);
 	}
 
 	@Override
 	public <T> T persist(final T entity, Options options) {
 		if (options.getConsistencyLevel().isPresent()) {
-            flushContext = flushContext.duplicateWithNoData(defaultConsistencyLevel);
+            resetBatch(defaultConsistencyLevel);
 			throw new AchillesException(
 					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(consistencyLevel)'");
 		} else {
-            return super.persist(entity, options.duplicateWithNewTimestamp(UUIDGen.increasingMicroTimestamp()));
+			final List<Object> identityKey = identityKey(entity);
+			flushPendingUpdate(identityKey);
+			final T proxy = super.persist(entity, options.duplicateWithNewTimestamp(UUIDGen.increasingMicroTimestamp()));
+			if (identityKey != null) {
+				managedEntities.put(identityKey, proxy);
+			}
+			return proxy;
 		}
 	}
 
 	@Override
 	public void update(Object entity, Options options) {
 		if (options.getConsistencyLevel().isPresent()) {
-            flushContext = flushContext.duplicateWithNoData(defaultConsistencyLevel);
+            resetBatch(defaultConsistencyLevel);
 			throw new AchillesException(
 					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(consistencyLevel)'");
 		} else {
-            super.update(entity, options.duplicateWithNewTimestamp(UUIDGen.increasingMicroTimestamp()));
+			final List<Object> identityKey = identityKey(entity);
+			if (deferredUpdatesEnabled && !options.getTtl().isPresent() && identityKey != null
+					&& managedEntities.get(identityKey) == entity) {
+				log.trace("Deferring update of managed entity {} to the end of the batch", identityKey);
+				pendingUpdates.put(identityKey, entity);
+			} else {
+				flushPendingUpdate(identityKey);
+				super.update(entity, options.duplicateWithNewTimestamp(UUIDGen.increasingMicroTimestamp()));
+			}
 		}
 	}
 
 	@Override
 	public void remove(final Object entity, Options options) {
 		if (options.getConsistencyLevel().isPresent()) {
-            flushContext = flushContext.duplicateWithNoData(defaultConsistencyLevel);
+            resetBatch(defaultConsistencyLevel);
 			throw new AchillesException(
 					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(consistencyLevel)'");
 		} else {
+			evict(identityKey(entity));
 			super.remove(entity, options.duplicateWithNewTimestamp(UUIDGen.increasingMicroTimestamp()));
 		}
 	}
 
+	@Override
+	public void removeById(Class<?> entityClass, Object primaryKey) {
+		evict(Arrays.<Object> asList(entityClass, primaryKey));
+		super.removeById(entityClass, primaryKey);
+	}
+
 	@Override
 	public <T> T find(final Class<T> entityClass, final Object primaryKey, ConsistencyLevel readLevel) {
 		if (readLevel != null) {
-            flushContext = flushContext.duplicateWithNoData(defaultConsistencyLevel);
+            resetBatch(defaultConsistencyLevel);
 			throw new AchillesException(
 					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(consistencyLevel)'");
 		} else {
-			return super.find(entityClass, primaryKey, null);
+			final List<Object> identityKey = Arrays.<Object> asList(entityClass, primaryKey);
+			final Object managedEntity = managedEntities.get(identityKey);
+			if (managedEntity != null) {
+				log.trace("Returning managed entity {} of the batch session", identityKey);
+				return entityClass.cast(managedEntity);
+			}
+			final T entity = super.find(entityClass, primaryKey, null);
+			if (entity != null) {
+				managedEntities.put(identityKey, entity);
+			}
+			return entity;
+		}
+	}
+
+	@Override
+	protected <T> T findWithFetchProperties(Class<T> entityClass, Object primaryKey,
+			List<PropertyMeta> fetchProperties) {
+		final List<Object> identityKey = Arrays.<Object> asList(entityClass, primaryKey);
+		final Object managedEntity = managedEntities.get(identityKey);
+		if (managedEntity != null) {
+			log.trace("Returning managed entity {} of the batch session", identityKey);
+			return entityClass.cast(managedEntity);
+		}
+		final T entity = super.findWithFetchProperties(entityClass, primaryKey, fetchProperties);
+		if (entity != null) {
+			managedEntities.put(identityKey, entity);
 		}
+		return entity;
+	}
+
+	@Override
+	public <T, K> Map<K, T> findAll(final Class<T> entityClass, final Collection<K> embeddedIds,
+			ConsistencyLevel readLevel) {
+		if (readLevel != null) {
+			resetBatch(defaultConsistencyLevel);
+			throw new AchillesException(
+					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(consistencyLevel)'");
+		}
+		Validator.validateNotNull(embeddedIds, "Entity embedded ids should not be null for find by ids");
+		final List<K> unmanagedIds = new ArrayList<>();
+		for (K embeddedId : embeddedIds) {
+			if (!managedEntities.containsKey(Arrays.<Object> asList(entityClass, embeddedId))) {
+				unmanagedIds.add(embeddedId);
+			}
+		}
+		final Map<K, T> loadedEntities = super.findAll(entityClass, unmanagedIds, null);
+		final Map<K, T> entities = new LinkedHashMap<>();
+		for (K embeddedId : embeddedIds) {
+			final List<Object> identityKey = Arrays.<Object> asList(entityClass, embeddedId);
+			final Object managedEntity = managedEntities.get(identityKey);
+			if (managedEntity != null) {
+				entities.put(embeddedId, entityClass.cast(managedEntity));
+			} else if (loadedEntities.containsKey(embeddedId)) {
+				final T entity = loadedEntities.get(embeddedId);
+				managedEntities.put(identityKey, entity);
+				entities.put(embeddedId, entity);
+			}
+		}
+		return entities;
 	}
 
 	@Override
 	public <T> T getProxy(final Class<T> entityClass, final Object primaryKey, ConsistencyLevel readLevel) {
 		if (readLevel != null) {
-			flushContext = flushContext.duplicateWithNoData(defaultConsistencyLevel);
+			resetBatch(defaultConsistencyLevel);
 			throw new AchillesException(
 					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(consistencyLevel)'");
 		} else {
-			return super.getProxy(entityClass, primaryKey, null);
+			final List<Object> identityKey = Arrays.<Object> asList(entityClass, primaryKey);
+			final Object managedEntity = managedEntities.get(identityKey);
+			if (managedEntity != null) {
+				return entityClass.cast(managedEntity);
+			}
+			final T proxy = super.getProxy(entityClass, primaryKey, null);
+			managedEntities.put(identityKey, proxy);
+			return proxy;
 		}
 	}
 
@@ -146,6 +256,7 @@ public class BatchingPersistenceManager extends PersistenceManager {
 			throw new AchillesException(
 					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(consistencyLevel)'");
 		} else {
+			flushPendingUpdate(identityKey(entity));
 			super.refresh(entity, null);
 		}
 	}
@@ -162,4 +273,40 @@ public class BatchingPersistenceManager extends PersistenceManager {
 		log.trace("Initializing new persistence context for entity {}", entity);
 		return contextFactory.newContextWithFlushContext(entity, options, flushContext);
 	}
+
+	private void resetBatch(ConsistencyLevel consistencyLevel) {
+		flushContext = flushContext.duplicateWithNoData(consistencyLevel);
+		managedEntities.clear();
+		pendingUpdates.clear();
+	}
+
+	private void flushPendingUpdates() {
+		for (List<Object> identityKey : new ArrayList<>(pendingUpdates.keySet())) {
+			flushPendingUpdate(identityKey);
+		}
+	}
+
+	private void flushPendingUpdate(List<Object> identityKey) {
+		final Object entity = identityKey == null ? null : pendingUpdates.remove(identityKey);
+		if (entity != null) {
+			super.update(entity, OptionsBuilder.noOptions().duplicateWithNewTimestamp(
+					UUIDGen.increasingMicroTimestamp()));
+		}
+	}
+
+	private void evict(List<Object> identityKey) {
+		if (identityKey != null) {
+			managedEntities.remove(identityKey);
+			pendingUpdates.remove(identityKey);
+		}
+	}
+
+	private List<Object> identityKey(Object entity) {
+		final Class<?> entityClass = proxifier.deriveBaseClass(entity);
+		final EntityMeta meta = entityMetaMap.get(entityClass);
+		if (meta == null) {
+			return null;
+		}
+		return Arrays.<Object> asList(entityClass, meta.getPrimaryKey(proxifier.getRealObject(entity)));
+	}
 }
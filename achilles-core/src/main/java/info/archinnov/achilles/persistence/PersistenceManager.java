@@ -16,26 +16,43 @@
 package info.archinnov.achilles.persistence;
 
 import static com.datastax.driver.core.querybuilder.QueryBuilder.bindMarker;
+import static info.archinnov.achilles.internal.context.OperationMetrics.Operation.FIND;
+import static info.archinnov.achilles.internal.context.OperationMetrics.Operation.PERSIST;
+import static info.archinnov.achilles.internal.context.OperationMetrics.Operation.REMOVE;
+import static info.archinnov.achilles.internal.context.OperationMetrics.Operation.UPDATE;
 import static info.archinnov.achilles.type.OptionsBuilder.noOptions;
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.context.OperationMetrics;
+import info.archinnov.achilles.internal.context.OperationMetrics.Operation;
+import info.archinnov.achilles.internal.context.OperationMetrics.Sample;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
+import info.archinnov.achilles.internal.context.StageTimers;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.persistence.operations.EntityInitializer;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
 import info.archinnov.achilles.internal.persistence.operations.EntityValidator;
 import info.archinnov.achilles.internal.persistence.operations.SliceQueryExecutor;
 import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.query.cql.NativeQueryBuilder;
+import info.archinnov.achilles.query.slice.SliceQuery;
 import info.archinnov.achilles.query.slice.SliceQueryBuilder;
+import info.archinnov.achilles.query.typed.ProjectionQueryBuilder;
 import info.archinnov.achilles.query.typed.TypedQueryBuilder;
 import info.archinnov.achilles.query.typed.TypedQueryValidator;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.IndexCondition;
+import info.archinnov.achilles.type.IndexRelation;
 import info.archinnov.achilles.type.Options;
 import info.archinnov.achilles.type.OptionsBuilder;
+import info.archinnov.achilles.type.StageBreakdown;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -44,6 +61,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.querybuilder.Clause;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.datastax.driver.core.querybuilder.Select;
 
@@ -55,6 +73,7 @@ public class PersistenceManager {
 	protected PersistenceContextFactory contextFactory;
 
 	protected EntityProxifier proxifier = new EntityProxifier();
+	private EntityInitializer initializer = new EntityInitializer();
 	private EntityValidator entityValidator = new EntityValidator();
 	private TypedQueryValidator typedQueryValidator = new TypedQueryValidator();
 
@@ -103,7 +122,12 @@ public class PersistenceManager {
 		}
 		proxifier.ensureNotProxy(entity);
 		PersistenceContext context = initPersistenceContext(entity, options);
-		return context.persist(entity);
+		final Sample sample = startSample(context.getEntityClass(), PERSIST);
+		try {
+			return sample.success(context.persist(entity));
+		} finally {
+			sample.stop();
+		}
 	}
 
 	/**
@@ -137,7 +161,13 @@ public class PersistenceManager {
 			entityValidator.validateNotClusteredCounter(realObject, entityMetaMap);
 		}
 		PersistenceContext context = initPersistenceContext(realObject, options);
-		context.update(entity);
+		final Sample sample = startSample(context.getEntityClass(), UPDATE);
+		try {
+			context.update(entity);
+			sample.success();
+		} finally {
+			sample.stop();
+		}
 	}
 
 	/**
@@ -169,7 +199,7 @@ public class PersistenceManager {
 		}
 		PersistenceContext context = initPersistenceContext(entityClass, primaryKey, noOptions());
 		entityValidator.validatePrimaryKey(context.getIdMeta(), primaryKey);
-		context.remove();
+		removeWithMetrics(context);
 	}
 
 	/**
@@ -188,7 +218,7 @@ public class PersistenceManager {
 
 		entityValidator.validateEntity(realObject, entityMetaMap);
 		PersistenceContext context = initPersistenceContext(realObject, options);
-		context.remove();
+		removeWithMetrics(context);
 	}
 
 	/**
@@ -209,7 +239,7 @@ public class PersistenceManager {
 		PersistenceContext context = initPersistenceContext(entityClass, primaryKey,
 				OptionsBuilder.withConsistency(writeLevel));
 		entityValidator.validatePrimaryKey(context.getIdMeta(), primaryKey);
-		context.remove();
+		removeWithMetrics(context);
 	}
 
 	/**
@@ -248,7 +278,121 @@ public class PersistenceManager {
 		PersistenceContext context = initPersistenceContext(entityClass, primaryKey,
 				OptionsBuilder.withConsistency(readLevel));
 		entityValidator.validatePrimaryKey(context.getIdMeta(), primaryKey);
-		return context.find(entityClass);
+		final Sample sample = startSample(entityClass, FIND);
+		try {
+			return sample.success(context.find(entityClass));
+		} finally {
+			sample.stop();
+		}
+	}
+
+	/**
+	 * Find several entities by their embedded id. Ids are grouped by
+	 * partition and each group is loaded with a single query, all groups
+	 * being queried concurrently
+	 * 
+	 * @param entityClass
+	 *            Entity type
+	 * @param embeddedIds
+	 *            Embedded ids of the entities to load
+	 * @return found entities keyed by embedded id, missing entities are not
+	 *         in the map
+	 */
+	public <T, K> Map<K, T> findAll(Class<T> entityClass, Collection<K> embeddedIds) {
+		log.debug("Find entities class '{}' with embedded ids {}", entityClass, embeddedIds);
+		return findAll(entityClass, embeddedIds, null);
+	}
+
+	/**
+	 * Find several entities by their embedded id with the given Consistency
+	 * Level for read. Ids are grouped by partition and each group is loaded
+	 * with a single query, all groups being queried concurrently
+	 * 
+	 * @param entityClass
+	 *            Entity type
+	 * @param embeddedIds
+	 *            Embedded ids of the entities to load
+	 * @param readLevel
+	 *            Consistency Level for read
+	 * @return found entities keyed by embedded id, missing entities are not
+	 *         in the map
+	 */
+	public <T, K> Map<K, T> findAll(final Class<T> entityClass, final Collection<K> embeddedIds,
+			ConsistencyLevel readLevel) {
+		log.debug("Find entities class '{}' with embedded ids {} and read consistency level {}", entityClass,
+				embeddedIds, readLevel);
+		Validator.validateNotNull(entityClass, "Entity class should not be null for find by ids");
+		Validator.validateNotNull(embeddedIds, "Entity embedded ids should not be null for find by ids");
+		Validator.validateTrue(entityMetaMap.containsKey(entityClass),
+				"The entity class '%s' is not managed by Achilles", entityClass.getCanonicalName());
+		EntityMeta meta = entityMetaMap.get(entityClass);
+		Validator.validateTrue(meta.getIdMeta().isEmbeddedId() && !meta.isClusteredCounter(),
+				"Find by ids is only supported for entities with embedded id, '%s' is not", meta.getClassName());
+		for (K embeddedId : embeddedIds) {
+			Validator.validateNotNull(embeddedId, "Entity embedded id should not be null for find by ids");
+			entityValidator.validatePrimaryKey(meta.getIdMeta(), embeddedId);
+		}
+		if (embeddedIds.isEmpty()) {
+			return new LinkedHashMap<>();
+		}
+		return sliceQueryExecutor.<T, K> get(meta, embeddedIds, readLevel);
+	}
+
+	/**
+	 * Find an entity, loading only the properties of a fetch group declared
+	 * with @FetchGroup. The other properties are loaded lazily on first
+	 * access
+	 * 
+	 * @param entityClass
+	 *            Entity type
+	 * @param primaryKey
+	 *            Primary key (Cassandra row key) of the entity to load
+	 * @param fetchGroup
+	 *            Name of the fetch group
+	 */
+	public <T> T findWithFetchGroup(final Class<T> entityClass, final Object primaryKey, String fetchGroup) {
+		log.debug("Find entity class '{}' with primary key {} and fetch group {}", entityClass, primaryKey,
+				fetchGroup);
+		Validator.validateNotNull(entityClass, "Entity class should not be null for find by id");
+		Validator.validateTrue(entityMetaMap.containsKey(entityClass),
+				"The entity class '%s' is not managed by Achilles", entityClass.getCanonicalName());
+		return findWithFetchProperties(entityClass, primaryKey,
+				entityMetaMap.get(entityClass).getFetchGroup(fetchGroup));
+	}
+
+	/**
+	 * Find an entity, loading only the given properties. The other properties
+	 * are loaded lazily on first access
+	 * 
+	 * @param entityClass
+	 *            Entity type
+	 * @param primaryKey
+	 *            Primary key (Cassandra row key) of the entity to load
+	 * @param propertyNames
+	 *            Names of the properties to load
+	 */
+	public <T> T findWithProperties(final Class<T> entityClass, final Object primaryKey, String... propertyNames) {
+		log.debug("Find entity class '{}' with primary key {} and properties {}", entityClass, primaryKey,
+				propertyNames);
+		Validator.validateNotNull(entityClass, "Entity class should not be null for find by id");
+		Validator.validateTrue(entityMetaMap.containsKey(entityClass),
+				"The entity class '%s' is not managed by Achilles", entityClass.getCanonicalName());
+		return findWithFetchProperties(entityClass, primaryKey,
+				entityMetaMap.get(entityClass).getFetchProperties(propertyNames));
+	}
+
+	protected <T> T findWithFetchProperties(Class<T> entityClass, Object primaryKey,
+			List<PropertyMeta> fetchProperties) {
+		Validator.validateNotNull(primaryKey, "Entity primaryKey should not be null for find by id");
+		Validator.validateNotEmpty(fetchProperties, "Properties to fetch should not be empty for find by id");
+		PersistenceContext context = initPersistenceContext(entityClass, primaryKey, noOptions());
+		entityValidator.validatePrimaryKey(context.getIdMeta(), primaryKey);
+		final Sample sample = startSample(entityClass, FIND);
+		try {
+			return sample.success(context.find(entityClass, fetchProperties));
+		} finally {
+			sample.stop();
+		}
 	}
 
 	/**
@@ -356,14 +500,15 @@ public class PersistenceManager {
 	 * Initialize all lazy fields of a set of 'managed' entities, except
 	 * WideMap/Counter fields.
 	 * 
+	 * The unloaded fields of all entities are fetched at once, with one
+	 * SELECT per entity executed concurrently
+	 * 
 	 * Raise an IllegalStateException if an entity is not 'managed'
 	 * 
 	 */
 	public <T> Set<T> initialize(final Set<T> entities) {
 		log.debug("Force lazy fields initialization for entity set {}", entities);
-		for (T entity : entities) {
-			initialize(entity);
-		}
+		initializeAll(entities);
 		return entities;
 	}
 
@@ -371,17 +516,29 @@ public class PersistenceManager {
 	 * Initialize all lazy fields of a list of 'managed' entities, except
 	 * WideMap/Counter fields.
 	 * 
+	 * The unloaded fields of all entities are fetched at once, with one
+	 * SELECT per entity executed concurrently
+	 * 
 	 * Raise an IllegalStateException if an entity is not 'managed'
 	 * 
 	 */
 	public <T> List<T> initialize(final List<T> entities) {
 		log.debug("Force lazy fields initialization for entity set {}", entities);
-		for (T entity : entities) {
-			initialize(entity);
-		}
+		initializeAll(entities);
 		return entities;
 	}
 
+	private <T> void initializeAll(Collection<T> entities) {
+		List<T> proxies = new ArrayList<>(entities);
+		List<PersistenceContext> contexts = new ArrayList<>(proxies.size());
+		for (T entity : proxies) {
+			proxifier.ensureProxy(entity);
+			T realObject = proxifier.getRealObject(entity);
+			contexts.add(initPersistenceContext(realObject, noOptions()));
+		}
+		initializer.initializeEntities(proxies, contexts, daoContext);
+	}
+
 	/**
 	 * Shorthand for manager.removeProxy(manager.initialize(T entity))
 	 * 
@@ -520,37 +677,86 @@ public class PersistenceManager {
 	}
 
 	/**
-	 * Return a CQL typed query builder
+	 * Return a CQL typed query builder on a secondary index
 	 * 
 	 * All found entities will be in 'managed' state
 	 * 
+	 * <pre class="code"><code class="java">
+	 * 
+	 *   Iterator&lt;Tweet&gt; tweets = manager.indexedQuery(Tweet.class,
+	 *      new IndexCondition("status", "ACTIVE").and("userId", 10L)
+	 *         .and("date", IndexRelation.GREATER_THAN, yesterday))
+	 *      .iterator();
+	 * 
+	 * </code></pre>
+	 * 
+	 * The query is executed as a cached prepared statement. Since secondary
+	 * index queries hit every node, rows are fetched by pages of
+	 * {@link SliceQuery#DEFAULT_BATCH_SIZE} unless another fetch size is set
+	 * on the returned builder
+	 * 
 	 * @param entityClass
 	 *            type of entity to be returned
 	 * 
 	 * @param indexCondition
-	 *            index condition
+	 *            equality condition on the indexed column, with optional
+	 *            partition or clustering restrictions
 	 * 
 	 * @return TypedQueryBuilder<T>
 	 */
 	public <T> TypedQueryBuilder<T> indexedQuery(Class<T> entityClass, IndexCondition indexCondition) {
 		log.debug("Execute indexed query for entity class {}", entityClass);
 
-		EntityMeta entityMeta = entityMetaMap.get(entityClass);
-
-		Validator.validateFalse(entityMeta.isClusteredEntity(),
-				"Index query is not supported for clustered entity. Please use typed query/native query");
+		Validator.validateNotNull(entityClass, "The entityClass for indexed query should not be null");
+		Validator.validateTrue(entityMetaMap.containsKey(entityClass),
+				"Cannot perform indexed query because the entityClass '%s' is not managed by Achilles",
+				entityClass.getCanonicalName());
 		Validator.validateNotNull(indexCondition, "Index condition should not be null");
-		Validator.validateNotBlank(indexCondition.getColumnName(),
-				"Column name for index condition '%s' should be provided", indexCondition);
-		Validator.validateNotNull(indexCondition.getColumnValue(),
-				"Column value for index condition '%s' should be provided", indexCondition);
-		Validator.validateNotNull(indexCondition.getIndexRelation(),
-				"Index relation for index condition '%s' should be provided", indexCondition);
+		Validator.validateTrue(indexCondition.getIndexRelation() == IndexRelation.EQUAL,
+				"Only EQUAL relation is supported on the indexed column of index condition '%s'", indexCondition);
 
-		String indexColumnName = indexCondition.getColumnName();
-		final Select.Where query = QueryBuilder.select().from(entityMeta.getTableName())
-				.where(QueryBuilder.eq(indexColumnName, bindMarker(indexColumnName)));
-		return typedQueryInternal(entityClass, query.getQueryString(), false, indexCondition.getColumnValue());
+		EntityMeta entityMeta = entityMetaMap.get(entityClass);
+		final Select select = QueryBuilder.select().from(entityMeta.getTableName());
+		final Select.Where where = select.where();
+		final List<Object> boundValues = new ArrayList<>();
+		final List<IndexCondition> conditions = new ArrayList<>();
+		conditions.add(indexCondition);
+		conditions.addAll(indexCondition.getRestrictions());
+		for (IndexCondition condition : conditions) {
+			Validator.validateNotBlank(condition.getColumnName(),
+					"Column name for index condition '%s' should be provided", condition);
+			Validator.validateNotNull(condition.getColumnValue(),
+					"Column value for index condition '%s' should be provided", condition);
+			Validator.validateNotNull(condition.getIndexRelation(),
+					"Index relation for index condition '%s' should be provided", condition);
+			where.and(buildIndexClause(condition));
+			boundValues.add(condition.getColumnValue());
+		}
+		if (conditions.size() > 1) {
+			// restrictions on non-indexed columns are filtered by Cassandra among the indexed rows
+			select.allowFiltering();
+		}
+
+		String queryString = select.getQueryString();
+		typedQueryValidator.validateTypedQuery(entityClass, queryString, entityMeta);
+		return new TypedQueryBuilder<>(entityClass, daoContext, queryString, entityMeta, contextFactory, true, false,
+				true, boundValues.toArray()).fetchSize(SliceQuery.DEFAULT_BATCH_SIZE);
+	}
+
+	private Clause buildIndexClause(IndexCondition condition) {
+		final String columnName = condition.getColumnName();
+		switch (condition.getIndexRelation()) {
+		case GREATER_THAN:
+			return QueryBuilder.gt(columnName, bindMarker());
+		case GREATER_THAN_OR_EQUAL:
+			return QueryBuilder.gte(columnName, bindMarker());
+		case LESS_THAN:
+			return QueryBuilder.lt(columnName, bindMarker());
+		case LESS_THAN_OR_EQUAL:
+			return QueryBuilder.lte(columnName, bindMarker());
+		default:
+			return QueryBuilder.eq(columnName, bindMarker());
+		}
 	}
 
 	/**
@@ -585,6 +791,53 @@ public class PersistenceManager {
 				boundValues);
 	}
 
+	/**
+	 * Return a projection query builder, selecting only the given properties
+	 * of an entity
+	 * 
+	 * <pre class="code"><code class="java">
+	 * 
+	 *   List&lt;UserDate&gt; dates = manager.select(User.class, "id", "updatedAt")
+	 *      .where("id IN (?,?)", 10L, 11L)
+	 *      .into(UserDate.class).get();
+	 * 
+	 * </code></pre>
+	 * 
+	 * Found rows are mapped to DTOs or tuples, no entity nor proxy is built
+	 * 
+	 * @param entityClass
+	 *            entity type owning the projected properties
+	 * 
+	 * @param properties
+	 *            projected properties or embedded id components, in
+	 *            selection order
+	 * 
+	 * @return ProjectionQueryBuilder<T>
+	 */
+	public <T> ProjectionQueryBuilder<T> select(Class<T> entityClass, String... properties) {
+		log.debug("Execute projection query for entity class {} and properties {}", entityClass, properties);
+		Validator.validateNotNull(entityClass, "The entityClass for projection query should not be null");
+		Validator.validateTrue(entityMetaMap.containsKey(entityClass),
+				"Cannot perform projection query because the entityClass '%s' is not managed by Achilles",
+				entityClass.getCanonicalName());
+		return new ProjectionQueryBuilder<>(daoContext, entityMetaMap.get(entityClass), properties);
+	}
+
+	private void removeWithMetrics(PersistenceContext context) {
+		final Sample sample = startSample(context.getEntityClass(), REMOVE);
+		try {
+			context.remove();
+			sample.success();
+		} finally {
+			sample.stop();
+		}
+	}
+
+	private Sample startSample(Class<?> entityClass, Operation operation) {
+		return OperationMetrics.start(daoContext.getOperationMetrics(), daoContext.getStageTimers(), entityClass,
+				operation);
+	}
+
 	protected PersistenceContext initPersistenceContext(Class<?> entityClass, Object primaryKey, Options options) {
 		return contextFactory.newContext(entityClass, primaryKey, options);
 	}
@@ -597,6 +850,37 @@ public class PersistenceManager {
 		return daoContext.getSession();
 	}
 
+	/**
+	 * Return the time spent in each stage (binding, execution, decoding,
+	 * proxy creation and interceptors) by the sampled persist, find, update
+	 * and remove operations on an entity class. Stage timers are enabled with
+	 * the 'achilles.stage.timers.sample.rate' parameter
+	 * 
+	 * @param entityClass
+	 *            Entity type
+	 * @return snapshot of the stage breakdown
+	 */
+	public StageBreakdown getStageBreakdown(Class<?> entityClass) {
+		return getStageTimers().snapshot(entityClass);
+	}
+
+	/**
+	 * Return the stage breakdowns of all the entity classes with sampled
+	 * operations
+	 * 
+	 * @return snapshots of the stage breakdowns by entity class
+	 */
+	public Map<Class<?>, StageBreakdown> getStageBreakdowns() {
+		return getStageTimers().snapshot();
+	}
+
+	private StageTimers getStageTimers() {
+		final StageTimers stageTimers = daoContext.getStageTimers();
+		Validator.validateNotNull(stageTimers,
+				"Stage timers are not enabled, set the 'achilles.stage.timers.sample.rate' parameter");
+		return stageTimers;
+	}
+
 	protected Map<Class<?>, EntityMeta> getEntityMetaMap() {
 		return entityMetaMap;
 	}
@@ -15,6 +15,9 @@
  */
 package info.archinnov.achilles.persistence;
 
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_DEFERRED_UPDATES_ENABLE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_MAX_SIZE_IN_BYTES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_MAX_STATEMENTS;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_ENABLE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_VALIDATOR;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CLUSTER_PARAM;
@@ -27,25 +30,56 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.CONS
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_MAP_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.DISABLE_JMX;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.DISABLE_METRICS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CACHE_ENTITIES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CACHE_MAX_SIZE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CACHE_MAX_WEIGHT_IN_BYTES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CACHE_OFF_HEAP_SIZE_IN_BYTES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CACHE_TTL_IN_SECONDS;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.EVENT_INTERCEPTORS_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.FORCE_TABLE_CREATION_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.INFLIGHT_FAIL_FAST;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.LAZY_LOADING_FETCH_ALL;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ITERATOR_ADAPTIVE_FETCH_MAX_SIZE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ITERATOR_ADAPTIVE_FETCH_MIN_SIZE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ITERATOR_ADAPTIVE_FETCH_TARGET_BYTES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ITERATOR_MAPPING_EXECUTOR;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ITERATOR_PREFETCH_THRESHOLD;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.INFLIGHT_MAX_READS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.INFLIGHT_MAX_REQUESTS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.INFLIGHT_MAX_WRITES;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.KEYSPACE_NAME_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.LOAD_BALANCING_POLICY;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.NATIVE_SESSION_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.OBJECT_MAPPER_FACTORY_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.OBJECT_MAPPER_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.OPERATION_METRICS_ENABLE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PASSWORD;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_CACHE_SIZE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.READ_COALESCING_ENABLE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.RECONNECTION_POLICY;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.RETRY_POLICY;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLICE_QUERY_CACHE_MAX_ROWS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.HOT_PARTITION_HALF_LIFE_IN_SECONDS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.HOT_PARTITION_TOP_K;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.HOT_PARTITION_WARNING_SHARE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_ENTITY_THRESHOLDS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_MAX_LOGS_PER_SECOND;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_TABLE_THRESHOLDS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_THRESHOLD_IN_MILLIS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.STAGE_TIMERS_SAMPLE_RATE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLICE_QUERY_CACHE_TTL_IN_SECONDS;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.SSL_ENABLED;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.SSL_OPTIONS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.STATEMENTS_COALESCING_ENABLE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.USERNAME;
 import static org.apache.commons.lang.StringUtils.isNotBlank;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.codehaus.jackson.map.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -86,6 +120,10 @@ public class PersistenceManagerFactory {
 
     private AchillesBootstrapper bootstrapper = new AchillesBootstrapper();
 
+    private final AtomicBoolean shutDown = new AtomicBoolean(false);
+
+    private Cluster cluster;
+
     /**
      * Create a new PersistenceManagerFactory with a configuration map
      *
@@ -107,7 +145,7 @@ public class PersistenceManagerFactory {
 
         List<String> entityPackages = argumentExtractor.initEntityPackages(configurationMap);
         configContext = argumentExtractor.initConfigContext(configurationMap);
-        Cluster cluster = argumentExtractor.initCluster(configurationMap);
+        cluster = argumentExtractor.initCluster(configurationMap);
         Session session = argumentExtractor.initSession(cluster, configurationMap);
         List<Interceptor<?>> interceptors = argumentExtractor.initInterceptors(configurationMap);
 
@@ -124,7 +162,7 @@ public class PersistenceManagerFactory {
 
         daoContext = bootstrapper.buildDaoContext(session, parsingResult, configContext);
         contextFactory = new PersistenceContextFactory(daoContext, configContext, parsingResult.getMetaMap());
-        registerShutdownHook(cluster);
+        registerShutdownHook();
 
         return this;
     }
@@ -162,11 +200,27 @@ public class PersistenceManagerFactory {
         return new BatchingPersistenceManager(entityMetaMap, contextFactory, daoContext, configContext);
     }
 
-    private void registerShutdownHook(final Cluster cluster) {
+    /**
+     * Shut down this PersistenceManagerFactory: the metrics reporters are stopped, which unregisters their JMX
+     * MBeans, and the cluster is shut down. It is called by a JVM shutdown hook and has no effect when called again
+     */
+    public void shutDown() {
+        if (shutDown.compareAndSet(false, true)) {
+            log.info("Shutting down Achilles PersistenceManagerFactory");
+            if (daoContext != null) {
+                daoContext.shutDown();
+            }
+            if (cluster != null) {
+                cluster.shutdown();
+            }
+        }
+    }
+
+    private void registerShutdownHook() {
         Runtime.getRuntime().addShutdownHook(new Thread() {
             @Override
             public void run() {
-                cluster.shutdown();
+                shutDown();
             }
         });
     }
@@ -495,6 +549,391 @@ public class PersistenceManagerFactory {
             return this;
         }
 
+        /**
+         * Merge pending statements before a flush: successive updates of the same entity are collapsed into a
+         * single UPDATE, counter increments on the same cell are summed and writes shadowed by a later delete
+         * of the same row are dropped.
+         * <br/><br/>
+         * Default value is <strong>false</strong>
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder enableStatementCoalescing(boolean enableStatementCoalescing) {
+            configMap.put(STATEMENTS_COALESCING_ENABLE, enableStatementCoalescing);
+            return this;
+        }
+
+        /**
+         * Maximum number of statements in a single batch. Bigger batches are split before being sent to
+         * Cassandra. LOGGED batches are split along partition boundaries whenever possible
+         * <br/><br/>
+         * Default value is <strong>0</strong> (no limit)
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withBatchMaxStatements(int batchMaxStatements) {
+            configMap.put(BATCH_MAX_STATEMENTS, batchMaxStatements);
+            return this;
+        }
+
+        /**
+         * Maximum estimated size, in bytes, of a single batch. Bigger batches are split before being sent to
+         * Cassandra. LOGGED batches are split along partition boundaries whenever possible
+         * <br/><br/>
+         * Default value is <strong>0</strong> (no limit)
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withBatchMaxSizeInBytes(int batchMaxSizeInBytes) {
+            configMap.put(BATCH_MAX_SIZE_IN_BYTES, batchMaxSizeInBytes);
+            return this;
+        }
+
+        /**
+         * Defer the updates of entities managed by a batch session to <em>endBatch()</em>, so that repeated updates
+         * of the same entity collapse into a single set of statements.
+         * <br/>
+         * The dirty fields are only read at <em>endBatch()</em>: setters called on the entity after
+         * <em>update()</em> are written as well.
+         * <br/><br/>
+         * Default value is <strong>false</strong>
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder enableBatchDeferredUpdates(boolean enableBatchDeferredUpdates) {
+            configMap.put(BATCH_DEFERRED_UPDATES_ENABLE, enableBatchDeferredUpdates);
+            return this;
+        }
+
+        /**
+         * Maximum number of requests in flight to the cluster, shared by reads and writes
+         * <br/><br/>
+         * Default value is <strong>0</strong> (no limit)
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withInFlightMaxRequests(int maxRequests) {
+            configMap.put(INFLIGHT_MAX_REQUESTS, maxRequests);
+            return this;
+        }
+
+        /**
+         * Separate budgets for in-flight reads and writes. When defined, they take precedence over the shared
+         * maximum number of in-flight requests. A budget of 0 means no limit
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withInFlightMaxReadsAndWrites(int maxReads, int maxWrites) {
+            configMap.put(INFLIGHT_MAX_READS, maxReads);
+            configMap.put(INFLIGHT_MAX_WRITES, maxWrites);
+            return this;
+        }
+
+        /**
+         * Reject requests with an AchillesRequestRejectedException instead of waiting when the maximum number of
+         * in-flight requests is reached
+         * <br/><br/>
+         * Default value is <strong>false</strong>
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder inFlightFailFast(boolean failFast) {
+            configMap.put(INFLIGHT_FAIL_FAST, failFast);
+            return this;
+        }
+
+        /**
+         * Share a single query between concurrent finds of the same entity (same entity class, primary key and
+         * consistency level). Each caller still gets its own entity instance
+         * <br/><br/>
+         * Default value is <strong>false</strong>
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder enableReadCoalescing(boolean enableReadCoalescing) {
+            configMap.put(READ_COALESCING_ENABLE, enableReadCoalescing);
+            return this;
+        }
+
+        /**
+         * Enable the second-level entity cache for <em>find()</em>, bounded by the number of cached entities.
+         * Only entities annotated with @Cacheable or declared with {@link #withCachedEntities(Class[])} are cached
+         * <br/><br/>
+         * Default value is <strong>0</strong> (cache disabled)
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withEntityCacheMaxSize(int maxSize) {
+            configMap.put(ENTITY_CACHE_MAX_SIZE, maxSize);
+            return this;
+        }
+
+        /**
+         * Enable the second-level entity cache for <em>find()</em>, bounded by the total size in bytes of cached
+         * rows. Takes precedence over the maximum number of cached entities
+         * <br/><br/>
+         * Default value is <strong>0</strong> (no weight limit)
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withEntityCacheMaxWeightInBytes(int maxWeightInBytes) {
+            configMap.put(ENTITY_CACHE_MAX_WEIGHT_IN_BYTES, maxWeightInBytes);
+            return this;
+        }
+
+        /**
+         * Enable the second-level entity cache for <em>find()</em> and store the cached rows outside of the Java
+         * heap, in direct memory bounded by the given size. Takes precedence over the on-heap limits
+         * <br/><br/>
+         * Default value is <strong>0</strong> (rows cached on-heap)
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withEntityCacheOffHeapSizeInBytes(long offHeapSizeInBytes) {
+            configMap.put(ENTITY_CACHE_OFF_HEAP_SIZE_IN_BYTES, offHeapSizeInBytes);
+            return this;
+        }
+
+        /**
+         * Time to live of an entry of the second-level entity cache
+         * <br/><br/>
+         * Default value is <strong>0</strong> (no expiration)
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withEntityCacheTtlInSeconds(int ttlInSeconds) {
+            configMap.put(ENTITY_CACHE_TTL_IN_SECONDS, ttlInSeconds);
+            return this;
+        }
+
+        /**
+         * Entities eligible to the second-level entity cache, in addition to those annotated with @Cacheable
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withCachedEntities(Class<?>... entityClasses) {
+            configMap.put(ENTITY_CACHE_ENTITIES, Arrays.asList(entityClasses));
+            return this;
+        }
+
+        /**
+         * Cache the results of slice queries <em>get()</em>, bounded by the total number of cached rows. Any write on
+         * a partition through Achilles invalidates the cached slices of this partition
+         * <br/><br/>
+         * Default value is <strong>0</strong> (cache disabled)
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withSliceQueryCacheMaxRows(int maxRows) {
+            configMap.put(SLICE_QUERY_CACHE_MAX_ROWS, maxRows);
+            return this;
+        }
+
+        /**
+         * Time to live of a cached slice query result
+         * <br/><br/>
+         * Default value is <strong>0</strong> (no expiration)
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withSliceQueryCacheTtlInSeconds(int ttlInSeconds) {
+            configMap.put(SLICE_QUERY_CACHE_TTL_IN_SECONDS, ttlInSeconds);
+            return this;
+        }
+
+        /**
+         * Load all the unloaded properties of a proxy with a single SELECT the first time one of its lazy getters
+         * is called, instead of one SELECT per property
+         * <br/><br/>
+         * Default value is <strong>false</strong>
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withLazyLoadingFetchAll(boolean fetchAll) {
+            configMap.put(LAZY_LOADING_FETCH_ALL, fetchAll);
+            return this;
+        }
+
+        /**
+         * Start fetching the next page of a slice query iterator in the background once the rows left in the
+         * current page drop to this threshold, instead of waiting for the page to be exhausted
+         * <br/><br/>
+         * Default value is <strong>0</strong> (no prefetching)
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withIteratorPrefetchThreshold(int prefetchThreshold) {
+            configMap.put(ITERATOR_PREFETCH_THRESHOLD, prefetchThreshold);
+            return this;
+        }
+
+        /**
+         * Executor mapping the rows of slice query iterators to entities ahead of their consumption, at most one
+         * batch ahead. The executor lifecycle is left to the caller
+         * <br/><br/>
+         * Default value is <strong>null</strong> (rows are mapped in the thread calling next())
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withIteratorMappingExecutor(ExecutorService mappingExecutor) {
+            configMap.put(ITERATOR_MAPPING_EXECUTOR, mappingExecutor);
+            return this;
+        }
+
+        /**
+         * Target size in bytes of each page fetched by slice and typed query iterators. When set, the fetch size of
+         * the next page is derived from the average size of the rows received so far, the batch size given to the
+         * iterator being only the size of the first page
+         * <br/><br/>
+         * Default value is <strong>0</strong> (fixed fetch size)
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withIteratorAdaptiveFetchTargetBytes(int targetBytesPerPage) {
+            configMap.put(ITERATOR_ADAPTIVE_FETCH_TARGET_BYTES, targetBytesPerPage);
+            return this;
+        }
+
+        /**
+         * Lower bound of the fetch size chosen by the adaptive fetch mode
+         * <br/><br/>
+         * Default value is <strong>10</strong>
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withIteratorAdaptiveFetchMinSize(int minFetchSize) {
+            configMap.put(ITERATOR_ADAPTIVE_FETCH_MIN_SIZE, minFetchSize);
+            return this;
+        }
+
+        /**
+         * Upper bound of the fetch size chosen by the adaptive fetch mode
+         * <br/><br/>
+         * Default value is <strong>5000</strong>
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withIteratorAdaptiveFetchMaxSize(int maxFetchSize) {
+            configMap.put(ITERATOR_ADAPTIVE_FETCH_MAX_SIZE, maxFetchSize);
+            return this;
+        }
+
+        /**
+         * Record latency histograms, throughput and errors of each operation (persist, find, update, remove, slice,
+         * typed, native and counter queries) per entity class, as well as of every executed statement and batch.
+         * They are published as JMX MBeans in the <em>info.archinnov.achilles</em> domain. When disabled, operations
+         * are not instrumented at all
+         * <br/><br/>
+         * Default value is <strong>false</strong>
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder enableOperationMetrics(boolean enableOperationMetrics) {
+            configMap.put(OPERATION_METRICS_ENABLE, enableOperationMetrics);
+            return this;
+        }
+
+        /**
+         * Time the stages (binding, execution, decoding, proxy creation and interceptors) of one persist, find,
+         * update or remove out of <em>sampleRate</em>, 1 to time all of them. The breakdowns per entity class are
+         * available with {@link PersistenceManager#getStageBreakdown(Class)}. 0 disables stage timers
+         * <br/><br/>
+         * Default value is <strong>0</strong>
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withStageTimersSampleRate(int sampleRate) {
+            configMap.put(STAGE_TIMERS_SAMPLE_RATE, sampleRate);
+            return this;
+        }
+
+        /**
+         * Log the statements executed in more than <em>thresholdInMillis</em> as one-line JSON entries on the
+         * <strong>ACHILLES_SLOW_STATEMENT</strong> logger, at INFO level. 0 disables the slow statements log,
+         * except for the tables and entities having their own threshold
+         * <br/><br/>
+         * Default value is <strong>0</strong>
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withSlowStatementThresholdInMillis(long thresholdInMillis) {
+            configMap.put(SLOW_STATEMENT_THRESHOLD_IN_MILLIS, thresholdInMillis);
+            return this;
+        }
+
+        /**
+         * Slow statements thresholds in milliseconds overriding the global threshold. The map keys represent table
+         * names
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withSlowStatementTableThresholds(Map<String, Long> thresholds) {
+            configMap.put(SLOW_STATEMENT_TABLE_THRESHOLDS, thresholds);
+            return this;
+        }
+
+        /**
+         * Slow statements thresholds in milliseconds overriding the global threshold. The map keys represent entity
+         * classes, whose table threshold is set
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withSlowStatementEntityThresholds(Map<Class<?>, Long> thresholds) {
+            configMap.put(SLOW_STATEMENT_ENTITY_THRESHOLDS, thresholds);
+            return this;
+        }
+
+        /**
+         * Maximum number of slow statements logged per second, the statements exceeding this rate are only counted.
+         * 0 for no limit
+         * <br/><br/>
+         * Default value is <strong>10</strong>
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withSlowStatementMaxLogsPerSecond(int maxLogsPerSecond) {
+            configMap.put(SLOW_STATEMENT_MAX_LOGS_PER_SECOND, maxLogsPerSecond);
+            return this;
+        }
+
+        /**
+         * Track the partitions read and written through Achilles, per table, and publish the <em>topK</em> hottest
+         * ones as JMX MBeans. 0 disables hot partitions tracking
+         * <br/><br/>
+         * Default value is <strong>0</strong>
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withHotPartitionTopK(int topK) {
+            configMap.put(HOT_PARTITION_TOP_K, topK);
+            return this;
+        }
+
+        /**
+         * Time after which a read or write counts for half in the hot partitions tracking
+         * <br/><br/>
+         * Default value is <strong>60</strong>
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withHotPartitionHalfLifeInSeconds(int halfLifeInSeconds) {
+            configMap.put(HOT_PARTITION_HALF_LIFE_IN_SECONDS, halfLifeInSeconds);
+            return this;
+        }
+
+        /**
+         * Log a warning when a partition receives more than this share, from 0 to 1, of the reads or writes of its
+         * table. 0 disables the warnings
+         * <br/><br/>
+         * Default value is <strong>0</strong>
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withHotPartitionWarningShare(double warningShare) {
+            configMap.put(HOT_PARTITION_WARNING_SHARE, warningShare);
+            return this;
+        }
+
         /**
          * Build a new PersistenceManagerFactory
          *
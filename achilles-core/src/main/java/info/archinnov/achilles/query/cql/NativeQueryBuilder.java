@@ -15,17 +15,25 @@
  */
 package info.archinnov.achilles.query.cql;
 
+import static info.archinnov.achilles.internal.context.OperationMetrics.Operation.NATIVE;
 import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.context.OperationMetrics;
+import info.archinnov.achilles.internal.context.OperationMetrics.Sample;
 import info.archinnov.achilles.internal.persistence.operations.NativeQueryMapper;
 import info.archinnov.achilles.internal.statement.wrapper.SimpleStatementWrapper;
+import info.archinnov.achilles.type.ColumnarResult;
+import info.archinnov.achilles.type.ResultCallback;
 import info.archinnov.achilles.type.TypedMap;
 
+import java.util.Iterator;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
+import com.google.common.collect.AbstractIterator;
 
 public class NativeQueryBuilder {
 	private static final Logger log = LoggerFactory.getLogger(NativeQueryBuilder.class);
@@ -53,10 +61,104 @@ public class NativeQueryBuilder {
 	 */
 	public List<TypedMap> get() {
 		log.debug("Get results for native query {}", queryString);
-		List<Row> rows = daoContext.execute(new SimpleStatementWrapper(queryString, boundValues)).all();
+		List<Row> rows = execute(new SimpleStatementWrapper(queryString, boundValues)).all();
 		return mapper.mapRows(rows);
 	}
 
+	/**
+	 * Return found rows column by column: one vector per selected column, in
+	 * the order of the query. int, bigint, counter, double and boolean values
+	 * are stored in primitive arrays, so no map nor boxed value is created
+	 * per row
+	 * 
+	 * @return ColumnarResult
+	 */
+	public ColumnarResult getColumnar() {
+		return getColumnar(0);
+	}
+
+	/**
+	 * Return found rows column by column, rows being fetched by pages of
+	 * fetchSize rows
+	 * 
+	 * @param fetchSize
+	 *            number of rows fetched per page
+	 * 
+	 * @return ColumnarResult
+	 */
+	public ColumnarResult getColumnar(int fetchSize) {
+		log.debug("Get columnar results for native query {} with fetch size {}", queryString, fetchSize);
+		SimpleStatementWrapper statementWrapper = new SimpleStatementWrapper(queryString, boundValues);
+		statementWrapper.setFetchSize(fetchSize);
+		return mapper.mapColumns(execute(statementWrapper));
+	}
+
+	/**
+	 * Return an iterator on found rows. Rows are mapped one at a time while
+	 * iterating and fetched by pages of the driver default fetch size, so only
+	 * the current page is kept in memory
+	 * 
+	 * @return Iterator<TypedMap>
+	 */
+	public Iterator<TypedMap> iterator() {
+		return iterator(0);
+	}
+
+	/**
+	 * Return an iterator on found rows. Rows are mapped one at a time while
+	 * iterating and fetched by pages of fetchSize rows, so only the current
+	 * page is kept in memory
+	 * 
+	 * @param fetchSize
+	 *            number of rows fetched per page
+	 * 
+	 * @return Iterator<TypedMap>
+	 */
+	public Iterator<TypedMap> iterator(int fetchSize) {
+		log.debug("Get iterator for native query {} with fetch size {}", queryString, fetchSize);
+		SimpleStatementWrapper statementWrapper = new SimpleStatementWrapper(queryString, boundValues);
+		statementWrapper.setFetchSize(fetchSize);
+		final Iterator<Row> rows = execute(statementWrapper).iterator();
+		return new AbstractIterator<TypedMap>() {
+			@Override
+			protected TypedMap computeNext() {
+				while (rows.hasNext()) {
+					TypedMap line = mapper.mapRow(rows.next());
+					if (line != null) {
+						return line;
+					}
+				}
+				return endOfData();
+			}
+		};
+	}
+
+	/**
+	 * Pass each found row to the callback as soon as it is fetched
+	 * 
+	 * @param callback
+	 *            callback receiving found rows
+	 */
+	public void forEach(ResultCallback<TypedMap> callback) {
+		forEach(0, callback);
+	}
+
+	/**
+	 * Pass each found row to the callback as soon as it is fetched, rows being
+	 * fetched by pages of fetchSize rows
+	 * 
+	 * @param fetchSize
+	 *            number of rows fetched per page
+	 * @param callback
+	 *            callback receiving found rows
+	 */
+	public void forEach(int fetchSize, ResultCallback<TypedMap> callback) {
+		Iterator<TypedMap> iterator = iterator(fetchSize);
+		while (iterator.hasNext()) {
+			callback.onResult(iterator.next());
+		}
+	}
+
 	/**
 	 * Return the first found row. The map contains the (column name, column
 	 * value) of each row. The map is backed by a LinkedHashMap and thus
@@ -66,7 +168,7 @@ public class NativeQueryBuilder {
 	 */
 	public TypedMap first() {
 		log.debug("Get first result for native query {}", queryString);
-		List<Row> rows = daoContext.execute(new SimpleStatementWrapper(queryString, boundValues)).all();
+		List<Row> rows = execute(new SimpleStatementWrapper(queryString, boundValues)).all();
 		List<TypedMap> result = mapper.mapRows(rows);
 		if (result.isEmpty())
 			return null;
@@ -80,6 +182,15 @@ public class NativeQueryBuilder {
 	 */
 	public void execute() {
 		log.debug("Execute native query {}", queryString);
-		daoContext.execute(new SimpleStatementWrapper(queryString, boundValues));
+		execute(new SimpleStatementWrapper(queryString, boundValues));
+	}
+
+	private ResultSet execute(SimpleStatementWrapper statementWrapper) {
+		final Sample sample = OperationMetrics.start(daoContext.getOperationMetrics(), null, NATIVE);
+		try {
+			return sample.success(daoContext.execute(statementWrapper));
+		} finally {
+			sample.stop();
+		}
 	}
 }
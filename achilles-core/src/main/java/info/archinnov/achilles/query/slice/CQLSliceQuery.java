@@ -17,6 +17,7 @@ package info.archinnov.achilles.query.slice;
 
 import static info.archinnov.achilles.internal.consistency.ConsistencyConverter.getCQLLevel;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.type.BoundingMode;
 import info.archinnov.achilles.type.ConsistencyLevel;
@@ -110,6 +111,14 @@ public class CQLSliceQuery<T> {
 		return sliceQuery.getBatchSize();
 	}
 
+	public List<PropertyMeta> getFetchProperties() {
+		return sliceQuery.getFetchProperties();
+	}
+
+	public boolean hasFetchProperties() {
+		return sliceQuery.getFetchProperties() != null;
+	}
+
 	private List<Object> determineFixedComponents(SliceQuery<T> sliceQuery) {
 		List<Object> fixedComponents = new ArrayList<Object>();
 
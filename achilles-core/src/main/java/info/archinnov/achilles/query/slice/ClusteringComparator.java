@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.query.slice;
+
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import com.google.common.primitives.UnsignedBytes;
+import com.google.common.primitives.UnsignedLongs;
+
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+
+/**
+ * Compare encoded clustering components in the order rows are returned by a slice query.
+ * <br/>
+ * The ordering component is compared with the direction of {@link CQLSliceQuery#getCQLOrdering()}. Cassandra
+ * only returns the clustering order of the table or its exact reverse, so when the ordering component is declared
+ * reversed the other clustering components are compared with the opposite direction.
+ * <br/>
+ * Components are compared as the Cassandra types do, not with their Java natural ordering:
+ * <ul>
+ * <li>timeuuid: timestamp, then signed bytes of the clock sequence and node</li>
+ * <li>uuid: version, timestamp for version 1, then unsigned bytes</li>
+ * <li>text: UTF-8 bytes, that is code points</li>
+ * <li>blob: unsigned bytes</li>
+ * </ul>
+ */
+public class ClusteringComparator implements Comparator<List<Object>> {
+
+	// flipping the sign bit of each byte turns a signed byte-wise comparison into an unsigned one
+	private static final long BYTES_SIGN_BITS = 0x8080808080808080L;
+
+	private final boolean descending;
+	private final boolean othersDescending;
+	private final boolean[] timeUUIDs;
+
+	public ClusteringComparator(CQLSliceQuery<?> cqlSliceQuery) {
+		final PropertyMeta idMeta = cqlSliceQuery.getMeta().getIdMeta();
+		this.descending = cqlSliceQuery.getOrdering().isReverse();
+		this.othersDescending = descending ^ idMeta.hasReversedComponent();
+		final List<String> clusteringNames = idMeta.getClusteringComponentNames();
+		this.timeUUIDs = new boolean[clusteringNames.size()];
+		for (int i = 0; i < timeUUIDs.length; i++) {
+			timeUUIDs[i] = idMeta.isComponentTimeUUID(clusteringNames.get(i));
+		}
+	}
+
+	@Override
+	public int compare(List<Object> clusterings1, List<Object> clusterings2) {
+		final int size = Math.min(clusterings1.size(), clusterings2.size());
+		for (int i = 0; i < size; i++) {
+			final int comparison = compareComponent(clusterings1.get(i), clusterings2.get(i), i);
+			if (comparison != 0) {
+				final boolean reverse = i == 0 ? descending : othersDescending;
+				return reverse ? -comparison : comparison;
+			}
+		}
+		return 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	private int compareComponent(Object component1, Object component2, int index) {
+		if (component1 instanceof UUID && component2 instanceof UUID) {
+			final boolean timeUUID = index < timeUUIDs.length && timeUUIDs[index];
+			return timeUUID ? compareTimeUUIDs((UUID) component1, (UUID) component2) : compareUUIDs(
+					(UUID) component1, (UUID) component2);
+		} else if (component1 instanceof String && component2 instanceof String) {
+			return compareUTF8((String) component1, (String) component2);
+		} else if (component1 instanceof ByteBuffer && component2 instanceof ByteBuffer) {
+			return compareBytes((ByteBuffer) component1, (ByteBuffer) component2);
+		}
+		return ((Comparable<Object>) component1).compareTo(component2);
+	}
+
+	private int compareTimeUUIDs(UUID uuid1, UUID uuid2) {
+		final int comparison = Long.compare(uuid1.timestamp(), uuid2.timestamp());
+		if (comparison != 0) {
+			return comparison;
+		}
+		return UnsignedLongs.compare(uuid1.getLeastSignificantBits() ^ BYTES_SIGN_BITS,
+				uuid2.getLeastSignificantBits() ^ BYTES_SIGN_BITS);
+	}
+
+	private int compareUUIDs(UUID uuid1, UUID uuid2) {
+		if (uuid1.version() != uuid2.version()) {
+			return uuid1.version() - uuid2.version();
+		}
+		if (uuid1.version() == 1) {
+			final int comparison = Long.compare(uuid1.timestamp(), uuid2.timestamp());
+			if (comparison != 0) {
+				return comparison;
+			}
+		}
+		final int comparison = UnsignedLongs.compare(uuid1.getMostSignificantBits(), uuid2.getMostSignificantBits());
+		if (comparison != 0) {
+			return comparison;
+		}
+		return UnsignedLongs.compare(uuid1.getLeastSignificantBits(), uuid2.getLeastSignificantBits());
+	}
+
+	/**
+	 * UTF-8 byte order is the code point order, which differs from the UTF-16 order of {@link String#compareTo}
+	 * only for surrogates: they encode code points above 0xFFFF, so they sort after the chars from 0xE000 to 0xFFFF
+	 */
+	private int compareUTF8(String string1, String string2) {
+		final int length = Math.min(string1.length(), string2.length());
+		for (int i = 0; i < length; i++) {
+			final char char1 = string1.charAt(i);
+			final char char2 = string2.charAt(i);
+			if (char1 != char2) {
+				return codePointOrder(char1) - codePointOrder(char2);
+			}
+		}
+		return string1.length() - string2.length();
+	}
+
+	private int codePointOrder(char c) {
+		if (c < Character.MIN_SURROGATE) {
+			return c;
+		}
+		return Character.isSurrogate(c) ? c + 0x2000 : c - 0x800;
+	}
+
+	private int compareBytes(ByteBuffer bytes1, ByteBuffer bytes2) {
+		final int length = Math.min(bytes1.remaining(), bytes2.remaining());
+		for (int i = 0; i < length; i++) {
+			final int comparison = UnsignedBytes.compare(bytes1.get(bytes1.position() + i),
+					bytes2.get(bytes2.position() + i));
+			if (comparison != 0) {
+				return comparison;
+			}
+		}
+		return bytes1.remaining() - bytes2.remaining();
+	}
+}
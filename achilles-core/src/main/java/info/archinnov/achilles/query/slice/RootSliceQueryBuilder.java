@@ -16,8 +16,11 @@
 package info.archinnov.achilles.query.slice;
 
 import static info.archinnov.achilles.query.slice.SliceQuery.*;
+import static info.archinnov.achilles.type.BoundingMode.EXCLUSIVE_BOUNDS;
+import static info.archinnov.achilles.type.BoundingMode.INCLUSIVE_END_BOUND_ONLY;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
 import info.archinnov.achilles.internal.persistence.operations.SliceQueryExecutor;
 import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.type.BoundingMode;
@@ -50,6 +53,11 @@ public abstract class RootSliceQueryBuilder<T> {
 	private int batchSize = DEFAULT_BATCH_SIZE;
 	private boolean limitHasBeenSet = false;
 	private boolean orderingHasBeenSet = false;
+	private List<PropertyMeta> fetchProperties;
+	private List<List<Object>> partitionsComponents = new ArrayList<>();
+	private int globalLimit = 0;
+	private SliceCursor cursor;
+	private EntityProxifier proxifier = new EntityProxifier();
 
 	RootSliceQueryBuilder(SliceQueryExecutor sliceQueryExecutor, Class<T> entityClass, EntityMeta meta) {
 		this.sliceQueryExecutor = sliceQueryExecutor;
@@ -80,6 +88,21 @@ public abstract class RootSliceQueryBuilder<T> {
 		return this;
 	}
 
+	protected RootSliceQueryBuilder<T> partitionsComponentsInternal(List<? extends List<?>> partitionsComponents) {
+		log.trace("Add partition key components of partitions {}", partitionsComponents);
+		Validator.validateNotEmpty(partitionsComponents,
+				"Partitions components for multi-partition slice query for entity '%s' should not be empty",
+				meta.getClassName());
+		List<List<Object>> components = new ArrayList<>(partitionsComponents.size());
+		for (List<?> partitionComponents : partitionsComponents) {
+			List<Object> partition = new ArrayList<Object>(partitionComponents);
+			idMeta.validatePartitionComponents(partition);
+			components.add(partition);
+		}
+		this.partitionsComponents = components;
+		return this;
+	}
+
 	protected RootSliceQueryBuilder<T> fromClusteringsInternal(List<Object> clusteringComponents) {
 		log.trace("Add clustering components {}", clusteringComponents);
 		idMeta.validateClusteringComponents(clusteringComponents);
@@ -128,12 +151,45 @@ public abstract class RootSliceQueryBuilder<T> {
 		return this;
 	}
 
+	protected RootSliceQueryBuilder<T> fetchGroupInternal(String fetchGroup) {
+		this.fetchProperties = meta.getFetchGroup(fetchGroup);
+		return this;
+	}
+
+	protected RootSliceQueryBuilder<T> fetchPropertiesInternal(String... propertyNames) {
+		this.fetchProperties = meta.getFetchProperties(propertyNames);
+		return this;
+	}
+
+	protected RootSliceQueryBuilder<T> fromCursorInternal(SliceCursor cursor) {
+		Validator.validateNotNull(cursor, "Cursor for slice query for entity '%s' should not be null",
+				meta.getClassName());
+		Validator.validateTrue(fromClusterings.isEmpty() && toClusterings.isEmpty(),
+				"You should not set clustering components when resuming slice query for entity '%s' from a cursor",
+				meta.getClassName());
+		Validator.validateTrue(cursor.getLastClusterings().size() == idMeta.getClusteringComponentClasses().size(),
+				"Cursor '%s' does not match the clustering components of entity '%s'", cursor, meta.getClassName());
+		this.cursor = cursor;
+		this.ordering = cursor.getOrdering();
+		this.bounding = cursor.getBounding();
+		this.toClusterings = decodeClusterings(cursor.getToClusterings());
+		return this;
+	}
+
 	protected RootSliceQueryBuilder<T> limit(int limit) {
 		this.limit = limit;
 		limitHasBeenSet = true;
 		return this;
 	}
 
+	protected RootSliceQueryBuilder<T> globalLimit(int globalLimit) {
+		Validator.validateTrue(globalLimit > 0,
+				"Global limit for multi-partition slice query for entity '%s' should be strictly positive",
+				meta.getClassName());
+		this.globalLimit = globalLimit;
+		return this;
+	}
+
 	protected List<T> get() {
 		SliceQuery<T> clusteredQuery = buildClusterQuery();
 		return sliceQueryExecutor.get(clusteredQuery);
@@ -239,6 +295,79 @@ public abstract class RootSliceQueryBuilder<T> {
 		return sliceQueryExecutor.iterator(clusteredQuery);
 	}
 
+	/**
+	 * Fetch one entity more than the page size to know whether a next page exists without an extra query. When
+	 * resuming from a cursor, the remaining siblings of the last entity are fetched first, one clustering component
+	 * at a time from the deepest, up to the component varying in the original query. Each query starts with an
+	 * exclusive bound right after the last entity so no row is read twice
+	 */
+	protected SlicePage<T> page(int pageSize) {
+		log.trace("Get page of {} entities", pageSize);
+		Validator.validateTrue(pageSize > 0, "Page size for slice query for entity '%s' should be strictly positive",
+				meta.getClassName());
+		Validator.validateFalse(limitHasBeenSet, "You should not set 'limit' parameter when calling page(int pageSize)");
+
+		final List<T> entities = new ArrayList<>();
+		final int fixedClusteringsCount;
+		if (cursor == null) {
+			final SliceQuery<T> sliceQuery = buildClusterQuery(partitionComponents, fromClusterings, toClusterings,
+					bounding, pageSize + 1);
+			fixedClusteringsCount = fixedClusteringsCount(sliceQuery);
+			entities.addAll(sliceQueryExecutor.get(sliceQuery));
+		} else {
+			fixedClusteringsCount = cursor.getFixedClusteringsCount();
+			final List<Object> lastClusterings = decodeClusterings(cursor.getLastClusterings());
+			for (int depth = lastClusterings.size() - 1; depth >= fixedClusteringsCount
+					&& entities.size() <= pageSize; depth--) {
+				final List<Object> resumeFrom = lastClusterings.subList(0, depth + 1);
+				final List<Object> resumeTo;
+				final BoundingMode resumeBounding;
+				if (depth == fixedClusteringsCount) {
+					if (toClusterings.size() > depth && toClusterings.get(depth).equals(lastClusterings.get(depth))) {
+						// the last entity is on the end bound of the original query
+						break;
+					}
+					resumeTo = toClusterings;
+					resumeBounding = isEndBoundInclusive(bounding) ? INCLUSIVE_END_BOUND_ONLY : EXCLUSIVE_BOUNDS;
+				} else {
+					resumeTo = lastClusterings.subList(0, depth);
+					resumeBounding = EXCLUSIVE_BOUNDS;
+				}
+				entities.addAll(sliceQueryExecutor.get(buildClusterQuery(partitionComponents, resumeFrom, resumeTo,
+						resumeBounding, pageSize + 1 - entities.size())));
+			}
+		}
+
+		if (entities.size() > pageSize) {
+			final List<T> pageEntities = new ArrayList<>(entities.subList(0, pageSize));
+			return new SlicePage<>(pageEntities, buildCursor(pageEntities.get(pageSize - 1), fixedClusteringsCount));
+		}
+		return new SlicePage<>(entities, null);
+	}
+
+	protected List<T> getMerged() {
+		log.trace("Get merged results of {} partitions", partitionsComponents.size());
+		return sliceQueryExecutor.get(buildClusterQueries(), globalLimit);
+	}
+
+	protected Iterator<T> mergedIterator() {
+		log.trace("Build merged iterator for {} partitions", partitionsComponents.size());
+		return sliceQueryExecutor.mergedIterator(buildClusterQueries(), globalLimit);
+	}
+
+	protected Iterator<T> mergedIterator(int batchSize) {
+		log.trace("Build merged iterator for {} partitions with batch size {}", partitionsComponents.size(),
+				batchSize);
+		this.batchSize = batchSize;
+		return sliceQueryExecutor.mergedIterator(buildClusterQueries(), globalLimit);
+	}
+
+	protected long count() {
+		log.trace("Slice count");
+		SliceQuery<T> clusteredQuery = buildClusterQuery();
+		return sliceQueryExecutor.count(clusteredQuery);
+	}
+
 	protected void remove() {
 		log.trace("Slice remove");
 		SliceQuery<T> clusteredQuery = buildClusterQuery();
@@ -310,7 +439,70 @@ public abstract class RootSliceQueryBuilder<T> {
 	}
 
 	protected SliceQuery<T> buildClusterQuery() {
-		return new SliceQuery<>(entityClass, meta, partitionComponents, fromClusterings, toClusterings, ordering,
-				bounding, consistencyLevel, limit, batchSize, limitHasBeenSet);
+		return buildClusterQuery(partitionComponents, limit);
+	}
+
+	protected List<SliceQuery<T>> buildClusterQueries() {
+		// a single partition never contributes more than the global limit to the merged results
+		final int partitionLimit = globalLimit > 0 ? Math.min(limit, globalLimit) : limit;
+		List<SliceQuery<T>> sliceQueries = new ArrayList<>(partitionsComponents.size());
+		for (List<Object> components : partitionsComponents) {
+			sliceQueries.add(buildClusterQuery(components, partitionLimit));
+		}
+		return sliceQueries;
+	}
+
+	private SliceQuery<T> buildClusterQuery(List<Object> partitionComponents, int limit) {
+		SliceQuery<T> sliceQuery = new SliceQuery<>(entityClass, meta, partitionComponents, fromClusterings,
+				toClusterings, ordering, bounding, consistencyLevel, limit, batchSize, limitHasBeenSet);
+		sliceQuery.setFetchProperties(fetchProperties);
+		return sliceQuery;
+	}
+
+	private SliceQuery<T> buildClusterQuery(List<Object> partitionComponents, List<Object> fromClusterings,
+			List<Object> toClusterings, BoundingMode bounding, int limit) {
+		SliceQuery<T> sliceQuery = new SliceQuery<>(entityClass, meta, partitionComponents, fromClusterings,
+				toClusterings, ordering, bounding, consistencyLevel, limit, batchSize, true);
+		sliceQuery.setFetchProperties(fetchProperties);
+		return sliceQuery;
+	}
+
+	protected int fixedClusteringsCount(SliceQuery<T> sliceQuery) {
+		return new CQLSliceQuery<>(sliceQuery, consistencyLevel).getFixedComponents().size()
+				- sliceQuery.partitionComponentsSize();
+	}
+
+	private SliceCursor buildCursor(T lastEntity, int fixedClusteringsCount) {
+		final Object embeddedId = meta.getPrimaryKey(proxifier.getRealObject(lastEntity));
+		final List<Object> lastClusterings = idMeta.extractClusteringComponents(idMeta.encodeToComponents(embeddedId));
+		return new SliceCursor(encodeClusterings(lastClusterings),
+				encodeClusterings(idMeta.encodeToComponents(toClusterings)), fixedClusteringsCount, ordering, bounding);
+	}
+
+	private List<String> encodeClusterings(List<Object> encodedComponents) {
+		final List<String> clusterings = new ArrayList<>(encodedComponents.size());
+		for (Object component : encodedComponents) {
+			clusterings.add(idMeta.forceEncodeToJSON(component));
+		}
+		return clusterings;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private List<Object> decodeClusterings(List<String> clusterings) {
+		final List<Class<?>> componentClasses = idMeta.getClusteringComponentClasses();
+		final List<Object> components = new ArrayList<>(clusterings.size());
+		for (int i = 0; i < clusterings.size(); i++) {
+			final Class<?> componentClass = componentClasses.get(i);
+			if (componentClass.isEnum()) {
+				components.add(Enum.valueOf((Class<Enum>) componentClass, clusterings.get(i)));
+			} else {
+				components.add(idMeta.forceDecodeFromJSON(clusterings.get(i), componentClass));
+			}
+		}
+		return components;
+	}
+
+	private boolean isEndBoundInclusive(BoundingMode bounding) {
+		return bounding == BoundingMode.INCLUSIVE_BOUNDS || bounding == INCLUSIVE_END_BOUND_ONLY;
 	}
 }
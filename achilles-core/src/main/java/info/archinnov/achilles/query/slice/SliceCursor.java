@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.query.slice;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.type.BoundingMode;
+import info.archinnov.achilles.type.OrderingMode;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.base.Objects;
+import com.google.common.io.BaseEncoding;
+
+/**
+ * Position of a paged slice query, right after the last entity of a page.
+ * <br/>
+ * The cursor holds the clustering components of the last entity as well as the end bound, the bounding and the
+ * ordering of the query so that the next page can be fetched with only the partition key and the cursor. It can be
+ * handed to a client as an opaque token with {@link #encode()} and restored with {@link #decode(String)}
+ */
+public class SliceCursor implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final List<String> lastClusterings;
+	private final List<String> toClusterings;
+	private final int fixedClusteringsCount;
+	private final OrderingMode ordering;
+	private final BoundingMode bounding;
+
+	SliceCursor(List<String> lastClusterings, List<String> toClusterings, int fixedClusteringsCount,
+			OrderingMode ordering, BoundingMode bounding) {
+		this.lastClusterings = lastClusterings;
+		this.toClusterings = toClusterings;
+		this.fixedClusteringsCount = fixedClusteringsCount;
+		this.ordering = ordering;
+		this.bounding = bounding;
+	}
+
+	/**
+	 * Encode the cursor as an URL-safe token
+	 */
+	public String encode() {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeUTF(ordering.name());
+			out.writeUTF(bounding.name());
+			out.writeInt(fixedClusteringsCount);
+			writeComponents(out, lastClusterings);
+			writeComponents(out, toClusterings);
+		} catch (IOException e) {
+			throw new AchillesException("Cannot encode slice cursor " + this, e);
+		}
+		return BaseEncoding.base64Url().omitPadding().encode(bytes.toByteArray());
+	}
+
+	/**
+	 * Restore a cursor from a token built by {@link #encode()}
+	 */
+	public static SliceCursor decode(String token) {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(BaseEncoding.base64Url()
+				.omitPadding().decode(token)))) {
+			final OrderingMode ordering = OrderingMode.valueOf(in.readUTF());
+			final BoundingMode bounding = BoundingMode.valueOf(in.readUTF());
+			final int fixedClusteringsCount = in.readInt();
+			final List<String> lastClusterings = readComponents(in);
+			final List<String> toClusterings = readComponents(in);
+			return new SliceCursor(lastClusterings, toClusterings, fixedClusteringsCount, ordering, bounding);
+		} catch (IOException | IllegalArgumentException e) {
+			throw new AchillesException("Cannot decode slice cursor '" + token + "'", e);
+		}
+	}
+
+	List<String> getLastClusterings() {
+		return lastClusterings;
+	}
+
+	List<String> getToClusterings() {
+		return toClusterings;
+	}
+
+	int getFixedClusteringsCount() {
+		return fixedClusteringsCount;
+	}
+
+	OrderingMode getOrdering() {
+		return ordering;
+	}
+
+	BoundingMode getBounding() {
+		return bounding;
+	}
+
+	@Override
+	public String toString() {
+		return Objects.toStringHelper(this.getClass()).add("lastClusterings", lastClusterings)
+				.add("toClusterings", toClusterings).add("fixedClusteringsCount", fixedClusteringsCount)
+				.add("ordering", ordering).add("bounding", bounding).toString();
+	}
+
+	private static void writeComponents(DataOutputStream out, List<String> components) throws IOException {
+		out.writeInt(components.size());
+		for (String component : components) {
+			out.writeUTF(component);
+		}
+	}
+
+	private static List<String> readComponents(DataInputStream in) throws IOException {
+		final int size = in.readInt();
+		if (size < 0 || size > in.available()) {
+			throw new IOException("Invalid components count " + size);
+		}
+		final List<String> components = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			components.add(in.readUTF());
+		}
+		return components;
+	}
+}
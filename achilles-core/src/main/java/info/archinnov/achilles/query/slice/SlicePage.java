@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.query.slice;
+
+import java.util.List;
+
+/**
+ * A page of entities returned by a paged slice query, with the cursor to fetch the next page
+ */
+public class SlicePage<T> {
+
+	private final List<T> entities;
+	private final SliceCursor nextCursor;
+
+	SlicePage(List<T> entities, SliceCursor nextCursor) {
+		this.entities = entities;
+		this.nextCursor = nextCursor;
+	}
+
+	public List<T> getEntities() {
+		return entities;
+	}
+
+	/**
+	 * Cursor positioned after the last entity of this page, null when this page is the last one
+	 */
+	public SliceCursor getNextCursor() {
+		return nextCursor;
+	}
+
+	public boolean hasNextPage() {
+		return nextCursor != null;
+	}
+}
@@ -43,6 +43,7 @@ public class SliceQuery<T> {
 	private int limit;
 	private boolean limitSet;
 	private boolean noComponent;
+	private List<PropertyMeta> fetchProperties;
 
 	public SliceQuery(Class<T> entityClass, EntityMeta meta, List<Object> partitionComponents,
 			List<Object> clusteringsFrom, List<Object> clusteringsTo, OrderingMode ordering, BoundingMode bounding,
@@ -140,4 +141,15 @@ public class SliceQuery<T> {
 		return noComponent;
 	}
 
+	/**
+	 * Properties to load, null to load all the properties
+	 */
+	public List<PropertyMeta> getFetchProperties() {
+		return fetchProperties;
+	}
+
+	public void setFetchProperties(List<PropertyMeta> fetchProperties) {
+		this.fetchProperties = fetchProperties;
+	}
+
 }
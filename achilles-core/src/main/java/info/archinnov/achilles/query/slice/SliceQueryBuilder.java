@@ -15,6 +15,8 @@
  */
 package info.archinnov.achilles.query.slice;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -45,6 +47,42 @@ public class SliceQueryBuilder<T> extends RootSliceQueryBuilder<T> {
 		return new SliceShortcutQueryBuilder();
 	}
 
+	/**
+	 * Query several partitions at once, by their partition key component(s).
+	 * Each partition is sliced concurrently with the same clustering
+	 * components, ordering and limit, then entities are merged in clustering
+	 * order<br/>
+	 * <br/>
+	 * 
+	 * @param partitionsComponents
+	 *            partition key component(s) of each partition
+	 * @return MultiPartitionQueryBuilder
+	 */
+	public MultiPartitionQueryBuilder partitionComponentsIn(List<? extends List<?>> partitionsComponents) {
+		super.partitionsComponentsInternal(partitionsComponents);
+		return new MultiPartitionQueryBuilder();
+	}
+
+	/**
+	 * Query several partitions at once, for a partition key made of a single
+	 * component. Each partition is sliced concurrently with the same
+	 * clustering components, ordering and limit, then entities are merged in
+	 * clustering order<br/>
+	 * <br/>
+	 * 
+	 * @param partitionKeys
+	 *            partition key of each partition
+	 * @return MultiPartitionQueryBuilder
+	 */
+	public MultiPartitionQueryBuilder partitionKeysIn(Object... partitionKeys) {
+		List<List<Object>> partitionsComponents = new ArrayList<>(partitionKeys.length);
+		for (Object partitionKey : partitionKeys) {
+			partitionsComponents.add(Arrays.asList(partitionKey));
+		}
+		super.partitionsComponentsInternal(partitionsComponents);
+		return new MultiPartitionQueryBuilder();
+	}
+
 	/**
 	 * Query by 'from' & 'to' embeddedIds<br/>
 	 * <br/>
@@ -113,6 +151,34 @@ public class SliceQueryBuilder<T> extends RootSliceQueryBuilder<T> {
 			return this;
 		}
 
+		/**
+		 * Only load the properties of a fetch group declared with @FetchGroup<br/>
+		 * <br/>
+		 * 
+		 * @param fetchGroup
+		 *            name of the fetch group
+		 * @return SliceShortcutQueryBuilder
+		 */
+		@Override
+		public SliceShortcutQueryBuilder fetchGroup(String fetchGroup) {
+			SliceQueryBuilder.super.fetchGroupInternal(fetchGroup);
+			return this;
+		}
+
+		/**
+		 * Only load the given properties<br/>
+		 * <br/>
+		 * 
+		 * @param propertyNames
+		 *            names of the properties to load
+		 * @return SliceShortcutQueryBuilder
+		 */
+		@Override
+		public SliceShortcutQueryBuilder fetchProperties(String... propertyNames) {
+			SliceQueryBuilder.super.fetchPropertiesInternal(propertyNames);
+			return this;
+		}
+
 		/**
 		 * Set 'from' clustering component(s)<br/>
 		 * <br/>
@@ -141,6 +207,36 @@ public class SliceQueryBuilder<T> extends RootSliceQueryBuilder<T> {
 			return new SliceToClusteringsBuilder();
 		}
 
+		/**
+		 * Resume a paged query right after the last entity of the previous
+		 * page. Clustering bounds, bounding and ordering are restored from the
+		 * cursor<br/>
+		 * <br/>
+		 * 
+		 * @param cursor
+		 *            cursor of the previous page
+		 * 
+		 * @return SliceCursorQueryBuilder
+		 */
+		public SliceCursorQueryBuilder fromCursor(SliceCursor cursor) {
+			SliceQueryBuilder.super.fromCursorInternal(cursor);
+			return new SliceCursorQueryBuilder();
+		}
+
+		/**
+		 * Resume a paged query from a cursor token built by
+		 * {@link SliceCursor#encode()}<br/>
+		 * <br/>
+		 * 
+		 * @param cursorToken
+		 *            encoded cursor of the previous page
+		 * 
+		 * @return SliceCursorQueryBuilder
+		 */
+		public SliceCursorQueryBuilder fromCursor(String cursorToken) {
+			return fromCursor(SliceCursor.decode(cursorToken));
+		}
+
 		/**
 		 * Set ordering<br/>
 		 * <br/>
@@ -464,6 +560,36 @@ public class SliceQueryBuilder<T> extends RootSliceQueryBuilder<T> {
 			return this;
 		}
 
+		/**
+		 * Only load the properties of a fetch group declared with @FetchGroup.
+		 * The other properties are loaded lazily on first access<br/>
+		 * <br/>
+		 * 
+		 * @param fetchGroup
+		 *            name of the fetch group
+		 * 
+		 * @return DefaultQueryBuilder
+		 */
+		public DefaultQueryBuilder fetchGroup(String fetchGroup) {
+			SliceQueryBuilder.super.fetchGroupInternal(fetchGroup);
+			return this;
+		}
+
+		/**
+		 * Only load the given properties. The other properties are loaded
+		 * lazily on first access<br/>
+		 * <br/>
+		 * 
+		 * @param propertyNames
+		 *            names of the properties to load
+		 * 
+		 * @return DefaultQueryBuilder
+		 */
+		public DefaultQueryBuilder fetchProperties(String... propertyNames) {
+			SliceQueryBuilder.super.fetchPropertiesInternal(propertyNames);
+			return this;
+		}
+
 		/**
 		 * Get entities<br/>
 		 * <br/>
@@ -510,6 +636,30 @@ public class SliceQueryBuilder<T> extends RootSliceQueryBuilder<T> {
 			return SliceQueryBuilder.super.iterator(fetchSize);
 		}
 
+		/**
+		 * Get a page of entities and the cursor to resume after it<br/>
+		 * <br/>
+		 * 
+		 * @param pageSize
+		 *            maximum number of entities in the page
+		 * 
+		 * @return SlicePage<T>
+		 */
+		public SlicePage<T> page(int pageSize) {
+			return SliceQueryBuilder.super.page(pageSize);
+		}
+
+		/**
+		 * Count matched entities, up to the limit if any, without loading
+		 * them<br/>
+		 * <br/>
+		 * 
+		 * @return number of matched entities
+		 */
+		public long count() {
+			return SliceQueryBuilder.super.count();
+		}
+
 		/**
 		 * Remove matched entities<br/>
 		 * <br/>
@@ -533,4 +683,248 @@ public class SliceQueryBuilder<T> extends RootSliceQueryBuilder<T> {
 			SliceQueryBuilder.super.remove(n);
 		}
 	}
+
+	public class SliceCursorQueryBuilder {
+
+		protected SliceCursorQueryBuilder() {
+		}
+
+		/**
+		 * Query using provided consistency level<br/>
+		 * <br/>
+		 * 
+		 * @param consistencyLevel
+		 *            consistency level
+		 * @return SliceCursorQueryBuilder
+		 */
+		public SliceCursorQueryBuilder consistencyLevel(ConsistencyLevel consistencyLevel) {
+			SliceQueryBuilder.super.consistencyLevelInternal(consistencyLevel);
+			return this;
+		}
+
+		/**
+		 * Only load the properties of a fetch group declared with @FetchGroup<br/>
+		 * <br/>
+		 * 
+		 * @param fetchGroup
+		 *            name of the fetch group
+		 * @return SliceCursorQueryBuilder
+		 */
+		public SliceCursorQueryBuilder fetchGroup(String fetchGroup) {
+			SliceQueryBuilder.super.fetchGroupInternal(fetchGroup);
+			return this;
+		}
+
+		/**
+		 * Only load the given properties<br/>
+		 * <br/>
+		 * 
+		 * @param propertyNames
+		 *            names of the properties to load
+		 * @return SliceCursorQueryBuilder
+		 */
+		public SliceCursorQueryBuilder fetchProperties(String... propertyNames) {
+			SliceQueryBuilder.super.fetchPropertiesInternal(propertyNames);
+			return this;
+		}
+
+		/**
+		 * Get the next page of entities and the cursor to resume after it<br/>
+		 * <br/>
+		 * 
+		 * @param pageSize
+		 *            maximum number of entities in the page
+		 * 
+		 * @return SlicePage<T>
+		 */
+		public SlicePage<T> page(int pageSize) {
+			return SliceQueryBuilder.super.page(pageSize);
+		}
+	}
+
+	public class MultiPartitionQueryBuilder {
+
+		protected MultiPartitionQueryBuilder() {
+		}
+
+		/**
+		 * Set 'from' clustering component(s), for all partitions<br/>
+		 * <br/>
+		 * 
+		 * @param clusteringComponents
+		 *            'from' clustering component(s)
+		 * 
+		 * @return MultiPartitionQueryBuilder
+		 */
+		public MultiPartitionQueryBuilder fromClusterings(Object... clusteringComponents) {
+			SliceQueryBuilder.super.fromClusteringsInternal(clusteringComponents);
+			return this;
+		}
+
+		/**
+		 * Set 'to' clustering component(s), for all partitions<br/>
+		 * <br/>
+		 * 
+		 * @param clusteringComponents
+		 *            'to' clustering component(s)
+		 * 
+		 * @return MultiPartitionQueryBuilder
+		 */
+		public MultiPartitionQueryBuilder toClusterings(Object... clusteringComponents) {
+			SliceQueryBuilder.super.toClusteringsInternal(clusteringComponents);
+			return this;
+		}
+
+		/**
+		 * Set ordering, used for each partition and for the merge<br/>
+		 * <br/>
+		 * 
+		 * @param ordering
+		 *            ordering mode: ASCENDING or DESCENDING
+		 * 
+		 * @return MultiPartitionQueryBuilder
+		 */
+		public MultiPartitionQueryBuilder ordering(OrderingMode ordering) {
+			SliceQueryBuilder.super.ordering(ordering);
+			return this;
+		}
+
+		/**
+		 * Set bounding mode<br/>
+		 * <br/>
+		 * 
+		 * @param boundingMode
+		 *            bounding mode: INCLUSIVE_BOUNDS, EXCLUSIVE_BOUNDS,
+		 *            INCLUSIVE_START_BOUND_ONLY or INCLUSIVE_END_BOUND_ONLY
+		 * 
+		 * @return MultiPartitionQueryBuilder
+		 */
+		public MultiPartitionQueryBuilder bounding(BoundingMode boundingMode) {
+			SliceQueryBuilder.super.bounding(boundingMode);
+			return this;
+		}
+
+		/**
+		 * Set consistency level<br/>
+		 * <br/>
+		 * 
+		 * @param consistencyLevel
+		 *            consistency level:
+		 *            ONE,TWO,THREE,QUORUM,LOCAL_QUORUM,EACH_QUORUM or ALL
+		 * 
+		 * @return MultiPartitionQueryBuilder
+		 */
+		public MultiPartitionQueryBuilder consistencyLevel(ConsistencyLevel consistencyLevel) {
+			SliceQueryBuilder.super.consistencyLevelInternal(consistencyLevel);
+			return this;
+		}
+
+		/**
+		 * Set limit of each partition<br/>
+		 * <br/>
+		 * 
+		 * @param limit
+		 *            limit to the number of rows returned by each partition
+		 * 
+		 * @return MultiPartitionQueryBuilder
+		 */
+		public MultiPartitionQueryBuilder limit(int limit) {
+			SliceQueryBuilder.super.limit(limit);
+			return this;
+		}
+
+		/**
+		 * Set limit of the merged results. No more row is fetched from the
+		 * partitions once this limit is reached<br/>
+		 * <br/>
+		 * 
+		 * @param globalLimit
+		 *            limit to the number of merged entities
+		 * 
+		 * @return MultiPartitionQueryBuilder
+		 */
+		public MultiPartitionQueryBuilder globalLimit(int globalLimit) {
+			SliceQueryBuilder.super.globalLimit(globalLimit);
+			return this;
+		}
+
+		/**
+		 * Only load the properties of a fetch group declared with @FetchGroup.
+		 * The other properties are loaded lazily on first access<br/>
+		 * <br/>
+		 * 
+		 * @param fetchGroup
+		 *            name of the fetch group
+		 * 
+		 * @return MultiPartitionQueryBuilder
+		 */
+		public MultiPartitionQueryBuilder fetchGroup(String fetchGroup) {
+			SliceQueryBuilder.super.fetchGroupInternal(fetchGroup);
+			return this;
+		}
+
+		/**
+		 * Only load the given properties. The other properties are loaded
+		 * lazily on first access<br/>
+		 * <br/>
+		 * 
+		 * @param propertyNames
+		 *            names of the properties to load
+		 * 
+		 * @return MultiPartitionQueryBuilder
+		 */
+		public MultiPartitionQueryBuilder fetchProperties(String... propertyNames) {
+			SliceQueryBuilder.super.fetchPropertiesInternal(propertyNames);
+			return this;
+		}
+
+		/**
+		 * Get merged entities of all partitions<br/>
+		 * <br/>
+		 * 
+		 * 
+		 * @return List<T>
+		 */
+		public List<T> get() {
+			return SliceQueryBuilder.super.getMerged();
+		}
+
+		/**
+		 * Get first n merged entities of all partitions<br/>
+		 * <br/>
+		 * 
+		 * @param n
+		 *            global limit
+		 * 
+		 * @return List<T>
+		 */
+		public List<T> get(int n) {
+			SliceQueryBuilder.super.globalLimit(n);
+			return SliceQueryBuilder.super.getMerged();
+		}
+
+		/**
+		 * Iterator on merged entities of all partitions<br/>
+		 * <br/>
+		 * 
+		 * 
+		 * @return Iterator<T>
+		 */
+		public Iterator<T> iterator() {
+			return SliceQueryBuilder.super.mergedIterator();
+		}
+
+		/**
+		 * Iterator on merged entities of all partitions with fetchSize<br/>
+		 * <br/>
+		 * 
+		 * @param batchSize
+		 *            batch loading size of each partition
+		 * 
+		 * @return Iterator<T>
+		 */
+		public Iterator<T> iterator(int batchSize) {
+			return SliceQueryBuilder.super.mergedIterator(batchSize);
+		}
+	}
 }
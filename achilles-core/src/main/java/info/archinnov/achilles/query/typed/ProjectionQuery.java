@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.query.typed;
+
+import static info.archinnov.achilles.internal.context.OperationMetrics.Operation.TYPED;
+import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.context.OperationMetrics;
+import info.archinnov.achilles.internal.context.OperationMetrics.Sample;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.base.Function;
+import com.google.common.collect.Iterators;
+
+/**
+ * Executable projection query, returning for each row either a DTO or a tuple of the projected values
+ */
+public class ProjectionQuery<D> {
+	private static final Logger log = LoggerFactory.getLogger(ProjectionQuery.class);
+
+	private DaoContext daoContext;
+	private Class<?> entityClass;
+	private String queryString;
+	private Object[] boundValues;
+	private Function<Row, D> rowMapper;
+
+	public ProjectionQuery(DaoContext daoContext, Class<?> entityClass, String queryString, Object[] boundValues,
+			Function<Row, D> rowMapper) {
+		this.daoContext = daoContext;
+		this.entityClass = entityClass;
+		this.queryString = queryString;
+		this.boundValues = boundValues;
+		this.rowMapper = rowMapper;
+	}
+
+	/**
+	 * Executes the projection query and returns all results
+	 * 
+	 * @return List<D> list of results or empty list
+	 */
+	public List<D> get() {
+		log.debug("Get results for projection query {}", queryString);
+		List<D> results = new ArrayList<>();
+		for (Row row : execute()) {
+			results.add(rowMapper.apply(row));
+		}
+		return results;
+	}
+
+	/**
+	 * Executes the projection query and returns the first result
+	 * 
+	 * @return D first result or null
+	 */
+	public D getFirst() {
+		log.debug("Get first result for projection query {}", queryString);
+		Row row = execute().one();
+		return row != null ? rowMapper.apply(row) : null;
+	}
+
+	/**
+	 * Executes the projection query and returns an iterator on results. Rows
+	 * are mapped one at a time while iterating and fetched by pages of the
+	 * driver default fetch size
+	 * 
+	 * @return Iterator<D> iterator on results
+	 */
+	public Iterator<D> iterator() {
+		log.debug("Get iterator for projection query {}", queryString);
+		return Iterators.transform(execute().iterator(), rowMapper);
+	}
+
+	public String getQueryString() {
+		return queryString;
+	}
+
+	private ResultSet execute() {
+		final Sample sample = OperationMetrics.start(daoContext.getOperationMetrics(), entityClass, TYPED);
+		try {
+			PreparedStatement ps = daoContext.prepareProjection(entityClass, queryString);
+			return sample.success(daoContext.bindAndExecute(ps, boundValues));
+		} finally {
+			sample.stop();
+		}
+	}
+}
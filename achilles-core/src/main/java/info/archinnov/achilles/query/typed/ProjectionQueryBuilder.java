@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.query.typed;
+
+import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.persistence.operations.ProjectionMapper;
+import info.archinnov.achilles.internal.persistence.operations.ProjectionMapper.ProjectedColumn;
+import info.archinnov.achilles.internal.validation.Validator;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.datastax.driver.core.Row;
+import com.google.common.base.Function;
+import com.google.common.base.Joiner;
+
+/**
+ * Builder for projection queries, selecting only some properties of an
+ * entity.
+ * 
+ * Selected columns are decoded with the entity transcoders and mapped
+ * positionally either to a DTO or to an Object[] tuple. No entity, proxy nor
+ * persistence context is created. The narrow SELECT is prepared once and
+ * cached with the other dynamic prepared statements
+ */
+public class ProjectionQueryBuilder<T> {
+
+	private DaoContext daoContext;
+	private EntityMeta meta;
+	private List<ProjectedColumn> columns;
+	private String whereClause;
+	private Object[] boundValues = new Object[0];
+	private int limit;
+
+	private ProjectionMapper mapper = new ProjectionMapper();
+
+	public ProjectionQueryBuilder(DaoContext daoContext, EntityMeta meta, String... properties) {
+		this.daoContext = daoContext;
+		this.meta = meta;
+		this.columns = mapper.resolveColumns(meta, properties);
+	}
+
+	/**
+	 * Restrict the projection with a CQL condition
+	 * 
+	 * <pre class="code"><code class="java">
+	 * 
+	 *   manager.select(User.class, "id", "updatedAt")
+	 *      .where("id IN (?,?)", 10L, 11L)
+	 *      .into(UserDate.class).get();
+	 * 
+	 * </code></pre>
+	 * 
+	 * @param whereClause
+	 *            CQL condition, without the WHERE keyword
+	 * @param boundValues
+	 *            values to be bound to the condition, if any
+	 * @return ProjectionQueryBuilder<T>
+	 */
+	public ProjectionQueryBuilder<T> where(String whereClause, Object... boundValues) {
+		Validator.validateNotBlank(whereClause, "The where clause of the projection query should not be blank");
+		this.whereClause = whereClause;
+		this.boundValues = boundValues;
+		return this;
+	}
+
+	/**
+	 * Limit the number of returned rows
+	 * 
+	 * @param limit
+	 *            maximum number of rows
+	 * @return ProjectionQueryBuilder<T>
+	 */
+	public ProjectionQueryBuilder<T> limit(int limit) {
+		Validator.validateTrue(limit > 0, "The limit of the projection query should be strictly positive");
+		this.limit = limit;
+		return this;
+	}
+
+	/**
+	 * Map the projected columns into instances of the given class.
+	 * 
+	 * A constructor whose parameters match the projected columns, in order,
+	 * is used when available. Otherwise the class is instantiated with its
+	 * default constructor and fields named after the projected properties are
+	 * set
+	 * 
+	 * @param dtoClass
+	 *            class of the returned objects
+	 * @return ProjectionQuery<D>
+	 */
+	public <D> ProjectionQuery<D> into(final Class<D> dtoClass) {
+		Validator.validateNotNull(dtoClass, "The target class of the projection query should not be null");
+		final Constructor<D> constructor = mapper.findConstructor(dtoClass, columns);
+		final Function<Row, D> rowMapper;
+		if (constructor != null) {
+			rowMapper = new Function<Row, D>() {
+				@Override
+				public D apply(Row row) {
+					return mapper.mapRowToDto(row, columns, constructor);
+				}
+			};
+		} else {
+			final List<Field> fields = mapper.findFields(dtoClass, columns);
+			final Constructor<D> defaultConstructor = mapper.findDefaultConstructor(dtoClass);
+			rowMapper = new Function<Row, D>() {
+				@Override
+				public D apply(Row row) {
+					return mapper.mapRowToDto(row, columns, defaultConstructor, fields);
+				}
+			};
+		}
+		return new ProjectionQuery<>(daoContext, meta.getEntityClass(), buildQueryString(), boundValues, rowMapper);
+	}
+
+	/**
+	 * Map the projected columns into Object[] tuples, in selection order
+	 * 
+	 * @return ProjectionQuery<Object[]>
+	 */
+	public ProjectionQuery<Object[]> tuples() {
+		Function<Row, Object[]> rowMapper = new Function<Row, Object[]>() {
+			@Override
+			public Object[] apply(Row row) {
+				return mapper.mapRowToTuple(row, columns);
+			}
+		};
+		return new ProjectionQuery<>(daoContext, meta.getEntityClass(), buildQueryString(), boundValues, rowMapper);
+	}
+
+	String buildQueryString() {
+		List<String> columnNames = new ArrayList<>();
+		for (ProjectedColumn column : columns) {
+			columnNames.add(column.getName());
+		}
+		StringBuilder query = new StringBuilder("SELECT ").append(Joiner.on(",").join(columnNames)).append(" FROM ")
+				.append(meta.getTableName());
+		if (StringUtils.isNotBlank(whereClause)) {
+			query.append(" WHERE ").append(whereClause);
+		}
+		if (limit > 0) {
+			query.append(" LIMIT ").append(limit);
+		}
+		return query.toString();
+	}
+}
@@ -15,18 +15,28 @@
  */
 package info.archinnov.achilles.query.typed;
 
+import static info.archinnov.achilles.internal.context.OperationMetrics.Operation.TYPED;
 import info.archinnov.achilles.interceptor.Event;
+import info.archinnov.achilles.internal.context.AdaptiveFetchSizer;
 import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.context.OperationMetrics;
+import info.archinnov.achilles.internal.context.OperationMetrics.Sample;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.persistence.operations.EntityMapper;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
 import info.archinnov.achilles.internal.statement.wrapper.SimpleStatementWrapper;
+import info.archinnov.achilles.iterator.AdaptiveFetchRowIterator;
+import info.archinnov.achilles.query.slice.SliceQuery;
+import info.archinnov.achilles.type.ResultCallback;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -34,11 +44,16 @@ import java.util.Map.Entry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
+import com.google.common.collect.AbstractIterator;
 
 public class TypedQueryBuilder<T> {
 	private static final Logger log = LoggerFactory.getLogger(TypedQueryBuilder.class);
 
+	private Class<T> entityClass;
 	private DaoContext daoContext;
 	private String normalizedQuery;
 	private Map<String, PropertyMeta> propertiesMap;
@@ -46,6 +61,8 @@ public class TypedQueryBuilder<T> {
 	private PersistenceContextFactory contextFactory;
 	private boolean managed;
 	private Object[] boundValues;
+	private boolean prepared;
+	private int fetchSize;
 
 	private EntityMapper mapper = new EntityMapper();
 	private EntityProxifier proxifier = new EntityProxifier();
@@ -53,6 +70,20 @@ public class TypedQueryBuilder<T> {
 	public TypedQueryBuilder(Class<T> entityClass, DaoContext daoContext, String queryString, EntityMeta meta,
 			PersistenceContextFactory contextFactory, boolean managed, boolean shouldNormalizeQuery,
 			Object[] boundValues) {
+		this(entityClass, daoContext, queryString, meta, contextFactory, managed, shouldNormalizeQuery, false,
+				boundValues);
+	}
+
+	/**
+	 * @param prepared
+	 *            whether to execute the query as a prepared statement, cached
+	 *            with the other dynamic prepared statements
+	 */
+	public TypedQueryBuilder(Class<T> entityClass, DaoContext daoContext, String queryString, EntityMeta meta,
+			PersistenceContextFactory contextFactory, boolean managed, boolean shouldNormalizeQuery, boolean prepared,
+			Object[] boundValues) {
+		this.entityClass = entityClass;
+		this.prepared = prepared;
 		this.daoContext = daoContext;
 		this.boundValues = boundValues;
 		this.normalizedQuery = shouldNormalizeQuery ? queryString.toLowerCase() : queryString;
@@ -77,20 +108,130 @@ public class TypedQueryBuilder<T> {
 	public List<T> get() {
 		log.debug("Get results for typed query {}", normalizedQuery);
 		List<T> result = new ArrayList<>();
-		List<Row> rows = daoContext.execute(new SimpleStatementWrapper(normalizedQuery, boundValues)).all();
+		final Sample sample = startSample();
+		final List<Row> rows;
+		try {
+			rows = sample.success(execute(fetchSize).all());
+		} finally {
+			sample.stop();
+		}
 		for (Row row : rows) {
-			T entity = mapper.mapRowToEntityWithPrimaryKey(meta, row, propertiesMap, managed);
+			T entity = mapRow(row);
 			if (entity != null) {
-				meta.intercept(entity, Event.POST_LOAD);
-				if (managed) {
-					entity = buildProxy(entity);
-				}
 				result.add(entity);
 			}
 		}
 		return result;
 	}
 
+	/**
+	 * Executes the query and returns an iterator on entities
+	 * 
+	 * Rows are mapped to entities one at a time while iterating and fetched
+	 * by pages of the query fetch size, or of the driver default fetch size
+	 * if none is set, so only the current page is kept in memory
+	 * 
+	 * @return Iterator<T> iterator on found entities
+	 * 
+	 */
+	public Iterator<T> iterator() {
+		return iterator(fetchSize);
+	}
+
+	/**
+	 * Executes the query and returns an iterator on entities
+	 * 
+	 * Rows are mapped to entities one at a time while iterating and fetched
+	 * by pages of fetchSize rows, so only the current page is kept in memory.
+	 * When adaptive fetch size is enabled, fetchSize is only the size of the
+	 * first page
+	 * 
+	 * @param fetchSize
+	 *            number of rows fetched per page
+	 * 
+	 * @return Iterator<T> iterator on found entities
+	 * 
+	 */
+	public Iterator<T> iterator(int fetchSize) {
+		log.debug("Get iterator for typed query {} with fetch size {}", normalizedQuery, fetchSize);
+		final AdaptiveFetchSizer adaptiveFetchSizer = daoContext.getAdaptiveFetchSizer();
+		final AbstractStatementWrapper statementWrapper = buildStatementWrapper(adaptiveFetchSizer != null
+				&& fetchSize <= 0 ? SliceQuery.DEFAULT_BATCH_SIZE : fetchSize);
+		final Sample sample = startSample();
+		final ResultSet resultSet;
+		try {
+			resultSet = sample.success(daoContext.execute(statementWrapper));
+		} finally {
+			sample.stop();
+		}
+		final Iterator<Row> rows = adaptiveFetchSizer != null ? new AdaptiveFetchRowIterator(resultSet.iterator(),
+				resultSet, statementWrapper.getStatement(), adaptiveFetchSizer) : resultSet.iterator();
+		return new AbstractIterator<T>() {
+			@Override
+			protected T computeNext() {
+				while (rows.hasNext()) {
+					T entity = mapRow(rows.next());
+					if (entity != null) {
+						return entity;
+					}
+				}
+				return endOfData();
+			}
+		};
+	}
+
+	/**
+	 * Executes the query and passes each entity to the callback as soon as
+	 * its row is fetched
+	 * 
+	 * @param callback
+	 *            callback receiving found entities
+	 */
+	public void forEach(ResultCallback<T> callback) {
+		forEach(fetchSize, callback);
+	}
+
+	/**
+	 * Executes the query and passes each entity to the callback as soon as
+	 * its row is fetched, rows being fetched by pages of fetchSize rows
+	 * 
+	 * @param fetchSize
+	 *            number of rows fetched per page
+	 * @param callback
+	 *            callback receiving found entities
+	 */
+	public void forEach(int fetchSize, ResultCallback<T> callback) {
+		Iterator<T> iterator = iterator(fetchSize);
+		while (iterator.hasNext()) {
+			callback.onResult(iterator.next());
+		}
+	}
+
+	/**
+	 * Set the number of rows fetched per page by get(), iterator() and
+	 * forEach(callback)
+	 * 
+	 * @param fetchSize
+	 *            number of rows fetched per page, 0 for the driver default
+	 * @return TypedQueryBuilder<T>
+	 */
+	public TypedQueryBuilder<T> fetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+		return this;
+	}
+
+	/**
+	 * Return found entities as raw entities instead of 'managed' proxies.
+	 * Useful for read-only processing of large results since no proxy nor
+	 * persistence context is built
+	 * 
+	 * @return TypedQueryBuilder<T>
+	 */
+	public TypedQueryBuilder<T> unmanaged() {
+		this.managed = false;
+		return this;
+	}
+
 	/**
 	 * Executes the query and returns first entity
 	 * 
@@ -103,7 +244,13 @@ public class TypedQueryBuilder<T> {
 	public T getFirst() {
 		log.debug("Get first result for typed query {}", normalizedQuery);
 		T entity = null;
-		Row row = daoContext.execute(new SimpleStatementWrapper(normalizedQuery, boundValues)).one();
+		final Sample sample = startSample();
+		final Row row;
+		try {
+			row = sample.success(execute(fetchSize).one());
+		} finally {
+			sample.stop();
+		}
 		if (row != null) {
 			entity = mapper.mapRowToEntityWithPrimaryKey(meta, row, propertiesMap, managed);
 			meta.intercept(entity, Event.POST_LOAD);
@@ -114,6 +261,39 @@ public class TypedQueryBuilder<T> {
 		return entity;
 	}
 
+	private Sample startSample() {
+		return OperationMetrics.start(daoContext.getOperationMetrics(), entityClass, TYPED);
+	}
+
+	private ResultSet execute(int fetchSize) {
+		return daoContext.execute(buildStatementWrapper(fetchSize));
+	}
+
+	private AbstractStatementWrapper buildStatementWrapper(int fetchSize) {
+		if (prepared) {
+			PreparedStatement ps = daoContext.prepareIndexedQuery(entityClass, normalizedQuery);
+			BoundStatement bs = ps.bind(boundValues);
+			if (fetchSize > 0) {
+				bs.setFetchSize(fetchSize);
+			}
+			return new BoundStatementWrapper(bs, boundValues, ps.getConsistencyLevel());
+		}
+		SimpleStatementWrapper statementWrapper = new SimpleStatementWrapper(normalizedQuery, boundValues);
+		statementWrapper.setFetchSize(fetchSize);
+		return statementWrapper;
+	}
+
+	private T mapRow(Row row) {
+		T entity = mapper.mapRowToEntityWithPrimaryKey(meta, row, propertiesMap, managed);
+		if (entity != null) {
+			meta.intercept(entity, Event.POST_LOAD);
+			if (managed) {
+				entity = buildProxy(entity);
+			}
+		}
+		return entity;
+	}
+
 	private Map<String, PropertyMeta> transformPropertiesMap(EntityMeta meta) {
 		Map<String, PropertyMeta> propertiesMap = new HashMap<>();
 		for (Entry<String, PropertyMeta> entry : meta.getPropertyMetas().entrySet()) {
@@ -0,0 +1,278 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.type;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import com.datastax.driver.core.DataType;
+
+/**
+ * Values of one column of a columnar query result.
+ * <br/>
+ * int, bigint/counter, double and boolean columns are stored in primitive arrays, other types as objects. Null
+ * values are tracked in a bitmap, allocated only when the column contains a null. Primitive getters return 0 or
+ * false for a null value, use {@link #isNull(int)} to tell them apart
+ */
+public class ColumnVector {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private enum Storage {
+		INT, LONG, DOUBLE, BOOLEAN, OBJECT
+	}
+
+	private final String name;
+	private final DataType type;
+	private final Storage storage;
+
+	private int[] ints;
+	private long[] longs;
+	private double[] doubles;
+	private boolean[] booleans;
+	private Object[] objects;
+	private BitSet nulls;
+	private int size;
+
+	public ColumnVector(String name, DataType type, int initialCapacity) {
+		this.name = name;
+		this.type = type;
+		this.storage = storageFor(type);
+		allocate(Math.max(initialCapacity, MIN_CAPACITY));
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public DataType getType() {
+		return type;
+	}
+
+	public Class<?> getJavaType() {
+		return type.asJavaClass();
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Whether values are stored in a primitive array rather than as objects
+	 */
+	public boolean isPrimitive() {
+		return storage != Storage.OBJECT;
+	}
+
+	public boolean isNull(int index) {
+		checkIndex(index);
+		return nulls != null && nulls.get(index);
+	}
+
+	public int getInt(int index) {
+		checkStorage(Storage.INT);
+		checkIndex(index);
+		return ints[index];
+	}
+
+	public long getLong(int index) {
+		checkStorage(Storage.LONG);
+		checkIndex(index);
+		return longs[index];
+	}
+
+	public double getDouble(int index) {
+		checkStorage(Storage.DOUBLE);
+		checkIndex(index);
+		return doubles[index];
+	}
+
+	public boolean getBoolean(int index) {
+		checkStorage(Storage.BOOLEAN);
+		checkIndex(index);
+		return booleans[index];
+	}
+
+	/**
+	 * Value at the given index, boxed for primitive columns
+	 */
+	public Object getObject(int index) {
+		if (isNull(index)) {
+			return null;
+		}
+		switch (storage) {
+		case INT:
+			return ints[index];
+		case LONG:
+			return longs[index];
+		case DOUBLE:
+			return doubles[index];
+		case BOOLEAN:
+			return booleans[index];
+		default:
+			return objects[index];
+		}
+	}
+
+	/**
+	 * Backing array of an int column. Only the first {@link #size()} values are meaningful
+	 */
+	public int[] getIntValues() {
+		checkStorage(Storage.INT);
+		return ints;
+	}
+
+	/**
+	 * Backing array of a bigint or counter column. Only the first {@link #size()} values are meaningful
+	 */
+	public long[] getLongValues() {
+		checkStorage(Storage.LONG);
+		return longs;
+	}
+
+	/**
+	 * Backing array of a double column. Only the first {@link #size()} values are meaningful
+	 */
+	public double[] getDoubleValues() {
+		checkStorage(Storage.DOUBLE);
+		return doubles;
+	}
+
+	/**
+	 * Backing array of a boolean column. Only the first {@link #size()} values are meaningful
+	 */
+	public boolean[] getBooleanValues() {
+		checkStorage(Storage.BOOLEAN);
+		return booleans;
+	}
+
+	public void addNull() {
+		ensureCapacity();
+		if (nulls == null) {
+			nulls = new BitSet();
+		}
+		nulls.set(size++);
+	}
+
+	public void addInt(int value) {
+		checkStorage(Storage.INT);
+		ensureCapacity();
+		ints[size++] = value;
+	}
+
+	public void addLong(long value) {
+		checkStorage(Storage.LONG);
+		ensureCapacity();
+		longs[size++] = value;
+	}
+
+	public void addDouble(double value) {
+		checkStorage(Storage.DOUBLE);
+		ensureCapacity();
+		doubles[size++] = value;
+	}
+
+	public void addBoolean(boolean value) {
+		checkStorage(Storage.BOOLEAN);
+		ensureCapacity();
+		booleans[size++] = value;
+	}
+
+	public void addObject(Object value) {
+		checkStorage(Storage.OBJECT);
+		ensureCapacity();
+		objects[size++] = value;
+	}
+
+	/**
+	 * Release the unused capacity of the backing array
+	 */
+	public void trim() {
+		if (capacity() > size) {
+			allocate(size);
+		}
+	}
+
+	private void ensureCapacity() {
+		final int capacity = capacity();
+		if (size == capacity) {
+			allocate(Math.max(capacity * 2, MIN_CAPACITY));
+		}
+	}
+
+	private int capacity() {
+		switch (storage) {
+		case INT:
+			return ints.length;
+		case LONG:
+			return longs.length;
+		case DOUBLE:
+			return doubles.length;
+		case BOOLEAN:
+			return booleans.length;
+		default:
+			return objects.length;
+		}
+	}
+
+	private void allocate(int capacity) {
+		switch (storage) {
+		case INT:
+			ints = ints == null ? new int[capacity] : Arrays.copyOf(ints, capacity);
+			break;
+		case LONG:
+			longs = longs == null ? new long[capacity] : Arrays.copyOf(longs, capacity);
+			break;
+		case DOUBLE:
+			doubles = doubles == null ? new double[capacity] : Arrays.copyOf(doubles, capacity);
+			break;
+		case BOOLEAN:
+			booleans = booleans == null ? new boolean[capacity] : Arrays.copyOf(booleans, capacity);
+			break;
+		default:
+			objects = objects == null ? new Object[capacity] : Arrays.copyOf(objects, capacity);
+		}
+	}
+
+	private void checkStorage(Storage expected) {
+		if (storage != expected) {
+			throw new IllegalStateException("Column '" + name + "' of type '" + type + "' is not stored as "
+					+ expected.name().toLowerCase());
+		}
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of column '" + name + "' of size " + size);
+		}
+	}
+
+	private static Storage storageFor(DataType type) {
+		switch (type.getName()) {
+		case INT:
+			return Storage.INT;
+		case BIGINT:
+		case COUNTER:
+			return Storage.LONG;
+		case DOUBLE:
+			return Storage.DOUBLE;
+		case BOOLEAN:
+			return Storage.BOOLEAN;
+		default:
+			return Storage.OBJECT;
+		}
+	}
+}
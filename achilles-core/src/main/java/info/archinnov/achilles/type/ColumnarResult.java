@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.type;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+/**
+ * Result of a native query stored column by column rather than row by row, with one {@link ColumnVector} per
+ * selected column in the order of the query
+ */
+public class ColumnarResult {
+
+	private final List<ColumnVector> columns;
+	private final int rowCount;
+
+	public ColumnarResult(List<ColumnVector> columns, int rowCount) {
+		this.columns = Collections.unmodifiableList(columns);
+		this.rowCount = rowCount;
+	}
+
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	public List<ColumnVector> getColumns() {
+		return columns;
+	}
+
+	public ColumnVector getColumn(int index) {
+		return columns.get(index);
+	}
+
+	public ColumnVector getColumn(String name) {
+		for (ColumnVector column : columns) {
+			if (column.getName().equals(name)) {
+				return column;
+			}
+		}
+		throw new AchillesException("Cannot find column '" + name + "' in columnar result");
+	}
+
+	public List<String> getColumnNames() {
+		final List<String> names = new ArrayList<>(columns.size());
+		for (ColumnVector column : columns) {
+			names.add(column.getName());
+		}
+		return names;
+	}
+}
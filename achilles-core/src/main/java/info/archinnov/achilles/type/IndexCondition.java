@@ -16,6 +16,10 @@
 
 package info.archinnov.achilles.type;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import com.google.common.base.Objects;
 
 public class IndexCondition {
@@ -26,6 +30,8 @@ public class IndexCondition {
 
 	private final Object columnValue;
 
+	private final List<IndexCondition> restrictions = new ArrayList<>();
+
 	/**
 	 * Shortcut constructor to build an EQUAL index condition
 	 * 
@@ -35,11 +41,65 @@ public class IndexCondition {
 	 *            value of indexed column
 	 */
 	public IndexCondition(String columnName, Object columnValue) {
+		this(columnName, IndexRelation.EQUAL, columnValue);
+	}
+
+	/**
+	 * Build a condition with the given relation. Only EQUAL is supported on
+	 * the indexed column itself, other relations are meant for additional
+	 * partition or clustering restrictions
+	 * 
+	 * @param columnName
+	 *            name of the column
+	 * @param indexRelation
+	 *            relation between the column and the value
+	 * @param columnValue
+	 *            value of the column
+	 */
+	public IndexCondition(String columnName, IndexRelation indexRelation, Object columnValue) {
 		this.columnName = columnName;
-		this.indexRelation = IndexRelation.EQUAL;
+		this.indexRelation = indexRelation;
 		this.columnValue = columnValue;
 	}
 
+	/**
+	 * Add an EQUAL restriction on another column, for example a partition
+	 * key component
+	 * 
+	 * <pre class="code"><code class="java">
+	 * 
+	 *   new IndexCondition("status", "ACTIVE").and("userId", 10L)
+	 *      .and("date", IndexRelation.GREATER_THAN, yesterday);
+	 * 
+	 * </code></pre>
+	 * 
+	 * @param columnName
+	 *            name of the restricted column
+	 * @param columnValue
+	 *            value of the restricted column
+	 * @return IndexCondition
+	 */
+	public IndexCondition and(String columnName, Object columnValue) {
+		return and(columnName, IndexRelation.EQUAL, columnValue);
+	}
+
+	/**
+	 * Add a restriction on another column, for example a range on a
+	 * clustering component
+	 * 
+	 * @param columnName
+	 *            name of the restricted column
+	 * @param indexRelation
+	 *            relation between the column and the value
+	 * @param columnValue
+	 *            value of the restricted column
+	 * @return IndexCondition
+	 */
+	public IndexCondition and(String columnName, IndexRelation indexRelation, Object columnValue) {
+		restrictions.add(new IndexCondition(columnName, indexRelation, columnValue));
+		return this;
+	}
+
 	public String getColumnName() {
 		return columnName;
 	}
@@ -52,10 +112,15 @@ public class IndexCondition {
 		return columnValue;
 	}
 
+	public List<IndexCondition> getRestrictions() {
+		return Collections.unmodifiableList(restrictions);
+	}
+
 	@Override
 	public String toString() {
-		return Objects.toStringHelper(IndexCondition.class).add("columnName", columnValue)
-				.add("columnValue", columnValue).add("index relation", indexRelation).toString();
+		return Objects.toStringHelper(IndexCondition.class).add("columnName", columnName)
+				.add("columnValue", columnValue).add("index relation", indexRelation)
+				.add("restrictions", restrictions).toString();
 	}
 
 }
@@ -22,5 +22,29 @@ public enum IndexRelation {
 		public String toString(){
 			return "=";
 		}
+	},
+	GREATER_THAN{
+		@Override
+		public String toString(){
+			return ">";
+		}
+	},
+	GREATER_THAN_OR_EQUAL{
+		@Override
+		public String toString(){
+			return ">=";
+		}
+	},
+	LESS_THAN{
+		@Override
+		public String toString(){
+			return "<";
+		}
+	},
+	LESS_THAN_OR_EQUAL{
+		@Override
+		public String toString(){
+			return "<=";
+		}
 	};
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.type;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the time spent in each stage of the sampled requests on an entity class.
+ * <br/>
+ * Stages are the statement binding, the statement execution in Cassandra, the decoding of rows into entities, the
+ * proxy creation and the interceptors. The time of a request which is not spent in any of these stages is reported
+ * as unaccounted time
+ */
+public class StageBreakdown {
+
+	public static enum Stage {
+		BIND, EXECUTE, DECODE, PROXY, INTERCEPT
+	}
+
+	private final Class<?> entityClass;
+	private final long sampledRequests;
+	private final long requestsNanos;
+	private final long[] stageNanos;
+	private final long[] stageCounts;
+
+	public StageBreakdown(Class<?> entityClass, long sampledRequests, long requestsNanos, long[] stageNanos,
+			long[] stageCounts) {
+		this.entityClass = entityClass;
+		this.sampledRequests = sampledRequests;
+		this.requestsNanos = requestsNanos;
+		this.stageNanos = stageNanos.clone();
+		this.stageCounts = stageCounts.clone();
+	}
+
+	public Class<?> getEntityClass() {
+		return entityClass;
+	}
+
+	public long getSampledRequests() {
+		return sampledRequests;
+	}
+
+	/**
+	 * Number of times the stage was timed over all the sampled requests
+	 */
+	public long getCount(Stage stage) {
+		return stageCounts[stage.ordinal()];
+	}
+
+	public long getTotalTime(Stage stage, TimeUnit unit) {
+		return unit.convert(stageNanos[stage.ordinal()], TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Average time spent in the stage by a sampled request
+	 */
+	public double getMeanTime(Stage stage, TimeUnit unit) {
+		return mean(stageNanos[stage.ordinal()], unit);
+	}
+
+	/**
+	 * Average duration of a sampled request
+	 */
+	public double getMeanRequestTime(TimeUnit unit) {
+		return mean(requestsNanos, unit);
+	}
+
+	/**
+	 * Average time of a sampled request which is not spent in any stage
+	 */
+	public double getMeanUnaccountedTime(TimeUnit unit) {
+		long stagesNanos = 0;
+		for (long nanos : stageNanos) {
+			stagesNanos += nanos;
+		}
+		return mean(Math.max(0, requestsNanos - stagesNanos), unit);
+	}
+
+	private double mean(long nanos, TimeUnit unit) {
+		if (sampledRequests == 0) {
+			return 0;
+		}
+		return (double) nanos / sampledRequests / unit.toNanos(1);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder("StageBreakdown{entityClass=")
+				.append(entityClass.getCanonicalName()).append(", sampledRequests=").append(sampledRequests)
+				.append(", meanRequestMicros=").append(String.format("%.1f", getMeanRequestTime(TimeUnit.MICROSECONDS)));
+		for (Stage stage : Stage.values()) {
+			builder.append(", ").append(stage.name().toLowerCase()).append("Micros=")
+					.append(String.format("%.1f", getMeanTime(stage, TimeUnit.MICROSECONDS)));
+		}
+		return builder.append(", unaccountedMicros=")
+				.append(String.format("%.1f", getMeanUnaccountedTime(TimeUnit.MICROSECONDS))).append("}").toString();
+	}
+}
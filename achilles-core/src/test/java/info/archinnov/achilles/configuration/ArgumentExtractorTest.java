@@ -15,6 +15,9 @@
  */
 package info.archinnov.achilles.configuration;
 
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_MAX_SIZE_IN_BYTES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_MAX_STATEMENTS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_DEFERRED_UPDATES_ENABLE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_ENABLE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_VALIDATOR;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CLUSTER_PARAM;
@@ -27,9 +30,18 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.CONS
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_MAP_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.DISABLE_JMX;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.DISABLE_METRICS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CACHE_ENTITIES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CACHE_MAX_SIZE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CACHE_MAX_WEIGHT_IN_BYTES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CACHE_OFF_HEAP_SIZE_IN_BYTES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CACHE_TTL_IN_SECONDS;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.EVENT_INTERCEPTORS_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.FORCE_TABLE_CREATION_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.INFLIGHT_FAIL_FAST;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.INFLIGHT_MAX_READS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.INFLIGHT_MAX_REQUESTS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.INFLIGHT_MAX_WRITES;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.KEYSPACE_NAME_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.LOAD_BALANCING_POLICY;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.NATIVE_SESSION_PARAM;
@@ -37,10 +49,29 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.OBJE
 import static info.archinnov.achilles.configuration.ConfigurationParameters.OBJECT_MAPPER_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PASSWORD;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_CACHE_SIZE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.READ_COALESCING_ENABLE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.RECONNECTION_POLICY;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.RETRY_POLICY;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.LAZY_LOADING_FETCH_ALL;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ITERATOR_MAPPING_EXECUTOR;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ITERATOR_PREFETCH_THRESHOLD;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ITERATOR_ADAPTIVE_FETCH_MAX_SIZE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ITERATOR_ADAPTIVE_FETCH_MIN_SIZE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ITERATOR_ADAPTIVE_FETCH_TARGET_BYTES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.OPERATION_METRICS_ENABLE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.HOT_PARTITION_HALF_LIFE_IN_SECONDS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.HOT_PARTITION_TOP_K;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.HOT_PARTITION_WARNING_SHARE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_ENTITY_THRESHOLDS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_MAX_LOGS_PER_SECOND;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_TABLE_THRESHOLDS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLOW_STATEMENT_THRESHOLD_IN_MILLIS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.STAGE_TIMERS_SAMPLE_RATE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLICE_QUERY_CACHE_MAX_ROWS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SLICE_QUERY_CACHE_TTL_IN_SECONDS;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.SSL_ENABLED;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.SSL_OPTIONS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.STATEMENTS_COALESCING_ENABLE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.USERNAME;
 import static info.archinnov.achilles.type.ConsistencyLevel.ALL;
 import static info.archinnov.achilles.type.ConsistencyLevel.ANY;
@@ -49,12 +80,15 @@ import static info.archinnov.achilles.type.ConsistencyLevel.ONE;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import javax.validation.Validator;
 import org.codehaus.jackson.map.AnnotationIntrospector;
 import org.codehaus.jackson.map.DeserializationConfig;
@@ -83,6 +117,7 @@ import info.archinnov.achilles.interceptor.Interceptor;
 import info.archinnov.achilles.internal.bean.validation.FakeValidator;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.json.ObjectMapperFactory;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.TypedMap;
 
@@ -453,4 +488,235 @@ public class ArgumentExtractorTest {
         //Then
         assertThat(actual).isEqualTo(10);
     }
+
+    @Test
+    public void should_init_statement_coalescing() throws Exception {
+        //Given
+        TypedMap params = new TypedMap();
+        params.put(STATEMENTS_COALESCING_ENABLE, true);
+
+        //When
+        boolean actual = extractor.initStatementCoalescing(params);
+
+        //Then
+        assertThat(actual).isTrue();
+    }
+
+    @Test
+    public void should_disable_statement_coalescing_by_default() throws Exception {
+        assertThat(extractor.initStatementCoalescing(new TypedMap())).isFalse();
+    }
+
+    @Test
+    public void should_init_batch_limits() throws Exception {
+        //Given
+        TypedMap params = new TypedMap();
+        params.put(BATCH_MAX_STATEMENTS, 100);
+        params.put(BATCH_MAX_SIZE_IN_BYTES, 5000);
+
+        //When
+        int maxStatements = extractor.initBatchMaxStatements(params);
+        int maxSizeInBytes = extractor.initBatchMaxSizeInBytes(params);
+
+        //Then
+        assertThat(maxStatements).isEqualTo(100);
+        assertThat(maxSizeInBytes).isEqualTo(5000);
+    }
+
+    @Test
+    public void should_not_limit_batches_by_default() throws Exception {
+        assertThat(extractor.initBatchMaxStatements(new TypedMap())).isEqualTo(0);
+        assertThat(extractor.initBatchMaxSizeInBytes(new TypedMap())).isEqualTo(0);
+    }
+
+    @Test
+    public void should_init_batch_deferred_updates() throws Exception {
+        //Given
+        TypedMap params = new TypedMap();
+        params.put(BATCH_DEFERRED_UPDATES_ENABLE, true);
+
+        //When
+        boolean actual = extractor.initBatchDeferredUpdates(params);
+
+        //Then
+        assertThat(actual).isTrue();
+    }
+
+    @Test
+    public void should_disable_batch_deferred_updates_by_default() throws Exception {
+        assertThat(extractor.initBatchDeferredUpdates(new TypedMap())).isFalse();
+    }
+
+    @Test
+    public void should_init_in_flight_limits() throws Exception {
+        //Given
+        TypedMap params = new TypedMap();
+        params.put(INFLIGHT_MAX_REQUESTS, 100);
+        params.put(INFLIGHT_MAX_READS, 60);
+        params.put(INFLIGHT_MAX_WRITES, 40);
+        params.put(INFLIGHT_FAIL_FAST, true);
+
+        //Then
+        assertThat(extractor.initInFlightMaxRequests(params)).isEqualTo(100);
+        assertThat(extractor.initInFlightMaxReads(params)).isEqualTo(60);
+        assertThat(extractor.initInFlightMaxWrites(params)).isEqualTo(40);
+        assertThat(extractor.initInFlightFailFast(params)).isTrue();
+    }
+
+    @Test
+    public void should_init_read_coalescing() throws Exception {
+        //Given
+        TypedMap params = new TypedMap();
+        params.put(READ_COALESCING_ENABLE, true);
+
+        //Then
+        assertThat(extractor.initReadCoalescing(params)).isTrue();
+        assertThat(extractor.initReadCoalescing(new TypedMap())).isFalse();
+    }
+
+    @Test
+    public void should_init_entity_cache() throws Exception {
+        //Given
+        TypedMap params = new TypedMap();
+        params.put(ENTITY_CACHE_MAX_SIZE, 1000);
+        params.put(ENTITY_CACHE_MAX_WEIGHT_IN_BYTES, 1024 * 1024);
+        params.put(ENTITY_CACHE_OFF_HEAP_SIZE_IN_BYTES, 512 * 1024 * 1024L);
+        params.put(ENTITY_CACHE_TTL_IN_SECONDS, 60);
+        params.put(ENTITY_CACHE_ENTITIES, Arrays.<Class<?>>asList(String.class, Long.class));
+
+        //Then
+        assertThat(extractor.initEntityCacheMaxSize(params)).isEqualTo(1000);
+        assertThat(extractor.initEntityCacheMaxWeightInBytes(params)).isEqualTo(1024 * 1024);
+        assertThat(extractor.initEntityCacheOffHeapSizeInBytes(params)).isEqualTo(512 * 1024 * 1024L);
+        assertThat(extractor.initEntityCacheTtlInSeconds(params)).isEqualTo(60);
+        assertThat(extractor.initCachedEntityClasses(params)).containsOnly(String.class, Long.class);
+    }
+
+    @Test
+    public void should_disable_entity_cache_by_default() throws Exception {
+        //Given
+        TypedMap params = new TypedMap();
+
+        //Then
+        assertThat(extractor.initEntityCacheMaxSize(params)).isEqualTo(0);
+        assertThat(extractor.initEntityCacheMaxWeightInBytes(params)).isEqualTo(0);
+        assertThat(extractor.initEntityCacheOffHeapSizeInBytes(params)).isEqualTo(0L);
+        assertThat(extractor.initEntityCacheTtlInSeconds(params)).isEqualTo(0);
+        assertThat(extractor.initCachedEntityClasses(params)).isEmpty();
+    }
+
+    @Test
+    public void should_init_slice_query_cache() throws Exception {
+        //Given
+        TypedMap params = new TypedMap();
+        params.put(SLICE_QUERY_CACHE_MAX_ROWS, 10000);
+        params.put(SLICE_QUERY_CACHE_TTL_IN_SECONDS, 30);
+
+        //Then
+        assertThat(extractor.initSliceQueryCacheMaxRows(params)).isEqualTo(10000);
+        assertThat(extractor.initSliceQueryCacheTtlInSeconds(params)).isEqualTo(30);
+        assertThat(extractor.initSliceQueryCacheMaxRows(new TypedMap())).isEqualTo(0);
+    }
+
+    @Test
+    public void should_init_iterator_adaptive_fetch() throws Exception {
+        //Given
+        TypedMap params = new TypedMap();
+        params.put(ITERATOR_ADAPTIVE_FETCH_TARGET_BYTES, 65536);
+        params.put(ITERATOR_ADAPTIVE_FETCH_MIN_SIZE, 50);
+        params.put(ITERATOR_ADAPTIVE_FETCH_MAX_SIZE, 2000);
+
+        //Then
+        assertThat(extractor.initIteratorAdaptiveFetchTargetBytes(params)).isEqualTo(65536);
+        assertThat(extractor.initIteratorAdaptiveFetchMinSize(params)).isEqualTo(50);
+        assertThat(extractor.initIteratorAdaptiveFetchMaxSize(params)).isEqualTo(2000);
+        assertThat(extractor.initIteratorAdaptiveFetchTargetBytes(new TypedMap())).isEqualTo(0);
+        assertThat(extractor.initIteratorAdaptiveFetchMinSize(new TypedMap())).isEqualTo(10);
+        assertThat(extractor.initIteratorAdaptiveFetchMaxSize(new TypedMap())).isEqualTo(5000);
+    }
+
+    @Test
+    public void should_init_operation_metrics() throws Exception {
+        //Given
+        TypedMap params = new TypedMap();
+        params.put(OPERATION_METRICS_ENABLE, true);
+
+        //Then
+        assertThat(extractor.initOperationMetrics(params)).isTrue();
+        assertThat(extractor.initOperationMetrics(new TypedMap())).isFalse();
+    }
+
+    @Test
+    public void should_init_stage_timers_sample_rate() throws Exception {
+        //Given
+        TypedMap params = new TypedMap();
+        params.put(STAGE_TIMERS_SAMPLE_RATE, 100);
+
+        //Then
+        assertThat(extractor.initStageTimersSampleRate(params)).isEqualTo(100);
+        assertThat(extractor.initStageTimersSampleRate(new TypedMap())).isEqualTo(0);
+    }
+
+    @Test
+    public void should_init_slow_statement_log() throws Exception {
+        //Given
+        TypedMap params = new TypedMap();
+        params.put(SLOW_STATEMENT_THRESHOLD_IN_MILLIS, 100);
+        params.put(SLOW_STATEMENT_TABLE_THRESHOLDS, ImmutableMap.of("users", 10L));
+        params.put(SLOW_STATEMENT_ENTITY_THRESHOLDS, ImmutableMap.<Class<?>, Long>of(CompleteBean.class, 20L));
+        params.put(SLOW_STATEMENT_MAX_LOGS_PER_SECOND, 5);
+
+        //Then
+        assertThat(extractor.initSlowStatementThresholdInMillis(params)).isEqualTo(100L);
+        assertThat(extractor.initSlowStatementTableThresholds(params)).isEqualTo(ImmutableMap.of("users", 10L));
+        assertThat(extractor.initSlowStatementEntityThresholds(params)).isEqualTo(
+                ImmutableMap.<Class<?>, Long>of(CompleteBean.class, 20L));
+        assertThat(extractor.initSlowStatementMaxLogsPerSecond(params)).isEqualTo(5);
+        assertThat(extractor.initSlowStatementThresholdInMillis(new TypedMap())).isEqualTo(0L);
+        assertThat(extractor.initSlowStatementTableThresholds(new TypedMap())).isEmpty();
+        assertThat(extractor.initSlowStatementMaxLogsPerSecond(new TypedMap())).isEqualTo(10);
+    }
+
+    @Test
+    public void should_init_hot_partition_tracking() throws Exception {
+        //Given
+        TypedMap params = new TypedMap();
+        params.put(HOT_PARTITION_TOP_K, 10);
+        params.put(HOT_PARTITION_HALF_LIFE_IN_SECONDS, 30);
+        params.put(HOT_PARTITION_WARNING_SHARE, 0.25);
+
+        //Then
+        assertThat(extractor.initHotPartitionTopK(params)).isEqualTo(10);
+        assertThat(extractor.initHotPartitionHalfLifeInSeconds(params)).isEqualTo(30);
+        assertThat(extractor.initHotPartitionWarningShare(params)).isEqualTo(0.25);
+        assertThat(extractor.initHotPartitionTopK(new TypedMap())).isEqualTo(0);
+        assertThat(extractor.initHotPartitionHalfLifeInSeconds(new TypedMap())).isEqualTo(60);
+        assertThat(extractor.initHotPartitionWarningShare(new TypedMap())).isEqualTo(0.0);
+    }
+
+    @Test
+    public void should_init_lazy_loading_fetch_all() throws Exception {
+        //Given
+        TypedMap params = new TypedMap();
+        params.put(LAZY_LOADING_FETCH_ALL, true);
+
+        //Then
+        assertThat(extractor.initLazyLoadingFetchAll(params)).isTrue();
+        assertThat(extractor.initLazyLoadingFetchAll(new TypedMap())).isFalse();
+    }
+
+    @Test
+    public void should_init_iterator_prefetching_and_mapping_executor() throws Exception {
+        //Given
+        ExecutorService executor = mock(ExecutorService.class);
+        TypedMap params = new TypedMap();
+        params.put(ITERATOR_PREFETCH_THRESHOLD, 20);
+        params.put(ITERATOR_MAPPING_EXECUTOR, executor);
+
+        //Then
+        assertThat(extractor.initIteratorPrefetchThreshold(params)).isEqualTo(20);
+        assertThat(extractor.initIteratorMappingExecutor(params)).isSameAs(executor);
+        assertThat(extractor.initIteratorPrefetchThreshold(new TypedMap())).isEqualTo(0);
+        assertThat(extractor.initIteratorMappingExecutor(new TypedMap())).isNull();
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.junit.Test;
+import com.codahale.metrics.MetricRegistry;
+
+public class AdaptiveFetchSizerTest {
+
+    @Test
+    public void should_compute_fetch_size_from_target_bytes() throws Exception {
+        //Given
+        AdaptiveFetchSizer sizer = new AdaptiveFetchSizer(10000, 10, 5000, null);
+
+        //When
+        int fetchSize = sizer.nextFetchSize(100);
+
+        //Then
+        assertThat(fetchSize).isEqualTo(100);
+        assertThat(sizer.getFetchSizes().getSnapshot().getMax()).isEqualTo(100L);
+    }
+
+    @Test
+    public void should_bound_fetch_size() throws Exception {
+        //Given
+        AdaptiveFetchSizer sizer = new AdaptiveFetchSizer(10000, 10, 5000, null);
+
+        //Then
+        assertThat(sizer.nextFetchSize(5000)).isEqualTo(10);
+        assertThat(sizer.nextFetchSize(1)).isEqualTo(5000);
+        assertThat(sizer.nextFetchSize(0)).isEqualTo(5000);
+    }
+
+    @Test
+    public void should_be_enabled_when_target_bytes_is_set() throws Exception {
+        //Given
+        ConfigurationContext configContext = mock(ConfigurationContext.class);
+
+        //When
+        when(configContext.getIteratorAdaptiveFetchTargetBytes()).thenReturn(0, 65536);
+
+        //Then
+        assertThat(AdaptiveFetchSizer.isEnabled(configContext)).isFalse();
+        assertThat(AdaptiveFetchSizer.isEnabled(configContext)).isTrue();
+    }
+
+    @Test
+    public void should_register_metrics() throws Exception {
+        //Given
+        MetricRegistry registry = new MetricRegistry();
+
+        //When
+        AdaptiveFetchSizer sizer = new AdaptiveFetchSizer(10000, 10, 5000, registry);
+
+        //Then
+        assertThat(registry.getHistograms().get(AdaptiveFetchSizer.FETCH_SIZE_HISTOGRAM)).isSameAs(
+                sizer.getFetchSizes());
+        assertThat(registry.getTimers().get(AdaptiveFetchSizer.PAGE_WAIT_TIMER)).isSameAs(sizer.getPageWait());
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static com.datastax.driver.core.BatchStatement.Type.LOGGED;
+import static com.datastax.driver.core.BatchStatement.Type.UNLOGGED;
+import static com.datastax.driver.core.ConsistencyLevel.ONE;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.set;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.timestamp;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.update;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.powermock.reflect.Whitebox;
+import com.codahale.metrics.MetricRegistry;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.Statement;
+import info.archinnov.achilles.internal.statement.StatementSizeEstimator;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+import info.archinnov.achilles.internal.statement.wrapper.RegularStatementWrapper;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BatchSplitterTest {
+
+    @Mock
+    private StatementSizeEstimator estimator;
+
+    @Test
+    public void should_not_split_batch_within_limits() throws Exception {
+        //Given
+        BatchSplitter splitter = splitter(3, 0);
+        AbstractStatementWrapper wrapper1 = wrapper(null, 10);
+        AbstractStatementWrapper wrapper2 = wrapper(null, 10);
+
+        //When
+        List<List<AbstractStatementWrapper>> batches = splitter.split(LOGGED, Arrays.asList(wrapper1, wrapper2));
+
+        //Then
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactly(wrapper1, wrapper2);
+        assertThat(splitter.getBatchStatements().getCount()).isEqualTo(1L);
+        assertThat(splitter.getBatchSizeInBytes().getSnapshot().getMax()).isEqualTo(20L);
+    }
+
+    @Test
+    public void should_split_unlogged_batch_by_statements_count_preserving_order() throws Exception {
+        //Given
+        BatchSplitter splitter = splitter(2, 0);
+        AbstractStatementWrapper wrapper1 = wrapper(null, 10);
+        AbstractStatementWrapper wrapper2 = wrapper(null, 10);
+        AbstractStatementWrapper wrapper3 = wrapper(null, 10);
+
+        //When
+        List<List<AbstractStatementWrapper>> batches = splitter.split(UNLOGGED, Arrays.asList(wrapper1, wrapper2,
+                                                                                                wrapper3));
+
+        //Then
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0)).containsExactly(wrapper1, wrapper2);
+        assertThat(batches.get(1)).containsExactly(wrapper3);
+        assertThat(splitter.getBatchStatements().getCount()).isEqualTo(2L);
+    }
+
+    @Test
+    public void should_split_batch_by_estimated_size() throws Exception {
+        //Given
+        BatchSplitter splitter = splitter(0, 100);
+        AbstractStatementWrapper wrapper1 = wrapper(null, 60);
+        AbstractStatementWrapper wrapper2 = wrapper(null, 30);
+        AbstractStatementWrapper wrapper3 = wrapper(null, 20);
+        AbstractStatementWrapper wrapper4 = wrapper(null, 150);
+
+        //When
+        List<List<AbstractStatementWrapper>> batches = splitter.split(UNLOGGED, Arrays.asList(wrapper1, wrapper2,
+                                                                                                wrapper3, wrapper4));
+
+        //Then
+        assertThat(batches).hasSize(3);
+        assertThat(batches.get(0)).containsExactly(wrapper1, wrapper2);
+        assertThat(batches.get(1)).containsExactly(wrapper3);
+        assertThat(batches.get(2)).containsExactly(wrapper4);
+    }
+
+    @Test
+    public void should_split_logged_batch_along_partitions() throws Exception {
+        //Given
+        BatchSplitter splitter = splitter(3, 0);
+        AbstractStatementWrapper wrapperA1 = wrapper(ByteBuffer.wrap(new byte[] { 1 }), 10);
+        AbstractStatementWrapper wrapperB1 = wrapper(ByteBuffer.wrap(new byte[] { 2 }), 10);
+        AbstractStatementWrapper wrapperA2 = wrapper(ByteBuffer.wrap(new byte[] { 1 }), 10);
+        AbstractStatementWrapper wrapperB2 = wrapper(ByteBuffer.wrap(new byte[] { 2 }), 10);
+
+        //When
+        List<List<AbstractStatementWrapper>> batches = splitter.split(LOGGED, Arrays.asList(wrapperA1, wrapperB1,
+                                                                                              wrapperA2, wrapperB2));
+
+        //Then
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0)).containsExactly(wrapperA1, wrapperA2);
+        assertThat(batches.get(1)).containsExactly(wrapperB1, wrapperB2);
+    }
+
+    @Test
+    public void should_split_oversized_partition_of_logged_batch() throws Exception {
+        //Given
+        BatchSplitter splitter = splitter(2, 0);
+        AbstractStatementWrapper wrapperB1 = wrapper(ByteBuffer.wrap(new byte[] { 2 }), 10);
+        AbstractStatementWrapper wrapperA1 = wrapper(ByteBuffer.wrap(new byte[] { 1 }), 10);
+        AbstractStatementWrapper wrapperA2 = wrapper(ByteBuffer.wrap(new byte[] { 1 }), 10);
+        AbstractStatementWrapper wrapperA3 = wrapper(ByteBuffer.wrap(new byte[] { 1 }), 10);
+
+        //When
+        List<List<AbstractStatementWrapper>> batches = splitter.split(LOGGED, Arrays.asList(wrapperB1, wrapperA1,
+                                                                                              wrapperA2, wrapperA3));
+
+        //Then
+        assertThat(batches).hasSize(3);
+        assertThat(batches.get(0)).containsExactly(wrapperB1);
+        assertThat(batches.get(1)).containsExactly(wrapperA1, wrapperA2);
+        assertThat(batches.get(2)).containsExactly(wrapperA3);
+    }
+
+    @Test
+    public void should_split_logged_batch_along_entity_partitions_of_statements_without_routing_key() throws Exception {
+        //Given
+        BatchSplitter splitter = splitter(3, 0);
+        AbstractStatementWrapper wrapperA1 = timestampedWrapper(1L, 10);
+        AbstractStatementWrapper wrapperB1 = timestampedWrapper(2L, 10);
+        AbstractStatementWrapper wrapperA2 = timestampedWrapper(1L, 10);
+        AbstractStatementWrapper wrapperB2 = timestampedWrapper(2L, 10);
+
+        //When
+        List<List<AbstractStatementWrapper>> batches = splitter.split(LOGGED, Arrays.asList(wrapperA1, wrapperB1,
+                                                                                              wrapperA2, wrapperB2));
+
+        //Then
+        assertThat(wrapperA1.getStatement().getRoutingKey()).isNull();
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0)).containsExactly(wrapperA1, wrapperA2);
+        assertThat(batches.get(1)).containsExactly(wrapperB1, wrapperB2);
+    }
+
+    @Test
+    public void should_register_histograms_in_metric_registry() throws Exception {
+        //Given
+        MetricRegistry registry = new MetricRegistry();
+
+        //When
+        BatchSplitter splitter = new BatchSplitter(0, 0, registry);
+
+        //Then
+        assertThat(registry.getHistograms().get(BatchSplitter.BATCH_STATEMENTS_HISTOGRAM)).isSameAs(
+                splitter.getBatchStatements());
+        assertThat(registry.getHistograms().get(BatchSplitter.BATCH_SIZE_IN_BYTES_HISTOGRAM)).isSameAs(
+                splitter.getBatchSizeInBytes());
+    }
+
+    private BatchSplitter splitter(int maxStatements, long maxSizeInBytes) {
+        BatchSplitter splitter = new BatchSplitter(maxStatements, maxSizeInBytes, null);
+        Whitebox.setInternalState(splitter, "estimator", estimator);
+        return splitter;
+    }
+
+    private AbstractStatementWrapper wrapper(ByteBuffer routingKey, long size) {
+        AbstractStatementWrapper wrapper = mock(AbstractStatementWrapper.class);
+        Statement statement = mock(Statement.class);
+        when(statement.getRoutingKey()).thenReturn(routingKey);
+        when(wrapper.getStatement()).thenReturn(statement);
+        when(estimator.estimate(wrapper)).thenReturn(size);
+        return wrapper;
+    }
+
+    private AbstractStatementWrapper timestampedWrapper(Long id, long size) {
+        RegularStatement statement = update("table").using(timestamp(100L)).with(set("name", "name"))
+                .where(eq("id", id));
+        AbstractStatementWrapper wrapper = new RegularStatementWrapper(statement, new Object[] { }, ONE);
+        wrapper.setPartitionKey(Arrays.<Object>asList("table", id));
+        when(estimator.estimate(wrapper)).thenReturn(size);
+        return wrapper;
+    }
+}
@@ -17,10 +17,17 @@ package info.archinnov.achilles.internal.context;
 
 import static info.archinnov.achilles.type.ConsistencyLevel.EACH_QUORUM;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import info.archinnov.achilles.internal.context.AbstractFlushContext.FlushType;
@@ -31,6 +38,7 @@ import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapp
 import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
 import info.archinnov.achilles.internal.statement.wrapper.RegularStatementWrapper;
 import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.OptionsBuilder;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -38,7 +46,9 @@ import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 import org.powermock.reflect.internal.WhiteboxImpl;
 
 import com.datastax.driver.core.BatchStatement;
@@ -102,7 +112,7 @@ public class BatchingFlushContextTest {
 
         //Then
         verify(eventHolder).triggerInterception();
-        verify(daoContext,times(2)).executeBatch(batchCaptor.capture());
+        verify(daoContext,times(2)).executeBatch(batchCaptor.capture(), eq(Arrays.asList(wrapper1, wrapper2)));
 
         assertThat(batchCaptor.getAllValues()).hasSize(2);
 
@@ -118,6 +128,27 @@ public class BatchingFlushContextTest {
         assertThat(statements2).contains(statement1, statement2);
     }
 
+    @Test
+    public void should_end_batch_with_split_batches() throws Exception {
+        //Given
+        RegularStatement statement1 = QueryBuilder.select().from("table1");
+        RegularStatement statement2 = QueryBuilder.select().from("table2");
+        AbstractStatementWrapper wrapper1 = new RegularStatementWrapper(statement1,null, com.datastax.driver.core
+                .ConsistencyLevel.ONE);
+        AbstractStatementWrapper wrapper2 = new RegularStatementWrapper(statement2,null, com.datastax.driver.core
+                .ConsistencyLevel.ONE);
+        context.statementWrappers = Arrays.asList(wrapper1,wrapper2);
+        when(daoContext.getBatchSplitter()).thenReturn(new BatchSplitter(1, 0, null));
+
+        //When
+        context.endBatch();
+
+        //Then
+        verify(daoContext).execute(wrapper1);
+        verify(daoContext).execute(wrapper2);
+        verify(daoContext, never()).executeBatch(any(BatchStatement.class), anyListOf(AbstractStatementWrapper.class));
+    }
+
 	@Test
 	public void should_get_type() throws Exception {
 		assertThat(context.type()).isSameAs(FlushType.BATCH);
@@ -133,6 +164,34 @@ public class BatchingFlushContextTest {
 		assertThat(duplicate.consistencyLevel).isSameAs(EACH_QUORUM);
 	}
 
+    @Test
+    public void should_invalidate_caches_when_updating_slice_iterator_proxy_in_batch() throws Exception {
+        //Given
+        final List<List<Object>> invalidatedEntities = new ArrayList<>();
+        final List<List<Object>> invalidatedSlices = new ArrayList<>();
+        doAnswer(copyFirstArgumentTo(invalidatedEntities)).when(daoContext).invalidateCachedEntities(anyList());
+        doAnswer(copyFirstArgumentTo(invalidatedSlices)).when(daoContext).invalidateCachedSlices(anyList());
+        EntityMeta meta = mock(EntityMeta.class);
+        Object entity = new Object();
+        when(meta.getPrimaryKey(entity)).thenReturn(10L);
+        List<Object> entityKey = Arrays.<Object>asList(Object.class, 10L);
+        List<Object> partitionKey = Arrays.<Object>asList(Object.class, 10L);
+        PersistenceContext batchContext = new PersistenceContext(meta, null, daoContext, context, Object.class, 10L,
+                OptionsBuilder.noOptions());
+
+        //When
+        PersistenceContext proxyContext = batchContext.duplicate(entity);
+        proxyContext.pushStatement(bsWrapper);
+        proxyContext.pushEntityCacheInvalidation(entityKey);
+        proxyContext.pushSliceCacheInvalidation(partitionKey);
+        context.endBatch();
+
+        //Then
+        verify(daoContext).execute(bsWrapper);
+        assertThat(invalidatedEntities).containsExactly(entityKey);
+        assertThat(invalidatedSlices).containsExactly(partitionKey);
+    }
+
     @Test
     public void should_trigger_interceptor_immediately_for_POST_LOAD_event() throws Exception {
         //Given
@@ -177,4 +236,15 @@ public class BatchingFlushContextTest {
         assertThat(newContext.eventHolders).isEmpty();
 
     }
+
+    private Answer<Object> copyFirstArgumentTo(final List<List<Object>> target) {
+        return new Answer<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                target.addAll((List<List<Object>>) invocation.getArguments()[0]);
+                return null;
+            }
+        };
+    }
 }
@@ -214,5 +214,20 @@ public class DaoContextFactoryTest {
 
         assertThat(Whitebox.<Map<CQLQueryType, PreparedStatement>>getInternalState(actual, "counterQueryMap"))
                 .isEmpty();
+        assertThat(actual.getBatchSplitter()).isNull();
+    }
+
+    @Test
+    public void should_build_dao_context_with_batch_splitter_when_a_limit_is_set() throws Exception {
+        // Given
+        when(parsingResult.getMetaMap()).thenReturn(new HashMap<Class<?>, EntityMeta>());
+        when(configContext.getPreparedStatementLRUCacheSize()).thenReturn(100);
+        when(configContext.getBatchMaxSizeInBytes()).thenReturn(1024);
+
+        // When
+        DaoContext actual = builder.create(session, parsingResult, configContext);
+
+        // Then
+        assertThat(actual.getBatchSplitter()).isNotNull();
     }
 }
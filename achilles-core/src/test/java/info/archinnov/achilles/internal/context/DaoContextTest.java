@@ -27,6 +27,7 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
 import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.context.OperationMetrics.Operation;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
@@ -34,6 +35,7 @@ import info.archinnov.achilles.internal.statement.StatementGenerator;
 import info.archinnov.achilles.internal.statement.cache.CacheManager;
 import info.archinnov.achilles.internal.statement.cache.StatementCacheKey;
 import info.archinnov.achilles.internal.statement.prepared.PreparedStatementBinder;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
 import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
 import info.archinnov.achilles.internal.statement.wrapper.RegularStatementWrapper;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
@@ -46,6 +48,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.lang.math.RandomUtils;
 import org.junit.Before;
@@ -65,9 +68,11 @@ import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.querybuilder.Insert;
 import com.datastax.driver.core.querybuilder.Insert.Options;
 import com.datastax.driver.core.querybuilder.Update;
@@ -77,6 +82,7 @@ import com.google.common.base.Optional;
 import com.google.common.cache.Cache;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DaoContextTest {
@@ -170,6 +176,7 @@ public class DaoContextTest {
 		when(context.<CompleteBean> getEntityClass()).thenReturn(CompleteBean.class);
 		when(context.getEntity()).thenReturn(entity);
 		when(context.getPrimaryKey()).thenReturn(entity.getId());
+		when(context.getIdMeta()).thenReturn(mock(PropertyMeta.class));
 
 		insertPSs.clear();
 		selectEagerPSs.clear();
@@ -194,6 +201,29 @@ public class DaoContextTest {
 		verify(context).pushStatement(bsWrapper);
 	}
 
+	@Test
+	public void should_track_partition_of_pushed_insert() throws Exception {
+		// Given
+		HotPartitionTracker hotPartitionTracker = mock(HotPartitionTracker.class);
+		daoContext.setHotPartitionTracker(hotPartitionTracker);
+		PropertyMeta idMeta = mock(PropertyMeta.class);
+		entityMeta.setTableName("complete_bean");
+
+		// When
+		when(context.getIdMeta()).thenReturn(idMeta);
+		when(idMeta.encode(entity.getId())).thenReturn(entity.getId());
+		when(context.getTtl()).thenReturn(Optional.<Integer> absent());
+		when(context.getTimestamp()).thenReturn(Optional.<Long> fromNullable(null));
+		when(insertPSs.get(CompleteBean.class)).thenReturn(ps);
+		when(binder.bindForInsert(ps, entityMeta, entity, ALL, ttlO)).thenReturn(bsWrapper);
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
+
+		daoContext.pushInsertStatement(context);
+
+		// Then
+		verify(hotPartitionTracker).track("complete_bean", entity.getId(), false);
+	}
+
 	@Test
 	public void should_push_insert_with_timestamp() throws Exception {
 		// Given
@@ -498,6 +528,187 @@ public class DaoContextTest {
 		assertThat(actual).isSameAs(row);
 	}
 
+	@Test
+	public void should_eager_load_entity_through_read_coalescer() throws Exception {
+		// Given
+		entityMeta.setConsistencyLevels(Pair.create(LOCAL_QUORUM, LOCAL_QUORUM));
+		PropertyMeta idMeta = mock(PropertyMeta.class);
+		entityMeta.setIdMeta(idMeta);
+		when(idMeta.encode(entity.getId())).thenReturn(entity.getId());
+		ReadCoalescer readCoalescer = new ReadCoalescer(null);
+		daoContext.setReadCoalescer(readCoalescer);
+		ResultSet resultSet = mock(ResultSet.class);
+		Row row = mock(Row.class);
+
+		// When
+		when(selectEagerPSs.get(CompleteBean.class)).thenReturn(ps);
+		when(binder.bindStatementWithOnlyPKInWhereClause(ps, entityMeta, entity.getId(), LOCAL_QUORUM)).thenReturn(
+				bsWrapper);
+		when(resultSet.all()).thenReturn(Arrays.asList(row));
+		when(context.executeImmediate(bsWrapper)).thenReturn(resultSet);
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
+
+		// Then
+		Row actual = daoContext.loadEntity(context);
+		assertThat(actual).isSameAs(row);
+		assertThat(readCoalescer.getExecutedReadsCount()).isEqualTo(1L);
+	}
+
+	@Test
+	public void should_load_entity_from_entity_cache() throws Exception {
+		// Given
+		entityMeta.setConsistencyLevels(Pair.create(LOCAL_QUORUM, LOCAL_QUORUM));
+		PropertyMeta idMeta = mock(PropertyMeta.class);
+		entityMeta.setIdMeta(idMeta);
+		when(idMeta.encode(entity.getId())).thenReturn(entity.getId());
+		EntityCache entityCache = new EntityCache(100, 0, 0, 0, Sets.<Class<?>> newHashSet(CompleteBean.class), null);
+		daoContext.setEntityCache(entityCache);
+		ResultSet resultSet = mock(ResultSet.class);
+		Row row = mock(Row.class);
+
+		when(selectEagerPSs.get(CompleteBean.class)).thenReturn(ps);
+		when(binder.bindStatementWithOnlyPKInWhereClause(ps, entityMeta, entity.getId(), LOCAL_QUORUM)).thenReturn(
+				bsWrapper);
+		when(resultSet.all()).thenReturn(Arrays.asList(row));
+		when(context.executeImmediate(bsWrapper)).thenReturn(resultSet);
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
+
+		// When
+		Row first = daoContext.loadEntity(context);
+		Row second = daoContext.loadEntity(context);
+
+		// Then
+		assertThat(first).isSameAs(row);
+		assertThat(second).isSameAs(row);
+		verify(context, times(1)).executeImmediate(bsWrapper);
+		assertThat(entityCache.stats().hitCount()).isEqualTo(1L);
+	}
+
+	@Test
+	public void should_load_entities_concurrently() throws Exception {
+		// Given
+		entityMeta.setConsistencyLevels(Pair.create(ONE, ONE));
+		PropertyMeta idMeta = mock(PropertyMeta.class);
+		entityMeta.setIdMeta(idMeta);
+		when(idMeta.encode(entity.getId())).thenReturn(entity.getId());
+		EntityCache entityCache = new EntityCache(100, 0, 0, 0, Sets.<Class<?>> newHashSet(CompleteBean.class), null);
+		daoContext.setEntityCache(entityCache);
+		Row cachedRow = mock(Row.class);
+		entityCache.put(Arrays.<Object> asList(CompleteBean.class, entity.getId()), cachedRow, entityCache.generation());
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> absent());
+
+		Long otherId = RandomUtils.nextLong();
+		PersistenceContext otherContext = mock(PersistenceContext.class);
+		when(otherContext.getEntityMeta()).thenReturn(entityMeta);
+		when(otherContext.<CompleteBean> getEntityClass()).thenReturn(CompleteBean.class);
+		when(otherContext.getPrimaryKey()).thenReturn(otherId);
+		when(otherContext.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> absent());
+		when(idMeta.encode(otherId)).thenReturn(otherId);
+
+		BoundStatement bs = mock(BoundStatement.class);
+		ResultSetFuture future = mock(ResultSetFuture.class);
+		ResultSet resultSet = mock(ResultSet.class);
+		Row row = mock(Row.class);
+		when(selectEagerPSs.get(CompleteBean.class)).thenReturn(ps);
+		when(binder.bindStatementWithOnlyPKInWhereClause(ps, entityMeta, otherId, ONE)).thenReturn(bsWrapper);
+		when(bsWrapper.getStatement()).thenReturn(bs);
+		when(session.executeAsync(bs)).thenReturn(future);
+		when(future.getUninterruptibly()).thenReturn(resultSet);
+		when(resultSet.one()).thenReturn(row);
+
+		// When
+		List<Row> rows = daoContext.loadEntities(Arrays.asList(context, otherContext));
+
+		// Then
+		assertThat(rows).containsExactly(cachedRow, row);
+		verify(session, times(1)).executeAsync(any(Statement.class));
+		assertThat(entityCache.get(Arrays.<Object> asList(CompleteBean.class, otherId))).isSameAs(row);
+	}
+
+	@Test
+	public void should_bypass_entity_cache_with_explicit_consistency_level() throws Exception {
+		// Given
+		PropertyMeta idMeta = mock(PropertyMeta.class);
+		entityMeta.setIdMeta(idMeta);
+		when(idMeta.encode(entity.getId())).thenReturn(entity.getId());
+		EntityCache entityCache = new EntityCache(100, 0, 0, 0, Sets.<Class<?>> newHashSet(CompleteBean.class), null);
+		daoContext.setEntityCache(entityCache);
+		ResultSet resultSet = mock(ResultSet.class);
+		Row row = mock(Row.class);
+
+		when(selectEagerPSs.get(CompleteBean.class)).thenReturn(ps);
+		when(binder.bindStatementWithOnlyPKInWhereClause(ps, entityMeta, entity.getId(), ALL)).thenReturn(bsWrapper);
+		when(resultSet.all()).thenReturn(Arrays.asList(row));
+		when(context.executeImmediate(bsWrapper)).thenReturn(resultSet);
+		when(context.getConsistencyLevel()).thenReturn(Optional.fromNullable(ALL));
+
+		// When
+		daoContext.loadEntity(context);
+		daoContext.loadEntity(context);
+
+		// Then
+		verify(context, times(2)).executeImmediate(bsWrapper);
+		assertThat(entityCache.stats().requestCount()).isEqualTo(0L);
+	}
+
+	@Test
+	public void should_invalidate_cached_entity_on_insert() throws Exception {
+		// Given
+		entityMeta.setConsistencyLevels(Pair.create(ONE, ALL));
+		PropertyMeta idMeta = mock(PropertyMeta.class);
+		entityMeta.setIdMeta(idMeta);
+		when(idMeta.encode(entity.getId())).thenReturn(entity.getId());
+		EntityCache entityCache = new EntityCache(100, 0, 0, 0, Sets.<Class<?>> newHashSet(CompleteBean.class), null);
+		daoContext.setEntityCache(entityCache);
+		List<Object> entityKey = Arrays.<Object> asList(CompleteBean.class, entity.getId());
+		entityCache.put(entityKey, mock(Row.class), entityCache.generation());
+
+		when(context.getTtl()).thenReturn(Optional.<Integer> absent());
+		when(context.getTimestamp()).thenReturn(Optional.<Long> fromNullable(null));
+		when(insertPSs.get(CompleteBean.class)).thenReturn(ps);
+		when(binder.bindForInsert(ps, entityMeta, entity, ALL, ttlO)).thenReturn(bsWrapper);
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
+
+		// When
+		daoContext.pushInsertStatement(context);
+
+		// Then
+		assertThat(entityCache.get(entityKey)).isNull();
+		verify(context).pushEntityCacheInvalidation(entityKey);
+		verify(context).pushStatement(bsWrapper);
+	}
+
+	@Test
+	public void should_invalidate_cached_slices_of_partition_on_insert() throws Exception {
+		// Given
+		entityMeta.setConsistencyLevels(Pair.create(ONE, ALL));
+		PropertyMeta idMeta = mock(PropertyMeta.class);
+		List<Object> components = Arrays.<Object> asList(10L, "name");
+		List<Object> partitionComponents = Arrays.<Object> asList(10L);
+		when(context.getIdMeta()).thenReturn(idMeta);
+		when(idMeta.isEmbeddedId()).thenReturn(true);
+		when(idMeta.encodeToComponents(entity.getId())).thenReturn(components);
+		when(idMeta.extractPartitionComponents(components)).thenReturn(partitionComponents);
+		SliceQueryCache sliceQueryCache = new SliceQueryCache(100, 0, null);
+		daoContext.setSliceQueryCache(sliceQueryCache);
+		List<Object> partitionKey = SliceQueryCache.partitionKey(CompleteBean.class, partitionComponents);
+		long version = sliceQueryCache.version(partitionKey);
+
+		when(context.getTtl()).thenReturn(Optional.<Integer> absent());
+		when(context.getTimestamp()).thenReturn(Optional.<Long> fromNullable(null));
+		when(insertPSs.get(CompleteBean.class)).thenReturn(ps);
+		when(binder.bindForInsert(ps, entityMeta, entity, ALL, ttlO)).thenReturn(bsWrapper);
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
+
+		// When
+		daoContext.pushInsertStatement(context);
+
+		// Then
+		assertThat(sliceQueryCache.version(partitionKey)).isNotEqualTo(version);
+		verify(context).pushSliceCacheInvalidation(partitionKey);
+		verify(context).pushStatement(bsWrapper);
+	}
+
 	@Test
 	public void should_load_property() throws Exception {
 		// Given
@@ -815,4 +1026,124 @@ public class DaoContextTest {
 		// Then
 		verify(session).execute(batch);
 	}
+
+	@Test
+	public void should_release_permit_after_query_execution() throws Exception {
+		// Given
+		InFlightRequestLimiter limiter = new InFlightRequestLimiter(1, 0, 0, true, null);
+		daoContext.setInFlightRequestLimiter(limiter);
+		when(bsWrapper.execute(session)).thenThrow(new RuntimeException());
+
+		// When
+		try {
+			daoContext.execute(bsWrapper);
+		} catch (RuntimeException ex) {
+			// Expected
+		}
+
+		// Then
+		assertThat(limiter.getInFlightWrites()).isEqualTo(0);
+		daoContext.executeBatch(mock(BatchStatement.class));
+		assertThat(limiter.getRejected().getCount()).isEqualTo(0L);
+	}
+
+	@Test
+	public void should_record_statement_and_batch_metrics() throws Exception {
+		// Given
+		OperationMetrics metrics = new OperationMetrics();
+		daoContext.setOperationMetrics(metrics);
+		when(bsWrapper.execute(session)).thenReturn(mock(ResultSet.class)).thenThrow(new RuntimeException());
+
+		// When
+		daoContext.execute(bsWrapper);
+		try {
+			daoContext.execute(bsWrapper);
+		} catch (RuntimeException ex) {
+			// Expected
+		}
+		daoContext.executeBatch(mock(BatchStatement.class));
+
+		// Then
+		assertThat(metrics.getLatency(null, Operation.EXECUTE).getCount()).isEqualTo(2L);
+		assertThat(metrics.getErrors(null, Operation.EXECUTE).getCount()).isEqualTo(1L);
+		assertThat(metrics.getLatency(null, Operation.BATCH).getCount()).isEqualTo(1L);
+		assertThat(metrics.getErrors(null, Operation.BATCH).getCount()).isEqualTo(0L);
+		metrics.stop();
+	}
+
+	@Test
+	public void should_record_statement_and_batch_in_slow_statement_log() throws Exception {
+		// Given
+		SlowStatementLog slowStatementLog = mock(SlowStatementLog.class);
+		daoContext.setSlowStatementLog(slowStatementLog);
+		ResultSet resultSet = mock(ResultSet.class);
+		RuntimeException error = new RuntimeException();
+		BatchStatement batch = mock(BatchStatement.class);
+		List<AbstractStatementWrapper> statementWrappers = Arrays.<AbstractStatementWrapper>asList(bsWrapper);
+		when(bsWrapper.execute(session)).thenReturn(resultSet).thenThrow(error);
+		when(session.execute(batch)).thenReturn(resultSet);
+
+		// When
+		daoContext.execute(bsWrapper);
+		try {
+			daoContext.execute(bsWrapper);
+		} catch (RuntimeException ex) {
+			// Expected
+		}
+		daoContext.executeBatch(batch, statementWrappers);
+
+		// Then
+		verify(slowStatementLog).record(eq(bsWrapper), anyLong(), eq(resultSet), isNull(Throwable.class));
+		verify(slowStatementLog).record(eq(bsWrapper), anyLong(), isNull(ResultSet.class), eq(error));
+		verify(slowStatementLog).recordBatch(eq(batch), eq(statementWrappers), anyLong(), eq(resultSet),
+				isNull(Throwable.class));
+	}
+
+	@Test
+	public void should_record_async_statement_once_completed() throws Exception {
+		// Given
+		OperationMetrics metrics = new OperationMetrics();
+		SlowStatementLog slowStatementLog = mock(SlowStatementLog.class);
+		InFlightRequestLimiter limiter = new InFlightRequestLimiter(1, 0, 0, true, null);
+		daoContext.setOperationMetrics(metrics);
+		daoContext.setSlowStatementLog(slowStatementLog);
+		daoContext.setInFlightRequestLimiter(limiter);
+		Statement statement = mock(Statement.class);
+		ResultSetFuture future = mock(ResultSetFuture.class);
+		ResultSet resultSet = mock(ResultSet.class);
+		when(bsWrapper.getStatement()).thenReturn(statement);
+		when(session.executeAsync(statement)).thenReturn(future);
+		when(future.get()).thenReturn(resultSet);
+		ArgumentCaptor<Runnable> listenerCaptor = ArgumentCaptor.forClass(Runnable.class);
+
+		// When
+		daoContext.executeAsync(bsWrapper);
+		verify(future).addListener(listenerCaptor.capture(), any(Executor.class));
+		assertThat(metrics.getLatency(null, Operation.EXECUTE).getCount()).isEqualTo(0L);
+		assertThat(limiter.getInFlightWrites()).isEqualTo(1);
+		listenerCaptor.getValue().run();
+
+		// Then
+		assertThat(metrics.getLatency(null, Operation.EXECUTE).getCount()).isEqualTo(1L);
+		assertThat(metrics.getErrors(null, Operation.EXECUTE).getCount()).isEqualTo(0L);
+		verify(slowStatementLog).record(eq(bsWrapper), anyLong(), eq(resultSet), isNull(Throwable.class));
+		assertThat(limiter.getInFlightWrites()).isEqualTo(0);
+		metrics.stop();
+	}
+
+	@Test
+	public void should_stop_metrics_reporters_on_shut_down() throws Exception {
+		// Given
+		OperationMetrics operationMetrics = mock(OperationMetrics.class);
+		HotPartitionTracker hotPartitionTracker = mock(HotPartitionTracker.class);
+		daoContext.setOperationMetrics(operationMetrics);
+		daoContext.setHotPartitionTracker(hotPartitionTracker);
+
+		// When
+		daoContext.shutDown();
+
+		// Then
+		verify(operationMetrics).stop();
+		verify(hotPartitionTracker).stop();
+	}
 }
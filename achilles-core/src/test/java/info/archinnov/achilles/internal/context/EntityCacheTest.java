@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import com.codahale.metrics.MetricRegistry;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.Row;
+import com.google.common.collect.Sets;
+
+public class EntityCacheTest {
+
+    private final List<Object> entityKey = Arrays.<Object>asList(String.class, 10L);
+
+    @Test
+    public void should_cache_row_of_cacheable_entity() throws Exception {
+        //Given
+        EntityCache cache = new EntityCache(10, 0, 0, 0, Sets.<Class<?>>newHashSet(String.class), null);
+        Row row = mock(Row.class);
+
+        //When
+        cache.put(entityKey, row, cache.generation());
+
+        //Then
+        assertThat(cache.isCacheable(String.class)).isTrue();
+        assertThat(cache.isCacheable(Long.class)).isFalse();
+        assertThat(cache.get(entityKey)).isSameAs(row);
+        assertThat(cache.stats().hitCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_not_cache_row_loaded_before_an_invalidation() throws Exception {
+        //Given
+        EntityCache cache = new EntityCache(10, 0, 0, 0, Sets.<Class<?>>newHashSet(String.class), null);
+        long generation = cache.generation();
+
+        //When
+        cache.invalidate(Arrays.<Object>asList(String.class, 11L));
+        cache.put(entityKey, mock(Row.class), generation);
+
+        //Then
+        assertThat(cache.get(entityKey)).isNull();
+    }
+
+    @Test
+    public void should_invalidate_cached_rows() throws Exception {
+        //Given
+        EntityCache cache = new EntityCache(10, 0, 0, 0, Sets.<Class<?>>newHashSet(String.class), null);
+        List<Object> otherKey = Arrays.<Object>asList(String.class, 11L);
+        cache.put(entityKey, mock(Row.class), cache.generation());
+        cache.put(otherKey, mock(Row.class), cache.generation());
+
+        //When
+        cache.invalidateAll(Arrays.asList(entityKey, otherKey));
+
+        //Then
+        assertThat(cache.get(entityKey)).isNull();
+        assertThat(cache.get(otherKey)).isNull();
+    }
+
+    @Test
+    public void should_invalidate_cached_rows_of_partition() throws Exception {
+        //Given
+        EntityCache cache = new EntityCache(10, 0, 0, 0, Sets.<Class<?>>newHashSet(String.class), null);
+        List<Object> clusteredKey = Arrays.<Object>asList(String.class, Arrays.<Object>asList(10L, "name"));
+        List<Object> otherPartitionKey = Arrays.<Object>asList(String.class, Arrays.<Object>asList(11L, "name"));
+        cache.put(clusteredKey, mock(Row.class), cache.generation());
+        cache.put(otherPartitionKey, mock(Row.class), cache.generation());
+        long generation = cache.generation();
+
+        //When
+        cache.invalidatePartition(String.class, Arrays.<Object>asList(10L));
+
+        //Then
+        assertThat(cache.get(clusteredKey)).isNull();
+        assertThat(cache.get(otherPartitionKey)).isNotNull();
+        assertThat(cache.generation()).isGreaterThan(generation);
+    }
+
+    @Test
+    public void should_bound_cache_by_rows_weight() throws Exception {
+        //Given
+        EntityCache cache = new EntityCache(0, 1000, 0, 0, Sets.<Class<?>>newHashSet(String.class), null);
+
+        //When
+        for (long i = 0; i < 20; i++) {
+            cache.put(Arrays.<Object>asList(String.class, i), rowOfSize(100), cache.generation());
+        }
+
+        //Then
+        assertThat(cache.stats().evictionCount()).isGreaterThanOrEqualTo(10L);
+    }
+
+    @Test
+    public void should_register_metrics() throws Exception {
+        //Given
+        MetricRegistry registry = new MetricRegistry();
+        EntityCache cache = new EntityCache(10, 0, 0, 0, Sets.<Class<?>>newHashSet(String.class), registry);
+
+        //When
+        cache.put(entityKey, mock(Row.class), cache.generation());
+        cache.get(entityKey);
+        cache.get(Arrays.<Object>asList(String.class, 11L));
+
+        //Then
+        assertThat(registry.getGauges().get(EntityCache.HITS_GAUGE).getValue()).isEqualTo(1L);
+        assertThat(registry.getGauges().get(EntityCache.MISSES_GAUGE).getValue()).isEqualTo(1L);
+        assertThat(registry.getGauges().get(EntityCache.EVICTIONS_GAUGE).getValue()).isEqualTo(0L);
+        assertThat(registry.getGauges().get(EntityCache.SIZE_GAUGE).getValue()).isEqualTo(1L);
+    }
+
+    private Row rowOfSize(int size) {
+        Row row = mock(Row.class);
+        ColumnDefinitions columnDefinitions = mock(ColumnDefinitions.class);
+        when(row.getColumnDefinitions()).thenReturn(columnDefinitions);
+        when(columnDefinitions.size()).thenReturn(1);
+        when(row.getBytesUnsafe(0)).thenReturn(ByteBuffer.allocate(size));
+        return row;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import com.google.common.base.Ticker;
+import info.archinnov.achilles.internal.context.HotPartitionTracker.HotPartition;
+
+public class HotPartitionTrackerTest {
+
+    private final FakeTicker ticker = new FakeTicker();
+
+    private HotPartitionTracker tracker;
+
+    @After
+    public void tearDown() {
+        if (tracker != null) {
+            tracker.stop();
+        }
+    }
+
+    @Test
+    public void should_rank_hottest_partitions_per_table_and_direction() throws Exception {
+        //Given
+        tracker = new HotPartitionTracker(2, 60, 0, ticker);
+
+        //When
+        for (int i = 0; i < 100; i++) {
+            tracker.track("users", 10L, true);
+            if (i % 2 == 0) {
+                tracker.track("users", 20L, true);
+            }
+            tracker.track("users", Long.valueOf(1000 + i), true);
+        }
+        tracker.track("users", 30L, false);
+
+        //Then
+        final List<HotPartition> top = tracker.getTopPartitions("users", true);
+        assertThat(top).hasSize(2);
+        assertThat(top.get(0).getPartitionKey()).isEqualTo(10L);
+        assertThat(top.get(0).getHits()).isGreaterThanOrEqualTo(100.0);
+        assertThat(top.get(0).getShare()).isGreaterThan(0.39);
+        assertThat(top.get(1).getPartitionKey()).isEqualTo(20L);
+        assertThat(tracker.getTopPartitions("users", false).get(0).getPartitionKey()).isEqualTo(30L);
+        assertThat(tracker.getTopPartitions("tweets", true)).isEmpty();
+    }
+
+    @Test
+    public void should_decay_past_hits() throws Exception {
+        //Given
+        tracker = new HotPartitionTracker(1, 10, 0, ticker);
+        for (int i = 0; i < 100; i++) {
+            tracker.track("users", 10L, false);
+        }
+
+        //When
+        ticker.advance(TimeUnit.SECONDS.toNanos(20));
+        for (int i = 0; i < 30; i++) {
+            tracker.track("users", 20L, false);
+        }
+
+        //Then
+        final HotPartition hottest = tracker.getTopPartitions("users", false).get(0);
+        assertThat(hottest.getPartitionKey()).isEqualTo(20L);
+        assertThat(hottest.getShare()).isGreaterThan(0.5);
+    }
+
+    @Test
+    public void should_keep_counting_after_rescaling_sketch() throws Exception {
+        //Given
+        tracker = new HotPartitionTracker(1, 1, 0, ticker);
+        tracker.track("users", 10L, true);
+
+        //When
+        ticker.advance(TimeUnit.SECONDS.toNanos(30));
+        tracker.track("users", 10L, true);
+        tracker.track("users", 10L, true);
+
+        //Then
+        final HotPartition hottest = tracker.getTopPartitions("users", true).get(0);
+        assertThat(hottest.getHits()).isGreaterThan(1.99).isLessThan(2.01);
+        assertThat(hottest.getShare()).isGreaterThan(0.99);
+    }
+
+    @Test
+    public void should_warn_once_per_half_life_for_hot_partition() throws Exception {
+        //Given
+        final HotPartitionSketch sketch = new HotPartitionSketch(4, 100, 0);
+        sketch.add(Arrays.<Object>asList(10L), 0);
+
+        //Then
+        assertThat(sketch.shouldWarn(Arrays.<Object>asList(10L), 10, 100)).isTrue();
+        assertThat(sketch.shouldWarn(Arrays.<Object>asList(10L), 50, 100)).isFalse();
+        assertThat(sketch.shouldWarn(Arrays.<Object>asList(10L), 120, 100)).isTrue();
+        assertThat(sketch.shouldWarn(Arrays.<Object>asList(20L), 120, 100)).isFalse();
+    }
+
+    @Test
+    public void should_publish_top_partitions_as_gauge() throws Exception {
+        //Given
+        tracker = new HotPartitionTracker(3, 60, 0, ticker);
+
+        //When
+        tracker.track("users", 10L, true);
+
+        //Then
+        final List<?> value = (List<?>) tracker.getRegistry().getGauges().get("achilles.hot.partitions.users.reads")
+                .getValue();
+        assertThat(value).hasSize(1);
+        assertThat(value.get(0).toString()).startsWith("10: 1 hits");
+    }
+
+    @Test
+    public void should_count_concurrent_hits_and_evict_smallest_entries() throws Exception {
+        //Given
+        final HotPartitionSketch sketch = new HotPartitionSketch(2, TimeUnit.SECONDS.toNanos(60), 0);
+        final CountDownLatch done = new CountDownLatch(4);
+
+        //When
+        for (int t = 0; t < 4; t++) {
+            final int thread = t;
+            new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 1000; i++) {
+                        sketch.add(10L, 0);
+                        sketch.add(Long.valueOf(100000 * (thread + 1) + i), 0);
+                    }
+                    done.countDown();
+                }
+            }.start();
+        }
+        done.await(10, TimeUnit.SECONDS);
+
+        //Then
+        final List<HotPartition> top = sketch.top(HotPartitionSketch.STRIPES * 2, 0);
+        assertThat(top.size()).isLessThanOrEqualTo(HotPartitionSketch.STRIPES * 2);
+        assertThat(top.get(0).getPartitionKey()).isEqualTo(10L);
+        assertThat(top.get(0).getHits()).isGreaterThanOrEqualTo(4000.0);
+        assertThat(top.get(1).getHits()).isLessThan(100.0);
+        assertThat(sketch.getTotal(0)).isEqualTo(8000.0);
+    }
+
+    @Test
+    public void should_spread_sketch_indexes() throws Exception {
+        assertThat(HotPartitionSketch.indexOf(42, 0)).isNotEqualTo(HotPartitionSketch.indexOf(42, 1));
+        assertThat(HotPartitionSketch.indexOf(42, 0)).isLessThan(HotPartitionSketch.WIDTH).isGreaterThanOrEqualTo(0);
+    }
+
+    private static class FakeTicker extends Ticker {
+        private long nanos = 0;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        private void advance(long delta) {
+            nanos += delta;
+        }
+    }
+}
@@ -101,6 +101,9 @@ public class ImmediateFlushContextTest {
 		ImmediateFlushContext actual = context.duplicate();
 
 		assertThat(actual.consistencyLevel).isEqualTo(LOCAL_QUORUM);
+		assertThat(actual.statementWrappers).isSameAs(context.statementWrappers);
+		assertThat(actual.entityCacheInvalidations).isSameAs(context.entityCacheInvalidations);
+		assertThat(actual.sliceCacheInvalidations).isSameAs(context.sliceCacheInvalidations);
 	}
 
 	@Test(expected = UnsupportedOperationException.class)
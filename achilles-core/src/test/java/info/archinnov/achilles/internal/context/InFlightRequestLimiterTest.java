@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import com.codahale.metrics.MetricRegistry;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import info.archinnov.achilles.exception.AchillesRequestRejectedException;
+
+public class InFlightRequestLimiterTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void should_reject_request_in_fail_fast_mode() throws Exception {
+        //Given
+        InFlightRequestLimiter limiter = new InFlightRequestLimiter(1, 0, 0, true, null);
+        limiter.acquire(false);
+
+        exception.expect(AchillesRequestRejectedException.class);
+        exception.expectMessage("Cannot execute read request, the maximum number of in-flight requests is reached");
+
+        try {
+            //When
+            limiter.acquire(true);
+        } finally {
+            //Then
+            assertThat(limiter.getRejected().getCount()).isEqualTo(1L);
+            assertThat(limiter.getInFlightWrites()).isEqualTo(1);
+            assertThat(limiter.getInFlightReads()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    public void should_use_separate_budgets_for_reads_and_writes() throws Exception {
+        //Given
+        InFlightRequestLimiter limiter = new InFlightRequestLimiter(0, 1, 0, true, null);
+
+        //When
+        limiter.acquire(true);
+        limiter.acquire(false);
+        limiter.acquire(false);
+
+        //Then
+        assertThat(limiter.getInFlightReads()).isEqualTo(1);
+        assertThat(limiter.getInFlightWrites()).isEqualTo(2);
+
+        limiter.release(true);
+        limiter.acquire(true);
+        assertThat(limiter.getRejected().getCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_block_until_permit_is_released() throws Exception {
+        //Given
+        final InFlightRequestLimiter limiter = new InFlightRequestLimiter(1, 0, 0, false, null);
+        final CountDownLatch acquired = new CountDownLatch(1);
+        limiter.acquire(false);
+
+        Thread waiter = new Thread() {
+            @Override
+            public void run() {
+                limiter.acquire(true);
+                acquired.countDown();
+            }
+        };
+        waiter.start();
+
+        //When
+        assertThat(acquired.await(100, TimeUnit.MILLISECONDS)).isFalse();
+        limiter.release(false);
+
+        //Then
+        assertThat(acquired.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(limiter.getWaitTimer().getCount()).isEqualTo(1L);
+        assertThat(limiter.getInFlightReads()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_register_metrics() throws Exception {
+        //Given
+        MetricRegistry registry = new MetricRegistry();
+
+        //When
+        InFlightRequestLimiter limiter = new InFlightRequestLimiter(10, 0, 0, false, registry);
+        limiter.acquire(true);
+
+        //Then
+        assertThat(registry.getTimers().get(InFlightRequestLimiter.WAIT_TIMER)).isSameAs(limiter.getWaitTimer());
+        assertThat(registry.getCounters().get(InFlightRequestLimiter.REJECTED_COUNTER)).isSameAs(
+                limiter.getRejected());
+        assertThat(registry.getGauges().get(InFlightRequestLimiter.IN_FLIGHT_READS_GAUGE).getValue()).isEqualTo(1);
+        assertThat(registry.getGauges().get(InFlightRequestLimiter.IN_FLIGHT_WRITES_GAUGE).getValue()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_detect_read_statements() throws Exception {
+        //Given
+        InFlightRequestLimiter limiter = new InFlightRequestLimiter(10, 0, 0, false, null);
+        BoundStatement bs = mock(BoundStatement.class);
+        PreparedStatement ps = mock(PreparedStatement.class);
+        when(bs.preparedStatement()).thenReturn(ps);
+        when(ps.getQueryString()).thenReturn(" select * from table");
+
+        //Then
+        assertThat(limiter.isRead(QueryBuilder.select().from("table"))).isTrue();
+        assertThat(limiter.isRead(bs)).isTrue();
+        assertThat(limiter.isRead(QueryBuilder.insertInto("table").value("id", 10L))).isFalse();
+    }
+}
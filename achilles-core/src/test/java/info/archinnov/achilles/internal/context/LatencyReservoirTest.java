@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import com.codahale.metrics.Snapshot;
+import com.google.common.base.Ticker;
+
+public class LatencyReservoirTest {
+
+    @Test
+    public void should_bucket_values_within_precision() throws Exception {
+        //Then
+        assertThat(LatencyReservoir.indexOf(0)).isEqualTo(0);
+        assertThat(LatencyReservoir.indexOf(31)).isEqualTo(31);
+        assertThat(LatencyReservoir.indexOf(32)).isEqualTo(32);
+        assertThat(LatencyReservoir.indexOf(Long.MAX_VALUE)).isLessThan(LatencyReservoir.SUB_BUCKETS * 59);
+        for (long value : new long[] { 100L, 12345L, 1000000L, 987654321L }) {
+            final long bucketValue = LatencyReservoir.valueOf(LatencyReservoir.indexOf(value));
+            assertThat(Math.abs(bucketValue - value) / (double) value).isLessThan(0.04);
+        }
+    }
+
+    @Test
+    public void should_compute_percentiles() throws Exception {
+        //Given
+        LatencyReservoir reservoir = new LatencyReservoir();
+
+        //When
+        for (long i = 1; i <= 1000; i++) {
+            reservoir.update(i * 1000);
+        }
+        Snapshot snapshot = reservoir.getSnapshot();
+
+        //Then
+        assertThat(reservoir.size()).isEqualTo(1000);
+        assertThat(snapshot.size()).isEqualTo(1000);
+        assertThat(snapshot.getMedian()).isGreaterThan(480000).isLessThan(520000);
+        assertThat(snapshot.get99thPercentile()).isGreaterThan(960000).isLessThan(1030000);
+    }
+
+    @Test
+    public void should_scale_down_snapshot_and_keep_tail() throws Exception {
+        //Given
+        LatencyReservoir reservoir = new LatencyReservoir();
+
+        //When
+        for (int i = 0; i < 100000; i++) {
+            reservoir.update(1000);
+        }
+        reservoir.update(5000000);
+        Snapshot snapshot = reservoir.getSnapshot();
+
+        //Then
+        assertThat(reservoir.size()).isEqualTo(100001);
+        assertThat(snapshot.size()).isLessThanOrEqualTo(LatencyReservoir.MAX_SNAPSHOT_VALUES + 2);
+        assertThat(snapshot.getMax()).isGreaterThan(4800000);
+        assertThat(snapshot.getMedian()).isGreaterThan(960).isLessThan(1040);
+    }
+
+    @Test
+    public void should_only_keep_current_and_previous_intervals() throws Exception {
+        //Given
+        FakeTicker ticker = new FakeTicker();
+        LatencyReservoir reservoir = new LatencyReservoir(TimeUnit.SECONDS.toNanos(60), ticker);
+
+        //When
+        reservoir.update(5000000);
+        ticker.advance(TimeUnit.SECONDS.toNanos(61));
+        for (int i = 0; i < 10; i++) {
+            reservoir.update(1000);
+        }
+
+        //Then
+        assertThat(reservoir.size()).isEqualTo(11);
+        assertThat(reservoir.getSnapshot().getMax()).isGreaterThan(4800000);
+
+        //When
+        ticker.advance(TimeUnit.SECONDS.toNanos(60));
+        reservoir.update(1000);
+
+        //Then
+        assertThat(reservoir.size()).isEqualTo(11);
+        assertThat(reservoir.getSnapshot().getMax()).isLessThan(1040);
+
+        //When
+        ticker.advance(TimeUnit.SECONDS.toNanos(150));
+
+        //Then
+        assertThat(reservoir.size()).isEqualTo(0);
+        assertThat(reservoir.getSnapshot().size()).isEqualTo(0);
+    }
+
+    private static class FakeTicker extends Ticker {
+        private long nanos = 0;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        private void advance(long delta) {
+            nanos += delta;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static com.datastax.driver.core.ColumnDefinitionBuilder.buildColumnDef;
+import static com.datastax.driver.core.ColumnDefinitionBuilder.buildColumnDefinitions;
+import static com.datastax.driver.core.RowBuilder.buildRow;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+
+public class OffHeapRowStoreTest {
+
+    private final ColumnDefinitions columnDefinitions = buildColumnDefinitions(
+            buildColumnDef("ks", "table", "id", DataType.bigint()),
+            buildColumnDef("ks", "table", "name", DataType.text()),
+            buildColumnDef("ks", "table", "age", DataType.cint()));
+
+    @Test
+    public void should_store_and_rebuild_row() throws Exception {
+        //Given
+        OffHeapRowStore store = new OffHeapRowStore(64 * 1024, 0);
+        List<Object> entityKey = key(10L);
+
+        //When
+        store.put(entityKey, row(10L, "John"));
+        Row actual = store.get(entityKey);
+
+        //Then
+        assertThat(actual.getLong("id")).isEqualTo(10L);
+        assertThat(actual.getString("name")).isEqualTo("John");
+        assertThat(actual.isNull("age")).isTrue();
+        assertThat(store.get(key(11L))).isNull();
+        assertThat(store.size()).isEqualTo(1L);
+        assertThat(store.stats().hitCount()).isEqualTo(1L);
+        assertThat(store.stats().missCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_store_row_with_compound_key() throws Exception {
+        //Given
+        OffHeapRowStore store = new OffHeapRowStore(64 * 1024, 0);
+        List<Object> entityKey = Arrays.<Object>asList(String.class, Arrays.<Object>asList(10L, "name", 3));
+
+        //When
+        store.put(entityKey, row(10L, "John"));
+
+        //Then
+        assertThat(store.get(entityKey).getString("name")).isEqualTo("John");
+        assertThat(store.get(Arrays.<Object>asList(String.class, Arrays.<Object>asList(10L, "name", 4)))).isNull();
+    }
+
+    @Test
+    public void should_rebuild_rows_of_distinct_column_definitions() throws Exception {
+        //Given
+        OffHeapRowStore store = new OffHeapRowStore(64 * 1024, 0);
+        ColumnDefinitions otherDefinitions = buildColumnDefinitions(
+                buildColumnDef("ks", "other", "id", DataType.bigint()),
+                buildColumnDef("ks", "other", "label", DataType.text()));
+
+        //When
+        store.put(key(10L), row(10L, "John"));
+        store.put(key(11L), buildRow(otherDefinitions, DataType.bigint().serialize(11L),
+                                     DataType.text().serialize("label")));
+        store.put(key(12L), row(12L, "Helen"));
+
+        //Then
+        assertThat(store.get(key(10L)).getString("name")).isEqualTo("John");
+        assertThat(store.get(key(11L)).getString("label")).isEqualTo("label");
+        assertThat(store.get(key(12L)).getString("name")).isEqualTo("Helen");
+    }
+
+    @Test
+    public void should_invalidate_row() throws Exception {
+        //Given
+        OffHeapRowStore store = new OffHeapRowStore(64 * 1024, 0);
+        store.put(key(10L), row(10L, "John"));
+
+        //When
+        store.invalidateAll(Arrays.asList(key(10L)));
+
+        //Then
+        assertThat(store.get(key(10L))).isNull();
+        assertThat(store.size()).isEqualTo(0L);
+
+        store.put(key(10L), row(10L, "Helen"));
+        assertThat(store.get(key(10L)).getString("name")).isEqualTo("Helen");
+    }
+
+    @Test
+    public void should_invalidate_rows_of_partition() throws Exception {
+        //Given
+        OffHeapRowStore store = new OffHeapRowStore(64 * 1024, 0);
+        List<Object> firstKey = Arrays.<Object>asList(String.class, Arrays.<Object>asList(10L, "name", 3));
+        List<Object> secondKey = Arrays.<Object>asList(String.class, Arrays.<Object>asList(10L, "name", 4));
+        List<Object> otherPartitionKey = Arrays.<Object>asList(String.class, Arrays.<Object>asList(11L, "name", 3));
+        List<Object> otherClassKey = Arrays.<Object>asList(Long.class, Arrays.<Object>asList(10L, "name", 3));
+        store.put(firstKey, row(10L, "John"));
+        store.put(secondKey, row(10L, "Helen"));
+        store.put(otherPartitionKey, row(11L, "Paul"));
+        store.put(otherClassKey, row(10L, "Mary"));
+
+        //When
+        store.invalidatePartition(String.class, Arrays.<Object>asList(10L));
+
+        //Then
+        assertThat(store.get(firstKey)).isNull();
+        assertThat(store.get(secondKey)).isNull();
+        assertThat(store.get(otherPartitionKey).getString("name")).isEqualTo("Paul");
+        assertThat(store.get(otherClassKey).getString("name")).isEqualTo("Mary");
+        assertThat(store.size()).isEqualTo(2L);
+    }
+
+    @Test
+    public void should_replace_existing_row() throws Exception {
+        //Given
+        OffHeapRowStore store = new OffHeapRowStore(64 * 1024, 0);
+        store.put(key(10L), row(10L, "John"));
+
+        //When
+        store.put(key(10L), row(10L, "Helen"));
+
+        //Then
+        assertThat(store.get(key(10L)).getString("name")).isEqualTo("Helen");
+        assertThat(store.size()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_evict_row_not_read_since_last_clock_pass() throws Exception {
+        //Given
+        OffHeapRowStore store = new OffHeapRowStore(4096, 0);
+        long rowsCount = 0;
+        while (store.stats().evictionCount() == 0) {
+            store.put(key(rowsCount), row(rowsCount, "John"));
+            rowsCount++;
+        }
+        long capacity = rowsCount - 1;
+        for (long i = 0; i < rowsCount; i++) {
+            if (i != 5) {
+                store.get(key(i));
+            }
+        }
+
+        //When
+        store.put(key(1000L), row(1000L, "Helen"));
+
+        //Then
+        assertThat(store.get(key(5L))).isNull();
+        assertThat(store.get(key(1000L))).isNotNull();
+        assertThat(store.size()).isEqualTo(capacity);
+        assertThat(store.allocatedBytes()).isEqualTo(4096L);
+    }
+
+    @Test
+    public void should_store_rows_of_new_size_classes_once_all_slabs_are_assigned() throws Exception {
+        //Given
+        OffHeapRowStore store = new OffHeapRowStore(4096, 0);
+        for (long i = 0; i < 100; i++) {
+            store.put(key(i), row(i, "John"));
+        }
+
+        //When
+        store.put(key(1000L), row(1000L, name(300)));
+        store.put(key(2000L), row(2000L, name(100)));
+
+        //Then
+        assertThat(store.get(key(1000L)).getString("name")).isEqualTo(name(300));
+        assertThat(store.get(key(2000L)).getString("name")).isEqualTo(name(100));
+        long smallRows = 0;
+        for (long i = 0; i < 100; i++) {
+            if (store.get(key(i)) != null) {
+                smallRows++;
+            }
+        }
+        assertThat(smallRows).isEqualTo(24L);
+        assertThat(store.size()).isEqualTo(26L);
+        assertThat(store.allocatedBytes()).isEqualTo(4096L);
+    }
+
+    @Test
+    public void should_not_store_row_bigger_than_slab() throws Exception {
+        //Given
+        OffHeapRowStore store = new OffHeapRowStore(4096, 0);
+        char[] name = new char[5000];
+        Arrays.fill(name, 'a');
+
+        //When
+        store.put(key(10L), row(10L, new String(name)));
+
+        //Then
+        assertThat(store.get(key(10L))).isNull();
+        assertThat(store.allocatedBytes()).isEqualTo(0L);
+    }
+
+    private List<Object> key(long id) {
+        return Arrays.<Object>asList(String.class, id);
+    }
+
+    private String name(int length) {
+        char[] name = new char[length];
+        Arrays.fill(name, 'a');
+        return new String(name);
+    }
+
+    private Row row(long id, String name) {
+        return buildRow(columnDefinitions, DataType.bigint().serialize(id), DataType.text().serialize(name),
+                        (ByteBuffer) null);
+    }
+}
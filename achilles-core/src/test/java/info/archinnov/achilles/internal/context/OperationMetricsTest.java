@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static info.archinnov.achilles.internal.context.OperationMetrics.Operation.FIND;
+import static info.archinnov.achilles.internal.context.OperationMetrics.Operation.NATIVE;
+import static info.archinnov.achilles.internal.context.OperationMetrics.Operation.PERSIST;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.lang.management.ManagementFactory;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Test;
+import info.archinnov.achilles.internal.context.OperationMetrics.Sample;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+public class OperationMetricsTest {
+
+    private OperationMetrics metrics = new OperationMetrics();
+
+    @After
+    public void tearDown() {
+        metrics.stop();
+    }
+
+    @Test
+    public void should_record_latency_and_errors_per_entity_and_operation() throws Exception {
+        //Given
+        Sample success = OperationMetrics.start(metrics, CompleteBean.class, PERSIST);
+        Sample failure = OperationMetrics.start(metrics, CompleteBean.class, PERSIST);
+
+        //When
+        assertThat(success.success("result")).isEqualTo("result");
+        success.stop();
+        failure.stop();
+
+        //Then
+        assertThat(metrics.getLatency(CompleteBean.class, PERSIST).getCount()).isEqualTo(2L);
+        assertThat(metrics.getErrors(CompleteBean.class, PERSIST).getCount()).isEqualTo(1L);
+        assertThat(metrics.getLatency(CompleteBean.class, FIND).getCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_name_metrics_after_entity_class_and_operation() throws Exception {
+        //When
+        OperationMetrics.start(metrics, CompleteBean.class, FIND).stop();
+        OperationMetrics.start(metrics, null, NATIVE).stop();
+
+        //Then
+        assertThat(metrics.getRegistry().getTimers().keySet()).contains(CompleteBean.class.getName() + ".find",
+                                                                        "achilles.native");
+        assertThat(metrics.getRegistry().getCounters().keySet()).contains(CompleteBean.class.getName()
+                                                                                  + ".find.errors",
+                                                                          "achilles.native.errors");
+    }
+
+    @Test
+    public void should_publish_metrics_as_mbeans() throws Exception {
+        //When
+        OperationMetrics.start(metrics, null, NATIVE).stop();
+
+        //Then
+        assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(
+                new ObjectName(OperationMetrics.JMX_DOMAIN, "name", "achilles.native"))).isTrue();
+    }
+
+    @Test
+    public void should_do_nothing_when_disabled() throws Exception {
+        //When
+        Sample sample = OperationMetrics.start(null, CompleteBean.class, PERSIST);
+        sample.success();
+        sample.stop();
+
+        //Then
+        assertThat(metrics.getRegistry().getTimers()).isEmpty();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import com.codahale.metrics.MetricRegistry;
+import com.datastax.driver.core.Row;
+import com.google.common.base.Supplier;
+import info.archinnov.achilles.exception.AchillesException;
+
+public class ReadCoalescerTest {
+
+    private final List<Object> readKey = Arrays.<Object>asList(String.class, 10L, "ONE");
+
+    @Test
+    public void should_share_in_flight_read_between_concurrent_callers() throws Exception {
+        //Given
+        final ReadCoalescer coalescer = new ReadCoalescer(null);
+        final Row row = mock(Row.class);
+        final CountDownLatch queryStarted = new CountDownLatch(1);
+        final CountDownLatch releaseQuery = new CountDownLatch(1);
+        final AtomicInteger queriesCount = new AtomicInteger(0);
+        final Supplier<Row> loader = new Supplier<Row>() {
+            @Override
+            public Row get() {
+                queriesCount.incrementAndGet();
+                queryStarted.countDown();
+                try {
+                    releaseQuery.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new AchillesException(e);
+                }
+                return row;
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        List<Future<Row>> futures = new ArrayList<>();
+        futures.add(executor.submit(loadTask(coalescer, loader)));
+        queryStarted.await(5, TimeUnit.SECONDS);
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.submit(loadTask(coalescer, loader)));
+        }
+
+        //When
+        while (coalescer.getSharedReadsCount() < 4) {
+            Thread.sleep(5);
+        }
+        releaseQuery.countDown();
+
+        //Then
+        for (Future<Row> future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS)).isSameAs(row);
+        }
+        executor.shutdown();
+        assertThat(queriesCount.get()).isEqualTo(1);
+        assertThat(coalescer.getExecutedReadsCount()).isEqualTo(1L);
+        assertThat(coalescer.getShareRatio()).isEqualTo(0.8);
+    }
+
+    @Test
+    public void should_execute_again_once_previous_read_is_complete() throws Exception {
+        //Given
+        ReadCoalescer coalescer = new ReadCoalescer(null);
+        final Row row = mock(Row.class);
+        Supplier<Row> loader = new Supplier<Row>() {
+            @Override
+            public Row get() {
+                return row;
+            }
+        };
+
+        //When
+        coalescer.load(readKey, loader);
+        coalescer.load(readKey, loader);
+
+        //Then
+        assertThat(coalescer.getExecutedReadsCount()).isEqualTo(2L);
+        assertThat(coalescer.getSharedReadsCount()).isEqualTo(0L);
+    }
+
+    @Test(expected = AchillesException.class)
+    public void should_propagate_loading_exception() throws Exception {
+        ReadCoalescer coalescer = new ReadCoalescer(null);
+        coalescer.load(readKey, new Supplier<Row>() {
+            @Override
+            public Row get() {
+                throw new AchillesException("test");
+            }
+        });
+    }
+
+    @Test
+    public void should_register_metrics() throws Exception {
+        //Given
+        MetricRegistry registry = new MetricRegistry();
+
+        //When
+        new ReadCoalescer(registry);
+
+        //Then
+        assertThat(registry.getCounters().keySet()).contains(ReadCoalescer.EXECUTED_READS_COUNTER,
+                                                             ReadCoalescer.SHARED_READS_COUNTER);
+        assertThat(registry.getGauges().keySet()).contains(ReadCoalescer.SHARE_RATIO_GAUGE);
+    }
+
+    private Callable<Row> loadTask(final ReadCoalescer coalescer, final Supplier<Row> loader) {
+        return new Callable<Row>() {
+            @Override
+            public Row call() throws Exception {
+                return coalescer.load(readKey, loader);
+            }
+        };
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import com.codahale.metrics.MetricRegistry;
+import com.datastax.driver.core.Row;
+
+public class SliceQueryCacheTest {
+
+    private final List<Object> partitionKey = SliceQueryCache.partitionKey(String.class, Arrays.<Object>asList(10L));
+    private final List<Object> queryKey = Arrays.<Object>asList(partitionKey, "name1", "name2", 10);
+
+    @Test
+    public void should_cache_slice_rows() throws Exception {
+        //Given
+        SliceQueryCache cache = new SliceQueryCache(100, 0, null);
+        List<Row> rows = Arrays.asList(mock(Row.class), mock(Row.class));
+
+        //When
+        cache.put(queryKey, rows, cache.version(partitionKey));
+
+        //Then
+        assertThat(cache.get(partitionKey, queryKey)).isSameAs(rows);
+        assertThat(cache.getHitsCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_discard_slice_of_invalidated_partition() throws Exception {
+        //Given
+        SliceQueryCache cache = new SliceQueryCache(100, 0, null);
+        cache.put(queryKey, Arrays.asList(mock(Row.class)), cache.version(partitionKey));
+
+        //When
+        cache.invalidatePartitions(Arrays.asList(partitionKey));
+
+        //Then
+        assertThat(cache.get(partitionKey, queryKey)).isNull();
+        assertThat(cache.getMissesCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_discard_slice_loaded_before_invalidation() throws Exception {
+        //Given
+        SliceQueryCache cache = new SliceQueryCache(100, 0, null);
+        long version = cache.version(partitionKey);
+
+        //When
+        cache.invalidatePartition(partitionKey);
+        cache.put(queryKey, Arrays.asList(mock(Row.class)), version);
+
+        //Then
+        assertThat(cache.get(partitionKey, queryKey)).isNull();
+    }
+
+    @Test
+    public void should_bound_cache_by_rows_count() throws Exception {
+        //Given
+        SliceQueryCache cache = new SliceQueryCache(100, 0, null);
+        List<Row> rows = Collections.nCopies(19, mock(Row.class));
+
+        //When
+        for (int i = 0; i < 20; i++) {
+            cache.put(Arrays.<Object>asList(partitionKey, i), rows, cache.version(partitionKey));
+        }
+
+        //Then
+        assertThat(cache.getEvictionsCount()).isGreaterThanOrEqualTo(15L);
+    }
+
+    @Test
+    public void should_register_metrics() throws Exception {
+        //Given
+        MetricRegistry registry = new MetricRegistry();
+        SliceQueryCache cache = new SliceQueryCache(100, 0, registry);
+        cache.put(queryKey, Arrays.asList(mock(Row.class)), cache.version(partitionKey));
+
+        //When
+        cache.get(partitionKey, queryKey);
+
+        //Then
+        assertThat(registry.getCounters().get(SliceQueryCache.HITS_COUNTER).getCount()).isEqualTo(1L);
+        assertThat(registry.getCounters().get(SliceQueryCache.MISSES_COUNTER).getCount()).isEqualTo(0L);
+        assertThat(registry.getGauges().get(SliceQueryCache.SIZE_GAUGE).getValue()).isEqualTo(1L);
+        assertThat(registry.getGauges().keySet()).contains(SliceQueryCache.EVICTIONS_GAUGE);
+    }
+}
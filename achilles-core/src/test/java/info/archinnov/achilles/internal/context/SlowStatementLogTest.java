@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.google.common.collect.ImmutableMap;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
+import info.archinnov.achilles.internal.statement.wrapper.RegularStatementWrapper;
+
+public class SlowStatementLogTest {
+
+    private final long slow = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final long fast = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    public void should_extract_table_from_query_string() throws Exception {
+        //Given
+        SlowStatementLog slowStatementLog = new SlowStatementLog(100, Collections.<String, Long>emptyMap(), 0);
+
+        //Then
+        assertThat(slowStatementLog.extractTable("SELECT id,name FROM ks.users WHERE id=?;")).isEqualTo("users");
+        assertThat(slowStatementLog.extractTable("INSERT INTO \"Users\"(id) VALUES (?);")).isEqualTo("Users");
+        assertThat(slowStatementLog.extractTable("UPDATE users USING TTL 10 SET name=?;")).isEqualTo("users");
+        assertThat(slowStatementLog.extractTable("DELETE FROM users WHERE id=?;")).isEqualTo("users");
+        assertThat(slowStatementLog.extractTable("BEGIN BATCH")).isNull();
+    }
+
+    @Test
+    public void should_use_table_threshold_over_global_one() throws Exception {
+        //Given
+        SlowStatementLog slowStatementLog = new SlowStatementLog(100, ImmutableMap.of("Users", 10L), 0);
+
+        //Then
+        assertThat(slowStatementLog.getThresholdNanos("users")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+        assertThat(slowStatementLog.getThresholdNanos("tweets")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(slowStatementLog.getThresholdNanos(null)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    public void should_summarize_bound_values() throws Exception {
+        //Given
+        SlowStatementLog slowStatementLog = new SlowStatementLog(100, Collections.<String, Long>emptyMap(), 0);
+        Object[] values = new Object[12];
+        values[0] = ByteBuffer.allocate(20);
+        values[1] = new String(new char[100]).replace('\0', 'a');
+
+        //When
+        List<String> summaries = slowStatementLog.summarizeValues(values);
+
+        //Then
+        assertThat(summaries).hasSize(SlowStatementLog.MAX_VALUES + 1);
+        assertThat(summaries.get(0)).isEqualTo("<20 bytes>");
+        assertThat(summaries.get(1)).hasSize(SlowStatementLog.MAX_VALUE_LENGTH + 3).endsWith("...");
+        assertThat(summaries.get(2)).isEqualTo("null");
+        assertThat(summaries.get(SlowStatementLog.MAX_VALUES)).isEqualTo("... 2 more");
+    }
+
+    @Test
+    public void should_log_only_statements_above_threshold() throws Exception {
+        //Given
+        SlowStatementLog slowStatementLog = new SlowStatementLog(0, ImmutableMap.of("users", 100L), 0);
+        PreparedStatement ps = mock(PreparedStatement.class);
+        BoundStatement bs = mock(BoundStatement.class);
+        when(bs.preparedStatement()).thenReturn(ps);
+        when(ps.getQueryString()).thenReturn("SELECT * FROM users WHERE id=?;");
+        AbstractStatementWrapper usersWrapper = new BoundStatementWrapper(bs, new Object[] { 10L },
+                                                                          ConsistencyLevel.ONE);
+        AbstractStatementWrapper tweetsWrapper = new RegularStatementWrapper(
+                QueryBuilder.select().from("tweets"), null, ConsistencyLevel.ONE);
+
+        //When
+        slowStatementLog.record(usersWrapper, fast, null, null);
+        slowStatementLog.record(usersWrapper, slow, null, new RuntimeException("timeout"));
+        slowStatementLog.record(tweetsWrapper, slow, null, null);
+
+        //Then
+        assertThat(slowStatementLog.getLoggedEntries()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_not_read_statements_faster_than_smallest_threshold() throws Exception {
+        //Given
+        SlowStatementLog slowStatementLog = new SlowStatementLog(500, ImmutableMap.of("users", 100L), 0);
+        AbstractStatementWrapper wrapper = mock(AbstractStatementWrapper.class);
+
+        //When
+        slowStatementLog.record(wrapper, fast, null, null);
+        slowStatementLog.recordBatch(new BatchStatement(), Arrays.asList(wrapper), fast, null, null);
+
+        //Then
+        verifyZeroInteractions(wrapper);
+        assertThat(slowStatementLog.mayBeSlow(fast)).isFalse();
+        assertThat(slowStatementLog.mayBeSlow(slow)).isTrue();
+    }
+
+    @Test
+    public void should_log_batch_above_lowest_threshold_of_its_tables() throws Exception {
+        //Given
+        SlowStatementLog slowStatementLog = new SlowStatementLog(500, ImmutableMap.of("users", 100L), 0);
+        List<AbstractStatementWrapper> statementWrappers = Arrays.<AbstractStatementWrapper>asList(
+                new RegularStatementWrapper(QueryBuilder.insertInto("tweets").value("id", 1L), null,
+                                            ConsistencyLevel.ONE),
+                new RegularStatementWrapper(QueryBuilder.insertInto("users").value("id", 1L), null,
+                                            ConsistencyLevel.ONE));
+
+        //When
+        slowStatementLog.recordBatch(new BatchStatement(), statementWrappers, fast, null, null);
+        slowStatementLog.recordBatch(new BatchStatement(), statementWrappers, slow, null, null);
+
+        //Then
+        assertThat(slowStatementLog.getLoggedEntries()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_limit_entries_per_second() throws Exception {
+        //Given
+        SlowStatementLog slowStatementLog = new SlowStatementLog(100, Collections.<String, Long>emptyMap(), 2);
+        AbstractStatementWrapper wrapper = new RegularStatementWrapper(QueryBuilder.select().from("users"), null,
+                                                                       ConsistencyLevel.ONE);
+
+        //When
+        for (int i = 0; i < 5; i++) {
+            slowStatementLog.record(wrapper, slow, null, null);
+        }
+
+        //Then
+        assertThat(slowStatementLog.getLoggedEntries() + slowStatementLog.getSuppressedEntries()).isEqualTo(5L);
+        assertThat(slowStatementLog.getSuppressedEntries()).isGreaterThanOrEqualTo(1L);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static info.archinnov.achilles.type.StageBreakdown.Stage.BIND;
+import static info.archinnov.achilles.type.StageBreakdown.Stage.DECODE;
+import static info.archinnov.achilles.type.StageBreakdown.Stage.EXECUTE;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.test.parser.entity.UserBean;
+import info.archinnov.achilles.type.StageBreakdown;
+
+public class StageTimersTest {
+
+    @Test
+    public void should_time_stages_of_sampled_request() throws Exception {
+        //Given
+        StageTimers stageTimers = new StageTimers(1);
+
+        //When
+        assertThat(stageTimers.begin(CompleteBean.class)).isTrue();
+        long bindStart = StageTimers.start(BIND);
+        Thread.sleep(2);
+        StageTimers.stop(BIND, bindStart);
+        long executeStart = StageTimers.start(EXECUTE);
+        assertThat(StageTimers.stop(EXECUTE, executeStart, "result")).isEqualTo("result");
+        stageTimers.end();
+
+        //Then
+        StageBreakdown breakdown = stageTimers.snapshot(CompleteBean.class);
+        assertThat(breakdown.getSampledRequests()).isEqualTo(1L);
+        assertThat(breakdown.getCount(BIND)).isEqualTo(1L);
+        assertThat(breakdown.getCount(EXECUTE)).isEqualTo(1L);
+        assertThat(breakdown.getCount(DECODE)).isEqualTo(0L);
+        assertThat(breakdown.getTotalTime(BIND, TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(2L);
+        assertThat(breakdown.getMeanRequestTime(TimeUnit.NANOSECONDS)).isGreaterThanOrEqualTo(
+                breakdown.getMeanTime(BIND, TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void should_sample_one_request_out_of_sample_rate() throws Exception {
+        //Given
+        StageTimers stageTimers = new StageTimers(3);
+
+        //When
+        for (int i = 0; i < 6; i++) {
+            if (stageTimers.begin(CompleteBean.class)) {
+                StageTimers.stop(EXECUTE, StageTimers.start(EXECUTE));
+                stageTimers.end();
+            }
+        }
+
+        //Then
+        assertThat(stageTimers.snapshot(CompleteBean.class).getSampledRequests()).isEqualTo(2L);
+        assertThat(stageTimers.snapshot(CompleteBean.class).getCount(EXECUTE)).isEqualTo(2L);
+    }
+
+    @Test
+    public void should_time_nested_stage_once() throws Exception {
+        //Given
+        StageTimers stageTimers = new StageTimers(1);
+        stageTimers.begin(CompleteBean.class);
+
+        //When
+        long outer = StageTimers.start(DECODE);
+        long inner = StageTimers.start(DECODE);
+        StageTimers.stop(DECODE, inner);
+        StageTimers.stop(DECODE, outer);
+        stageTimers.end();
+
+        //Then
+        assertThat(inner).isEqualTo(0L);
+        assertThat(stageTimers.snapshot(CompleteBean.class).getCount(DECODE)).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_not_time_stages_outside_of_sampled_request() throws Exception {
+        //Given
+        StageTimers stageTimers = new StageTimers(1);
+
+        //When
+        long start = StageTimers.start(BIND);
+        StageTimers.stop(BIND, start);
+
+        //Then
+        assertThat(start).isEqualTo(0L);
+        assertThat(stageTimers.snapshot()).isEmpty();
+    }
+
+    @Test
+    public void should_count_sampled_requests_in_progress() throws Exception {
+        //Given
+        StageTimers stageTimers = new StageTimers(1);
+        int inProgress = StageTimers.sampledRequestsInProgress();
+
+        //When
+        assertThat(stageTimers.begin(CompleteBean.class)).isTrue();
+        int duringRequest = StageTimers.sampledRequestsInProgress();
+        stageTimers.end();
+        stageTimers.end();
+
+        //Then
+        assertThat(duringRequest).isEqualTo(inProgress + 1);
+        assertThat(StageTimers.sampledRequestsInProgress()).isEqualTo(inProgress);
+    }
+
+    @Test
+    public void should_not_begin_nested_request() throws Exception {
+        //Given
+        StageTimers stageTimers = new StageTimers(1);
+
+        //When
+        assertThat(stageTimers.begin(CompleteBean.class)).isTrue();
+        assertThat(stageTimers.begin(UserBean.class)).isFalse();
+        stageTimers.end();
+
+        //Then
+        assertThat(stageTimers.snapshot().keySet()).containsOnly(CompleteBean.class);
+        stageTimers.reset();
+        assertThat(stageTimers.snapshot()).isEmpty();
+        assertThat(stageTimers.snapshot(UserBean.class).getSampledRequests()).isEqualTo(0L);
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Optional;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StatementCoalescerTest {
+
+    private StatementCoalescer coalescer = new StatementCoalescer(null);
+
+    @Mock
+    private DaoContext daoContext;
+
+    @Mock
+    private PersistenceContext context;
+
+    @Mock
+    private EntityMeta meta;
+
+    @Mock
+    private PropertyMeta idMeta;
+
+    @Mock
+    private PropertyMeta nameMeta;
+
+    @Mock
+    private PropertyMeta ageMeta;
+
+    @Mock
+    private PropertyMeta counterMeta;
+
+    private Object entity = new Object();
+
+    @Before
+    public void setUp() {
+        when(context.getEntityMeta()).thenReturn(meta);
+        when(context.getEntity()).thenReturn(entity);
+        when(context.getPrimaryKey()).thenReturn(10L);
+        when(context.getTimestamp()).thenReturn(Optional.<Long>absent());
+        when(context.getTtl()).thenReturn(Optional.<Integer>absent());
+        when(meta.getTableName()).thenReturn("table");
+        when(meta.getClassName()).thenReturn("com.example.Entity");
+        when(meta.getIdMeta()).thenReturn(idMeta);
+        when(idMeta.encode(10L)).thenReturn(10L);
+        when(counterMeta.getPropertyName()).thenReturn("count");
+    }
+
+    @Test
+    public void should_merge_field_updates_on_same_row_with_latest_values() throws Exception {
+        //Given
+        when(nameMeta.getAndEncodeValueForCassandra(entity)).thenReturn("John", "Helen");
+        when(ageMeta.getAndEncodeValueForCassandra(entity)).thenReturn(33L);
+        AbstractStatementWrapper update1 = wrapper(CoalescingDescriptor.forFieldsUpdate(context,
+                                                                                         Arrays.asList(nameMeta)));
+        AbstractStatementWrapper update2 = wrapper(CoalescingDescriptor.forFieldsUpdate(context,
+                                                                                         Arrays.asList(ageMeta,
+                                                                                                       nameMeta)));
+        BoundStatementWrapper merged = mock(BoundStatementWrapper.class);
+        when(daoContext.buildCoalescedUpdateStatement(context, Arrays.asList(nameMeta, ageMeta),
+                                                      Arrays.<Object>asList("Helen", 33L),
+                                                      Optional.<Long>absent())).thenReturn(merged);
+
+        //When
+        List<AbstractStatementWrapper> actual = coalescer.coalesce(daoContext, Arrays.asList(update1, update2));
+
+        //Then
+        assertThat(actual).containsExactly(merged);
+        assertThat(coalescer.getEliminatedStatementsCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_not_merge_field_updates_across_an_insert() throws Exception {
+        //Given
+        AbstractStatementWrapper update1 = wrapper(CoalescingDescriptor.forFieldsUpdate(context,
+                                                                                         Arrays.asList(nameMeta)));
+        AbstractStatementWrapper insert = wrapper(CoalescingDescriptor.forInsert(context));
+        AbstractStatementWrapper update2 = wrapper(CoalescingDescriptor.forFieldsUpdate(context,
+                                                                                         Arrays.asList(nameMeta)));
+
+        //When
+        List<AbstractStatementWrapper> actual = coalescer.coalesce(daoContext,
+                                                                   Arrays.asList(update1, insert, update2));
+
+        //Then
+        assertThat(actual).containsExactly(update1, insert, update2);
+        assertThat(coalescer.getEliminatedStatementsCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_merge_field_updates_with_greatest_timestamp() throws Exception {
+        //Given
+        when(context.getTimestamp()).thenReturn(Optional.fromNullable(100L), Optional.fromNullable(200L));
+        when(nameMeta.getAndEncodeValueForCassandra(entity)).thenReturn("John");
+        when(ageMeta.getAndEncodeValueForCassandra(entity)).thenReturn(33L);
+        AbstractStatementWrapper update1 = wrapper(CoalescingDescriptor.forFieldsUpdate(context,
+                                                                                         Arrays.asList(nameMeta)));
+        AbstractStatementWrapper update2 = wrapper(CoalescingDescriptor.forFieldsUpdate(context,
+                                                                                         Arrays.asList(ageMeta)));
+        BoundStatementWrapper merged = mock(BoundStatementWrapper.class);
+        when(daoContext.buildCoalescedUpdateStatement(context, Arrays.asList(nameMeta, ageMeta),
+                                                      Arrays.<Object>asList("John", 33L),
+                                                      Optional.fromNullable(200L))).thenReturn(merged);
+
+        //When
+        List<AbstractStatementWrapper> actual = coalescer.coalesce(daoContext, Arrays.asList(update1, update2));
+
+        //Then
+        assertThat(actual).containsExactly(merged);
+    }
+
+    @Test
+    public void should_not_merge_field_update_with_timestamp_and_field_update_without() throws Exception {
+        //Given
+        when(context.getTimestamp()).thenReturn(Optional.fromNullable(100L), Optional.<Long>absent());
+        AbstractStatementWrapper update1 = wrapper(CoalescingDescriptor.forFieldsUpdate(context,
+                                                                                         Arrays.asList(nameMeta)));
+        AbstractStatementWrapper update2 = wrapper(CoalescingDescriptor.forFieldsUpdate(context,
+                                                                                         Arrays.asList(ageMeta)));
+
+        //When
+        List<AbstractStatementWrapper> actual = coalescer.coalesce(daoContext, Arrays.asList(update1, update2));
+
+        //Then
+        assertThat(actual).containsExactly(update1, update2);
+        assertThat(coalescer.getEliminatedStatementsCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_publish_eliminated_statements_count() throws Exception {
+        //Given
+        MetricRegistry registry = new MetricRegistry();
+        coalescer = new StatementCoalescer(registry);
+        AbstractStatementWrapper incr1 = wrapper(CoalescingDescriptor.forSimpleCounterIncrement(context, meta,
+                                                                                                 counterMeta, 2L));
+        AbstractStatementWrapper incr2 = wrapper(CoalescingDescriptor.forSimpleCounterIncrement(context, meta,
+                                                                                                 counterMeta, 5L));
+        when(daoContext.buildSimpleCounterIncrementStatement(context, meta, counterMeta, 7L)).thenReturn(
+                mock(BoundStatementWrapper.class));
+
+        //When
+        coalescer.coalesce(daoContext, Arrays.asList(incr1, incr2));
+
+        //Then
+        assertThat(registry.counter(StatementCoalescer.ELIMINATED_STATEMENTS_COUNTER).getCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_sum_counter_increments_on_same_cell() throws Exception {
+        //Given
+        AbstractStatementWrapper incr1 = wrapper(CoalescingDescriptor.forSimpleCounterIncrement(context, meta,
+                                                                                                 counterMeta, 2L));
+        AbstractStatementWrapper incr2 = wrapper(CoalescingDescriptor.forSimpleCounterIncrement(context, meta,
+                                                                                                 counterMeta, 5L));
+        AbstractStatementWrapper incr3 = wrapper(CoalescingDescriptor.forSimpleCounterIncrement(context, meta,
+                                                                                                 counterMeta, -1L));
+        BoundStatementWrapper summed = mock(BoundStatementWrapper.class);
+        when(daoContext.buildSimpleCounterIncrementStatement(context, meta, counterMeta, 6L)).thenReturn(summed);
+
+        //When
+        List<AbstractStatementWrapper> actual = coalescer.coalesce(daoContext, Arrays.asList(incr1, incr2, incr3));
+
+        //Then
+        assertThat(actual).containsExactly(summed);
+        assertThat(coalescer.getEliminatedStatementsCount()).isEqualTo(2L);
+    }
+
+    @Test
+    public void should_drop_counter_increments_summing_to_zero() throws Exception {
+        //Given
+        AbstractStatementWrapper incr = wrapper(CoalescingDescriptor.forClusteredCounterIncrement(context, meta,
+                                                                                                   counterMeta, 3L));
+        AbstractStatementWrapper decr = wrapper(CoalescingDescriptor.forClusteredCounterIncrement(context, meta,
+                                                                                                   counterMeta, -3L));
+
+        //When
+        List<AbstractStatementWrapper> actual = coalescer.coalesce(daoContext, Arrays.asList(incr, decr));
+
+        //Then
+        assertThat(actual).isEmpty();
+        verify(daoContext, never()).buildClusteredCounterIncrementStatement(any(PersistenceContext.class),
+                                                                            any(EntityMeta.class),
+                                                                            any(PropertyMeta.class), eq(0L));
+    }
+
+    @Test
+    public void should_drop_writes_shadowed_by_later_delete() throws Exception {
+        //Given
+        AbstractStatementWrapper insert = wrapper(CoalescingDescriptor.forInsert(context));
+        AbstractStatementWrapper update = wrapper(CoalescingDescriptor.forFieldsUpdate(context,
+                                                                                        Arrays.asList(nameMeta)));
+        AbstractStatementWrapper collection = wrapper(CoalescingDescriptor.forCollectionUpdate(context));
+        AbstractStatementWrapper delete = wrapper(CoalescingDescriptor.forRowDelete(context, "table"));
+        AbstractStatementWrapper otherTableDelete = wrapper(CoalescingDescriptor.forRowDelete(context, "other"));
+        AbstractStatementWrapper insertAfterDelete = wrapper(CoalescingDescriptor.forInsert(context));
+
+        //When
+        List<AbstractStatementWrapper> actual = coalescer.coalesce(daoContext, Arrays.asList(insert, update,
+                                                                                             collection, delete,
+                                                                                             otherTableDelete,
+                                                                                             insertAfterDelete));
+
+        //Then
+        assertThat(actual).containsExactly(delete, otherTableDelete, insertAfterDelete);
+        assertThat(coalescer.getEliminatedStatementsCount()).isEqualTo(3L);
+    }
+
+    @Test
+    public void should_drop_write_with_timestamp_shadowed_by_later_delete_without_timestamp() throws Exception {
+        //Given
+        when(context.getTimestamp()).thenReturn(Optional.fromNullable(100L));
+        AbstractStatementWrapper insert = wrapper(CoalescingDescriptor.forInsert(context));
+        AbstractStatementWrapper delete = wrapper(CoalescingDescriptor.forRowDelete(context, "table"));
+
+        //When
+        List<AbstractStatementWrapper> actual = coalescer.coalesce(daoContext, Arrays.asList(insert, delete));
+
+        //Then
+        assertThat(actual).containsExactly(delete);
+    }
+
+    @Test
+    public void should_only_drop_counter_increments_of_deleted_cell() throws Exception {
+        //Given
+        PropertyMeta otherCounterMeta = mock(PropertyMeta.class);
+        when(otherCounterMeta.getPropertyName()).thenReturn("other_count");
+        AbstractStatementWrapper incr = wrapper(CoalescingDescriptor.forSimpleCounterIncrement(context, meta,
+                                                                                                counterMeta, 2L));
+        AbstractStatementWrapper otherIncr = wrapper(CoalescingDescriptor.forSimpleCounterIncrement(context, meta,
+                                                                                                     otherCounterMeta,
+                                                                                                     2L));
+        AbstractStatementWrapper delete = wrapper(CoalescingDescriptor.forSimpleCounterDelete(context, meta,
+                                                                                               counterMeta));
+
+        //When
+        List<AbstractStatementWrapper> actual = coalescer.coalesce(daoContext, Arrays.asList(incr, otherIncr,
+                                                                                             delete));
+
+        //Then
+        assertThat(actual).containsExactly(otherIncr, delete);
+    }
+
+    @Test
+    public void should_leave_statements_without_descriptor_untouched() throws Exception {
+        //Given
+        AbstractStatementWrapper wrapper1 = mock(AbstractStatementWrapper.class);
+        AbstractStatementWrapper wrapper2 = mock(AbstractStatementWrapper.class);
+
+        //When
+        List<AbstractStatementWrapper> actual = coalescer.coalesce(daoContext, Arrays.asList(wrapper1, wrapper2));
+
+        //Then
+        assertThat(actual).containsExactly(wrapper1, wrapper2);
+    }
+
+    private AbstractStatementWrapper wrapper(CoalescingDescriptor descriptor) {
+        AbstractStatementWrapper wrapper = mock(AbstractStatementWrapper.class);
+        when(wrapper.getCoalescingDescriptor()).thenReturn(descriptor);
+        return wrapper;
+    }
+}
@@ -40,6 +40,8 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import com.google.common.collect.Sets;
+
 @RunWith(MockitoJUnitRunner.class)
 public class EntityMetaBuilderTest {
 
@@ -88,6 +90,28 @@ public class EntityMetaBuilderTest {
 		assertThat(meta.getAllMetasExceptId()).containsOnly(simpleMeta);
 	}
 
+	@Test
+	public void should_build_meta_with_fetch_groups() throws Exception {
+
+		Map<String, PropertyMeta> propertyMetas = new HashMap<>();
+		PropertyMeta nameMeta = new PropertyMeta();
+		nameMeta.setType(SIMPLE);
+		nameMeta.setFetchGroups(Sets.newHashSet("summary", "detail"));
+		PropertyMeta ageMeta = new PropertyMeta();
+		ageMeta.setType(SIMPLE);
+		ageMeta.setFetchGroups(Sets.newHashSet("detail"));
+		propertyMetas.put("name", nameMeta);
+		propertyMetas.put("age", ageMeta);
+
+		when(idMeta.<Long> getValueClass()).thenReturn(Long.class);
+
+		EntityMeta meta = entityMetaBuilder(idMeta).className("Bean").propertyMetas(propertyMetas)
+				.columnFamilyName("toto").build();
+
+		assertThat(meta.getFetchGroup("summary")).containsExactly(nameMeta);
+		assertThat(meta.getFetchGroup("detail")).containsOnly(nameMeta, ageMeta);
+	}
+
 	@Test
 	public void should_build_meta_with_column_family_name() throws Exception {
 
@@ -19,6 +19,7 @@ import static info.archinnov.achilles.interceptor.Event.*;
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.*;
 import static info.archinnov.achilles.type.ConsistencyLevel.*;
 import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.interceptor.Interceptor;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
@@ -201,6 +202,40 @@ public class EntityMetaTest {
 		Assertions.assertThat(bean.getAge()).isEqualTo(35L);
 	}
 
+	@Test
+	public void should_get_fetch_properties() throws Exception {
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(SIMPLE).build();
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").type(ID)
+				.build();
+		EntityMeta entityMeta = new EntityMeta();
+		entityMeta.setClassName("CompleteBean");
+		entityMeta.setPropertyMetas(ImmutableMap.of("name", nameMeta, "id", idMeta));
+		entityMeta.setAllMetasExceptIdAndCounters(Arrays.asList(nameMeta));
+
+		assertThat(entityMeta.getFetchProperties("name")).containsExactly(nameMeta);
+	}
+
+	@Test(expected = AchillesException.class)
+	public void should_exception_when_fetching_id_as_property() throws Exception {
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").type(ID)
+				.build();
+		EntityMeta entityMeta = new EntityMeta();
+		entityMeta.setClassName("CompleteBean");
+		entityMeta.setPropertyMetas(ImmutableMap.of("id", idMeta));
+		entityMeta.setAllMetasExceptIdAndCounters(new ArrayList<PropertyMeta>());
+
+		entityMeta.getFetchProperties("id");
+	}
+
+	@Test(expected = AchillesException.class)
+	public void should_exception_when_fetch_group_is_not_declared() throws Exception {
+		EntityMeta entityMeta = new EntityMeta();
+		entityMeta.setClassName("CompleteBean");
+
+		entityMeta.getFetchGroup("summary");
+	}
+
 	private Interceptor<String> createInterceptor(final Event event) {
 		Interceptor<String> interceptor = new Interceptor<String>() {
 
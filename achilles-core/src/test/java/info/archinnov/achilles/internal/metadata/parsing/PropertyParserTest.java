@@ -22,6 +22,7 @@ import info.archinnov.achilles.annotations.Column;
 import info.archinnov.achilles.annotations.Consistency;
 import info.archinnov.achilles.annotations.EmbeddedId;
 import info.archinnov.achilles.annotations.Id;
+import info.archinnov.achilles.annotations.FetchGroup;
 import info.archinnov.achilles.annotations.Index;
 import info.archinnov.achilles.annotations.TimeUUID;
 import info.archinnov.achilles.exception.AchillesBeanMappingException;
@@ -424,6 +425,54 @@ public class PropertyParserTest {
 		assertThat(meta.<UUID> getValueClass()).isEqualTo(UUID.class);
 	}
 
+	@Test
+	public void should_parse_fetch_groups() throws Exception {
+		@SuppressWarnings("unused")
+		class Test {
+			@Column
+			@FetchGroup({ "summary", "detail" })
+			private String firstname;
+
+			public String getFirstname() {
+				return firstname;
+			}
+
+			public void setFirstname(String firstname) {
+				this.firstname = firstname;
+			}
+
+		}
+		PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("firstname"));
+		PropertyMeta meta = parser.parse(context);
+		assertThat(meta.getFetchGroups()).containsOnly("summary", "detail");
+	}
+
+	@Test
+	public void should_exception_when_counter_belongs_to_fetch_group() throws Exception {
+		@SuppressWarnings("unused")
+		class Test {
+			@Column
+			@FetchGroup("summary")
+			private Counter counter;
+
+			public Counter getCounter() {
+				return counter;
+			}
+
+			public void setCounter(Counter counter) {
+				this.counter = counter;
+			}
+
+		}
+		PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("counter"));
+
+		expectedEx.expect(AchillesBeanMappingException.class);
+		expectedEx.expectMessage("Primary key and counter property 'counter' of entity '"
+				+ Test.class.getCanonicalName() + "' cannot belong to a fetch group");
+
+		parser.parse(context);
+	}
+
 	@Test
 	public void should_parse_index() throws Exception {
 		@SuppressWarnings("unused")
@@ -17,8 +17,11 @@
 package info.archinnov.achilles.internal.persistence.operations;
 
 import static org.mockito.Mockito.*;
+import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.proxy.EntityInterceptor;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
 import java.util.Arrays;
@@ -31,7 +34,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import com.datastax.driver.core.Row;
+
 @RunWith(MockitoJUnitRunner.class)
+@SuppressWarnings("unchecked")
 public class EntityInitializerTest {
 
 	@Rule
@@ -46,6 +52,12 @@ public class EntityInitializerTest {
 	@Mock
 	private PropertyMeta counterMeta;
 
+	@Mock
+	private EntityProxifier proxifier;
+
+	@Mock
+	private DaoContext daoContext;
+
 	private CompleteBean bean = new CompleteBean();
 
 	@Test
@@ -59,4 +71,51 @@ public class EntityInitializerTest {
 
 	}
 
+	@Test
+	public void should_initialize_entities_with_one_select_per_entity() throws Exception {
+		// Given
+		CompleteBean loadedBean = new CompleteBean();
+		PersistenceContext context = mock(PersistenceContext.class);
+		PersistenceContext loadedContext = mock(PersistenceContext.class);
+		EntityInterceptor<CompleteBean> interceptor = mock(EntityInterceptor.class);
+		EntityInterceptor<CompleteBean> loadedInterceptor = mock(EntityInterceptor.class);
+		PropertyMeta nameMeta = mock(PropertyMeta.class);
+		Row row = mock(Row.class);
+
+		when(context.getEntityMeta()).thenReturn(meta);
+		when(loadedContext.getEntityMeta()).thenReturn(meta);
+		when(meta.getAllCounterMetas()).thenReturn(Arrays.asList(counterMeta));
+		when(proxifier.getInterceptor(bean)).thenReturn(interceptor);
+		when(proxifier.getInterceptor(loadedBean)).thenReturn(loadedInterceptor);
+		when(interceptor.getUnloadedProperties()).thenReturn(Arrays.asList(nameMeta));
+		when(loadedInterceptor.getUnloadedProperties()).thenReturn(Arrays.<PropertyMeta> asList());
+		when(daoContext.loadEntities(Arrays.asList(context))).thenReturn(Arrays.asList(row));
+
+		// When
+		initializer.initializeEntities(Arrays.asList(bean, loadedBean), Arrays.asList(context, loadedContext),
+				daoContext);
+
+		// Then
+		verify(interceptor).loadProperties(row, Arrays.asList(nameMeta));
+		verify(loadedInterceptor, never()).loadProperties(any(Row.class), anyListOf(PropertyMeta.class));
+		verify(counterMeta).invokeGetter(bean);
+		verify(counterMeta).invokeGetter(loadedBean);
+	}
+
+	@Test
+	public void should_not_load_entities_when_all_properties_are_loaded() throws Exception {
+		// Given
+		PersistenceContext context = mock(PersistenceContext.class);
+		EntityInterceptor<CompleteBean> interceptor = mock(EntityInterceptor.class);
+		when(context.getEntityMeta()).thenReturn(meta);
+		when(proxifier.getInterceptor(bean)).thenReturn(interceptor);
+		when(interceptor.getUnloadedProperties()).thenReturn(Arrays.<PropertyMeta> asList());
+
+		// When
+		initializer.initializeEntities(Arrays.asList(bean), Arrays.asList(context), daoContext);
+
+		// Then
+		verifyZeroInteractions(daoContext);
+	}
+
 }
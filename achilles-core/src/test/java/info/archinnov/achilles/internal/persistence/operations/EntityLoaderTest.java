@@ -23,6 +23,9 @@ import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.apache.commons.lang.math.RandomUtils;
 import org.junit.Before;
 import org.junit.Test;
@@ -99,6 +102,25 @@ public class EntityLoaderTest {
 		verifyZeroInteractions(counterLoader);
 	}
 
+	@Test
+	public void should_load_entity_with_fetch_properties() throws Exception {
+		// Given
+		Row row = mock(Row.class);
+		List<PropertyMeta> fetchProperties = Arrays.asList(pm);
+		when(context.loadProperties(fetchProperties)).thenReturn(row);
+		when(meta.instanciate()).thenReturn(entity);
+
+		// When
+		CompleteBean actual = loader.load(context, CompleteBean.class, fetchProperties);
+
+		// Then
+		assertThat(actual).isSameAs(entity);
+
+		verify(mapper).setPropertyToEntity(row, idMeta, entity);
+		verify(mapper).setPropertyToEntity(row, pm, entity);
+		verify(mapper, never()).setNonCounterPropertiesToEntity(row, meta, entity);
+	}
+
 	@Test
 	public void should_not_load_simple_entity_when_not_found() throws Exception {
 		// Given
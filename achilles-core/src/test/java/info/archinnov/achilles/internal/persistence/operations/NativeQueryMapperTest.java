@@ -18,6 +18,8 @@ package info.archinnov.achilles.internal.persistence.operations;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.internal.reflection.RowMethodInvoker;
+import info.archinnov.achilles.type.ColumnVector;
+import info.archinnov.achilles.type.ColumnarResult;
 import info.archinnov.achilles.type.TypedMap;
 
 import java.math.BigInteger;
@@ -40,6 +42,7 @@ import com.datastax.driver.core.ColumnDefinitionBuilder;
 import com.datastax.driver.core.ColumnDefinitions;
 import com.datastax.driver.core.ColumnDefinitions.Definition;
 import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -87,6 +90,48 @@ public class NativeQueryMapperTest {
 
 	}
 
+	@Test
+	public void should_map_columns() throws Exception {
+		//Given
+		def1 = ColumnDefinitionBuilder.buildColumnDef("keyspace", "table", "id", DataType.bigint());
+		def2 = ColumnDefinitionBuilder.buildColumnDef("keyspace", "table", "score", DataType.cdouble());
+		Definition def3 = ColumnDefinitionBuilder.buildColumnDef("keyspace", "table", "name", DataType.text());
+		columnDefs = ColumnDefinitionBuilder.buildColumnDefinitions(def1, def2, def3);
+		Row row2 = mock(Row.class);
+		ResultSet resultSet = mock(ResultSet.class);
+		when(resultSet.getColumnDefinitions()).thenReturn(columnDefs);
+		when(resultSet.getAvailableWithoutFetching()).thenReturn(2);
+		when(resultSet.iterator()).thenReturn(Arrays.asList(row, row2).iterator());
+
+		when(row.getLong(0)).thenReturn(10L);
+		when(row.getDouble(1)).thenReturn(1.5);
+		when(cqlRowInvoker.invokeOnRowForType(row, String.class, "name")).thenReturn("John");
+		when(row2.getLong(0)).thenReturn(11L);
+		when(row2.isNull(1)).thenReturn(true);
+		when(row2.isNull(2)).thenReturn(true);
+
+		//When
+		ColumnarResult result = mapper.mapColumns(resultSet);
+
+		//Then
+		assertThat(result.getRowCount()).isEqualTo(2);
+		assertThat(result.getColumnNames()).containsExactly("id", "score", "name");
+
+		ColumnVector ids = result.getColumn("id");
+		assertThat(ids.getLongValues()).containsOnly(10L, 11L);
+		assertThat(ids.isNull(1)).isFalse();
+
+		ColumnVector scores = result.getColumn(1);
+		assertThat(scores.getDouble(0)).isEqualTo(1.5);
+		assertThat(scores.isNull(1)).isTrue();
+
+		ColumnVector names = result.getColumn("name");
+		assertThat(names.isPrimitive()).isFalse();
+		assertThat(names.getObject(0)).isEqualTo("John");
+		assertThat(names.getObject(1)).isNull();
+		verify(row2, never()).getDouble(1);
+	}
+
 	@Test
 	public void should_map_rows_with_list() throws Exception {
 		ArrayList<String> friends = new ArrayList<String>();
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metadata.transcoding.CompoundTranscoder;
+import info.archinnov.achilles.internal.metadata.transcoding.SimpleTranscoder;
+import info.archinnov.achilles.internal.persistence.operations.ProjectionMapper.ProjectedColumn;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.jackson.map.ObjectMapper;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.datastax.driver.core.Row;
+
+public class ProjectionMapperTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private ProjectionMapper mapper = new ProjectionMapper();
+
+	private EntityMeta meta = mock(EntityMeta.class);
+
+	private Row row = mock(Row.class);
+
+	private PropertyMeta idMeta;
+
+	@Before
+	public void setUp() throws Exception {
+		SimpleTranscoder transcoder = new SimpleTranscoder(new ObjectMapper());
+		idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").type(ID)
+				.transcoder(transcoder).build();
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(SIMPLE).transcoder(transcoder).build();
+		PropertyMeta counterMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("count")
+				.type(COUNTER).build();
+
+		Map<String, PropertyMeta> propertyMetas = new HashMap<>();
+		propertyMetas.put("id", idMeta);
+		propertyMetas.put("name", nameMeta);
+		propertyMetas.put("count", counterMeta);
+		when(meta.getIdMeta()).thenReturn(idMeta);
+		when(meta.getPropertyMetas()).thenReturn(propertyMetas);
+		when(meta.getClassName()).thenReturn("CompleteBean");
+
+		when(row.getLong("id")).thenReturn(10L);
+		when(row.getString("name")).thenReturn("John");
+	}
+
+	@Test
+	public void should_map_row_to_tuple() throws Exception {
+		//Given
+		List<ProjectedColumn> columns = mapper.resolveColumns(meta, "name", "Id");
+
+		//When
+		Object[] tuple = mapper.mapRowToTuple(row, columns);
+
+		//Then
+		assertThat(columns.toString()).isEqualTo("[name, id]");
+		assertThat(tuple).isEqualTo(new Object[] { "John", 10L });
+	}
+
+	@Test
+	public void should_map_row_to_dto_with_constructor() throws Exception {
+		//Given
+		List<ProjectedColumn> columns = mapper.resolveColumns(meta, "id", "name");
+		Constructor<ConstructorDto> constructor = mapper.findConstructor(ConstructorDto.class, columns);
+
+		//When
+		ConstructorDto dto = mapper.mapRowToDto(row, columns, constructor);
+
+		//Then
+		assertThat(dto.id).isEqualTo(10L);
+		assertThat(dto.name).isEqualTo("John");
+	}
+
+	@Test
+	public void should_map_row_to_dto_fields_when_no_matching_constructor() throws Exception {
+		//Given
+		List<ProjectedColumn> columns = mapper.resolveColumns(meta, "name", "id");
+		assertThat(mapper.findConstructor(ConstructorDto.class, columns)).isNull();
+		List<Field> fields = mapper.findFields(FieldDto.class, columns);
+		when(row.isNull("id")).thenReturn(true);
+
+		//When
+		FieldDto dto = mapper.mapRowToDto(row, columns, mapper.findDefaultConstructor(FieldDto.class), fields);
+
+		//Then
+		assertThat(dto.name).isEqualTo("John");
+		assertThat(dto.id).isEqualTo(0L);
+	}
+
+	@Test
+	public void should_exception_when_no_default_constructor() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Cannot find a constructor matching the projected columns nor a default constructor "
+				+ "in class '" + ConstructorDto.class.getCanonicalName() + "'");
+
+		mapper.findDefaultConstructor(ConstructorDto.class);
+	}
+
+	@Test
+	public void should_map_embedded_id_component() throws Exception {
+		//Given
+		PropertyMeta embeddedIdMeta = PropertyMetaTestBuilder.valueClass(EmbeddedKey.class).type(EMBEDDED_ID)
+				.compNames("userId", "name").compClasses(Long.class, String.class)
+				.transcoder(new CompoundTranscoder(new ObjectMapper())).build();
+		when(meta.getIdMeta()).thenReturn(embeddedIdMeta);
+		when(row.getLong("userid")).thenReturn(11L);
+
+		//When
+		List<ProjectedColumn> columns = mapper.resolveColumns(meta, "userId");
+		Object[] tuple = mapper.mapRowToTuple(row, columns);
+
+		//Then
+		assertThat(columns.get(0).getValueType()).isEqualTo((Class) Long.class);
+		assertThat(tuple).isEqualTo(new Object[] { 11L });
+	}
+
+	@Test
+	public void should_exception_when_projecting_counter() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Cannot project counter property 'count' of entity class 'CompleteBean'");
+
+		mapper.resolveColumns(meta, "count");
+	}
+
+	@Test
+	public void should_exception_when_unknown_property() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Cannot find property 'age' for projection on entity class 'CompleteBean'");
+
+		mapper.resolveColumns(meta, "age");
+	}
+
+	public static class ConstructorDto {
+		private final long id;
+		private final String name;
+
+		public ConstructorDto(long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	public static class FieldDto {
+		private long id;
+		private String name;
+	}
+}
@@ -22,34 +22,51 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.interceptor.Event;
+import info.archinnov.achilles.internal.context.AdaptiveFetchSizer;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.context.EntityCache;
+import info.archinnov.achilles.internal.context.HotPartitionTracker;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
+import info.archinnov.achilles.internal.context.SliceQueryCache;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.statement.StatementGenerator;
 import info.archinnov.achilles.internal.statement.wrapper.RegularStatementWrapper;
+import info.archinnov.achilles.iterator.AdaptiveFetchRowIterator;
+import info.archinnov.achilles.iterator.MergedSliceQueryIterator;
 import info.archinnov.achilles.iterator.SliceQueryIterator;
 import info.archinnov.achilles.query.slice.CQLSliceQuery;
 import info.archinnov.achilles.query.slice.SliceQuery;
 import info.archinnov.achilles.test.mapping.entity.ClusteredEntity;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang.math.RandomUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 import org.powermock.reflect.Whitebox;
 
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -105,6 +122,15 @@ public class SliceQueryExecutorTest {
 	public void setUp() {
 		when(configContext.getDefaultReadConsistencyLevel()).thenReturn(EACH_QUORUM);
 		when(meta.getIdMeta()).thenReturn(idMeta);
+		when(daoContext.getAdaptiveFetchSizer()).thenReturn(null);
+		when(daoContext.getOperationMetrics()).thenReturn(null);
+		when(daoContext.getHotPartitionTracker()).thenReturn(null);
+		when(daoContext.getUninterruptibly(any(ResultSetFuture.class))).thenAnswer(new Answer<ResultSet>() {
+			@Override
+			public ResultSet answer(InvocationOnMock invocation) throws Throwable {
+				return ((ResultSetFuture) invocation.getArguments()[0]).getUninterruptibly();
+			}
+		});
 
 		when(idMeta.getComponentNames()).thenReturn(Arrays.asList("id", "name"));
 		when(idMeta.getComponentClasses()).thenReturn(Arrays.<Class<?>> asList(Long.class, String.class));
@@ -139,6 +165,63 @@ public class SliceQueryExecutorTest {
 		verify(mapper).setNonCounterPropertiesToEntity(row, meta, entity);
 	}
 
+	@Test
+	public void should_get_clustered_entities_with_fetch_properties() throws Exception {
+		// Given
+		PropertyMeta nameMeta = mock(PropertyMeta.class);
+		List<PropertyMeta> fetchProperties = Arrays.asList(nameMeta);
+		Set<Method> loadedGetters = new HashSet<>();
+		sliceQuery.setFetchProperties(fetchProperties);
+
+		RegularStatementWrapper regularWrapper = mock(RegularStatementWrapper.class);
+		Row row = mock(Row.class);
+		when(generator.generateSelectSliceQuery(anySliceQuery(), eq(limit), eq(batchSize))).thenReturn(regularWrapper);
+		when(daoContext.execute(regularWrapper).all()).thenReturn(Arrays.asList(row));
+		when(meta.instanciate()).thenReturn(entity);
+		when(contextFactory.newContext(entity)).thenReturn(context);
+		when(context.getGetters(fetchProperties)).thenReturn(loadedGetters);
+		when(proxifier.buildProxy(entity, context, loadedGetters)).thenReturn(entity);
+
+		// When
+		List<ClusteredEntity> actual = executor.get(sliceQuery);
+
+		// Then
+		assertThat(actual).containsOnly(entity);
+		verify(mapper).setPropertyToEntity(row, idMeta, entity);
+		verify(mapper).setPropertyToEntity(row, nameMeta, entity);
+		verify(mapper, never()).setNonCounterPropertiesToEntity(row, meta, entity);
+	}
+
+	@Test
+	public void should_get_clustered_entities_from_slice_query_cache() throws Exception {
+		// Given
+		sliceQuery = new SliceQuery<>(ClusteredEntity.class, meta, partitionComponents, clusteringsFrom, clusteringsTo,
+				ASCENDING, EXCLUSIVE_BOUNDS, null, limit, batchSize, true);
+		SliceQueryCache sliceQueryCache = new SliceQueryCache(100, 0, null);
+		when(daoContext.getSliceQueryCache()).thenReturn(sliceQueryCache);
+		when(idMeta.extractPartitionComponents(Mockito.<List<Object>> any())).thenReturn(partitionComponents);
+
+		RegularStatementWrapper regularWrapper = mock(RegularStatementWrapper.class);
+		Row row = mock(Row.class);
+		when(generator.generateSelectSliceQuery(anySliceQuery(), eq(limit), eq(batchSize))).thenReturn(regularWrapper);
+		when(daoContext.execute(regularWrapper).all()).thenReturn(Arrays.asList(row));
+		when(meta.instanciate()).thenReturn(entity);
+		when(contextFactory.newContext(entity)).thenReturn(context);
+		when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, context)).thenReturn(entity);
+
+		// When
+		executor.get(sliceQuery);
+		executor.get(sliceQuery);
+		sliceQueryCache.invalidatePartition(SliceQueryCache.partitionKey(ClusteredEntity.class, partitionComponents));
+		executor.get(sliceQuery);
+
+		// Then
+		verify(generator, times(2)).generateSelectSliceQuery(anySliceQuery(), eq(limit), eq(batchSize));
+		verify(mapper, times(3)).setNonCounterPropertiesToEntity(row, meta, entity);
+		assertThat(sliceQueryCache.getHitsCount()).isEqualTo(1L);
+		assertThat(sliceQueryCache.getMissesCount()).isEqualTo(2L);
+	}
+
 	@Test
 	public void should_create_iterator_for_clustered_entities() throws Exception {
 		RegularStatementWrapper regularWrapper = mock(RegularStatementWrapper.class);
@@ -155,6 +238,87 @@ public class SliceQueryExecutorTest {
 		assertThat(iter).isInstanceOf(SliceQueryIterator.class);
 	}
 
+	@Test
+	public void should_adapt_fetch_size_of_iterator_statement() throws Exception {
+		RegularStatementWrapper regularWrapper = mock(RegularStatementWrapper.class);
+		when(generator.generateSelectSliceQuery(anySliceQuery(), eq(limit), eq(batchSize))).thenReturn(regularWrapper);
+		when(daoContext.execute(regularWrapper).iterator()).thenReturn(iterator);
+		when(daoContext.getAdaptiveFetchSizer()).thenReturn(new AdaptiveFetchSizer(65536, 10, 5000, null));
+
+		when(contextFactory.newContextForSliceQuery(ClusteredEntity.class, partitionComponents, LOCAL_QUORUM))
+				.thenReturn(context);
+
+		when(idMeta.getCQLComponentNames()).thenReturn(Arrays.asList("id", "comp1"));
+		Iterator<ClusteredEntity> iter = executor.iterator(sliceQuery);
+
+		assertThat(Whitebox.getInternalState(iter, "iterator")).isInstanceOf(AdaptiveFetchRowIterator.class);
+		verify(regularWrapper).getStatement();
+	}
+
+	@Test
+	public void should_track_partition_of_slice_query() throws Exception {
+		sliceQuery = new SliceQuery<>(ClusteredEntity.class, meta, partitionComponents, Arrays.<Object> asList(),
+				Arrays.<Object> asList(), ASCENDING, EXCLUSIVE_BOUNDS, LOCAL_QUORUM, limit, batchSize, false);
+		HotPartitionTracker hotPartitionTracker = mock(HotPartitionTracker.class);
+		when(daoContext.getHotPartitionTracker()).thenReturn(hotPartitionTracker);
+		when(meta.getTableName()).thenReturn("clustered");
+		when(idMeta.extractPartitionComponents(sliceQuery.getClusteringsFrom())).thenReturn(partitionComponents);
+		RegularStatementWrapper regularWrapper = mock(RegularStatementWrapper.class);
+		when(generator.generateCountSliceQuery(anySliceQuery(), eq(limit))).thenReturn(regularWrapper);
+		when(generator.generateRemoveSliceQuery(anySliceQuery())).thenReturn(regularWrapper);
+		when(daoContext.execute(regularWrapper).one().getLong(0)).thenReturn(42L);
+
+		executor.count(sliceQuery);
+		executor.remove(sliceQuery);
+
+		verify(hotPartitionTracker).track("clustered", partitionComponents, true);
+		verify(hotPartitionTracker).track("clustered", partitionComponents, false);
+	}
+
+	@Test
+	public void should_count_clustered_entities_server_side() throws Exception {
+		RegularStatementWrapper regularWrapper = mock(RegularStatementWrapper.class);
+		when(generator.generateCountSliceQuery(anySliceQuery(), eq(limit))).thenReturn(regularWrapper);
+		when(daoContext.execute(regularWrapper).one().getLong(0)).thenReturn(42L);
+
+		long count = executor.count(sliceQuery);
+
+		assertThat(count).isEqualTo(42L);
+	}
+
+	@Test
+	public void should_count_clustered_entities_client_side_without_limit() throws Exception {
+		sliceQuery = new SliceQuery<>(ClusteredEntity.class, meta, partitionComponents, clusteringsFrom, clusteringsTo,
+				ASCENDING, EXCLUSIVE_BOUNDS, LOCAL_QUORUM, SliceQuery.DEFAULT_LIMIT, batchSize, false);
+		RegularStatementWrapper regularWrapper = mock(RegularStatementWrapper.class);
+		when(generator.generateSelectSliceKeysQuery(anySliceQuery(), eq(Integer.MAX_VALUE), eq(batchSize)))
+				.thenReturn(regularWrapper);
+		when(daoContext.execute(regularWrapper).iterator()).thenReturn(
+				Arrays.asList(mock(Row.class), mock(Row.class)).iterator());
+
+		long count = executor.count(sliceQuery);
+
+		assertThat(count).isEqualTo(2L);
+		verify(generator, never()).generateCountSliceQuery(anySliceQuery(), anyInt());
+	}
+
+	@Test
+	public void should_count_clustered_entities_client_side_when_limit_exceeds_server_side_limit() throws Exception {
+		int largeLimit = SliceQueryExecutor.SERVER_SIDE_COUNT_LIMIT + 1;
+		sliceQuery = new SliceQuery<>(ClusteredEntity.class, meta, partitionComponents, clusteringsFrom, clusteringsTo,
+				ASCENDING, EXCLUSIVE_BOUNDS, LOCAL_QUORUM, largeLimit, batchSize, true);
+		RegularStatementWrapper regularWrapper = mock(RegularStatementWrapper.class);
+		when(generator.generateSelectSliceKeysQuery(anySliceQuery(), eq(largeLimit), eq(batchSize))).thenReturn(
+				regularWrapper);
+		when(daoContext.execute(regularWrapper).iterator()).thenReturn(
+				Arrays.asList(mock(Row.class), mock(Row.class), mock(Row.class)).iterator());
+
+		long count = executor.count(sliceQuery);
+
+		assertThat(count).isEqualTo(3L);
+		verify(generator, never()).generateCountSliceQuery(anySliceQuery(), anyInt());
+	}
+
 	@Test
 	public void should_remove_clustered_entities() throws Exception {
 		sliceQuery = new SliceQuery<>(ClusteredEntity.class, meta, partitionComponents, Arrays.<Object> asList(),
@@ -169,6 +333,189 @@ public class SliceQueryExecutorTest {
 
 	}
 
+	@Test
+	public void should_invalidate_cached_entities_of_partition_on_remove() throws Exception {
+		sliceQuery = new SliceQuery<>(ClusteredEntity.class, meta, partitionComponents, Arrays.<Object> asList(),
+				Arrays.<Object> asList(), ASCENDING, EXCLUSIVE_BOUNDS, LOCAL_QUORUM, limit, batchSize, false);
+		EntityCache entityCache = mock(EntityCache.class);
+		when(daoContext.getEntityCache()).thenReturn(entityCache);
+		when(entityCache.isCacheable(ClusteredEntity.class)).thenReturn(true);
+		when(idMeta.extractPartitionComponents(Mockito.<List<Object>> any())).thenReturn(partitionComponents);
+
+		RegularStatementWrapper regularWrapper = mock(RegularStatementWrapper.class);
+		when(generator.generateRemoveSliceQuery(anySliceQuery())).thenReturn(regularWrapper);
+
+		executor.remove(sliceQuery);
+
+		InOrder inOrder = inOrder(entityCache, daoContext);
+		inOrder.verify(entityCache).invalidatePartition(ClusteredEntity.class, partitionComponents);
+		inOrder.verify(daoContext).execute(regularWrapper);
+		inOrder.verify(entityCache).invalidatePartition(ClusteredEntity.class, partitionComponents);
+	}
+
+	@Test
+	public void should_execute_slice_queries_of_all_partitions_before_merging() throws Exception {
+		// Given
+		Long otherPartitionKey = RandomUtils.nextLong();
+		List<Object> otherPartitionComponents = Arrays.<Object> asList(otherPartitionKey);
+		SliceQuery<ClusteredEntity> otherSliceQuery = new SliceQuery<>(ClusteredEntity.class, meta,
+				otherPartitionComponents, clusteringsFrom, clusteringsTo, ASCENDING, EXCLUSIVE_BOUNDS, LOCAL_QUORUM,
+				limit, batchSize, true);
+
+		RegularStatementWrapper regularWrapper = mock(RegularStatementWrapper.class);
+		RegularStatementWrapper otherRegularWrapper = mock(RegularStatementWrapper.class);
+		ResultSetFuture future = mock(ResultSetFuture.class, RETURNS_DEEP_STUBS);
+		ResultSetFuture otherFuture = mock(ResultSetFuture.class, RETURNS_DEEP_STUBS);
+		when(generator.generateSelectSliceQuery(anySliceQuery(), eq(limit), eq(batchSize))).thenReturn(
+				regularWrapper, otherRegularWrapper);
+		when(daoContext.executeAsync(regularWrapper)).thenReturn(future);
+		when(daoContext.executeAsync(otherRegularWrapper)).thenReturn(otherFuture);
+		when(future.getUninterruptibly().iterator()).thenReturn(Arrays.<Row> asList().iterator());
+		when(otherFuture.getUninterruptibly().iterator()).thenReturn(Arrays.<Row> asList().iterator());
+
+		// When
+		Iterator<ClusteredEntity> iter = executor.mergedIterator(Arrays.asList(sliceQuery, otherSliceQuery), 10);
+
+		// Then
+		assertThat(iter).isInstanceOf(MergedSliceQueryIterator.class);
+		assertThat(iter.hasNext()).isFalse();
+		InOrder inOrder = inOrder(daoContext, future);
+		inOrder.verify(daoContext).executeAsync(regularWrapper);
+		inOrder.verify(daoContext).executeAsync(otherRegularWrapper);
+		inOrder.verify(future, atLeastOnce()).getUninterruptibly();
+		verify(contextFactory).newContextForSliceQuery(ClusteredEntity.class, partitionComponents, LOCAL_QUORUM);
+		verify(contextFactory).newContextForSliceQuery(ClusteredEntity.class, otherPartitionComponents, LOCAL_QUORUM);
+	}
+
+	@Test
+	public void should_get_entities_by_embedded_ids_grouped_by_partition() throws Exception {
+		// Given
+		Object embeddedId1 = new Object();
+		Object embeddedId2 = new Object();
+		Object embeddedId3 = new Object();
+		when(idMeta.encodeToComponents(embeddedId1)).thenReturn(Arrays.<Object> asList(10L, "a"));
+		when(idMeta.encodeToComponents(embeddedId2)).thenReturn(Arrays.<Object> asList(10L, "b"));
+		when(idMeta.encodeToComponents(embeddedId3)).thenReturn(Arrays.<Object> asList(11L, "c"));
+
+		RegularStatementWrapper regularWrapper = mock(RegularStatementWrapper.class);
+		RegularStatementWrapper otherRegularWrapper = mock(RegularStatementWrapper.class);
+		when(generator.generateSelectEntitiesByLastComponentIn(meta, Arrays.<Object> asList(10L),
+				Arrays.<Object> asList("a", "b"), com.datastax.driver.core.ConsistencyLevel.ONE)).thenReturn(
+				regularWrapper);
+		when(generator.generateSelectEntitiesByLastComponentIn(meta, Arrays.<Object> asList(11L),
+				Arrays.<Object> asList("c"), com.datastax.driver.core.ConsistencyLevel.ONE)).thenReturn(
+				otherRegularWrapper);
+
+		Row row = mock(Row.class);
+		ResultSetFuture future = mock(ResultSetFuture.class, RETURNS_DEEP_STUBS);
+		ResultSetFuture otherFuture = mock(ResultSetFuture.class, RETURNS_DEEP_STUBS);
+		when(daoContext.executeAsync(regularWrapper)).thenReturn(future);
+		when(daoContext.executeAsync(otherRegularWrapper)).thenReturn(otherFuture);
+		when(future.getUninterruptibly().iterator()).thenReturn(Arrays.asList(row).iterator());
+		when(otherFuture.getUninterruptibly().iterator()).thenReturn(Arrays.<Row> asList().iterator());
+
+		when(meta.instanciate()).thenReturn(entity);
+		when(meta.getPrimaryKey(entity)).thenReturn(embeddedId2);
+		when(contextFactory.newContext(entity)).thenReturn(context);
+		when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, context)).thenReturn(entity);
+
+		// When
+		Map<Object, ClusteredEntity> actual = executor.get(meta, Arrays.asList(embeddedId1, embeddedId2,
+				embeddedId3), ONE);
+
+		// Then
+		assertThat(actual).hasSize(1);
+		assertThat(actual.get(embeddedId2)).isSameAs(entity);
+		verify(mapper).setNonCounterPropertiesToEntity(row, meta, entity);
+	}
+
+	@Test
+	public void should_get_entities_by_embedded_ids_from_entity_cache_and_cache_loaded_ones() throws Exception {
+		// Given
+		Whitebox.setInternalState(executor, "defaultReadLevel", ONE);
+		Object embeddedId1 = new Object();
+		Object embeddedId2 = new Object();
+		List<Object> components1 = Arrays.<Object> asList(10L, "a");
+		List<Object> components2 = Arrays.<Object> asList(10L, "b");
+		when(idMeta.encodeToComponents(embeddedId1)).thenReturn(components1);
+		when(idMeta.encodeToComponents(embeddedId2)).thenReturn(components2);
+		when(idMeta.extractPartitionComponents(components2)).thenReturn(Arrays.<Object> asList(10L));
+		when(meta.<ClusteredEntity> getEntityClass()).thenReturn(ClusteredEntity.class);
+		when(meta.getTableName()).thenReturn("clustered");
+
+		EntityCache entityCache = mock(EntityCache.class);
+		HotPartitionTracker hotPartitionTracker = mock(HotPartitionTracker.class);
+		when(daoContext.getEntityCache()).thenReturn(entityCache);
+		when(daoContext.getHotPartitionTracker()).thenReturn(hotPartitionTracker);
+		when(entityCache.isCacheable(ClusteredEntity.class)).thenReturn(true);
+		when(entityCache.generation()).thenReturn(3L);
+		Row cachedRow = mock(Row.class);
+		when(entityCache.get(Arrays.<Object> asList(ClusteredEntity.class, components1))).thenReturn(cachedRow);
+
+		RegularStatementWrapper regularWrapper = mock(RegularStatementWrapper.class);
+		when(generator.generateSelectEntitiesByLastComponentIn(meta, Arrays.<Object> asList(10L),
+				Arrays.<Object> asList("b"), com.datastax.driver.core.ConsistencyLevel.ONE)).thenReturn(
+				regularWrapper);
+		Row row = mock(Row.class);
+		ResultSetFuture future = mock(ResultSetFuture.class, RETURNS_DEEP_STUBS);
+		when(daoContext.executeAsync(regularWrapper)).thenReturn(future);
+		when(future.getUninterruptibly().iterator()).thenReturn(Arrays.asList(row).iterator());
+
+		ClusteredEntity cachedEntity = mock(ClusteredEntity.class);
+		when(meta.instanciate()).thenReturn(cachedEntity, entity);
+		when(meta.getPrimaryKey(entity)).thenReturn(embeddedId2);
+		when(contextFactory.newContext(cachedEntity)).thenReturn(context);
+		when(contextFactory.newContext(entity)).thenReturn(context);
+		when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(cachedEntity, context)).thenReturn(cachedEntity);
+		when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, context)).thenReturn(entity);
+
+		// When
+		Map<Object, ClusteredEntity> actual = executor.get(meta, Arrays.asList(embeddedId1, embeddedId2), null);
+
+		// Then
+		assertThat(actual).hasSize(2);
+		assertThat(actual.get(embeddedId1)).isSameAs(cachedEntity);
+		assertThat(actual.get(embeddedId2)).isSameAs(entity);
+		verify(mapper).setNonCounterPropertiesToEntity(cachedRow, meta, cachedEntity);
+		verify(mapper).setNonCounterPropertiesToEntity(row, meta, entity);
+		verify(daoContext, times(1)).executeAsync(regularWrapper);
+		verify(entityCache).put(Arrays.<Object> asList(ClusteredEntity.class, components2), row, 3L);
+		verify(hotPartitionTracker).track("clustered", Arrays.<Object> asList(10L), true);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void should_split_in_clause_of_entities_by_embedded_ids_in_chunks() throws Exception {
+		// Given
+		List<Object> embeddedIds = new ArrayList<>();
+		for (int i = 0; i < 250; i++) {
+			Object embeddedId = new Object();
+			when(idMeta.encodeToComponents(embeddedId)).thenReturn(Arrays.<Object> asList(10L, "name" + i));
+			embeddedIds.add(embeddedId);
+		}
+		RegularStatementWrapper regularWrapper = mock(RegularStatementWrapper.class);
+		when(generator.generateSelectEntitiesByLastComponentIn(eq(meta), eq(Arrays.<Object> asList(10L)), anyList(),
+				eq(com.datastax.driver.core.ConsistencyLevel.ONE))).thenReturn(regularWrapper);
+		ResultSetFuture future = mock(ResultSetFuture.class, RETURNS_DEEP_STUBS);
+		when(daoContext.executeAsync(regularWrapper)).thenReturn(future);
+		when(future.getUninterruptibly().iterator()).thenReturn(Arrays.<Row> asList().iterator());
+		ArgumentCaptor<List> chunksCaptor = ArgumentCaptor.forClass(List.class);
+
+		// When
+		Map<Object, ClusteredEntity> actual = executor.get(meta, embeddedIds, ONE);
+
+		// Then
+		assertThat(actual).isEmpty();
+		verify(generator, times(3)).generateSelectEntitiesByLastComponentIn(eq(meta),
+				eq(Arrays.<Object> asList(10L)), chunksCaptor.capture(),
+				eq(com.datastax.driver.core.ConsistencyLevel.ONE));
+		assertThat(chunksCaptor.getAllValues().get(0)).hasSize(SliceQueryExecutor.MAX_IN_CLAUSE_SIZE);
+		assertThat(chunksCaptor.getAllValues().get(0).get(0)).isEqualTo("name0");
+		assertThat(chunksCaptor.getAllValues().get(1)).hasSize(SliceQueryExecutor.MAX_IN_CLAUSE_SIZE);
+		assertThat(chunksCaptor.getAllValues().get(2)).hasSize(50);
+		assertThat(chunksCaptor.getAllValues().get(2).get(49)).isEqualTo("name249");
+	}
+
 	private CQLSliceQuery<ClusteredEntity> anySliceQuery() {
 		return Mockito.any();
 	}
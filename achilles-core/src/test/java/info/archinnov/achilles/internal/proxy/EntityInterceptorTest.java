@@ -25,6 +25,7 @@ import static java.util.Arrays.asList;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
+import com.datastax.driver.core.Row;
 import com.google.common.collect.Sets;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
@@ -198,6 +199,41 @@ public class EntityInterceptorTest {
 		verify(loader).loadPropertyIntoObject(context, target, propertyMeta);
 	}
 
+	@Test
+	public void should_load_all_unloaded_properties_on_first_access() throws Throwable {
+		// Given
+		PropertyMeta nameMeta = completeBean(Void.class, String.class).field("name").accessors()
+				.type(PropertyType.SIMPLE).build();
+		PropertyMeta ageMeta = completeBean(Void.class, Long.class).field("age").accessors()
+				.type(PropertyType.SIMPLE).build();
+		PropertyMeta labelMeta = completeBean(Void.class, String.class).field("label").accessors()
+				.type(PropertyType.SIMPLE).build();
+		PropertyMeta friendsMeta = completeBean(Void.class, String.class).field("friends").accessors()
+				.type(PropertyType.LIST).build();
+		getterMetas.put(nameMeta.getGetter(), nameMeta);
+		getterMetas.put(ageMeta.getGetter(), ageMeta);
+		alreadyLoaded.add(labelMeta.getGetter());
+		dirtyMap.put(friendsMeta.getSetter(), new DirtyChecker(friendsMeta));
+
+		Row row = mock(Row.class);
+		when(context.isLazyLoadingFetchAll()).thenReturn(true);
+		when(context.loadEntity()).thenReturn(row);
+		when(context.getEntityMeta().getAllMetasExceptIdAndCounters()).thenReturn(
+				asList(nameMeta, ageMeta, labelMeta, friendsMeta));
+		when(invoker.getValueFromField(target, nameMeta.getField())).thenReturn(rawValue);
+
+		// When
+		Object actual = interceptor.intercept(target, nameMeta.getGetter(), args, proxy);
+		interceptor.intercept(target, ageMeta.getGetter(), args, proxy);
+
+		// Then
+		assertThat(actual).isEqualTo(rawValue);
+		verify(context).loadEntity();
+		verify(loader).setPropertiesToObject(row, target, asList(nameMeta, ageMeta));
+		verify(loader, never()).loadPropertyIntoObject(eq(context), eq(target), any(PropertyMeta.class));
+		assertThat(alreadyLoaded).containsOnly(nameMeta.getGetter(), ageMeta.getGetter(), labelMeta.getGetter());
+	}
+
 	@Test
 	public void should_return_list_wrapper() throws Throwable {
 		PropertyMeta propertyMeta = completeBean(Void.class, String.class).field("friends").accessors()
@@ -144,6 +144,63 @@ public class StatementGeneratorTest {
         assertThat(selectCaptor.getValue().getFetchSize()).isEqualTo(101);
 	}
 
+	@Test
+	public void should_generate_slice_count_query() throws Exception {
+		EntityMeta meta = prepareEntityMeta("id", "comp1", "comp2");
+		when(sliceQuery.getMeta()).thenReturn(meta);
+		when(sliceQueryGenerator.generateWhereClauseForSelectSliceQuery(eq(sliceQuery), selectCaptor.capture()))
+				.thenReturn(statementWrapper);
+		RegularStatementWrapper actual = generator.generateCountSliceQuery(sliceQuery, 98);
+
+		assertThat(actual).isSameAs(statementWrapper);
+		assertThat(selectCaptor.getValue().getQueryString()).isEqualTo("SELECT count(*) FROM table LIMIT 98;");
+	}
+
+	@Test
+	public void should_generate_slice_keys_select_query() throws Exception {
+		EntityMeta meta = prepareEntityMeta("id", "comp1", "comp2");
+		when(sliceQuery.getMeta()).thenReturn(meta);
+		when(sliceQuery.getComponentNames()).thenReturn(Arrays.asList("id", "comp1", "comp2"));
+		when(sliceQueryGenerator.generateWhereClauseForSelectSliceQuery(eq(sliceQuery), selectCaptor.capture()))
+				.thenReturn(statementWrapper);
+		RegularStatementWrapper actual = generator.generateSelectSliceKeysQuery(sliceQuery, 20000, 101);
+
+		assertThat(actual).isSameAs(statementWrapper);
+		assertThat(selectCaptor.getValue().getQueryString()).isEqualTo("SELECT id FROM table LIMIT 20000;");
+		assertThat(selectCaptor.getValue().getFetchSize()).isEqualTo(101);
+	}
+
+	@Test
+	public void should_generate_select_entities_by_last_component_in() throws Exception {
+		EntityMeta meta = prepareEntityMeta("id", "comp1", "comp2");
+
+		RegularStatementWrapper actual = generator.generateSelectEntitiesByLastComponentIn(meta,
+				Arrays.<Object> asList(10L, "a"), Arrays.<Object> asList(1, 2),
+				com.datastax.driver.core.ConsistencyLevel.ONE);
+
+		assertThat(actual.getStatement().getQueryString()).isEqualTo(
+				"SELECT id,comp1,comp2,age,name,label FROM table WHERE id=10 AND comp1=? AND comp2 IN (1,2);");
+		assertThat(Arrays.asList(actual.getValues())).containsExactly(10L, "a", 1, 2);
+		assertThat(actual.getStatement().getConsistencyLevel()).isEqualTo(
+				com.datastax.driver.core.ConsistencyLevel.ONE);
+	}
+
+	@Test
+	public void should_generate_slice_select_query_with_fetch_properties() throws Exception {
+		EntityMeta meta = prepareEntityMeta("id", "comp1", "comp2");
+		when(sliceQuery.getMeta()).thenReturn(meta);
+		when(sliceQuery.hasFetchProperties()).thenReturn(true);
+		when(sliceQuery.getFetchProperties()).thenReturn(meta.getAllMetasExceptIdAndCounters().subList(1, 2));
+		when(sliceQueryGenerator.generateWhereClauseForSelectSliceQuery(eq(sliceQuery), selectCaptor.capture()))
+				.thenReturn(statementWrapper);
+		RegularStatementWrapper actual = generator.generateSelectSliceQuery(sliceQuery, 98, 101);
+
+		assertThat(actual).isSameAs(statementWrapper);
+
+		assertThat(selectCaptor.getValue().getQueryString()).isEqualTo(
+				"SELECT id,comp1,comp2,name FROM table LIMIT 98;");
+	}
+
     @Test
     public void should_generate_insert_for_simple_id() throws Exception {
         //Given
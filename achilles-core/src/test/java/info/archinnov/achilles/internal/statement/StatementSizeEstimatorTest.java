@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.statement;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+import org.junit.Test;
+import com.google.common.collect.ImmutableMap;
+import info.archinnov.achilles.internal.statement.wrapper.SimpleStatementWrapper;
+
+public class StatementSizeEstimatorTest {
+
+    private StatementSizeEstimator estimator = new StatementSizeEstimator();
+
+    @Test
+    public void should_estimate_simple_values() throws Exception {
+        assertThat(estimator.sizeOf(null)).isEqualTo(0L);
+        assertThat(estimator.sizeOf(10L)).isEqualTo(8L);
+        assertThat(estimator.sizeOf(10)).isEqualTo(4L);
+        assertThat(estimator.sizeOf(true)).isEqualTo(1L);
+        assertThat(estimator.sizeOf(UUID.randomUUID())).isEqualTo(16L);
+        assertThat(estimator.sizeOf(ByteBuffer.wrap(new byte[] { 1, 2, 3 }))).isEqualTo(3L);
+        assertThat(estimator.sizeOf("abc")).isEqualTo(3L);
+        assertThat(estimator.sizeOf("\u00e9t\u00e9")).isEqualTo(5L);
+    }
+
+    @Test
+    public void should_estimate_collections() throws Exception {
+        assertThat(estimator.sizeOf(Arrays.asList("a", "bc"))).isEqualTo(2L + 2 + 1 + 2 + 2);
+        assertThat(estimator.sizeOf(ImmutableMap.of(1, "a"))).isEqualTo(2L + 2 + 4 + 2 + 1);
+    }
+
+    @Test
+    public void should_estimate_statement_with_query_string_and_bound_values() throws Exception {
+        //Given
+        SimpleStatementWrapper wrapper = new SimpleStatementWrapper("SELECT", new Object[] { 10L, "abc" });
+
+        //When
+        long actual = estimator.estimate(wrapper);
+
+        //Then
+        assertThat(actual).isEqualTo(3L + 4 + 6 + 4 + 8 + 4 + 3);
+    }
+}
@@ -39,6 +39,7 @@ import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -143,6 +144,28 @@ public class PreparedStatementGeneratorTest {
 		assertThat(queryCaptor.getValue()).isEqualTo("SELECT name FROM table WHERE id=:id;");
 	}
 
+	@Test
+	public void should_prepare_select_fields_ps() throws Exception {
+
+		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").type(PropertyType.ID).build();
+
+		PropertyMeta nameMeta = completeBean(Void.class, String.class).field("name").type(PropertyType.SIMPLE).build();
+
+		PropertyMeta ageMeta = completeBean(Void.class, Long.class).field("age").type(PropertyType.SIMPLE).build();
+
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+		meta.setIdMeta(idMeta);
+
+		when(session.prepare(queryCaptor.capture())).thenReturn(ps);
+
+		PreparedStatement actual = generator.prepareSelectFieldsPS(session, meta, Arrays.asList(nameMeta, ageMeta));
+
+		assertThat(actual).isSameAs(ps);
+
+		assertThat(queryCaptor.getValue()).isEqualTo("SELECT id,name,age FROM table WHERE id=:id;");
+	}
+
 	@Test
 	public void should_prepare_select_field_ps_for_clustered_id() throws Exception {
 
@@ -21,6 +21,7 @@ import static org.mockito.Mockito.*;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import com.datastax.driver.core.Session;
@@ -48,6 +49,23 @@ public class SimpleStatementWrapperTest {
         verify(session).execute("SELECT",values);
     }
 
+    @Test
+    public void should_execute_with_fetch_size() throws Exception {
+        //Given
+        wrapper = new SimpleStatementWrapper("SELECT", values);
+        wrapper.setFetchSize(500);
+        ArgumentCaptor<SimpleStatement> statementCaptor = ArgumentCaptor.forClass(SimpleStatement.class);
+
+        //When
+        wrapper.execute(session);
+
+        //Then
+        verify(session).execute(statementCaptor.capture());
+        assertThat(statementCaptor.getValue().getQueryString()).isEqualTo("SELECT");
+        assertThat(statementCaptor.getValue().getFetchSize()).isEqualTo(500);
+        assertThat(statementCaptor.getValue().getValues()).hasSize(1);
+    }
+
     @Test
     public void should_get_bound_statement() throws Exception {
         //Given
@@ -18,6 +18,16 @@ package info.archinnov.achilles.internal.utils;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -34,4 +44,63 @@ public class UUIDGenTest {
 			timestampInMicros = newTimestampInMicros;
 		}
 	}
+
+	@Test
+	public void should_reserve_block_of_increasing_microseconds() throws Exception {
+		Long timestampInMicros = UUIDGen.increasingMicroTimestamp();
+		long[] timestamps = UUIDGen.increasingMicroTimestamps(100);
+
+		assertThat(timestamps).hasSize(100);
+		for (long newTimestampInMicros : timestamps) {
+			assertThat(newTimestampInMicros).isGreaterThan(timestampInMicros);
+			timestampInMicros = newTimestampInMicros;
+		}
+		assertThat(UUIDGen.increasingMicroTimestamp()).isGreaterThan(timestampInMicros);
+	}
+
+	@Test
+	public void should_reserve_block_of_ordered_time_uuids() throws Exception {
+		UUID[] uuids = UUIDGen.getTimeUUIDs(100);
+
+		assertThat(uuids).hasSize(100);
+		for (int i = 1; i < uuids.length; i++) {
+			assertThat(uuids[i].version()).isEqualTo(1);
+			assertThat(uuids[i].timestamp()).isGreaterThan(uuids[i - 1].timestamp());
+		}
+	}
+
+	@Test
+	public void should_generate_distinct_values_under_contention() throws Exception {
+		final int threads = 32;
+		final int iterations = 10000;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<long[]>> futures = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			futures.add(executor.submit(new Callable<long[]>() {
+				@Override
+				public long[] call() throws Exception {
+					long[] timestamps = new long[iterations];
+					for (int j = 0; j < iterations; j++) {
+						timestamps[j] = UUIDGen.increasingMicroTimestamp();
+						UUIDGen.getTimeUUID();
+					}
+					return timestamps;
+				}
+			}));
+		}
+
+		Set<Long> distinctTimestamps = new HashSet<>();
+		for (Future<long[]> future : futures) {
+			long[] timestamps = future.get();
+			for (int j = 0; j < iterations; j++) {
+				if (j > 0) {
+					assertThat(timestamps[j]).isGreaterThan(timestamps[j - 1]);
+				}
+				distinctTimestamps.add(timestamps[j]);
+			}
+		}
+		executor.shutdown();
+
+		assertThat(distinctTimestamps).hasSize(threads * iterations);
+	}
 }
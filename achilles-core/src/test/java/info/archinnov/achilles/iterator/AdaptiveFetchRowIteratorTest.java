@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.iterator;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import info.archinnov.achilles.internal.context.AdaptiveFetchSizer;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AdaptiveFetchRowIteratorTest {
+
+	@Mock
+	private Iterator<Row> rows;
+
+	@Mock
+	private ResultSet resultSet;
+
+	@Mock
+	private Row row;
+
+	@Mock
+	private ColumnDefinitions columnDefinitions;
+
+	private Statement statement = new SimpleStatement("SELECT * FROM table");
+
+	private AdaptiveFetchSizer sizer = new AdaptiveFetchSizer(1000, 5, 500, null);
+
+	private AdaptiveFetchRowIterator iterator;
+
+	@Before
+	public void setUp() {
+		iterator = new AdaptiveFetchRowIterator(rows, resultSet, statement, sizer);
+		when(rows.next()).thenReturn(row);
+		when(row.getColumnDefinitions()).thenReturn(columnDefinitions);
+		when(columnDefinitions.size()).thenReturn(2);
+		when(row.getBytesUnsafe(0)).thenReturn(ByteBuffer.allocate(40));
+		when(row.getBytesUnsafe(1)).thenReturn(null);
+	}
+
+	@Test
+	public void should_set_fetch_size_from_row_size_at_end_of_page() throws Exception {
+		//Given
+		when(resultSet.isFullyFetched()).thenReturn(false);
+		when(resultSet.getAvailableWithoutFetching()).thenReturn(1, 0);
+
+		//When
+		iterator.next();
+		assertThat(statement.getFetchSize()).isEqualTo(0);
+		Row actual = iterator.next();
+
+		//Then
+		assertThat(actual).isSameAs(row);
+		assertThat(statement.getFetchSize()).isEqualTo(25);
+		assertThat(sizer.getFetchSizes().getCount()).isEqualTo(1L);
+	}
+
+	@Test
+	public void should_smooth_row_size_across_pages() throws Exception {
+		//Given
+		when(resultSet.isFullyFetched()).thenReturn(false);
+		when(resultSet.getAvailableWithoutFetching()).thenReturn(0);
+		iterator.next();
+		when(row.getBytesUnsafe(1)).thenReturn(ByteBuffer.allocate(120));
+
+		//When
+		iterator.next();
+
+		//Then
+		assertThat(statement.getFetchSize()).isEqualTo(10);
+	}
+
+	@Test
+	public void should_not_change_fetch_size_when_fully_fetched() throws Exception {
+		//Given
+		when(resultSet.isFullyFetched()).thenReturn(true);
+		when(resultSet.getAvailableWithoutFetching()).thenReturn(0);
+
+		//When
+		iterator.next();
+
+		//Then
+		assertThat(statement.getFetchSize()).isEqualTo(0);
+		assertThat(sizer.getFetchSizes().getCount()).isEqualTo(0L);
+	}
+
+	@Test
+	public void should_set_fetch_size_at_end_of_page_counted_in_rows_when_prefetching() throws Exception {
+		//Given
+		statement.setFetchSize(3);
+		when(resultSet.isFullyFetched()).thenReturn(false);
+		// the next page is appended before the current one is drained
+		when(resultSet.getAvailableWithoutFetching()).thenReturn(2, 1, 3, 2, 1, 3);
+		when(resultSet.one()).thenReturn(row);
+		iterator = new AdaptiveFetchRowIterator(new PrefetchingRowIterator(resultSet, 1), resultSet, statement, sizer);
+
+		//When
+		iterator.next();
+		iterator.next();
+		assertThat(statement.getFetchSize()).isEqualTo(3);
+		iterator.next();
+
+		//Then
+		assertThat(statement.getFetchSize()).isEqualTo(25);
+		assertThat(sizer.getFetchSizes().getCount()).isEqualTo(1L);
+		verify(resultSet, atLeastOnce()).fetchMoreResults();
+	}
+
+	@Test
+	public void should_time_page_wait() throws Exception {
+		//Given
+		when(resultSet.isFullyFetched()).thenReturn(false);
+		when(resultSet.getAvailableWithoutFetching()).thenReturn(0, 10);
+		when(rows.hasNext()).thenReturn(true);
+
+		//When
+		assertThat(iterator.hasNext()).isTrue();
+		assertThat(iterator.hasNext()).isTrue();
+
+		//Then
+		assertThat(sizer.getPageWait().getCount()).isEqualTo(1L);
+		verify(rows, never()).remove();
+	}
+}
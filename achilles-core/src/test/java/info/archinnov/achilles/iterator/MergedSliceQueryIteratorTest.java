@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.iterator;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.base.Function;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Ordering;
+
+public class MergedSliceQueryIteratorTest {
+
+	private Function<Long, List<Object>> extractor = new Function<Long, List<Object>>() {
+		@Override
+		public List<Object> apply(Long value) {
+			return Arrays.<Object> asList(value / 10, value % 10);
+		}
+	};
+
+	private Comparator<List<Object>> comparator = new Comparator<List<Object>>() {
+		@Override
+		public int compare(List<Object> clusterings1, List<Object> clusterings2) {
+			return Ordering.natural().lexicographical().compare((List) clusterings1, (List) clusterings2);
+		}
+	};
+
+	@Test
+	public void should_merge_partitions_in_clustering_order() throws Exception {
+		List<Iterator<Long>> partitions = Arrays.asList(Arrays.asList(10L, 31L, 50L).iterator(), Arrays
+				.<Long> asList().iterator(), Arrays.asList(11L, 12L, 60L).iterator(), Arrays.asList(20L).iterator());
+
+		MergedSliceQueryIterator<Long> iterator = new MergedSliceQueryIterator<>(partitions, extractor, comparator, 0);
+
+		assertThat(Lists.newArrayList(iterator)).containsExactly(10L, 11L, 12L, 20L, 31L, 50L, 60L);
+	}
+
+	@Test
+	public void should_stop_fetching_partitions_once_global_limit_is_reached() throws Exception {
+		@SuppressWarnings("unchecked")
+		Iterator<Long> partition1 = mock(Iterator.class);
+		when(partition1.hasNext()).thenReturn(true);
+		when(partition1.next()).thenReturn(10L, 30L, 50L);
+		Iterator<Long> partition2 = Arrays.asList(20L, 40L).iterator();
+
+		MergedSliceQueryIterator<Long> iterator = new MergedSliceQueryIterator<>(Arrays.asList(partition1,
+				partition2), extractor, comparator, 2);
+
+		assertThat(Lists.newArrayList(iterator)).containsExactly(10L, 20L);
+		verify(partition1, times(2)).next();
+		assertThat(iterator.hasNext()).isFalse();
+	}
+
+	@Test
+	public void should_keep_partitions_order_for_equal_clusterings() throws Exception {
+		Long fromFirstPartition = new Long(10L);
+		Long fromSecondPartition = new Long(10L);
+		List<Iterator<Long>> partitions = Arrays.asList(Arrays.asList(fromFirstPartition).iterator(), Arrays
+				.asList(fromSecondPartition).iterator());
+
+		MergedSliceQueryIterator<Long> iterator = new MergedSliceQueryIterator<>(partitions, extractor, comparator, 0);
+
+		assertThat(iterator.next()).isSameAs(fromFirstPartition);
+		assertThat(iterator.next()).isSameAs(fromSecondPartition);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void should_exception_when_calling_remove() throws Exception {
+		new MergedSliceQueryIterator<>(Arrays.asList(Arrays.asList(10L).iterator()), extractor, comparator, 0)
+				.remove();
+	}
+}
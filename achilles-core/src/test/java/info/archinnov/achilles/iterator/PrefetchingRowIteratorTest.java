@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.iterator;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.NoSuchElementException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PrefetchingRowIteratorTest {
+
+	@Mock
+	private ResultSet resultSet;
+
+	@Mock
+	private Row row;
+
+	private PrefetchingRowIterator iterator;
+
+	@Before
+	public void setUp() {
+		iterator = new PrefetchingRowIterator(resultSet, 10);
+		when(resultSet.one()).thenReturn(row);
+	}
+
+	@Test
+	public void should_prefetch_next_page_when_threshold_is_reached() throws Exception {
+		//Given
+		when(resultSet.isFullyFetched()).thenReturn(false);
+		when(resultSet.getAvailableWithoutFetching()).thenReturn(10);
+
+		//When
+		Row actual = iterator.next();
+
+		//Then
+		assertThat(actual).isSameAs(row);
+		verify(resultSet).fetchMoreResults();
+	}
+
+	@Test
+	public void should_not_prefetch_when_enough_rows_are_available() throws Exception {
+		//Given
+		when(resultSet.isFullyFetched()).thenReturn(false);
+		when(resultSet.getAvailableWithoutFetching()).thenReturn(11);
+
+		//When
+		iterator.next();
+
+		//Then
+		verify(resultSet, never()).fetchMoreResults();
+	}
+
+	@Test
+	public void should_not_prefetch_when_fully_fetched() throws Exception {
+		//Given
+		when(resultSet.isFullyFetched()).thenReturn(true);
+		when(resultSet.getAvailableWithoutFetching()).thenReturn(1);
+
+		//When
+		iterator.next();
+
+		//Then
+		verify(resultSet, never()).fetchMoreResults();
+	}
+
+	@Test
+	public void should_have_next_when_result_set_not_exhausted() throws Exception {
+		when(resultSet.isExhausted()).thenReturn(false, true);
+
+		assertThat(iterator.hasNext()).isTrue();
+		assertThat(iterator.hasNext()).isFalse();
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void should_exception_when_next_called_on_exhausted_result_set() throws Exception {
+		when(resultSet.isExhausted()).thenReturn(true);
+
+		iterator.next();
+	}
+}
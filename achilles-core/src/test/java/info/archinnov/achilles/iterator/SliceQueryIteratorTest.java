@@ -27,15 +27,20 @@ import info.archinnov.achilles.query.slice.CQLSliceQuery;
 import info.archinnov.achilles.test.mapping.entity.ClusteredEntity;
 
 import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Answers;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 import org.powermock.reflect.Whitebox;
 
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -61,6 +66,9 @@ public class SliceQueryIteratorTest {
 	@Mock
 	private Iterator<Row> iterator;
 
+	@Mock
+	private ResultSet resultSet;
+
 	@Mock
 	private EntityMeta meta;
 
@@ -114,6 +122,85 @@ public class SliceQueryIteratorTest {
 		verify(mapper).setNonCounterPropertiesToEntity(row, meta, entity);
 	}
 
+	@Test
+	public void should_map_available_rows_by_chunks_without_waiting_for_next_page() throws Exception {
+		//Given
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		sliceIterator = new SliceQueryIterator<>(sliceQuery, context, iterator, resultSet, executor);
+		Whitebox.setInternalState(sliceIterator, "mapper", mapper);
+		Whitebox.setInternalState(sliceIterator, "proxifier", proxifier);
+
+		ClusteredEntity entity1 = new ClusteredEntity();
+		ClusteredEntity entity2 = new ClusteredEntity();
+		ClusteredEntity entity3 = new ClusteredEntity();
+		Row row1 = mock(Row.class);
+		Row row2 = mock(Row.class);
+		Row row3 = mock(Row.class);
+		when(resultSet.getAvailableWithoutFetching()).thenReturn(2, 1, 0);
+		when(iterator.hasNext()).thenReturn(false);
+		when(iterator.next()).thenReturn(row1, row2, row3);
+		when(meta.instanciate()).thenReturn(entity1, entity2, entity3);
+		when(context.duplicate(any())).thenReturn(context);
+		when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(any(ClusteredEntity.class), eq(context)))
+				.thenAnswer(returnFirstArgument());
+
+		//When
+		ClusteredEntity first = sliceIterator.next();
+
+		//Then
+		assertThat(first).isSameAs(entity1);
+		verify(iterator, times(3)).next();
+
+		assertThat(sliceIterator.hasNext()).isTrue();
+		assertThat(sliceIterator.next()).isSameAs(entity2);
+		assertThat(sliceIterator.next()).isSameAs(entity3);
+		verify(iterator, never()).hasNext();
+		assertThat(sliceIterator.hasNext()).isFalse();
+		verify(mapper).setNonCounterPropertiesToEntity(row3, meta, entity3);
+		executor.shutdown();
+	}
+
+	@Test
+	public void should_map_rows_with_executor_up_to_batch_size_ahead() throws Exception {
+		//Given
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		when(sliceQuery.getBatchSize()).thenReturn(2);
+		sliceIterator = new SliceQueryIterator<>(sliceQuery, context, iterator, resultSet, executor);
+		Whitebox.setInternalState(sliceIterator, "mapper", mapper);
+		Whitebox.setInternalState(sliceIterator, "proxifier", proxifier);
+
+		ClusteredEntity entity1 = new ClusteredEntity();
+		ClusteredEntity entity2 = new ClusteredEntity();
+		ClusteredEntity entity3 = new ClusteredEntity();
+		ClusteredEntity entity4 = new ClusteredEntity();
+		when(resultSet.getAvailableWithoutFetching()).thenReturn(10);
+		when(iterator.next()).thenReturn(mock(Row.class));
+		when(meta.instanciate()).thenReturn(entity1, entity2, entity3, entity4);
+		when(context.duplicate(any())).thenReturn(context);
+		when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(any(ClusteredEntity.class), eq(context)))
+				.thenAnswer(returnFirstArgument());
+
+		//When
+		ClusteredEntity first = sliceIterator.next();
+
+		//Then
+		assertThat(first).isSameAs(entity1);
+		verify(iterator, times(2)).next();
+
+		assertThat(sliceIterator.next()).isSameAs(entity2);
+		verify(iterator, times(4)).next();
+		executor.shutdown();
+	}
+
+	private Answer<Object> returnFirstArgument() {
+		return new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				return invocation.getArguments()[0];
+			}
+		};
+	}
+
 	@Test(expected = UnsupportedOperationException.class)
 	public void should_exception_when_calling_remove() throws Exception {
 		sliceIterator.remove();
@@ -19,10 +19,16 @@ import static info.archinnov.achilles.type.ConsistencyLevel.*;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.internal.context.BatchingFlushContext;
+import info.archinnov.achilles.internal.context.CoalescingDescriptor;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
+import info.archinnov.achilles.internal.persistence.operations.EntityValidator;
+import info.archinnov.achilles.internal.persistence.operations.SliceQueryExecutor;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.persistence.BatchingPersistenceManager;
 import info.archinnov.achilles.persistence.PersistenceManagerFactory;
@@ -31,6 +37,12 @@ import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Options;
 import info.archinnov.achilles.type.OptionsBuilder;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -39,9 +51,13 @@ import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 import org.powermock.reflect.Whitebox;
 
+import com.google.common.collect.ImmutableMap;
+
 @RunWith(MockitoJUnitRunner.class)
 public class BatchingPersistenceManagerTest {
 
@@ -65,14 +81,35 @@ public class BatchingPersistenceManagerTest {
 	@Mock
 	private PersistenceManagerFactory pmf;
 
+	@Mock
+	private EntityProxifier proxifier;
+
+	@Mock
+	private EntityValidator entityValidator;
+
+	@Mock
+	private EntityMeta meta;
+
+	@Mock
+	private PersistenceContext context;
+
+	private Map<Class<?>, EntityMeta> entityMetaMap = new HashMap<>();
+
 	@Captor
 	private ArgumentCaptor<ConsistencyLevel> consistencyCaptor;
 
+	@Captor
+	private ArgumentCaptor<Options> optionsCaptor;
+
 	@Before
 	public void setUp() {
         when(configContext.getDefaultWriteConsistencyLevel()).thenReturn(ConsistencyLevel.ONE);
         manager = new BatchingPersistenceManager(null, contextFactory, daoContext, configContext);
 		Whitebox.setInternalState(manager, BatchingFlushContext.class, flushContext);
+		Whitebox.setInternalState(manager, EntityProxifier.class, proxifier);
+		Whitebox.setInternalState(manager, EntityValidator.class, entityValidator);
+		Whitebox.setInternalState(manager, "entityMetaMap", entityMetaMap);
+		entityMetaMap.put(CompleteBean.class, meta);
 	}
 
 	@Test
@@ -216,4 +253,207 @@ public class BatchingPersistenceManagerTest {
 		// Then
 		assertThat(actual).isSameAs(context);
 	}
+
+	@Test
+	public void should_return_managed_entity_on_repeated_find() throws Exception {
+		// Given
+		CompleteBean entity = new CompleteBean();
+		when(contextFactory.newContextWithFlushContext(eq(CompleteBean.class), eq(11L), any(Options.class),
+				eq(flushContext))).thenReturn(context);
+		when(context.find(CompleteBean.class)).thenReturn(entity);
+
+		// When
+		CompleteBean first = manager.find(CompleteBean.class, 11L);
+		CompleteBean second = manager.find(CompleteBean.class, 11L);
+
+		// Then
+		assertThat(first).isSameAs(entity);
+		assertThat(second).isSameAs(entity);
+		verify(context, times(1)).find(CompleteBean.class);
+	}
+
+	@Test
+	public void should_only_load_unmanaged_entities_on_find_all() throws Exception {
+		// Given
+		CompleteBean managed = new CompleteBean();
+		CompleteBean loaded = new CompleteBean();
+		PropertyMeta idMeta = mock(PropertyMeta.class);
+		SliceQueryExecutor sliceQueryExecutor = mock(SliceQueryExecutor.class);
+		Whitebox.setInternalState(manager, SliceQueryExecutor.class, sliceQueryExecutor);
+		when(meta.getIdMeta()).thenReturn(idMeta);
+		when(idMeta.isEmbeddedId()).thenReturn(true);
+		when(contextFactory.newContextWithFlushContext(eq(CompleteBean.class), eq(11L), any(Options.class),
+				eq(flushContext))).thenReturn(context);
+		when(context.find(CompleteBean.class)).thenReturn(managed);
+		when(sliceQueryExecutor.<CompleteBean, Long> get(meta, Arrays.asList(12L), null)).thenReturn(
+				ImmutableMap.of(12L, loaded));
+		manager.find(CompleteBean.class, 11L);
+
+		// When
+		Map<Long, CompleteBean> actual = manager.findAll(CompleteBean.class, Arrays.asList(11L, 12L));
+
+		// Then
+		assertThat(actual.get(11L)).isSameAs(managed);
+		assertThat(actual.get(12L)).isSameAs(loaded);
+		assertThat(manager.find(CompleteBean.class, 12L)).isSameAs(loaded);
+	}
+
+	@Test
+	public void should_update_managed_entity_immediately_by_default() throws Exception {
+		// Given
+		CompleteBean entity = new CompleteBean();
+		prepareManagedEntity(entity);
+		when(contextFactory.newContextWithFlushContext(eq(entity), any(Options.class), eq(flushContext))).thenReturn(
+				context);
+		CompleteBean managed = manager.find(CompleteBean.class, 11L);
+
+		// When
+		manager.update(managed);
+		manager.update(managed);
+
+		// Then
+		verify(context, times(2)).update(entity);
+	}
+
+	@Test
+	public void should_read_dirty_fields_of_deferred_update_at_end_of_batch() throws Exception {
+		// Given
+		enableDeferredUpdates();
+		CompleteBean entity = new CompleteBean();
+		prepareManagedEntity(entity);
+		when(contextFactory.newContextWithFlushContext(eq(entity), any(Options.class), eq(flushContext))).thenReturn(
+				context);
+		final List<String> flushedNames = new ArrayList<>();
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				flushedNames.add(((CompleteBean) invocation.getArguments()[0]).getName());
+				return null;
+			}
+		}).when(context).update(entity);
+		CompleteBean managed = manager.find(CompleteBean.class, 11L);
+		manager.update(managed);
+
+		// When
+		managed.setName("set after update");
+		manager.endBatch();
+
+		// Then
+		assertThat(flushedNames).containsExactly("set after update");
+	}
+
+	@Test
+	public void should_collapse_updates_of_managed_entity_at_end_of_batch() throws Exception {
+		// Given
+		enableDeferredUpdates();
+		CompleteBean entity = new CompleteBean();
+		prepareManagedEntity(entity);
+		when(contextFactory.newContextWithFlushContext(eq(entity), any(Options.class), eq(flushContext))).thenReturn(
+				context);
+		CompleteBean managed = manager.find(CompleteBean.class, 11L);
+
+		// When
+		manager.update(managed);
+		manager.update(managed);
+		verify(context, never()).update(entity);
+		manager.endBatch();
+
+		// Then
+		verify(context, times(1)).update(entity);
+		verify(flushContext).endBatch();
+	}
+
+	@Test
+	public void should_drop_pending_update_of_removed_entity() throws Exception {
+		// Given
+		enableDeferredUpdates();
+		CompleteBean entity = new CompleteBean();
+		prepareManagedEntity(entity);
+		when(contextFactory.newContextWithFlushContext(eq(entity), any(Options.class), eq(flushContext))).thenReturn(
+				context);
+		CompleteBean managed = manager.find(CompleteBean.class, 11L);
+		manager.update(managed);
+
+		// When
+		manager.remove(managed);
+		manager.endBatch();
+
+		// Then
+		verify(context, never()).update(entity);
+		verify(context).remove();
+	}
+
+	@Test
+	public void should_clear_identity_map_when_cleaning_batch() throws Exception {
+		// Given
+		BatchingFlushContext newFlushContext = mock(BatchingFlushContext.class);
+		when(flushContext.duplicateWithNoData(ONE)).thenReturn(newFlushContext);
+		when(contextFactory.newContextWithFlushContext(eq(CompleteBean.class), eq(11L), any(Options.class),
+				any(BatchingFlushContext.class))).thenReturn(context);
+		when(context.find(CompleteBean.class)).thenReturn(new CompleteBean(), new CompleteBean());
+		CompleteBean first = manager.find(CompleteBean.class, 11L);
+
+		// When
+		manager.cleanBatch();
+		CompleteBean second = manager.find(CompleteBean.class, 11L);
+
+		// Then
+		assertThat(second).isNotSameAs(first);
+	}
+
+	@Test
+	public void should_stamp_statements_of_batch_session_so_that_they_can_be_coalesced() throws Exception {
+		// Given
+		CompleteBean entity = new CompleteBean();
+		PropertyMeta idMeta = mock(PropertyMeta.class);
+		PropertyMeta nameMeta = mock(PropertyMeta.class);
+		doReturn(CompleteBean.class).when(proxifier).deriveBaseClass(entity);
+		when(proxifier.getRealObject(entity)).thenReturn(entity);
+		when(meta.getPrimaryKey(entity)).thenReturn(11L);
+		when(meta.getTableName()).thenReturn("complete_bean");
+		when(meta.getIdMeta()).thenReturn(idMeta);
+		when(idMeta.encode(11L)).thenReturn(11L);
+		when(contextFactory.newContextWithFlushContext(eq(entity), optionsCaptor.capture(), eq(flushContext)))
+				.thenReturn(context);
+
+		// When
+		manager.update(entity);
+		manager.update(entity);
+		manager.remove(entity);
+
+		// Then
+		List<Options> options = optionsCaptor.getAllValues();
+		CoalescingDescriptor update1 = CoalescingDescriptor.forFieldsUpdate(sessionContext(entity, options.get(0)),
+				Arrays.asList(nameMeta));
+		CoalescingDescriptor update2 = CoalescingDescriptor.forFieldsUpdate(sessionContext(entity, options.get(1)),
+				Arrays.asList(nameMeta));
+		CoalescingDescriptor delete = CoalescingDescriptor.forRowDelete(sessionContext(entity, options.get(2)),
+				"complete_bean");
+		assertThat(options.get(1).getTimestamp().get()).isGreaterThan(options.get(0).getTimestamp().get());
+		assertThat(update1.canMergeWith(update2)).isTrue();
+		assertThat(delete.shadows(update1.mergeWith(update2))).isTrue();
+	}
+
+	private PersistenceContext sessionContext(Object entity, Options options) {
+		PersistenceContext sessionContext = mock(PersistenceContext.class);
+		when(sessionContext.getEntityMeta()).thenReturn(meta);
+		when(sessionContext.getEntity()).thenReturn(entity);
+		when(sessionContext.getPrimaryKey()).thenReturn(11L);
+		when(sessionContext.getTimestamp()).thenReturn(options.getTimestamp());
+		when(sessionContext.getTtl()).thenReturn(options.getTtl());
+		return sessionContext;
+	}
+
+	private void enableDeferredUpdates() {
+		Whitebox.setInternalState(manager, "deferredUpdatesEnabled", true);
+	}
+
+	private void prepareManagedEntity(CompleteBean entity) {
+		when(contextFactory.newContextWithFlushContext(eq(CompleteBean.class), eq(11L), any(Options.class),
+				eq(flushContext))).thenReturn(context);
+		when(context.find(CompleteBean.class)).thenReturn(entity);
+		doReturn(CompleteBean.class).when(proxifier).deriveBaseClass(entity);
+		when(proxifier.getRealObject(entity)).thenReturn(entity);
+		when(meta.getPrimaryKey(entity)).thenReturn(11L);
+	}
 }
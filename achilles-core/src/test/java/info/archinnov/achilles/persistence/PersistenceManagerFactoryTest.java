@@ -19,6 +19,7 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTI
 import static info.archinnov.achilles.configuration.ConfigurationParameters.KEYSPACE_NAME_PARAM;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import java.util.Arrays;
@@ -171,4 +172,19 @@ public class PersistenceManagerFactoryTest {
         // Then
         assertThat(manager).isNotNull();
     }
+
+    @Test
+    public void should_shut_down_metrics_and_cluster_once() throws Exception {
+        // Given
+        pmf.daoContext = daoContext;
+        Whitebox.setInternalState(pmf, Cluster.class, cluster);
+
+        // When
+        pmf.shutDown();
+        pmf.shutDown();
+
+        // Then
+        verify(daoContext, times(1)).shutDown();
+        verify(cluster, times(1)).shutdown();
+    }
 }
@@ -19,10 +19,12 @@ import static info.archinnov.achilles.type.ConsistencyLevel.*;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
+import info.archinnov.achilles.internal.context.StageTimers;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.persistence.operations.EntityInitializer;
@@ -30,6 +32,7 @@ import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
 import info.archinnov.achilles.internal.persistence.operations.EntityValidator;
 import info.archinnov.achilles.internal.persistence.operations.SliceQueryExecutor;
 import info.archinnov.achilles.query.cql.NativeQueryBuilder;
+import info.archinnov.achilles.query.slice.SliceQuery;
 import info.archinnov.achilles.query.slice.SliceQueryBuilder;
 import info.archinnov.achilles.query.typed.TypedQueryBuilder;
 import info.archinnov.achilles.query.typed.TypedQueryValidator;
@@ -37,6 +40,7 @@ import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.IndexCondition;
+import info.archinnov.achilles.type.IndexRelation;
 import info.archinnov.achilles.type.Options;
 import info.archinnov.achilles.type.OptionsBuilder;
 
@@ -62,6 +66,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
 
 import com.datastax.driver.core.Session;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -126,6 +131,7 @@ public class PersistenceManagerTest {
 		manager = new PersistenceManager(entityMetaMap, contextFactory, daoContext, configContext);
 		manager = Mockito.spy(this.manager);
 		Whitebox.setInternalState(manager, EntityProxifier.class, proxifier);
+		Whitebox.setInternalState(manager, EntityInitializer.class, initializer);
 		Whitebox.setInternalState(manager, EntityValidator.class, entityValidator);
 		Whitebox.setInternalState(manager, SliceQueryExecutor.class, sliceQueryExecutor);
 		Whitebox.setInternalState(manager, TypedQueryValidator.class, typedQueryValidator);
@@ -301,6 +307,106 @@ public class PersistenceManagerTest {
 		assertThat(options.getTimestamp().isPresent()).isFalse();
 	}
 
+	@Test
+	public void should_sample_find_into_stage_breakdown() throws Exception {
+		// Given
+		when(daoContext.getStageTimers()).thenReturn(new StageTimers(1));
+		when(contextFactory.newContext(eq(CompleteBean.class), eq(primaryKey), optionsCaptor.capture())).thenReturn(
+				context);
+		when(context.find(CompleteBean.class)).thenReturn(entity);
+		when(context.getIdMeta()).thenReturn(new PropertyMeta());
+		when(entityMetaMap.containsKey(CompleteBean.class)).thenReturn(true);
+
+		// When
+		manager.find(CompleteBean.class, primaryKey);
+
+		// Then
+		assertThat(manager.getStageBreakdown(CompleteBean.class).getSampledRequests()).isEqualTo(1L);
+		assertThat(manager.getStageBreakdowns().keySet()).containsOnly(CompleteBean.class);
+	}
+
+	@Test
+	public void should_exception_when_getting_stage_breakdown_without_stage_timers() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Stage timers are not enabled");
+
+		manager.getStageBreakdown(CompleteBean.class);
+	}
+
+	@Test
+	public void should_find_with_fetch_group() throws Exception {
+		// Given
+		List<PropertyMeta> fetchProperties = Arrays.asList(idMeta);
+		when(contextFactory.newContext(eq(CompleteBean.class), eq(primaryKey), optionsCaptor.capture())).thenReturn(
+				context);
+		when(entityMetaMap.containsKey(CompleteBean.class)).thenReturn(true);
+		when(entityMetaMap.get(CompleteBean.class)).thenReturn(meta);
+		when(meta.getFetchGroup("summary")).thenReturn(fetchProperties);
+		when(context.getIdMeta()).thenReturn(idMeta);
+		when(context.find(CompleteBean.class, fetchProperties)).thenReturn(entity);
+
+		// When
+		CompleteBean bean = manager.findWithFetchGroup(CompleteBean.class, primaryKey, "summary");
+
+		// Then
+		verify(entityValidator).validatePrimaryKey(idMeta, primaryKey);
+		assertThat(bean).isSameAs(entity);
+		assertThat(optionsCaptor.getValue().getConsistencyLevel().isPresent()).isFalse();
+	}
+
+	@Test
+	public void should_find_with_properties() throws Exception {
+		// Given
+		List<PropertyMeta> fetchProperties = Arrays.asList(idMeta);
+		when(contextFactory.newContext(eq(CompleteBean.class), eq(primaryKey), optionsCaptor.capture())).thenReturn(
+				context);
+		when(entityMetaMap.containsKey(CompleteBean.class)).thenReturn(true);
+		when(entityMetaMap.get(CompleteBean.class)).thenReturn(meta);
+		when(meta.getFetchProperties("name", "age")).thenReturn(fetchProperties);
+		when(context.find(CompleteBean.class, fetchProperties)).thenReturn(entity);
+
+		// When
+		CompleteBean bean = manager.findWithProperties(CompleteBean.class, primaryKey, "name", "age");
+
+		// Then
+		assertThat(bean).isSameAs(entity);
+	}
+
+	@Test
+	public void should_find_all_by_embedded_ids() throws Exception {
+		// Given
+		List<Object> embeddedIds = Arrays.<Object> asList(new Object(), new Object());
+		Map<Object, CompleteBean> entities = ImmutableMap.<Object, CompleteBean> of(embeddedIds.get(0), entity);
+		when(entityMetaMap.containsKey(CompleteBean.class)).thenReturn(true);
+		when(entityMetaMap.get(CompleteBean.class)).thenReturn(meta);
+		when(idMeta.isEmbeddedId()).thenReturn(true);
+		when(sliceQueryExecutor.<CompleteBean, Object> get(meta, embeddedIds, ConsistencyLevel.ONE)).thenReturn(
+				entities);
+
+		// When
+		Map<Object, CompleteBean> actual = manager.findAll(CompleteBean.class, embeddedIds, ConsistencyLevel.ONE);
+
+		// Then
+		assertThat(actual).isSameAs(entities);
+		verify(entityValidator).validatePrimaryKey(idMeta, embeddedIds.get(0));
+		verify(entityValidator).validatePrimaryKey(idMeta, embeddedIds.get(1));
+	}
+
+	@Test
+	public void should_exception_when_finding_all_entities_without_embedded_id() throws Exception {
+		// Given
+		when(entityMetaMap.containsKey(CompleteBean.class)).thenReturn(true);
+		when(entityMetaMap.get(CompleteBean.class)).thenReturn(meta);
+		when(meta.getClassName()).thenReturn("CompleteBean");
+		when(idMeta.isEmbeddedId()).thenReturn(false);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Find by ids is only supported for entities with embedded id, 'CompleteBean' is not");
+
+		// When
+		manager.findAll(CompleteBean.class, Arrays.<Object> asList(primaryKey));
+	}
+
 	@Test
 	public void should_find_with_consistency() throws Exception {
 		// When
@@ -425,7 +531,6 @@ public class PersistenceManagerTest {
 	public void should_initialize_list_of_entities() throws Exception {
 		// Given
 		List<CompleteBean> entities = Arrays.asList(entity);
-		when(context.initialize(entity)).thenReturn(entity);
 		when(proxifier.getRealObject(entity)).thenReturn(entity);
 
 		// When
@@ -433,13 +538,14 @@ public class PersistenceManagerTest {
 
 		// Then
 		assertThat(actual).containsExactly(entity);
+		verify(proxifier).ensureProxy(entity);
+		verify(initializer).initializeEntities(Arrays.asList(entity), Arrays.asList(context), daoContext);
 	}
 
 	@Test
 	public void should_initialize_set_of_entities() throws Exception {
 		// Given
 		Set<CompleteBean> entities = Sets.newHashSet(entity);
-		when(context.initialize(entity)).thenReturn(entity);
 		when(proxifier.getRealObject(entity)).thenReturn(entity);
 
 		// When
@@ -447,6 +553,7 @@ public class PersistenceManagerTest {
 
 		// Then
 		assertThat(actual).containsExactly(entity);
+		verify(initializer).initializeEntities(Arrays.asList(entity), Arrays.asList(context), daoContext);
 	}
 
 	@Test
@@ -579,6 +686,13 @@ public class PersistenceManagerTest {
 		assertThat(Whitebox.getInternalState(builder, String.class)).isEqualTo("querystring");
 	}
 
+	@Test(expected = AchillesException.class)
+	public void should_exception_when_projection_on_unmanaged_entity() throws Exception {
+		when(entityMetaMap.containsKey(CompleteBean.class)).thenReturn(false);
+
+		manager.select(CompleteBean.class, "name");
+	}
+
 	@Test
 	public void should_return_raw_typed_query_builder() throws Exception {
 		// When
@@ -626,7 +740,36 @@ public class PersistenceManagerTest {
 
 		// Then
 		assertThat(Whitebox.<Object[]> getInternalState(typedQueryBuilder, "boundValues")).contains("value");
-		verify(typedQueryValidator).validateTypedQuery(CompleteBean.class, "SELECT * FROM table WHERE column=:column;",
+		assertThat(Whitebox.getInternalState(typedQueryBuilder, "prepared")).isEqualTo(true);
+		assertThat(Whitebox.getInternalState(typedQueryBuilder, "fetchSize")).isEqualTo(SliceQuery.DEFAULT_BATCH_SIZE);
+		verify(typedQueryValidator).validateTypedQuery(CompleteBean.class, "SELECT * FROM table WHERE column=?;",
 				meta);
 	}
+
+	@Test
+	public void should_get_indexed_query_with_restrictions() throws Exception {
+		// When
+		when(entityMetaMap.get(CompleteBean.class)).thenReturn(meta);
+		when(entityMetaMap.containsKey(CompleteBean.class)).thenReturn(true);
+		when(meta.getTableName()).thenReturn("table");
+
+		TypedQueryBuilder<CompleteBean> typedQueryBuilder = manager.indexedQuery(CompleteBean.class,
+				new IndexCondition("column", "value").and("id", 10L).and("date", IndexRelation.GREATER_THAN, 5L));
+
+		// Then
+		assertThat(Whitebox.<Object[]> getInternalState(typedQueryBuilder, "boundValues")).isEqualTo(
+				new Object[] { "value", 10L, 5L });
+		verify(typedQueryValidator).validateTypedQuery(CompleteBean.class,
+				"SELECT * FROM table WHERE column=? AND id=? AND date>? ALLOW FILTERING;", meta);
+	}
+
+	@Test
+	public void should_exception_when_indexed_column_relation_is_not_equal() throws Exception {
+		when(entityMetaMap.containsKey(CompleteBean.class)).thenReturn(true);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Only EQUAL relation is supported on the indexed column");
+
+		manager.indexedQuery(CompleteBean.class, new IndexCondition("column", IndexRelation.LESS_THAN, "value"));
+	}
 }
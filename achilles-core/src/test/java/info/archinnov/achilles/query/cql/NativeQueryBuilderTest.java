@@ -17,14 +17,18 @@ package info.archinnov.achilles.query.cql;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.persistence.operations.NativeQueryMapper;
 import info.archinnov.achilles.internal.statement.wrapper.SimpleStatementWrapper;
+import info.archinnov.achilles.type.ColumnVector;
+import info.archinnov.achilles.type.ColumnarResult;
 import info.archinnov.achilles.type.TypedMap;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -37,6 +41,7 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
 
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -60,6 +65,7 @@ public class NativeQueryBuilderTest {
 	public void setUp() {
 		Whitebox.setInternalState(query, String.class, queryString);
 		Whitebox.setInternalState(query, NativeQueryMapper.class, mapper);
+		when(daoContext.getOperationMetrics()).thenReturn(null);
 	}
 
 	@Test
@@ -75,6 +81,33 @@ public class NativeQueryBuilderTest {
 		assertThat(actual).isSameAs(result);
 	}
 
+	@Test
+	public void should_iterate_over_rows() throws Exception {
+		Row row2 = mock(Row.class);
+		TypedMap line = new TypedMap();
+		when(daoContext.execute(any(SimpleStatementWrapper.class)).iterator()).thenReturn(
+				Arrays.asList(row, row2).iterator());
+		when(mapper.mapRow(row)).thenReturn(null);
+		when(mapper.mapRow(row2)).thenReturn(line);
+
+		Iterator<TypedMap> actual = query.iterator(100);
+
+		assertThat(actual.next()).isSameAs(line);
+		assertThat(actual.hasNext()).isFalse();
+	}
+
+	@Test
+	public void should_get_columnar() throws Exception {
+		ResultSet resultSet = mock(ResultSet.class);
+		ColumnarResult result = new ColumnarResult(new ArrayList<ColumnVector>(), 0);
+		when(daoContext.execute(any(SimpleStatementWrapper.class))).thenReturn(resultSet);
+		when(mapper.mapColumns(resultSet)).thenReturn(result);
+
+		ColumnarResult actual = query.getColumnar();
+
+		assertThat(actual).isSameAs(result);
+	}
+
 	@Test
 	public void should_get_one() throws Exception {
 
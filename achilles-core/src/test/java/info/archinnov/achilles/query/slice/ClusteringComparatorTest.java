@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.query.slice;
+
+import static info.archinnov.achilles.type.OrderingMode.ASCENDING;
+import static info.archinnov.achilles.type.OrderingMode.DESCENDING;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.utils.UUIDs;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClusteringComparatorTest {
+
+	@Mock(answer = Answers.RETURNS_DEEP_STUBS)
+	private CQLSliceQuery<?> cqlSliceQuery;
+
+	@Test
+	public void should_compare_in_ascending_order() throws Exception {
+		when(cqlSliceQuery.getOrdering()).thenReturn(ASCENDING);
+		ClusteringComparator comparator = new ClusteringComparator(cqlSliceQuery);
+
+		assertThat(comparator.compare(clusterings(1, "a"), clusterings(2, "a"))).isLessThan(0);
+		assertThat(comparator.compare(clusterings(1, "b"), clusterings(1, "a"))).isGreaterThan(0);
+		assertThat(comparator.compare(clusterings(1, "a"), clusterings(1, "a"))).isEqualTo(0);
+	}
+
+	@Test
+	public void should_compare_in_descending_order() throws Exception {
+		when(cqlSliceQuery.getOrdering()).thenReturn(DESCENDING);
+		ClusteringComparator comparator = new ClusteringComparator(cqlSliceQuery);
+
+		assertThat(comparator.compare(clusterings(1, "a"), clusterings(2, "a"))).isGreaterThan(0);
+		assertThat(comparator.compare(clusterings(1, "b"), clusterings(1, "a"))).isLessThan(0);
+	}
+
+	@Test
+	public void should_compare_other_components_in_opposite_order_when_reversed() throws Exception {
+		when(cqlSliceQuery.getOrdering()).thenReturn(DESCENDING);
+		when(cqlSliceQuery.getMeta().getIdMeta().hasReversedComponent()).thenReturn(true);
+		ClusteringComparator comparator = new ClusteringComparator(cqlSliceQuery);
+
+		assertThat(comparator.compare(clusterings(1, "a"), clusterings(2, "a"))).isGreaterThan(0);
+		assertThat(comparator.compare(clusterings(1, "b"), clusterings(1, "a"))).isGreaterThan(0);
+	}
+
+	@Test
+	public void should_compare_time_uuids_by_timestamp() throws Exception {
+		when(cqlSliceQuery.getOrdering()).thenReturn(ASCENDING);
+		ClusteringComparator comparator = comparatorWithUUIDComponent(true);
+		// time_low of the newer uuid is lower than the one of the older uuid
+		UUID older = UUIDs.startOf(1000L);
+		UUID newer = UUIDs.startOf(396810L);
+
+		assertThat(comparator.compare(clusterings(older), clusterings(newer))).isLessThan(0);
+		assertThat(comparator.compare(clusterings(newer), clusterings(older))).isGreaterThan(0);
+	}
+
+	@Test
+	public void should_compare_time_uuids_of_same_timestamp_by_signed_bytes() throws Exception {
+		when(cqlSliceQuery.getOrdering()).thenReturn(ASCENDING);
+		ClusteringComparator comparator = comparatorWithUUIDComponent(true);
+		// smallest and greatest clock sequence and node for Cassandra, as used by UUIDs.startOf() and endOf()
+		UUID start = UUIDs.startOf(1000L);
+		UUID end = new UUID(start.getMostSignificantBits(), 0x7F7F7F7F7F7F7F7FL);
+
+		assertThat(comparator.compare(clusterings(start), clusterings(end))).isLessThan(0);
+		assertThat(comparator.compare(clusterings(end), clusterings(start))).isGreaterThan(0);
+	}
+
+	@Test
+	public void should_compare_random_uuids_by_unsigned_bytes() throws Exception {
+		when(cqlSliceQuery.getOrdering()).thenReturn(ASCENDING);
+		ClusteringComparator comparator = comparatorWithUUIDComponent(false);
+
+		for (int i = 0; i < 1000; i++) {
+			UUID uuid1 = UUID.randomUUID();
+			UUID uuid2 = UUID.randomUUID();
+			// the hexadecimal representation sorts as the unsigned bytes
+			int expected = Integer.signum(uuid1.toString().compareTo(uuid2.toString()));
+
+			assertThat(Integer.signum(comparator.compare(clusterings(uuid1), clusterings(uuid2)))).isEqualTo(
+					expected);
+		}
+	}
+
+	@Test
+	public void should_compare_uuids_with_high_bit_set_as_unsigned() throws Exception {
+		when(cqlSliceQuery.getOrdering()).thenReturn(ASCENDING);
+		ClusteringComparator comparator = comparatorWithUUIDComponent(false);
+		UUID low = new UUID(0x1000000000004000L, 0x8000000000000000L);
+		UUID high = new UUID(0x8000000000004000L, 0x8000000000000000L);
+		UUID highNode = new UUID(0x1000000000004000L, 0xC000000000000000L);
+
+		assertThat(high.compareTo(low)).isLessThan(0);
+		assertThat(comparator.compare(clusterings(high), clusterings(low))).isGreaterThan(0);
+		assertThat(comparator.compare(clusterings(highNode), clusterings(low))).isGreaterThan(0);
+	}
+
+	@Test
+	public void should_compare_uuids_by_version_first() throws Exception {
+		when(cqlSliceQuery.getOrdering()).thenReturn(ASCENDING);
+		ClusteringComparator comparator = comparatorWithUUIDComponent(false);
+		UUID timeBased = new UUID(0xFFFFFFFFFFFF1FFFL, 0xFFFFFFFFFFFFFFFFL);
+		UUID random = new UUID(0x0000000000004000L, 0x8000000000000000L);
+
+		assertThat(comparator.compare(clusterings(timeBased), clusterings(random))).isLessThan(0);
+	}
+
+	@Test
+	public void should_compare_strings_by_utf8_bytes() throws Exception {
+		when(cqlSliceQuery.getOrdering()).thenReturn(ASCENDING);
+		ClusteringComparator comparator = new ClusteringComparator(cqlSliceQuery);
+		// U+1F600 is encoded with surrogates in UTF-16, whose chars are lower than U+FF21
+		String emoji = new String(Character.toChars(0x1F600));
+		String fullWidth = "\uFF21";
+
+		assertThat(emoji.compareTo(fullWidth)).isLessThan(0);
+		assertThat(comparator.compare(clusterings(emoji), clusterings(fullWidth))).isGreaterThan(0);
+		assertThat(comparator.compare(clusterings("a"), clusterings("ab"))).isLessThan(0);
+	}
+
+	private ClusteringComparator comparatorWithUUIDComponent(boolean timeUUID) {
+		when(cqlSliceQuery.getMeta().getIdMeta().getClusteringComponentNames()).thenReturn(Arrays.asList("id"));
+		when(cqlSliceQuery.getMeta().getIdMeta().isComponentTimeUUID("id")).thenReturn(timeUUID);
+		return new ClusteringComparator(cqlSliceQuery);
+	}
+
+	private List<Object> clusterings(Object... components) {
+		return Arrays.asList(components);
+	}
+}
@@ -16,7 +16,10 @@
 package info.archinnov.achilles.query.slice;
 
 import static info.archinnov.achilles.type.BoundingMode.EXCLUSIVE_BOUNDS;
+import static info.archinnov.achilles.type.BoundingMode.INCLUSIVE_BOUNDS;
+import static info.archinnov.achilles.type.BoundingMode.INCLUSIVE_END_BOUND_ONLY;
 import static info.archinnov.achilles.type.ConsistencyLevel.EACH_QUORUM;
+import static info.archinnov.achilles.type.OrderingMode.ASCENDING;
 import static info.archinnov.achilles.type.OrderingMode.DESCENDING;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Matchers.*;
@@ -24,6 +27,7 @@ import static org.mockito.Mockito.*;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
 import info.archinnov.achilles.internal.persistence.operations.SliceQueryExecutor;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.test.mapping.entity.ClusteredEntity;
@@ -40,9 +44,12 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 import org.powermock.reflect.Whitebox;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -410,6 +417,18 @@ public class RootSliceQueryBuilderTest {
 		verify(sliceQueryExecutor).remove(anySliceQuery());
 	}
 
+	@Test
+	public void should_count_without_limit() throws Exception {
+		Long partitionKey = RandomUtils.nextLong();
+		when(sliceQueryExecutor.count(anySliceQuery())).thenReturn(12L);
+
+		long count = builder.partitionComponentsInternal(partitionKey).count();
+
+		assertThat(count).isEqualTo(12L);
+		assertThat(Whitebox.getInternalState(builder, "limit")).isEqualTo(SliceQuery.DEFAULT_LIMIT);
+		assertThat(Whitebox.getInternalState(builder, "limitHasBeenSet")).isEqualTo(false);
+	}
+
 	@Test
 	public void should_remove_n() throws Exception {
 		Long partitionKey = RandomUtils.nextLong();
@@ -518,6 +537,140 @@ public class RootSliceQueryBuilderTest {
 		verify(sliceQueryExecutor).remove(anySliceQuery());
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void should_get_merged_with_partition_limit_capped_by_global_limit() throws Exception {
+		Whitebox.setInternalState(builder, "limit", 100);
+		ArgumentCaptor<List> sliceQueriesCaptor = ArgumentCaptor.forClass(List.class);
+		when(sliceQueryExecutor.get(sliceQueriesCaptor.capture(), eq(20))).thenReturn(result);
+
+		List<ClusteredEntity> actual = builder.partitionsComponentsInternal(
+				Arrays.asList(Arrays.asList(10L), Arrays.asList(11L))).globalLimit(20).getMerged();
+
+		assertThat(actual).isSameAs(result);
+		verify(idMeta).validatePartitionComponents(Arrays.<Object> asList(10L));
+		verify(idMeta).validatePartitionComponents(Arrays.<Object> asList(11L));
+		List<SliceQuery<ClusteredEntity>> sliceQueries = sliceQueriesCaptor.getValue();
+		assertThat(sliceQueries).hasSize(2);
+		assertThat(sliceQueries.get(0).getPartitionComponents()).containsExactly(10L);
+		assertThat(sliceQueries.get(1).getPartitionComponents()).containsExactly(11L);
+		assertThat(sliceQueries.get(0).getLimit()).isEqualTo(20);
+		assertThat(sliceQueries.get(1).getLimit()).isEqualTo(20);
+	}
+
+	@Test
+	public void should_exception_when_no_partition_for_merged_query() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Partitions components for multi-partition slice query for entity 'entityClass' should not be empty");
+
+		builder.partitionsComponentsInternal(new ArrayList<List<Object>>());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void should_get_page_with_cursor_after_last_entity() throws Exception {
+		//Given
+		prepareForPaging();
+		ClusteredEntity entity1 = new ClusteredEntity();
+		ClusteredEntity entity2 = new ClusteredEntity();
+		ClusteredEntity entity3 = new ClusteredEntity();
+		Object embeddedId = new Object();
+		ArgumentCaptor<SliceQuery> sliceQueryCaptor = ArgumentCaptor.forClass(SliceQuery.class);
+		when(sliceQueryExecutor.get(sliceQueryCaptor.capture())).thenReturn(
+				Arrays.asList(entity1, entity2, entity3));
+		doReturn(0).when(builder).fixedClusteringsCount(anySliceQuery());
+		when(meta.getPrimaryKey(entity2)).thenReturn(embeddedId);
+		when(idMeta.encodeToComponents(embeddedId)).thenReturn(Arrays.<Object> asList(10L, 5, "b"));
+		when(idMeta.extractClusteringComponents(Arrays.<Object> asList(10L, 5, "b"))).thenReturn(
+				Arrays.<Object> asList(5, "b"));
+
+		//When
+		SlicePage<ClusteredEntity> page = builder.partitionComponentsInternal(10L).page(2);
+
+		//Then
+		assertThat(page.getEntities()).containsExactly(entity1, entity2);
+		assertThat(page.hasNextPage()).isTrue();
+		SliceCursor cursor = page.getNextCursor();
+		assertThat(cursor.getLastClusterings()).containsExactly("5", "b");
+		assertThat(cursor.getToClusterings()).isEmpty();
+		assertThat(cursor.getFixedClusteringsCount()).isEqualTo(0);
+		assertThat(cursor.getOrdering()).isEqualTo(ASCENDING);
+		assertThat(cursor.getBounding()).isEqualTo(INCLUSIVE_BOUNDS);
+		assertThat(sliceQueryCaptor.getValue().getLimit()).isEqualTo(3);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void should_resume_page_from_cursor_with_exclusive_bounds() throws Exception {
+		//Given
+		prepareForPaging();
+		ClusteredEntity entity3 = new ClusteredEntity();
+		ClusteredEntity entity4 = new ClusteredEntity();
+		SliceCursor cursor = new SliceCursor(Arrays.asList("5", "b"), new ArrayList<String>(), 0, ASCENDING,
+				INCLUSIVE_BOUNDS);
+		ArgumentCaptor<SliceQuery> sliceQueryCaptor = ArgumentCaptor.forClass(SliceQuery.class);
+		when(sliceQueryExecutor.get(sliceQueryCaptor.capture())).thenReturn(Arrays.asList(entity3),
+				Arrays.asList(entity4));
+
+		//When
+		SlicePage<ClusteredEntity> page = builder.partitionComponentsInternal(10L).fromCursorInternal(cursor).page(2);
+
+		//Then
+		assertThat(page.getEntities()).containsExactly(entity3, entity4);
+		assertThat(page.hasNextPage()).isFalse();
+
+		List<SliceQuery> sliceQueries = sliceQueryCaptor.getAllValues();
+		assertThat(sliceQueries).hasSize(2);
+		assertThat(sliceQueries.get(0).getClusteringsFrom()).containsExactly(10L, 5, "b");
+		assertThat(sliceQueries.get(0).getClusteringsTo()).containsExactly(10L, 5);
+		assertThat(sliceQueries.get(0).getBounding()).isEqualTo(EXCLUSIVE_BOUNDS);
+		assertThat(sliceQueries.get(0).getLimit()).isEqualTo(3);
+		assertThat(sliceQueries.get(1).getClusteringsFrom()).containsExactly(10L, 5);
+		assertThat(sliceQueries.get(1).getClusteringsTo()).containsExactly(10L);
+		assertThat(sliceQueries.get(1).getBounding()).isEqualTo(INCLUSIVE_END_BOUND_ONLY);
+		assertThat(sliceQueries.get(1).getLimit()).isEqualTo(2);
+	}
+
+	@Test
+	public void should_exception_when_resuming_from_cursor_with_clustering_components() throws Exception {
+		Whitebox.setInternalState(builder, "fromClusterings", Arrays.<Object> asList(5));
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("You should not set clustering components when resuming slice query for entity 'entityClass' from a cursor");
+
+		builder.fromCursorInternal(new SliceCursor(Arrays.asList("5", "b"), new ArrayList<String>(), 0, ASCENDING,
+				INCLUSIVE_BOUNDS));
+	}
+
+	@SuppressWarnings("unchecked")
+	private void prepareForPaging() {
+		Whitebox.setInternalState(builder, "ordering", ASCENDING);
+		Whitebox.setInternalState(builder, "bounding", INCLUSIVE_BOUNDS);
+		EntityProxifier proxifier = mock(EntityProxifier.class);
+		Whitebox.setInternalState(builder, "proxifier", proxifier);
+		when(proxifier.getRealObject(any())).thenAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				return invocation.getArguments()[0];
+			}
+		});
+		when(idMeta.encodeToComponents(anyListOf(Object.class))).thenAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				return new ArrayList<Object>((List<Object>) invocation.getArguments()[0]);
+			}
+		});
+		when(idMeta.forceEncodeToJSON(any())).thenAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				return String.valueOf(invocation.getArguments()[0]);
+			}
+		});
+		when(idMeta.getClusteringComponentClasses()).thenReturn(Arrays.<Class<?>> asList(Integer.class, String.class));
+		when(idMeta.forceDecodeFromJSON("5", Integer.class)).thenReturn(5);
+		when(idMeta.forceDecodeFromJSON("b", String.class)).thenReturn("b");
+	}
+
 	private SliceQuery<ClusteredEntity> anySliceQuery() {
 		return Mockito.<SliceQuery<ClusteredEntity>> any();
 	}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.query.slice;
+
+import static info.archinnov.achilles.type.BoundingMode.INCLUSIVE_START_BOUND_ONLY;
+import static info.archinnov.achilles.type.OrderingMode.DESCENDING;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.exception.AchillesException;
+
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class SliceCursorTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Test
+	public void should_encode_and_decode_cursor() throws Exception {
+		//Given
+		SliceCursor cursor = new SliceCursor(Arrays.asList("5", "name"), Arrays.asList("1"), 0, DESCENDING,
+				INCLUSIVE_START_BOUND_ONLY);
+
+		//When
+		String token = cursor.encode();
+		SliceCursor actual = SliceCursor.decode(token);
+
+		//Then
+		assertThat(token).matches("[A-Za-z0-9_-]+");
+		assertThat(actual.getLastClusterings()).containsExactly("5", "name");
+		assertThat(actual.getToClusterings()).containsExactly("1");
+		assertThat(actual.getFixedClusteringsCount()).isEqualTo(0);
+		assertThat(actual.getOrdering()).isEqualTo(DESCENDING);
+		assertThat(actual.getBounding()).isEqualTo(INCLUSIVE_START_BOUND_ONLY);
+	}
+
+	@Test
+	public void should_exception_when_decoding_invalid_token() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Cannot decode slice cursor 'invalid'");
+
+		SliceCursor.decode("invalid");
+	}
+}
@@ -82,6 +82,16 @@ public class SliceQueryBuilderTest {
 		assertThat(shortCutBuilder).isNotNull();
 	}
 
+	@Test
+	public void should_set_partition_keys_and_create_multi_partition_builder() throws Exception {
+		SliceQueryBuilder<ClusteredEntity>.MultiPartitionQueryBuilder multiPartitionBuilder = builder
+				.partitionKeysIn(10L, 11L);
+
+		assertThat(multiPartitionBuilder).isNotNull();
+		assertThat(Whitebox.<List<List<Object>>> getInternalState(builder, "partitionsComponents")).containsExactly(
+				Arrays.<Object> asList(10L), Arrays.<Object> asList(11L));
+	}
+
 	@Test
 	public void should_set_from_embedded_id_and_create_builder() throws Exception {
 		Long partitionKey = RandomUtils.nextLong();
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.query.typed;
+
+import static info.archinnov.achilles.internal.context.OperationMetrics.Operation.TYPED;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.context.OperationMetrics;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metadata.transcoding.SimpleTranscoder;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.jackson.map.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProjectionQueryBuilderTest {
+
+	@Mock
+	private DaoContext daoContext;
+
+	@Mock
+	private EntityMeta meta;
+
+	@Mock
+	private PreparedStatement ps;
+
+	@Mock
+	private ResultSet resultSet;
+
+	@Mock
+	private Row row;
+
+	@Before
+	public void setUp() throws Exception {
+		SimpleTranscoder transcoder = new SimpleTranscoder(new ObjectMapper());
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").type(ID)
+				.transcoder(transcoder).build();
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(SIMPLE).transcoder(transcoder).build();
+		Map<String, PropertyMeta> propertyMetas = new HashMap<>();
+		propertyMetas.put("id", idMeta);
+		propertyMetas.put("name", nameMeta);
+
+		when(meta.getIdMeta()).thenReturn(idMeta);
+		when(meta.getPropertyMetas()).thenReturn(propertyMetas);
+		when(meta.getTableName()).thenReturn("complete_bean");
+		when(meta.<CompleteBean> getEntityClass()).thenReturn(CompleteBean.class);
+	}
+
+	@Test
+	public void should_build_narrow_select() throws Exception {
+		//Given
+		ProjectionQueryBuilder<CompleteBean> builder = new ProjectionQueryBuilder<>(daoContext, meta, "id", "name");
+
+		//When
+		builder.where("id IN (?,?)", 10L, 11L).limit(5);
+
+		//Then
+		assertThat(builder.buildQueryString()).isEqualTo("SELECT id,name FROM complete_bean WHERE id IN (?,?) LIMIT 5");
+	}
+
+	@Test
+	public void should_execute_prepared_projection_into_dto() throws Exception {
+		//Given
+		String queryString = "SELECT id,name FROM complete_bean WHERE id=?";
+		when(daoContext.prepareProjection(CompleteBean.class, queryString)).thenReturn(ps);
+		when(daoContext.bindAndExecute(ps, 10L)).thenReturn(resultSet);
+		when(resultSet.iterator()).thenReturn(Arrays.asList(row).iterator());
+		when(row.getLong("id")).thenReturn(10L);
+		when(row.getString("name")).thenReturn("John");
+
+		//When
+		List<IdAndName> actual = new ProjectionQueryBuilder<CompleteBean>(daoContext, meta, "id", "name")
+				.where("id=?", 10L).into(IdAndName.class).get();
+
+		//Then
+		assertThat(actual).hasSize(1);
+		assertThat(actual.get(0).id).isEqualTo(10L);
+		assertThat(actual.get(0).name).isEqualTo("John");
+	}
+
+	@Test
+	public void should_execute_projection_into_tuples() throws Exception {
+		//Given
+		String queryString = "SELECT name FROM complete_bean";
+		when(daoContext.prepareProjection(CompleteBean.class, queryString)).thenReturn(ps);
+		when(daoContext.bindAndExecute(ps)).thenReturn(resultSet);
+		when(resultSet.one()).thenReturn(row);
+		when(row.getString("name")).thenReturn("John");
+
+		//When
+		Object[] actual = new ProjectionQueryBuilder<CompleteBean>(daoContext, meta, "name").tuples().getFirst();
+
+		//Then
+		assertThat(actual).isEqualTo(new Object[] { "John" });
+	}
+
+	@Test
+	public void should_record_projection_in_typed_query_metrics() throws Exception {
+		//Given
+		OperationMetrics metrics = new OperationMetrics();
+		String queryString = "SELECT name FROM complete_bean";
+		when(daoContext.getOperationMetrics()).thenReturn(metrics);
+		when(daoContext.prepareProjection(CompleteBean.class, queryString)).thenReturn(ps);
+		when(daoContext.bindAndExecute(ps)).thenReturn(resultSet);
+
+		//When
+		new ProjectionQueryBuilder<CompleteBean>(daoContext, meta, "name").tuples().getFirst();
+
+		//Then
+		assertThat(metrics.getLatency(CompleteBean.class, TYPED).getCount()).isEqualTo(1L);
+		assertThat(metrics.getErrors(CompleteBean.class, TYPED).getCount()).isEqualTo(0L);
+		metrics.stop();
+	}
+
+	public static class IdAndName {
+		private final Long id;
+		private final String name;
+
+		public IdAndName(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
@@ -29,22 +29,31 @@ import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 import info.archinnov.achilles.internal.persistence.operations.EntityMapper;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
 import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
+import info.archinnov.achilles.internal.statement.wrapper.SimpleStatementWrapper;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.type.ResultCallback;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
 
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Row;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -77,6 +86,12 @@ public class TypedQueryBuilderTest {
 
 	private CompleteBean entity = new CompleteBean();
 
+	@Before
+	public void setUp() {
+		when(daoContext.getAdaptiveFetchSizer()).thenReturn(null);
+		when(daoContext.getOperationMetrics()).thenReturn(null);
+	}
+
 	@Test
 	public void should_get_all_managed_with_select_star() throws Exception {
 		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").type(ID)
@@ -195,6 +210,32 @@ public class TypedQueryBuilderTest {
 		verify(meta).intercept(entity, Event.POST_LOAD);
 	}
 
+	@Test
+	public void should_iterate_on_prepared_query_with_fetch_size() throws Exception {
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").type(ID)
+				.accessors().build();
+		EntityMeta meta = buildEntityMeta(idMeta);
+		String queryString = "SELECT * FROM test WHERE name=?;";
+		builder = new TypedQueryBuilder<>(entityClass, daoContext, queryString, meta, contextFactory, false, false,
+				true, new Object[] { "John" });
+		Whitebox.setInternalState(builder, EntityMapper.class, mapper);
+
+		PreparedStatement ps = mock(PreparedStatement.class);
+		BoundStatement bs = mock(BoundStatement.class);
+		when(daoContext.prepareIndexedQuery(entityClass, queryString)).thenReturn(ps);
+		when(ps.bind("John")).thenReturn(bs);
+		when(daoContext.execute(any(BoundStatementWrapper.class)).iterator()).thenReturn(Arrays.asList(row).iterator());
+		when(
+				mapper.mapRowToEntityWithPrimaryKey(eq(meta), eq(row), Mockito.<Map<String, PropertyMeta>> any(),
+						eq(false))).thenReturn(entity);
+
+		Iterator<CompleteBean> actual = builder.fetchSize(50).iterator();
+
+		assertThat(actual.next()).isSameAs(entity);
+		assertThat(actual.hasNext()).isFalse();
+		verify(bs).setFetchSize(50);
+	}
+
 	@Test
 	public void should_get_first_raw_entity() throws Exception {
 		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").type(ID)
@@ -250,6 +291,61 @@ public class TypedQueryBuilderTest {
 		verifyZeroInteractions(contextFactory, proxifier);
 	}
 
+	@Test
+	public void should_iterate_lazily_skipping_null_entity() throws Exception {
+		//Given
+		EntityMeta meta = buildEntityMeta();
+		initBuilder("select * from test", meta, meta.getPropertyMetas(), true);
+		Row row2 = mock(Row.class);
+		CompleteBean entity2 = new CompleteBean();
+		ArgumentCaptor<SimpleStatementWrapper> wrapperCaptor = ArgumentCaptor.forClass(SimpleStatementWrapper.class);
+		when(daoContext.execute(wrapperCaptor.capture()).iterator()).thenReturn(Arrays.asList(row, row2).iterator());
+		when(
+				mapper.mapRowToEntityWithPrimaryKey(eq(meta), eq(row), Mockito.<Map<String, PropertyMeta>> any(),
+						eq(true))).thenReturn(null);
+		when(
+				mapper.mapRowToEntityWithPrimaryKey(eq(meta), eq(row2), Mockito.<Map<String, PropertyMeta>> any(),
+						eq(true))).thenReturn(entity2);
+		when(contextFactory.newContext(entity2)).thenReturn(context);
+		when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity2, context)).thenReturn(entity2);
+
+		//When
+		Iterator<CompleteBean> iterator = builder.iterator(500);
+
+		//Then
+		verifyZeroInteractions(mapper);
+		assertThat(iterator.next()).isSameAs(entity2);
+		assertThat(iterator.hasNext()).isFalse();
+		assertThat(Whitebox.getInternalState(wrapperCaptor.getValue(), "fetchSize")).isEqualTo(500);
+		verify(meta).intercept(entity2, Event.POST_LOAD);
+	}
+
+	@Test
+	public void should_pass_unmanaged_entities_to_callback() throws Exception {
+		//Given
+		EntityMeta meta = buildEntityMeta();
+		initBuilder("select * from test", meta, meta.getPropertyMetas(), true);
+		when(daoContext.execute(any(AbstractStatementWrapper.class)).iterator()).thenReturn(
+				Arrays.asList(row).iterator());
+		when(
+				mapper.mapRowToEntityWithPrimaryKey(eq(meta), eq(row), Mockito.<Map<String, PropertyMeta>> any(),
+						eq(false))).thenReturn(entity);
+		final List<CompleteBean> results = new ArrayList<>();
+
+		//When
+		builder.unmanaged().forEach(new ResultCallback<CompleteBean>() {
+			@Override
+			public void onResult(CompleteBean result) {
+				results.add(result);
+			}
+		});
+
+		//Then
+		assertThat(results).containsExactly(entity);
+		verify(meta).intercept(entity, Event.POST_LOAD);
+		verifyZeroInteractions(contextFactory, proxifier);
+	}
+
 	private EntityMeta buildEntityMeta(PropertyMeta... pms) {
 		EntityMeta meta = mock(EntityMeta.class);
 		Map<String, PropertyMeta> propertyMetas = new HashMap<>();
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.type;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.DataType;
+
+public class ColumnVectorTest {
+
+	@Test
+	public void should_grow_primitive_storage() throws Exception {
+		//Given
+		ColumnVector vector = new ColumnVector("id", DataType.cint(), 0);
+
+		//When
+		for (int i = 0; i < 40; i++) {
+			vector.addInt(i);
+		}
+		vector.trim();
+
+		//Then
+		assertThat(vector.size()).isEqualTo(40);
+		assertThat(vector.isPrimitive()).isTrue();
+		assertThat(vector.getIntValues()).hasSize(40);
+		assertThat(vector.getInt(39)).isEqualTo(39);
+		assertThat(vector.getObject(39)).isEqualTo(39);
+	}
+
+	@Test
+	public void should_track_null_values() throws Exception {
+		//Given
+		ColumnVector vector = new ColumnVector("score", DataType.cdouble(), 4);
+
+		//When
+		vector.addDouble(1.5);
+		vector.addNull();
+		vector.addDouble(2.5);
+
+		//Then
+		assertThat(vector.isNull(0)).isFalse();
+		assertThat(vector.isNull(1)).isTrue();
+		assertThat(vector.getObject(1)).isNull();
+		assertThat(vector.getDouble(2)).isEqualTo(2.5);
+	}
+
+	@Test
+	public void should_store_other_types_as_objects() throws Exception {
+		//Given
+		ColumnVector vector = new ColumnVector("name", DataType.text(), 4);
+
+		//When
+		vector.addObject("John");
+
+		//Then
+		assertThat(vector.isPrimitive()).isFalse();
+		assertThat(vector.getJavaType()).isEqualTo((Class) String.class);
+		assertThat(vector.getObject(0)).isEqualTo("John");
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void should_exception_when_reading_with_wrong_type() throws Exception {
+		ColumnVector vector = new ColumnVector("id", DataType.bigint(), 4);
+		vector.addLong(10L);
+
+		vector.getInt(0);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void should_exception_when_index_out_of_bounds() throws Exception {
+		ColumnVector vector = new ColumnVector("flag", DataType.cboolean(), 4);
+		vector.addBoolean(true);
+
+		vector.getBoolean(1);
+	}
+}